@@ -0,0 +1,99 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.components.Component;
+import model.components.DataMemory;
+import model.instr.I_Type;
+import model.instr.Instruction;
+import model.instr.MemAccess;
+import model.instr.R_Type;
+
+import util.SimulatorContext;
+import util.logs.ExecutionLog;
+import util.validation.InstrSpec;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ Datapath components on their own.
+ <p>{@code verbose} uses the logging methods and formats the log each call, {@code quiet} the _NoOutput methods.
+ <p>The headless datapath decodes from the opcode ordinal, So that is the quiet {@link #DECODER(Blackhole)}.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations=3, time=1 )
+@Measurement( iterations=5, time=1 )
+@Fork( 1 )
+public class ComponentBenchmark {
+	private static final int[] ALU_OPS={ 0, 1, 2, 4, 5, 6, 8, 9 };
+	private static final int WORDS=64;
+	
+	@Param( { "verbose", "quiet" } )
+	public String mode;
+	
+	private boolean verbose;
+	private final ExecutionLog log=new ExecutionLog( new ArrayList<>( ) );
+	private DataMemory dataMemory;
+	private Instruction[] instructions;
+	private int i=0;
+	
+	@Setup
+	public void setUp ( ) {
+		verbose=mode.equals( "verbose" );
+		dataMemory=new DataMemory( new int[ DataMemory.MAX_DATA_ITEMS ], log, SimulatorContext.headless( ) );
+		instructions=new Instruction[] { new R_Type( "add", 1, 2, 3 ), new R_Type( "sub", 3, 2, 1 ),
+										 new I_Type( "addi", 1, 1, -40 ), new MemAccess( "lw", 5, 3, 8 ) };
+	}
+	
+	private int next ( ) {
+		return i=(i + 1) & (WORDS - 1);
+	}
+	private static int address (int index) {
+		return DataMemory.BASE_DATA_ADDRESS + index*DataMemory.DATA_ALIGN;
+	}
+	
+	@Benchmark
+	public void ALU (Blackhole bh) {
+		final int index=next( );
+		final int op=ALU_OPS[ index & 7 ];
+		if ( verbose ) {
+			bh.consume( Component.ALU( index, -index*3, op, log ) );
+			bh.consume( log.toStringAndClear( ) );
+		} else
+			bh.consume( Component.ALU_NoOutput( index, -index*3, op ) );
+	}
+	
+	@Benchmark
+	public void DECODER (Blackhole bh) {
+		final Instruction ins=instructions[ next( ) & 3 ];
+		if ( verbose ) {
+			bh.consume( Component.DECODER( ins, log ) );
+			bh.consume( log.toStringAndClear( ) );
+		} else
+			bh.consume( Component.CONTROL( InstrSpec.ordinalOf( ins.getOpcode( ) ) ) );	// As the headless datapath
+	}
+	
+	@Benchmark
+	public void readData (Blackhole bh) {
+		final int address=address( next( ) );
+		if ( verbose ) {
+			bh.consume( dataMemory.readData( address ) );
+			bh.consume( log.toStringAndClear( ) );
+		} else
+			bh.consume( dataMemory.readData_NoOutput( address ) );
+	}
+	
+	@Benchmark
+	public void writeData (Blackhole bh) {
+		final int index=next( );
+		if ( verbose ) {
+			bh.consume( dataMemory.writeData( address( index ), index ) );
+			bh.consume( log.toStringAndClear( ) );
+		} else
+			dataMemory.writeData_NoOutput( address( index ), index );
+	}
+}
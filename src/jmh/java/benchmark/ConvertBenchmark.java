@@ -0,0 +1,39 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import util.Convert;
+import util.ansi_codes.Color;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ Hex formatting, Used for every address in the verbose output.
+ <p>{@code verbose} formats it as the fetch line does (in colour), {@code quiet} is the bare conversion, As in error messages.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations=3, time=1 )
+@Measurement( iterations=5, time=1 )
+@Fork( 1 )
+public class ConvertBenchmark {
+	@Param( { "verbose", "quiet" } )
+	public String mode;
+	
+	private boolean verbose;
+	private int value=0x00400000;
+	
+	@Setup
+	public void setUp ( ) {
+		verbose=mode.equals( "verbose" );
+	}
+	
+	@Benchmark
+	public String int2Hex ( ) {
+		value+=4;
+		if ( verbose )
+			return Color.fmtUnder( Color.fmtSubTitle( Color.GREEN, Convert.int2Hex( value ) ) );
+		return Convert.int2Hex( value );
+	}
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import control.Execution;
+import model.MemoryBuilder;
+import model.components.RegisterBank;
+import model.instr.Instruction;
+
+import setup.Parser;
+
+import util.SimulatorContext;
+import util.logs.ErrorLog;
+import util.logs.ExecutionLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ End to end throughput over the reference corpus (src/test/resources/corpus, Run from the project directory).
+ <p>
+ Each op is the whole pipeline for one program (or every program, {@code all}): Parse the file, {@link MemoryBuilder#assembleInstr(ErrorLog)},
+ Then {@link Execution#runToEnd()} headless on each {@link Execution.Tier}.
+ {@link Counters#programs} is programs/sec, {@link Counters#instructions} simulated instructions/sec (from the golden cycle counts).
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations=3, time=1 )
+@Measurement( iterations=5, time=1 )
+@Fork( 1 )
+public class CorpusBenchmark {
+	static final Path CORPUS=Paths.get( "src", "test", "resources", "corpus" );
+	private static final String ALL="all";
+	
+	@Param( { ALL, "array_sum.s", "binary_search.s", "bubble_sort.s", "fibonacci.s", "loops.s", "nested_branches.s" } )
+	public String program;
+	@Param( { "INTERPRETED", "CLOSURES", "BYTECODE" } )
+	public Execution.Tier tier;
+	
+	private final SimulatorContext context=SimulatorContext.headless( );
+	private File[] files;
+	/** Golden cycles of each file */
+	private int[] cycles;
+	
+	/** Reported as a rate, per second */
+	@State( Scope.Thread )
+	@AuxCounters( AuxCounters.Type.OPERATIONS )
+	public static class Counters {
+		public long instructions;
+		public long programs;
+		
+		@Setup( Level.Iteration )
+		public void reset ( ) {
+			instructions=programs=0;
+		}
+	}
+	
+	@Setup
+	public void setUp ( ) throws IOException {
+		final List<String[]> golden=Files.readAllLines( CORPUS.resolve( "golden.tsv" ) ).stream( )
+										 .filter( line -> !line.isBlank( ) && !line.startsWith( "#" ) )
+										 .map( line -> line.split( "\t" ) )
+										 .filter( fields -> program.equals( ALL ) || program.equals( fields[ 0 ] ) )
+										 .collect( Collectors.toList( ) );
+		if ( golden.isEmpty( ) )
+			throw new IllegalStateException( "No Golden State for [" + program + "] in " + CORPUS.toAbsolutePath( ) );
+		files=new File[ golden.size( ) ];
+		cycles=new int[ golden.size( ) ];
+		for ( int i=0; i<files.length; i++ ) {
+			final String[] fields=golden.get( i );
+			files[ i ]=CORPUS.resolve( fields[ 0 ] ).toFile( );
+			cycles[ i ]=Integer.parseInt( fields[ 2 ].substring( "Cycles[".length( ), fields[ 2 ].length( ) - 1 ) );
+			final int[] registers=run( files[ i ] );
+			if ( !golden.get( i )[ 3 ].equals( "Registers" + Arrays.toString( registers ) ) )
+				throw new IllegalStateException( fields[ 0 ] + " Does not match its Golden State" );
+		}
+	}
+	
+	/** Parse, Assemble and Execute, @return the final registers */
+	private int[] run (File file) {
+		final ErrorLog errorLog=Programs.errorLog( );
+		final MemoryBuilder mb=new MemoryBuilder( errorLog, Programs.warningsLog( ), context );
+		final Parser parser=new Parser( mb, errorLog, Programs.warningsLog( ) );
+		parser.parseFile( file );
+		Programs.check( errorLog );    // Before the Execution clears it
+		final ArrayList<Instruction> instructions=Programs.assemble( mb );
+		
+		final ExecutionLog log=new ExecutionLog( new ArrayList<>( ) );
+		final int[] registers=new int[ 32 ];
+		final Execution execution=new Execution( log, errorLog, parser.getMem( log ),
+												 new RegisterBank( registers, log, context ), instructions, context );
+		execution.setHeadless( true );
+		execution.setTier( tier );
+		execution.runToEnd( );
+		Programs.check( errorLog );
+		return registers;
+	}
+	
+	@Benchmark
+	public int[] pipeline (Counters counters) {
+		int[] registers=null;
+		for ( int i=0; i<files.length; i++ ) {
+			registers=run( files[ i ] );
+			counters.instructions+=cycles[ i ];
+			counters.programs++;
+		}
+		return registers;
+	}
+}
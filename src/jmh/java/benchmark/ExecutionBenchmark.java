@@ -0,0 +1,67 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import control.Execution;
+import model.MemoryBuilder;
+import model.components.DataMemory;
+import model.components.RegisterBank;
+
+import util.SimulatorContext;
+import util.logs.ErrorLog;
+import util.logs.ExecutionLog;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ One cycle of the datapath, Running {@link Programs#LOOP}.
+ <p>{@code verbose} traces everything ({@link ExecutionLog.Trace#ALL}), {@code quiet} nothing ({@link ExecutionLog.Trace#NONE}).
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations=3, time=1 )
+@Measurement( iterations=5, time=1 )
+@Fork( 1 )
+public class ExecutionBenchmark {
+	@Param( { "verbose", "quiet" } )
+	public String mode;
+	
+	private final StringBuilder output=new StringBuilder( );
+	private ExecutionLog log;
+	private ErrorLog errorLog;
+	private Execution execution;
+	
+	@Setup
+	public void setUp ( ) {
+		final SimulatorContext context=SimulatorContext.headless( );
+		final MemoryBuilder mb=Programs.parse( Programs.LOOP.split( "\n" ), context );
+		log=new ExecutionLog( new ArrayList<>( ) );
+		errorLog=Programs.errorLog( );
+		execution=new Execution( log, errorLog, new DataMemory( mb.retrieveData( ), log, context ),
+								 new RegisterBank( new int[ 32 ], log, context ), Programs.assemble( mb ), context );
+		execution.setTrace( mode.equals( "verbose" ) ? ExecutionLog.Trace.ALL : ExecutionLog.Trace.NONE );
+	}
+	
+	@TearDown
+	public void tearDown ( ) {
+		Programs.check( errorLog );
+	}
+	
+	/** With the Register Bank and Execution Log text, Each cycle */
+	@Benchmark
+	public StringBuilder runStep ( ) {
+		output.setLength( 0 );
+		execution.runStep( output );
+		return output;
+	}
+	
+	/** Events are recorded (when verbose), Then cleared without formatting them */
+	@Benchmark
+	public Integer runStep_NoOutput ( ) {
+		final Integer pc=execution.runStep_NoOutput( );
+		log.clear( );
+		return pc;
+	}
+}
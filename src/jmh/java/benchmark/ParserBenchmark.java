@@ -0,0 +1,129 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.MemoryBuilder;
+
+import setup.Parser;
+
+import util.SimulatorContext;
+import util.logs.ErrorLog;
+import util.validation.InstructionValidation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ Assembler front end, Parsing, Operand Validation and Assembly.
+ <p>{@code verbose} runs invalid input ({@link Programs#errorLines(int)}) and renders the errors each op,
+ {@code quiet} a valid program, Which logs nothing.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations=3, time=1 )
+@Measurement( iterations=5, time=1 )
+@Fork( 1 )
+public class ParserBenchmark {
+	private static final int BLOCKS=60;
+	/** {@link Programs#lines(int)} of {@link #BLOCKS} */
+	private static final int LINES=8*BLOCKS + 5;
+	private static final String[][] OPERANDS={
+			{ "add", "$t2, $t0, $t1" }, { "sub", "$3 , $2, $1" }, { "addi", "$t1, $t1, -40" }, { "lw", "$t4, 8($t0)" },
+			{ "sw", "$t3, y" }, { "beq", "$t3, $zero, loop" }, { "j", "main" }, { "exit", null } };
+	/** One invalid operand of each format */
+	private static final String[][] INVALID_OPERANDS={
+			{ "add", "$t2, $t0" }, { "sub", "$3 , $2, $99" }, { "addi", "$t1, $t1, 0xZZ" }, { "lw", "$t4, 8($t0" },
+			{ "sw", "$t3, $t9x" }, { "beq", "$t3, loop" }, { "j", "$t0" }, { "exit", "$t0" } };
+	
+	@Param( { "verbose", "quiet" } )
+	public String mode;
+	
+	private boolean verbose;
+	private final SimulatorContext context=SimulatorContext.headless( );
+	private String[] lines;
+	private File file;
+	private String[][] operands;
+	private final ErrorLog validationErrors=Programs.errorLog( );
+	private InstructionValidation validation;
+	
+	@Setup
+	public void setUp ( ) throws IOException {
+		verbose=mode.equals( "verbose" );
+		lines=verbose ? Programs.errorLines( BLOCKS ) : Programs.lines( BLOCKS );
+		if ( lines.length!=LINES )
+			throw new IllegalStateException( "Expected " + LINES + " Lines, Not " + lines.length );
+		final Path path=Programs.write( lines );
+		file=path.toFile( );
+		
+		operands=verbose ? INVALID_OPERANDS : OPERANDS;
+		validation=new InstructionValidation( validationErrors, Programs.warningsLog( ) );
+		for ( String[] op : operands ) {
+			if ( (validation.splitValidOperands( 1, op[ 0 ], op[ 1 ] )==null)!=verbose )
+				throw new IllegalStateException( (verbose ? "Valid: " : "Invalid: ") + op[ 0 ] + " " + op[ 1 ] );
+		}
+		if ( verbose ) {
+			if ( Programs.parse( lines, context, validationErrors ).assembleInstr( validationErrors )!=null )
+				throw new IllegalStateException( "Invalid Program Assembled" );
+			validationErrors.clear( );
+		} else
+			Programs.check( validationErrors );
+	}
+	
+	/** Renders the errors when verbose, @throws IllegalStateException if quiet and there are errors */
+	private void render (ErrorLog errorLog, Blackhole bh) {
+		if ( verbose ) {
+			bh.consume( errorLog.toString( ) );
+			errorLog.clear( );
+		} else
+			Programs.check( errorLog );
+	}
+	
+	/** Per line, Into a new {@link MemoryBuilder} each time */
+	@Benchmark
+	@OperationsPerInvocation( LINES )
+	public void parseLine (Blackhole bh) {
+		final ErrorLog errorLog=Programs.errorLog( );
+		bh.consume( Programs.parse( lines, context, errorLog ) );
+		render( errorLog, bh );
+	}
+	
+	@Benchmark
+	public void parseFile (Blackhole bh) {
+		final ErrorLog errorLog=Programs.errorLog( );
+		final MemoryBuilder mb=new MemoryBuilder( errorLog, Programs.warningsLog( ), context );
+		bh.consume( new Parser( mb, errorLog, Programs.warningsLog( ) ).parseFile( file ) );
+		render( errorLog, bh );
+	}
+	
+	/** One of each operand format */
+	@Benchmark
+	@OperationsPerInvocation( 8 )
+	public void splitValidOperands (Blackhole bh) {
+		for ( String[] op : operands )
+			bh.consume( validation.splitValidOperands( 1, op[ 0 ], op[ 1 ] ) );
+		render( validationErrors, bh );
+	}
+	
+	/** A newly parsed program for each call, Assembly can only be done once */
+	@State( Scope.Thread )
+	public static class Parsed {
+		private final SimulatorContext context=SimulatorContext.headless( );
+		private MemoryBuilder mb;
+		
+		@Setup( Level.Invocation )
+		public void setUp (ParserBenchmark benchmark) {
+			mb=Programs.parse( benchmark.lines, context, Programs.errorLog( ) );    // Parsing errors aren't assembled
+		}
+	}
+	/** Resolves the labels of a parsed program, Parsing is in the setup */
+	@Benchmark
+	public void assembleInstr (Parsed parsed, Blackhole bh) {
+		final ErrorLog errorLog=Programs.errorLog( );
+		bh.consume( parsed.mb.assembleInstr( errorLog ) );
+		render( errorLog, bh );
+	}
+}
@@ -0,0 +1,115 @@
+package benchmark;
+
+import model.MemoryBuilder;
+import model.instr.Instruction;
+
+import setup.Parser;
+
+import util.SimulatorContext;
+import util.logs.ErrorLog;
+import util.logs.WarningsLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/** Programs shared by the benchmarks, Each one parses and assembles without errors */
+final class Programs {
+	/** Never ends, Loads, Stores, ALU ops and a taken branch each time round */
+	static final String LOOP=".data\n"
+							 + "x: .word 5\n"
+							 + "y: .word 0\n"
+							 + ".text\n"
+							 + "main: addi $t1, $zero, 1\n"
+							 + "loop: lw $t0, x\n"
+							 + "addi $t1, $t1, 1\n"
+							 + "add $t2, $t0, $t1\n"
+							 + "sub $t3, $t2, $t0\n"
+							 + "sw $t3, y\n"
+							 + "bne $t1, $zero, loop\n"
+							 + "exit\n";
+	
+	/** Same body as {@link #LOOP} repeated, Each with its own label and comments. 8 lines per block */
+	static String[] lines (int blocks) {
+		final ArrayList<String> lines=new ArrayList<>( );
+		lines.add( ".data" );
+		lines.add( "x: .word 5\t# Value" );
+		lines.add( "y: .word 0:16\t# Results" );
+		lines.add( ".text" );
+		for ( int i=0; i<blocks; i++ ) {
+			lines.add( "l" + i + ":\tlw $t0, x\t\t; Block " + i );
+			lines.add( "\taddi $t1, $t1, " + i );
+			lines.add( "\tadd  $t2, $t0, $t1" );
+			lines.add( "\tSUB  $t3 , $t2, $t0\t# Mixed case and spaces" );
+			lines.add( "\tsw   $t3, y" );
+			lines.add( "\tlw   $t4, 8($t0)" );
+			lines.add( "\tbeq  $t3, $zero, l" + i );
+			lines.add( "" );
+		}
+		lines.add( "exit" );
+		return lines.toArray( new String[ 0 ] );
+	}
+	
+	/**
+	 Same shape as {@link #lines(int)}, But four lines of each block are invalid (Operands, Opcode, Immediate, Label)
+	 and its jump target is undefined, So every block logs while parsing and assembling
+	 */
+	static String[] errorLines (int blocks) {
+		final String[] lines=lines( blocks );
+		for ( int i=0; i<blocks; i++ ) {
+			final int block=4 + 8*i;
+			lines[ block + 1 ]="\taddi $t1, $t1, 0xZZ";
+			lines[ block + 2 ]="\tadd  $t2, $t0\t# Missing an Operand";
+			lines[ block + 3 ]="\tfoo  $t3, $t2, $t0";
+			lines[ block + 4 ]="\tsw   $t3, $t9x";
+			lines[ block + 6 ]="\tj    missing" + i;
+		}
+		return lines;
+	}
+	
+	static Path write (String[] lines) throws IOException {
+		final Path file=Files.createTempFile( "benchmark", ".s" );
+		file.toFile( ).deleteOnExit( );
+		return Files.write( file, Arrays.asList( lines ) );
+	}
+	
+	static ErrorLog errorLog ( ) {
+		return new ErrorLog( new ArrayList<>( ) );
+	}
+	static WarningsLog warningsLog ( ) {
+		return new WarningsLog( new ArrayList<>( ) );
+	}
+	
+	/** Parses each line into a new {@link MemoryBuilder} */
+	static MemoryBuilder parse (String[] lines, SimulatorContext context) {
+		final ErrorLog errorLog=errorLog( );
+		final MemoryBuilder mb=parse( lines, context, errorLog );
+		check( errorLog );
+		return mb;
+	}
+	/** Parses each line into a new {@link MemoryBuilder}, Errors are left in the log */
+	static MemoryBuilder parse (String[] lines, SimulatorContext context, ErrorLog errorLog) {
+		final MemoryBuilder mb=new MemoryBuilder( errorLog, warningsLog( ), context );
+		final Parser parser=new Parser( mb, errorLog, warningsLog( ) );
+		for ( int i=0; i<lines.length; i++ )
+			parser.parseLine( lines[ i ], i + 1 );
+		return mb;
+	}
+	
+	/** Parses and Assembles, @throws IllegalStateException if there are errors */
+	static ArrayList<Instruction> assemble (MemoryBuilder mb) {
+		final ErrorLog errorLog=errorLog( );
+		final ArrayList<Instruction> instructions=mb.assembleInstr( errorLog );
+		check( errorLog );
+		return instructions;
+	}
+	
+	static void check (ErrorLog errorLog) {
+		if ( errorLog.hasEntries( ) )
+			throw new IllegalStateException( "Benchmark Program has Errors: " + errorLog );
+	}
+	
+	private Programs ( ) { }
+}
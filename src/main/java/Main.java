@@ -1,3 +1,5 @@
+import control.BatchRunner;
+import control.CommandLine;
 import control.Execution;
 
 import model.MemoryBuilder;
@@ -7,30 +9,62 @@ import model.instr.Instruction;
 
 import setup.Parser;
 
+import util.SimulatorContext;
 import util.Util;
 import util.ansi_codes.Color;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
+import util.logs.OutputSink;
 import util.logs.WarningsLog;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class Main {
-	private static final String ENTER ="'" + Color.fmtCmd( "ENTER" ) + "'";
-	
+	/**
+	 Args: [Path\FileName], Or: --batch [Directory|Manifest] [Cycle Budget] [Threads] [Data File] see {@link BatchRunner}
+	 <p>Or with any of the {@link CommandLine} options, Runs to the end without prompts and exits with its exit code.
+	 */
 	public static void main(String[] args) {
+		if ( args.length>0 && args[ 0 ].equals( "--batch" ) ) {
+			try {
+				BatchRunner.main( Arrays.copyOfRange( args, 1, args.length ) );
+			} catch ( IOException | InterruptedException e ) {
+				System.out.println( "Batch Failed: " + e.getMessage( ) );
+			}
+			return;
+		}
+		if ( CommandLine.isCommandLine( args ) ) {
+			System.exit( CommandLine.main( args, System.out ) );
+			return;
+		}
+		SimulatorContext context=SimulatorContext.current( );	// The Defaults, Unless run with a context bound
 		//Disable Colour for Windows Terminals
 		if ( System.console( )!=null && System.getenv( ).get( "TERM" )==null )
-			Color.colorSupport=false;	// Tested Manually, enabled on CMD/Powershell
+			context=context.withColorSupport( false );	// Tested Manually, enabled on CMD/Powershell
+		
+		try ( SimulatorContext.Scope ignored=context.bind( ) ) {
+			run( context, args );
+		}
+	}
+	
+	/** Formatted with the bound context's colour support */
+	private static String enter ( ) {
+		return "'" + Color.fmtCmd( "ENTER" ) + "'";
+	}
+	
+	private static void run(final SimulatorContext context, String[] args){
 		//Setup
 		final ErrorLog errorLog=new ErrorLog( new ArrayList<>( ) );
 		final WarningsLog warningsLog=new WarningsLog( new ArrayList<>( ) );
-		final MemoryBuilder MEMORY_BUILDER=new MemoryBuilder( errorLog, warningsLog );
+		final MemoryBuilder MEMORY_BUILDER=new MemoryBuilder( errorLog, warningsLog, context );
 		String path=(args.length>0)?args[0]:"";
 		
 		run( errorLog, warningsLog, MEMORY_BUILDER, path );
-		if ( Util.wait ) {
+		if ( context.isWait( ) ) {
 			final String FILENAME = Color.fmtCmd("Path\\FileName");
+			final String ENTER = enter( );
 			boolean exit=false;
 			while ( !exit ){
 				String newpath=Util.input( "\nEnter another "+FILENAME+" to Run again,\n\tOr Press "+ENTER+" to Close the Application..." );
@@ -61,21 +95,27 @@ public class Main {
 				// Setup Components
 				ExecutionLog executionLog=new ExecutionLog( new ArrayList<>( ) );
 				DataMemory dm=parser.getMem( executionLog );
-				RegisterBank rb=new RegisterBank( new int[ 32 ], executionLog );
+				RegisterBank rb=new RegisterBank( new int[ 32 ], executionLog, Memory.getContext( ) );
 				// Execution
-				Execution ex = new Execution( executionLog,errorLog, dm, rb, instructions );
+				Execution ex = new Execution( executionLog,errorLog, dm, rb, instructions, Memory.getContext( ) );
 				
+				final OutputSink sink = OutputSink.stdout();	// Flushed before each prompt
 				boolean exit = false;
 				int n=1;
 				final String NUMBER = Color.fmtCmd("Number");
+				final String ENTER = enter( );
+				final String CHANGES = "'" + Color.fmtCmd( "changes" ) + "'";
 				while ( !exit ){
-					if ( Util.wait ) {
-						String line = Util.input( "Enter a "+NUMBER+" to change the number of cycles to run"
+					if ( Memory.getContext( ).isWait( ) ) {
+						String line = Util.input( "Enter a "+NUMBER+" to change the number of cycles to run, Or "+CHANGES
+												 +" to "+(ex.isRegisterChanges( )?"show the whole Register Bank":"only show the changed Registers")
 												 +"\n\tPress "+ENTER+" to Run " +((n==1)?"a Cycle":"the next "+n+" Cycles")+". . .");
 						// Attempt to find Integer
 						try {
 							if ( line.toLowerCase().equals( "end" ) )
 								n=1000;
+							else if ( line.toLowerCase().equals( "changes" ) )
+								ex.setRegisterChanges( !ex.isRegisterChanges( ) );
 							else {
 								n=Integer.parseInt( line );
 								if ( n<1 )
@@ -88,9 +128,8 @@ public class Main {
 						}
 					}
 					
-					StringBuilder out = new StringBuilder();
-					exit = (ex.runSteps( out, n )==null);
-					System.out.print( out );
+					exit = (ex.runSteps( sink, n )==null);
+					sink.flush();
 				}
 				
 				// Output
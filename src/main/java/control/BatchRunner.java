@@ -0,0 +1,255 @@
+package control;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import model.MemoryBuilder;
+import model.components.DataMemory;
+import model.components.MappedMemory;
+import model.components.RegisterBank;
+import model.instr.Instruction;
+
+import setup.Parser;
+
+import util.SimulatorContext;
+import util.logs.ErrorLog;
+import util.logs.ExecutionLog;
+import util.logs.WarningsLog;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ Batch Mode, Parses, Assembles and Executes many submissions on a fixed pool of workers (one per core by default).
+ <p>
+ Each submission has its own logs/components and runs headless, with a cycle budget.
+ Results are written one line per submission, in the order given, as soon as each one (and those before it) finish.
+ <p>
+ Submissions are every *.s/*.asm file in a directory (and sub directories),
+ Or the files listed in a manifest, one path per line relative to the manifest, blank lines and '#' comments are ignored.
+ <p>
+ Optionally a binary data file is mapped into every submission's Data Memory ({@link MappedMemory#DEFAULT_BASE}),
+ Copy On Write, so each submission sees the same initial data and the file is not changed.
+ */
+public class BatchRunner {
+	public static final int DEFAULT_BUDGET=1_000_000;
+	public static final String USAGE="[Directory|Manifest] [Cycle Budget] [Threads] [Data File]";
+	private static final SimulatorContext CONTEXT=SimulatorContext.headless( );
+	
+	private final int budget;
+	private final int threads;
+	@Nullable
+	private final Path dataFile;
+	
+	public BatchRunner ( ) {
+		this( DEFAULT_BUDGET, Runtime.getRuntime( ).availableProcessors( ) );
+	}
+	/**
+	 @param budget max cycles for each submission, It is stopped with an error if it runs over
+	 @param threads number of workers
+	 */
+	public BatchRunner (int budget, int threads) {
+		this( budget, threads, null );
+	}
+	/** @param dataFile Big Endian words, mapped into each submission, see {@link MappedMemory} */
+	public BatchRunner (int budget, int threads, @Nullable Path dataFile) {
+		if ( budget<1 || threads<1 )
+			throw new IllegalArgumentException( "Budget and Threads must be positive" );
+		this.budget=budget;
+		this.threads=threads;
+		this.dataFile=dataFile;
+	}
+	
+	/** Outcome of a submission */
+	public enum Status {
+		/** Ran to an Exit, without errors */
+		EXIT,
+		/** Parse/Assembly errors, nothing was run */
+		INVALID,
+		/** Runtime error */
+		ERROR,
+		/** Cycle budget ran out */
+		BUDGET
+	}
+	
+	/** Final state of one submission */
+	public static class Result {
+		private final String path;
+		private final Status status;
+		private final int cycles;
+		private final int[] registers;
+		private final Map<Integer, Integer> data;
+		private final List<String> errors;
+		
+		/** @param data the initial .data image, For submissions that were not run */
+		Result (String path, Status status, int cycles, int[] registers, int[] data, List<String> errors) {
+			this( path, status, cycles, registers, new TreeMap<>( ), errors );
+			for ( int i=0; i<data.length; i++ ) {
+				if ( data[ i ]!=0 )
+					this.data.put( i, data[ i ] );
+			}
+		}
+		/** @param memory Data Memory of the run, Including the Heap, Stack and mapped words it touched */
+		Result (String path, Status status, int cycles, int[] registers, DataMemory memory, List<String> errors) {
+			this( path, status, cycles, registers, new TreeMap<>( ), errors );
+			for ( Map.Entry<Integer, Integer> word : memory.nonZeroWords( ).entrySet( ) )
+				this.data.put( (word.getKey( ) - DataMemory.BASE_DATA_ADDRESS)/DataMemory.DATA_ALIGN, word.getValue( ) );
+		}
+		private Result (String path, Status status, int cycles, int[] registers, TreeMap<Integer, Integer> data, List<String> errors) {
+			this.path=path;
+			this.status=status;
+			this.cycles=cycles;
+			this.registers=registers;
+			this.data=data;
+			this.errors=List.copyOf( errors );
+		}
+		
+		public String getPath ( ) { return path; }
+		public Status getStatus ( ) { return status; }
+		public int getCycles ( ) { return cycles; }
+		public int[] getRegisters ( ) { return registers.clone( ); }
+		/**
+		 Non-Zero words of Data Memory at the end of the run, by index (offset from {@link DataMemory#BASE_DATA_ADDRESS}/{@link DataMemory#DATA_ALIGN}).
+		 Heap and Stack words have indexes past the .data image, see {@link DataMemory#nonZeroWords()}
+		 */
+		public Map<Integer, Integer> getData ( ) { return data; }
+		public List<String> getErrors ( ) { return errors; }
+		
+		/** One line, Tab separated: Path, Status, Cycles, Registers, Data, Errors */
+		@Override
+		public String toString ( ) {
+			return path + "\t" + status + "\tCycles[" + cycles + "]"
+				   + "\tRegisters" + Arrays.toString( registers )
+				   + "\tData" + data.toString( ).replace( '{', '[' ).replace( '}', ']' )
+				   + "\tErrors[" + errors.stream( ).map( e -> e.replaceAll( "\\s+", " " ).trim( ) )
+										 .collect( Collectors.joining( "; " ) ) + "]";
+		}
+	}
+	
+	/** Parses, Assembles then Executes the file, Safe to call from any thread */
+	@NotNull
+	public Result run (@NotNull Path file) {
+		final ErrorLog errorLog=new ErrorLog( new ArrayList<>( ) );
+		final WarningsLog warningsLog=new WarningsLog( new ArrayList<>( ) );
+		final MemoryBuilder mb=new MemoryBuilder( errorLog, warningsLog, CONTEXT );
+		final Parser parser=new Parser( file.toString( ), mb, errorLog, warningsLog );
+		final int[] registers=new int[ 32 ];
+		
+		ArrayList<Instruction> instructions=errorLog.hasEntries( ) ? null : parser.assemble( );
+		if ( instructions==null )
+			return new Result( file.toString( ), Status.INVALID, 0, registers, mb.retrieveData( ), errorLog.entries( ) );
+		
+		final ExecutionLog log=new ExecutionLog( new ArrayList<>( ) );
+		final DataMemory dataMemory=parser.getMem( log );
+		if ( dataFile!=null ) {
+			try {
+				dataMemory.map( MappedMemory.map( dataFile, MappedMemory.Mode.COPY_ON_WRITE ) );
+			} catch ( IOException | IllegalArgumentException e ) {
+				errorLog.append( "Mapping Data File Failed: " + e.getMessage( ) );
+				return new Result( file.toString( ), Status.ERROR, 0, registers, dataMemory, errorLog.entries( ) );
+			}
+		}
+		final Execution execution=new Execution( log, errorLog, dataMemory,
+												 new RegisterBank( registers, log, CONTEXT ), instructions, CONTEXT );
+		execution.setHeadless( true );
+		final int cycles=execution.runSteps_NoOutput( budget );
+		
+		final Status status;
+		if ( !execution.hasEnded( ) ) {
+			status=Status.BUDGET;
+			errorLog.appendEx( "Cycle Budget [" + budget + "] Ran Out" );
+		} else
+			status=errorLog.hasEntries( ) ? Status.ERROR : Status.EXIT;
+		return new Result( file.toString( ), status, cycles, registers, dataMemory, errorLog.entries( ) );
+	}
+	
+	/**
+	 Runs every file on the pool, Printing each result line to out in order.
+	 @return results, in the same order as files
+	 */
+	@NotNull
+	public List<Result> runAll (@NotNull List<Path> files, @NotNull PrintStream out) throws InterruptedException {
+		final ExecutorService pool=Executors.newFixedThreadPool( threads );
+		try {
+			final List<Future<Result>> pending=new ArrayList<>( files.size( ) );
+			for ( Path file : files )
+				pending.add( pool.submit( ( ) -> run( file ) ) );
+			
+			final List<Result> results=new ArrayList<>( files.size( ) );
+			for ( Future<Result> future : pending ) {
+				Result result;
+				try {
+					result=future.get( );
+				} catch ( ExecutionException e ) {    // Unexpected, Keep going with the rest
+					result=new Result( files.get( results.size( ) ).toString( ), Status.ERROR, 0, new int[ 32 ],
+									   new int[ 0 ], List.of( String.valueOf( e.getCause( ) ) ) );
+				}
+				out.println( result );
+				results.add( result );
+			}
+			return results;
+		} finally {
+			pool.shutdownNow( );
+		}
+	}
+	
+	/** Every *.s/*.asm under the directory (sorted), Or the files listed in the manifest */
+	@NotNull
+	public static List<Path> submissions (@NotNull Path dirOrManifest) throws IOException {
+		if ( Files.isDirectory( dirOrManifest ) ) {
+			try ( Stream<Path> walk=Files.walk( dirOrManifest ) ) {
+				return walk.filter( p -> Files.isRegularFile( p ) && isSubmission( p ) ).sorted( )
+						   .collect( Collectors.toList( ) );
+			}
+		}
+		final Path base=dirOrManifest.toAbsolutePath( ).getParent( );
+		return Files.readAllLines( dirOrManifest ).stream( ).map( String::trim )
+					.filter( line -> !line.isEmpty( ) && !line.startsWith( "#" ) )
+					.map( line -> base.resolve( line ).normalize( ) )
+					.collect( Collectors.toList( ) );
+	}
+	private static boolean isSubmission (Path p) {
+		final String name=p.getFileName( ).toString( ).toLowerCase( );
+		return name.endsWith( ".s" ) || name.endsWith( ".asm" );
+	}
+	
+	/** Args: {@value #USAGE} */
+	public static void main (String[] args) throws IOException, InterruptedException {
+		final int budget, threads;
+		try {
+			if ( args.length<1 )
+				throw new IllegalArgumentException( "Missing [Directory|Manifest]" );
+			budget=(args.length>1) ? positive( "Cycle Budget", args[ 1 ] ) : DEFAULT_BUDGET;
+			threads=(args.length>2) ? positive( "Threads", args[ 2 ] ) : Runtime.getRuntime( ).availableProcessors( );
+		} catch ( IllegalArgumentException e ) {
+			System.out.println( e.getMessage( ) );
+			System.out.println( "Usage: " + USAGE );
+			return;
+		}
+		final Path dataFile=(args.length>3) ? Paths.get( args[ 3 ] ) : null;
+		new BatchRunner( budget, threads, dataFile ).runAll( submissions( Paths.get( args[ 0 ] ) ), System.out );
+	}
+	/** @throws IllegalArgumentException if value is not a positive Integer */
+	static int positive (String name, String value) {
+		try {
+			final int n=Integer.parseInt( value );
+			if ( n>0 )
+				return n;
+		} catch ( NumberFormatException ignored ) { }
+		throw new IllegalArgumentException( name + " [" + value + "] Must be a positive Integer" );
+	}
+}
@@ -0,0 +1,243 @@
+package control;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import control.BatchRunner.Result;
+import control.BatchRunner.Status;
+import model.components.DataMemory;
+import model.components.RegisterBank;
+
+import util.Convert;
+import util.SimulatorContext;
+import util.logs.ExecutionLog;
+
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ Non-Interactive Mode, Runs one program to its end with no prompts and no per cycle output.
+ <p>
+ Parses, Assembles and Executes headless with a cycle budget (the same as each {@link BatchRunner} submission),
+ Then prints a summary, And the final registers/ data memory if asked, as text or JSON.
+ The exit code is the outcome, So it can be scripted: see {@link #exitCode(Status)}
+ <p>
+ Args: {@value #USAGE}
+ */
+public class CommandLine {
+	public static final String USAGE="[--run] [--max-cycles N] [--quiet] [--dump-regs] [--dump-mem] [--format text|json] [Path\\FileName]";
+	
+	/** Ran to an Exit */
+	public static final int EXIT_OK=0;
+	/** Runtime error */
+	public static final int EXIT_ERROR=1;
+	/** Parse/Assembly errors */
+	public static final int EXIT_INVALID=2;
+	/** Cycle budget ran out */
+	public static final int EXIT_BUDGET=3;
+	/** Unknown/ Missing args, Same as sysexits.h EX_USAGE */
+	public static final int EXIT_USAGE=64;
+	
+	private static final SimulatorContext CONTEXT=SimulatorContext.headless( );
+	
+	public enum Format {
+		TEXT,
+		JSON
+	}
+	
+	private final String path;
+	private final int maxCycles;
+	private final boolean quiet;
+	private final boolean dumpRegs;
+	private final boolean dumpMem;
+	private final Format format;
+	
+	/** @throws IllegalArgumentException on unknown or missing args */
+	public CommandLine (@NotNull String... args) {
+		String path=null, format="text";
+		int maxCycles=BatchRunner.DEFAULT_BUDGET;
+		boolean quiet=false, dumpRegs=false, dumpMem=false;
+		for ( int i=0; i<args.length; i++ ) {
+			switch ( args[ i ] ) {
+				case "--run":
+					break;    // Always runs to the end, Kept for scripts to be explicit
+				case "--max-cycles":
+					maxCycles=parseCycles( value( args, i++ ) );
+					break;
+				case "--quiet":
+					quiet=true;
+					break;
+				case "--dump-regs":
+					dumpRegs=true;
+					break;
+				case "--dump-mem":
+					dumpMem=true;
+					break;
+				case "--format":
+					format=value( args, i++ );
+					break;
+				default:
+					if ( args[ i ].startsWith( "--" ) )
+						throw new IllegalArgumentException( "Unknown Option [" + args[ i ] + "]" );
+					if ( path!=null )
+						throw new IllegalArgumentException( "More than one File [" + path + ", " + args[ i ] + "]" );
+					path=args[ i ];
+			}
+		}
+		if ( path==null )
+			throw new IllegalArgumentException( "No File" );
+		this.path=path;
+		this.maxCycles=maxCycles;
+		this.quiet=quiet;
+		this.dumpRegs=dumpRegs;
+		this.dumpMem=dumpMem;
+		try {
+			this.format=Format.valueOf( format.toUpperCase( ) );
+		} catch ( IllegalArgumentException e ) {
+			throw new IllegalArgumentException( "Unknown Format [" + format + "], Must be text or json" );
+		}
+	}
+	private static String value (String[] args, int i) {
+		if ( i + 1>=args.length )
+			throw new IllegalArgumentException( "Missing Value for [" + args[ i ] + "]" );
+		return args[ i + 1 ];
+	}
+	private static int parseCycles (String value) {
+		try {
+			final int cycles=Integer.parseInt( value );
+			if ( cycles>0 )
+				return cycles;
+		} catch ( NumberFormatException ignored ) { }
+		throw new IllegalArgumentException( "Max Cycles [" + value + "] Must be a positive Integer" );
+	}
+	
+	/** True if the args are for this mode, ie. Any option other than --batch */
+	public static boolean isCommandLine (@NotNull String[] args) {
+		for ( String arg : args ) {
+			if ( arg.startsWith( "--" ) && !arg.equals( "--batch" ) )
+				return true;
+		}
+		return false;
+	}
+	
+	/** @return the exit code for the outcome */
+	public static int exitCode (@NotNull Status status) {
+		switch ( status ) {
+			case EXIT: return EXIT_OK;
+			case INVALID: return EXIT_INVALID;
+			case BUDGET: return EXIT_BUDGET;
+			default: return EXIT_ERROR;
+		}
+	}
+	
+	/** Runs the program, Printing the summary to out. @return the exit code */
+	public int run (@NotNull PrintStream out) {
+		final Result result=new BatchRunner( maxCycles, 1 ).run( Paths.get( path ) );
+		out.print( (format==Format.JSON) ? json( result ) : text( result ) );
+		out.flush( );
+		return exitCode( result.getStatus( ) );
+	}
+	
+	/** Status, Cycles, Errors, Then the dumps. {@code --quiet} leaves only the dumps */
+	@NotNull
+	String text (@NotNull Result result) {
+		final StringBuilder sb=new StringBuilder( );
+		if ( !quiet ) {
+			sb.append( "Status: " ).append( result.getStatus( ) ).append( '\n' );
+			sb.append( "Cycles: " ).append( result.getCycles( ) ).append( '\n' );
+			for ( String error : result.getErrors( ) )
+				sb.append( error.trim( ) ).append( '\n' );
+		}
+		if ( dumpRegs ) {
+			try ( SimulatorContext.Scope ignored=CONTEXT.bind( ) ) {
+				sb.append( new RegisterBank( result.getRegisters( ), new ExecutionLog( new ArrayList<>( ) ), CONTEXT ).format( ) );
+			}
+		}
+		if ( dumpMem ) {
+			sb.append( "Data Memory:\n" );
+			for ( Map.Entry<Integer, Integer> word : result.getData( ).entrySet( ) )
+				sb.append( '[' ).append( address( word.getKey( ) ) ).append( "]\t" ).append( word.getValue( ) ).append( '\n' );
+		}
+		return sb.toString( );
+	}
+	
+	/** One object: status, cycles, errors, registers [32], data {address: value}. {@code --quiet} leaves only the dumps */
+	@NotNull
+	String json (@NotNull Result result) {
+		final StringBuilder sb=new StringBuilder( "{" );
+		if ( !quiet ) {
+			sb.append( "\"path\":" ).append( jsonString( result.getPath( ) ) );
+			sb.append( ",\"status\":\"" ).append( result.getStatus( ) ).append( '"' );
+			sb.append( ",\"exitCode\":" ).append( exitCode( result.getStatus( ) ) );
+			sb.append( ",\"cycles\":" ).append( result.getCycles( ) );
+			sb.append( ",\"errors\":[" );
+			for ( Iterator<String> it=result.getErrors( ).iterator( ); it.hasNext( ); )
+				sb.append( jsonString( it.next( ).trim( ) ) ).append( it.hasNext( ) ? "," : "" );
+			sb.append( ']' );
+		}
+		if ( dumpRegs ) {
+			sb.append( (sb.length( )>1) ? "," : "" ).append( "\"registers\":[" );
+			final int[] registers=result.getRegisters( );
+			for ( int i=0; i<registers.length; i++ )
+				sb.append( (i>0) ? "," : "" ).append( registers[ i ] );
+			sb.append( ']' );
+		}
+		if ( dumpMem ) {
+			sb.append( (sb.length( )>1) ? "," : "" ).append( "\"data\":{" );
+			for ( Iterator<Map.Entry<Integer, Integer>> it=result.getData( ).entrySet( ).iterator( ); it.hasNext( ); ) {
+				final Map.Entry<Integer, Integer> word=it.next( );
+				sb.append( '"' ).append( address( word.getKey( ) ) ).append( "\":" ).append( word.getValue( ) )
+				  .append( it.hasNext( ) ? "," : "" );
+			}
+			sb.append( '}' );
+		}
+		return sb.append( "}\n" ).toString( );
+	}
+	
+	private static String address (int index) {
+		return Convert.int2Hex( DataMemory.BASE_DATA_ADDRESS + index*DataMemory.DATA_ALIGN );
+	}
+	
+	/** Quoted, With '"', '\' and control chars escaped */
+	@NotNull
+	static String jsonString (@Nullable String s) {
+		if ( s==null )
+			return "null";
+		final StringBuilder sb=new StringBuilder( s.length( ) + 2 ).append( '"' );
+		for ( int i=0; i<s.length( ); i++ ) {
+			final char c=s.charAt( i );
+			switch ( c ) {
+				case '"': sb.append( "\\\"" ); break;
+				case '\\': sb.append( "\\\\" ); break;
+				case '\n': sb.append( "\\n" ); break;
+				case '\r': sb.append( "\\r" ); break;
+				case '\t': sb.append( "\\t" ); break;
+				default:
+					if ( c<0x20 )
+						sb.append( String.format( "\\u%04x", (int) c ) );
+					else
+						sb.append( c );
+			}
+		}
+		return sb.append( '"' ).toString( );
+	}
+	
+	/**
+	 Args: {@value #USAGE}
+	 @return the exit code, {@link #EXIT_USAGE} if the args are wrong
+	 */
+	public static int main (@NotNull String[] args, @NotNull PrintStream out) {
+		final CommandLine cli;
+		try {
+			cli=new CommandLine( args );
+		} catch ( IllegalArgumentException e ) {
+			out.println( e.getMessage( ) );
+			out.println( "Usage: " + USAGE );
+			return EXIT_USAGE;
+		}
+		return cli.run( out );
+	}
+}
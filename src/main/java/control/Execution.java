@@ -1,8 +1,15 @@
 package control;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
+import control.jit.Block;
+import control.jit.BlockCompiler;
+import control.jit.ClosureCompiler;
+import control.jit.CompiledProgram;
+import model.Program;
+import model.ProgramImage;
 import model.components.Component;
 import model.components.DataMemory;
 import model.components.InstrMemory;
@@ -13,13 +20,18 @@ import model.instr.MemAccess;
 import model.instr.Nop;
 
 import util.Convert;
+import util.SimulatorContext;
 import util.Util;
 import util.ansi_codes.Color;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
+import util.logs.OutputSink;
+import util.validation.InstrSpec;
 import util.validation.InstructionValidation;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 public class Execution {
 	private final ExecutionLog exLog;
@@ -27,35 +39,161 @@ public class Execution {
 	private final RegisterBank regBank;
 	private final InstrMemory instrMemory;
 	private final ErrorLog errorLog;
+	private final SimulatorContext context;
+	/** Image of a shared {@link Program}, otherwise predecoded after each {@link #reset()} */
+	private final ProgramImage predecoded;
+	/** When set, the datapath runs without building any output. see {@link #setHeadless(boolean)} */
+	private boolean headless=false;
+	/** How headless {@link #runToEnd()} runs the instructions. see {@link #setTier(Tier)} */
+	private Tier tier=Tier.INTERPRETED;
+	/** Only changed registers are output each step. see {@link #setRegisterChanges(boolean)} */
+	private boolean registerChanges=false;
+	/** Where {@link #runToEnd()} writes each step. see {@link #setOutput(OutputSink)} */
+	private OutputSink output=OutputSink.NONE;
+	/** Where {@link #runToEnd()} writes the final Register Bank, null (the current {@link System#out}) until {@link #setOutput(OutputSink)} */
+	private OutputSink result=null;
 	
 	// Fetch / Decode Always run the same, so the title is printed with the rest of their output
-	private static final String READ_OPS=Color.fmtTitle( Color.YELLOW, "Reading Operands" ) + ":";
-	private static final String EXECUTE =Color.fmtTitle( Color.RED, "Execution" ) + ":";
-	private static final String MEM_ACC =Color.fmtTitle( Color.MAGENTA, "Memory Access" ) + ":";
-	private static final String WRITE_BACK =Color.fmtTitle( Color.WHITE, "Write Back" ) + ":";
+	private final String READ_OPS, EXECUTE, MEM_ACC, WRITE_BACK;
 	
 	public Execution (@NotNull ExecutionLog exLog, @NotNull ErrorLog errorLog,
 					  @NotNull DataMemory dataMem,@NotNull RegisterBank regBank,
 					  @NotNull ArrayList<Instruction> instructions) {
+		this( exLog, errorLog, dataMem, regBank, instructions, SimulatorContext.current( ) );
+	}
+	/** @param context Bound while each cycle runs, Executions with their own context can run on separate threads */
+	public Execution (@NotNull ExecutionLog exLog, @NotNull ErrorLog errorLog,
+					  @NotNull DataMemory dataMem,@NotNull RegisterBank regBank,
+					  @NotNull ArrayList<Instruction> instructions, @NotNull SimulatorContext context) {
+		this( exLog, errorLog, dataMem, regBank, instructions, null, context );
+	}
+	/**
+	 Starts from a shared {@link Program}, Its {@link ProgramImage} is used instead of predecoding again.
+	 @param dataMem from {@link Program#newDataMemory(ExecutionLog)}, Each Execution needs its own
+	 */
+	public Execution (@NotNull ExecutionLog exLog, @NotNull ErrorLog errorLog,
+					  @NotNull DataMemory dataMem,@NotNull RegisterBank regBank,
+					  @NotNull Program program, @NotNull SimulatorContext context) {
+		this( exLog, errorLog, dataMem, regBank, program.getInstructions( ), program.getImage( ), context );
+	}
+	private Execution (ExecutionLog exLog, ErrorLog errorLog, DataMemory dataMem, RegisterBank regBank,
+					   List<Instruction> instructions, @Nullable ProgramImage predecoded, SimulatorContext context) {
+		this.predecoded=predecoded;
 		this.exLog=exLog;
 		this.errorLog=errorLog;
 		this.dataMem=dataMem;
 		this.regBank=regBank;
-		this.instrMemory=new InstrMemory( instructions, exLog );
+		this.context=context;
+		this.instrMemory=new InstrMemory( instructions, exLog, context );
+		try ( SimulatorContext.Scope ignored=context.bind( ) ) {
+			this.READ_OPS=Color.fmtTitle( Color.YELLOW, "Reading Operands" ) + ":";
+			this.EXECUTE =Color.fmtTitle( Color.RED, "Execution" ) + ":";
+			this.MEM_ACC =Color.fmtTitle( Color.MAGENTA, "Memory Access" ) + ":";
+			this.WRITE_BACK =Color.fmtTitle( Color.WHITE, "Write Back" ) + ":";
+		}
 		reset();
 	}
 	
+	@NotNull
+	public SimulatorContext getContext ( ) {
+		return context;
+	}
+	
+	/**
+	 Headless mode runs the datapath without building any Strings or appending to the {@link ExecutionLog},
+	 Only the final state of the {@link RegisterBank} and {@link DataMemory} are of interest.
+	 <p>Errors are still added to the {@link ErrorLog}.
+	 */
+	public void setHeadless(boolean headless){
+		this.headless=headless;
+	}
+	public boolean isHeadless ( ) {
+		return headless;
+	}
+	
+	/**
+	 Execution Tiers for headless {@link #runToEnd()}.
+	 <p>Single Steps ({@link #runStep(StringBuilder)}) are always interpreted, as is anything a tier can't compile.
+	 */
+	public enum Tier {
+		/** Each cycle runs the datapath, selecting with the Control Signals */
+		INTERPRETED,
+		/** Each instruction is bound to a specialized handler, {@link ClosureCompiler} */
+		CLOSURES,
+		/** Basic Blocks are translated to bytecode, {@link BlockCompiler} */
+		BYTECODE
+	}
+	
+	/**
+	 What each {@link #runStep(StringBuilder)} outputs, A bitmask of {@link ExecutionLog.Trace} categories.
+	 Disabled categories are skipped before anything is built.
+	 */
+	public void setTrace(int trace){
+		exLog.setTrace( trace );
+	}
+	public int getTrace ( ) {
+		return exLog.getTrace( );
+	}
+	
+	/**
+	 When set, Each {@link #runStep(StringBuilder)} only outputs the registers that changed since the last step,
+	 {@link RegisterBank#formatChanges()}, Instead of the whole table. The first step (and the first after {@link #reset()}) is still the whole table.
+	 */
+	public void setRegisterChanges(boolean registerChanges){
+		this.registerChanges=registerChanges;
+	}
+	public boolean isRegisterChanges ( ) {
+		return registerChanges;
+	}
+	
+	/** Only used in Headless mode, Changing tier takes effect after {@link #reset()} */
+	public void setTier(@NotNull Tier tier){
+		this.tier=tier;
+	}
+	public Tier getTier ( ) {
+		return tier;
+	}
+	
+	/**
+	 Where {@link #runToEnd()} writes each step and the final Register Bank, {@link OutputSink#NONE} is silent.
+	 <p>By default the steps are not built, And only the final Register Bank is printed to {@link System#out}.
+	 */
+	public void setOutput(@NotNull OutputSink output){
+		this.output=output;
+		this.result=output;
+	}
+	@NotNull
+	public OutputSink getOutput ( ) {
+		return output;
+	}
+	
 	/**Returns Null on Error . or Exit Instruction Completed WB
-	 contents of Register Bank are added to output each iteration*/
+	 contents of Register Bank are added to output each iteration
+	 <p>In Headless mode nothing is added to the output.*/
 	public Integer runStep(StringBuilder output){
+		return runStep( OutputSink.of( output ) );
+	}
+	
+	/**Same as {@link #runStep(StringBuilder)}, Written straight to the sink.
+	 <p>If the sink {@link OutputSink#isDiscarding() discards} its output, The step's output is never built.*/
+	public Integer runStep(@NotNull OutputSink output){
+		if ( headless )
+			return runStep_NoOutput( );
+		if ( output.isDiscarding( ) ) {
+			runStep_NoOutput( );
+			exLog.clear( );
+			return this.PC;
+		}
 		if ( PC!=null ){
 			try {
-				output.append( regBank.format( ) ); // Register Bank
-				output.append( "\n" );
+				if ( exLog.traces( ExecutionLog.Trace.REGISTER_DUMP ) ) {
+					output.append( registerChanges ? regBank.formatChanges( ) : regBank.format( ) ); // Register Bank
+					output.append( "\n" );
+				}
 				pipeline();
 				output.append( exLog.toStringAndClear() ); //  ExecutionLog
 			} catch ( IndexOutOfBoundsException | IllegalArgumentException e ) {
-				this.NPC=this.PC=null; // Signal to exit
+				this.PC=null; // Signal to exit
 				
 				// catch Exception -> Calling method should print the ErrLog/ WarningLog
 				// after Execution Finishes to see what went wrong
@@ -65,6 +203,7 @@ public class Execution {
 				exLog.clear();
 				throw e;
 			}
+			output.endStep( );
 		}
 		return this.PC; // == Null ∴ Exit
 	}
@@ -72,11 +211,16 @@ public class Execution {
 	/** Does Not Clear the ExecutionLog */
 	@VisibleForTesting
 	public Integer runStep_NoOutput(){
+		if ( headless ) {
+			if ( PC!=null )
+				this.PC=step_NoOutput( ProgramImage.toIndex( PC ) ) ? image( ).addressOf( this.hNext ) : null;
+			return this.PC; // == Null ∴ Exit
+		}
 		if ( PC!=null ){
 			try {
 				pipeline();
 			} catch ( IndexOutOfBoundsException | IllegalArgumentException e ) {
-				this.NPC=this.PC=null;
+				this.PC=null;
 				errorLog.append( e.getMessage() );
 			} catch ( IllegalStateException e ) { // Not Pre-Assembled /successfully
 				exLog.clear();
@@ -91,6 +235,11 @@ public class Execution {
 	 An Error is thrown,
 	 Or End of Provided Instructions.*/
 	public Integer runSteps(StringBuilder output, int N){
+		return runSteps( OutputSink.of( output ), N );
+	}
+	
+	/** Same as {@link #runSteps(StringBuilder, int)}, Written straight to the sink */
+	public Integer runSteps(@NotNull OutputSink output, int N){
 		if ( N<0 )
 			throw new IllegalArgumentException("N must be positive");
 		
@@ -100,16 +249,52 @@ public class Execution {
 		return this.PC; // == Null ∴ Exit
 	}
 	
+	/**
+	 Runs at most N cycles without output, see {@link #runStep_NoOutput()}.
+	 @return the number of cycles run, Less than N when execution has ended
+	 */
+	public int runSteps_NoOutput(int N){
+		if ( N<0 )
+			throw new IllegalArgumentException("N must be positive");
+		
+		int cycles=0;
+		while ( cycles<N && PC!=null ) {
+			runStep_NoOutput( );
+			cycles++;
+		}
+		return cycles;
+	}
+	
+	/** @return True once execution has ended, by Exit or Error */
+	public boolean hasEnded ( ) {
+		return PC==null;
+	}
+	
 	/**Attempts to Run till End of Provided Instructions, May end early if an Error is thrown
-	 Prints Output every 100Cycles*/
+	 Writes each cycle, then the final Register Bank, to the {@link #setOutput(OutputSink) output}, Which flushes as it goes
+	 <p>In Headless mode, nothing is printed.*/
 	public void runToEnd(){
+		if ( headless ) {
+			if ( PC!=null ) {
+				if ( tier!=Tier.INTERPRETED )
+					runCompiled( ProgramImage.toIndex( PC ) );
+				else {
+					int index=ProgramImage.toIndex( PC );
+					while ( step_NoOutput( index ) )
+						index=this.hNext;
+				}
+				this.PC=null;
+			}
+			return;
+		}
 		while ( PC!=null ){
-			StringBuilder out = new StringBuilder();
-			runSteps( out, 100 );
+			runSteps( output, 100 );
 		}
+		output.flush( );
 		if ( !errorLog.hasEntries() ){	// Re-Prints RegBank if no errors during Execution
-			System.out.println( regBank.format( ) ); // Register Bank
-			System.out.println( "\n" );
+			final OutputSink result=(this.result==null) ? OutputSink.stdout( ) : this.result;
+			result.append( regBank.format( ) + "\n\n\n" );
+			result.flush( );
 		}
 	}
 	
@@ -119,136 +304,286 @@ public class Execution {
 	}
 	
 	// TODO create wrapper ? to hold all the values?
-	private Integer PC, NPC, IMM, RR1, RR2, AOR, LMDR, ARR;
+	/** Null once execution has ended */
+	private Integer PC;
+	private int NPC, IMM, RR1, RR2, AOR, LMDR, ARR;
 	private Instruction ins;
+	/** Boxed address of each instruction, So {@link #PC} isn't allocated each cycle. {@link ProgramImage#addresses(int)} */
+	private Integer[] addresses;
 	
 	public void reset(){
 		this.PC=InstrMemory.BASE_INSTR_ADDRESS;
+		this.image=predecoded;
+		this.program=null;
+		this.addresses=ProgramImage.addresses( instrMemory.getInstructions( ).size( ) );
+		regBank.resetFrame( );
 		exLog.clear();
 		errorLog.clear();
 		
 	}
 	
-	private void fetch(Integer ProgramCounter){
+	private void fetch(int ProgramCounter){
 		ins = instrMemory.InstructionFetch( ProgramCounter );
 		if ( ins.getImmediate()==null && (ins instanceof J_Type || ins instanceof MemAccess) ) {    // TODO , move to Read Operands
 			throw new IllegalStateException( ins.getOpcode( ) + " must be Assembled before Execution " + Convert.int2Hex( PC ) );
 		}
-		this.NPC=Component.ADDER( ProgramCounter, 4,
-								   "\t"+Color.fmtSubTitle(Color.GREEN,"Increment_PC")+": NPC = PC + 4 === "
-								   +Color.fmtUnder(toHex( ProgramCounter + 4)), this.exLog);
+		this.NPC=Component.ADDER_NoOutput( ProgramCounter, 4 );
+		if ( exLog.traces( ExecutionLog.Trace.FETCH ) )
+			exLog.event( ExecutionLog.Kind.PC_INCREMENT, renderer, ProgramCounter, 0 );
 	}
 	
-	private Integer[] decode(Instruction instruction){
-		return Component.DECODER( instruction, this.exLog );
+	private int decode(Instruction instruction){
+		return Component.DECODE( instruction, this.exLog );
 	}
 	
-	private void read_operands(Instruction instruction,  Integer _Destination){
-		exLog.append( READ_OPS );
-		int[] temp_RB_Out;
+	/** Boxed address, Cached for the instructions of the program */
+	private Integer addressOf(int address){
+		final int index=ProgramImage.toIndex( address );
+		if ( index>=0 && index<addresses.length && ProgramImage.toAddress( index )==address )
+			return addresses[ index ];
+		return address;
+	}
+	
+	/** Control signals are {@link InstrSpec#NONE} when not set */
+	private void read_operands(Instruction instruction,  int _Destination){
+		if ( exLog.traces( ExecutionLog.Trace.OPERANDS ) )
+			exLog.append( READ_OPS );
 		Integer RS = instruction.getRS();
 		Integer RT = instruction.getRT();
 		
-		if ( _Destination!=null && _Destination==0 )
+		if ( _Destination==0 )
 			RT = null; // redundant
 		
 		if ( RS!=null) {
-			temp_RB_Out=regBank.read( RS, RT );
-			this.RR1=temp_RB_Out[ 0 ];
-			this.RR2=temp_RB_Out[ 1 ];
+			this.RR1=regBank.readPort( 0, RS );
+			this.RR2=regBank.readPort( 1, (RT==null) ? RegisterBank.NO_READ : RT );
 		}
-		this.IMM= instruction.getImmediate();
-		if (IMM!=null)
-			exLog.append( "\t\t[IMMEDIATE: " + IMM + " === "+toHex(IMM)+"]" );
+		Integer immediate= instruction.getImmediate();
+		this.IMM= (immediate==null) ? 0 : immediate;
+		if (immediate!=null && exLog.traces( ExecutionLog.Trace.OPERANDS ))
+			exLog.event( ExecutionLog.Kind.IMMEDIATE, renderer, IMM, 0 );
 	}
 	
-	private void execute (Integer RegisterResult1, Integer NextProgramCounter, Integer RegisterResult2, Integer ImmediateRegister,
-						  Integer _ALUSource1, Integer _ALUSource2, Integer _ALU_Operation, Integer _ProgramCounterWrite){
-		exLog.append( EXECUTE );
-		Integer ALUInputRegister1 = Component.MUX( _ALUSource1,"ALUSrc1", RegisterResult1, NextProgramCounter);
+	private void execute (int RegisterResult1, int NextProgramCounter, int RegisterResult2, int ImmediateRegister,
+						  int _ALUSource1, int _ALUSource2, int _ALU_Operation, int _ProgramCounterWrite){
+		if ( exLog.traces( ExecutionLog.Trace.ALU ) )
+			exLog.append( EXECUTE );
+		int ALUInputRegister1 = Component.MUX_NoOutput( _ALUSource1, RegisterResult1, NextProgramCounter);
 		
-		Integer ALUInputRegister2 = Component.MUX( _ALUSource2,"ALUSrc2", RegisterResult2, ImmediateRegister);
+		int ALUInputRegister2 = Component.MUX_NoOutput( _ALUSource2, RegisterResult2, ImmediateRegister);
 		
-		if ( _ProgramCounterWrite!=null && (_ProgramCounterWrite==1 || _ProgramCounterWrite==2) ){
+		if ( _ProgramCounterWrite==1 || _ProgramCounterWrite==2 ){
 			int ADDR = Convert.imm2Address( ImmediateRegister );
-			exLog.append( "\tLeft Shifting IMMEDIATE By 2: " + toHex( ImmediateRegister ) + " << " + 2 + " ==> [" + ADDR + " === " + toHex( ADDR ) + "]");
+			if ( exLog.traces( ExecutionLog.Trace.ALU ) )
+				exLog.event( ExecutionLog.Kind.SHIFT, renderer, ImmediateRegister, ADDR );
 			
 			if ( _ProgramCounterWrite==2 ){
-				//noinspection ConstantConditions
-				ADDR = Component.ADDER( Convert.imm2Address( ImmediateRegister ), NextProgramCounter,
-										"\t\tTarget Address = "+toHex( ADDR )+" + NPC ==> "+toHex( ADDR+NPC )+"\n",
-										exLog);
+				if ( exLog.traces( ExecutionLog.Trace.ALU ) )
+					exLog.event( ExecutionLog.Kind.TARGET, renderer, ADDR, NPC );
+				ADDR = Component.ADDER_NoOutput( Convert.imm2Address( ImmediateRegister ), NextProgramCounter );
 			}
 			this.IMM= ADDR;
 		}
 		
-		this.AOR=Component.ALU( ALUInputRegister1, ALUInputRegister2, _ALU_Operation, exLog );
+		if ( _ALUSource1==InstrSpec.NONE && _ALU_Operation==-1 )
+			this.AOR=0; // NOP -- Nothing to forward, for Nop, Exit & Jump
+		else
+			this.AOR=Component.ALU( ALUInputRegister1, ALUInputRegister2, _ALU_Operation, exLog );
 	}
 	
-	private void memory(Integer StoreValueRegister, Integer ALUOutputRegister, Integer _MemoryAction,
-						Integer NextProgramCounter, Integer ImmediateRegister, Integer _ProgramCounter_Write, Integer _BranchCondition){
-		exLog.append( MEM_ACC );
+	private void memory(int StoreValueRegister, int ALUOutputRegister, int _MemoryAction,
+						int NextProgramCounter, int ImmediateRegister, int _ProgramCounter_Write, int _BranchCondition){
+		if ( exLog.traces( ExecutionLog.Trace.MEMORY ) )
+			exLog.append( MEM_ACC );
 		
-		Integer branchPC = NextProgramCounter;
+		int branchPC = NextProgramCounter;
 		
-		if ( _BranchCondition!=null ){
-			String branchPrint="\tAOR["+ALUOutputRegister+"]";
-			String T = " True:Branch Taken";
-			String F = " False:Branch NOT~Taken";
-			
-			if ( _BranchCondition==0) {
-				branchPrint+=" == Zero?";
-				if ( ALUOutputRegister==0 ){
-					branchPC=ImmediateRegister;
-					branchPrint+=T;
-				}else
-					branchPrint+=F;
-			}else if ( _BranchCondition==1) {
-				branchPrint+=" == NOT~Zero?";
-				if ( ALUOutputRegister!=0 ){
-					branchPC=ImmediateRegister;
-					branchPrint+=T;
-				}else
-					branchPrint+=F;
-			}
+		if ( _BranchCondition!=InstrSpec.NONE ){
+			boolean taken=false;
+			if ( _BranchCondition==0)
+				taken=ALUOutputRegister==0;
+			else if ( _BranchCondition==1)
+				taken=ALUOutputRegister!=0;
+			if ( taken )
+				branchPC=ImmediateRegister;
 			
-			exLog.appendEx( branchPrint );
+			if ( exLog.traces( ExecutionLog.Trace.BRANCH ) )
+				exLog.event( ExecutionLog.Kind.BRANCH, renderer, ALUOutputRegister, _BranchCondition, taken ? 1 : 0, 0, null );
 		}
 		
-		this.NPC=Component.MUX( _ProgramCounter_Write, "NPC", NextProgramCounter, ImmediateRegister, branchPC);
+		this.NPC=Component.MUX_NoOutput( _ProgramCounter_Write, NextProgramCounter, ImmediateRegister, branchPC);
 		
-		if ( _MemoryAction!=null ) {
-			if ( _MemoryAction==0 ) // Load
-				this.LMDR=dataMem.readData( ALUOutputRegister );
-			else if ( _MemoryAction==1 ) // Store
-				dataMem.writeData( ALUOutputRegister, StoreValueRegister );
-		}
+		if ( _MemoryAction==0 ) // Load
+			this.LMDR=dataMem.readData( ALUOutputRegister );
+		else if ( _MemoryAction==1 ) // Store
+			dataMem.writeData( ALUOutputRegister, StoreValueRegister );
 		this.ARR=ALUOutputRegister;
 	}
 	
-	private void write_back(Integer AluResultRegister, Integer LoadDataMemoryRegister, Integer _MemToReg, Integer _Destination){
-		exLog.append( WRITE_BACK );
-		Integer WB_Data = Component.MUX( _MemToReg, "WriteBack", AluResultRegister, LoadDataMemoryRegister );
-		Integer DestinationRegister = Component.MUX( _Destination, "RegDest", ins.getRT(), ins.getRD(), 31 );
+	private final ExecutionLog.Renderer renderer=this::render;
+	/** Events of the Execution itself, see {@link ExecutionLog.Kind} for the args */
+	private void render(ExecutionLog.Kind kind, int a, int b, int c, int d, Object ref, Consumer<String> out){
+		switch ( kind ){
+			case PC_INCREMENT:
+				out.accept( "\t"+Color.fmtSubTitle(Color.GREEN,"Increment_PC")+": NPC = PC + 4 === "
+							+Color.fmtUnder(toHex( a + 4)) );
+				break;
+			case IMMEDIATE:
+				out.accept( "\t\t[IMMEDIATE: " + a + " === "+toHex(a)+"]" );
+				break;
+			case SHIFT:
+				out.accept( "\tLeft Shifting IMMEDIATE By 2: " + toHex( a ) + " << " + 2 + " ==> [" + b + " === " + toHex( b ) + "]");
+				break;
+			case TARGET:
+				out.accept( "\t\tTarget Address = "+toHex( a )+" + NPC ==> "+toHex( a+b )+"\n" );
+				break;
+			case BRANCH:
+				String branchPrint="\tAOR["+a+"]";
+				if ( b==0 )
+					branchPrint+=" == Zero?";
+				else if ( b==1 )
+					branchPrint+=" == NOT~Zero?";
+				if ( b==0 || b==1 )
+					branchPrint+=(c==1) ? " True:Branch Taken" : " False:Branch NOT~Taken";
+				out.accept( branchPrint + "!" );
+				break;
+			default:
+				throw new IllegalStateException( "Not an Execution Event: " + kind );
+		}
+	}
+	
+	/** @param _ProgramCounter_Write {@link InstrSpec#NONE} ends execution (Exit) */
+	private void write_back(int AluResultRegister, int LoadDataMemoryRegister, int _MemToReg, int _Destination, int _ProgramCounter_Write){
+		if ( exLog.traces( ExecutionLog.Trace.WRITE_BACK ) )
+			exLog.append( WRITE_BACK );
 		
+		boolean exit=_ProgramCounter_Write==InstrSpec.NONE;
 		if ( ins instanceof Nop && InstructionValidation.NO_OPERANDS_OPCODE.contains( ins.getOpcode() ) ) // Might be redundant
-			this.NPC= null;
-		else if ( DestinationRegister!=null )
-			regBank.write( DestinationRegister, WB_Data );
+			exit=true;
+		else if ( _MemToReg==InstrSpec.NONE && _Destination!=InstrSpec.NONE )
+			regBank.write( null, null );
+		else if ( _Destination!=InstrSpec.NONE )
+			regBank.write( Component.MUX_NoOutput( _Destination, zeroIfNull( ins.getRT( ) ), zeroIfNull( ins.getRD( ) ), 31 ),
+						   Component.MUX_NoOutput( _MemToReg, AluResultRegister, LoadDataMemoryRegister ) );
 		
-		this.PC=this.NPC;
-		exLog.append( "--------------------------------\n" );
+		this.PC=exit ? null : addressOf( this.NPC );
+		if ( exLog.traces( ExecutionLog.Trace.WRITE_BACK ) )
+			exLog.append( "--------------------------------\n" );
+	}
+	
+	// Headless Datapath -- primitive registers, no null (EXIT marks the end of execution)
+	private static final int EXIT=Block.EXIT;
+	private ProgramImage image;
+	private int hNext;
+	
+	/** Predecodes the instructions on first use after {@link #reset()}, Instructions must already be assembled */
+	private ProgramImage image ( ) throws IllegalStateException {
+		if ( image==null )
+			image=ProgramImage.predecode( instrMemory.getInstructions( ) );
+		return image;
+	}
+	
+	/**
+	 Same datapath as {@link #pipeline()}, Fetch->Decode->ReadOperands->Execute->Memory->WriteBack,
+	 But No Strings are built, and nothing is appended to the {@link ExecutionLog}.
+	 <p>Instructions are fetched from the {@link ProgramImage} by index.
+	 <p>Runtime errors are added to the {@link ErrorLog}, {@link IllegalStateException} is still thrown.
+	 
+	 @return False if execution has ended (Exit/Error). The next index is held in {@link #hNext}
+	 */
+	private boolean step_NoOutput(int index) throws IllegalStateException{
+		final ProgramImage img=image( );
+		try {
+			// Fetch
+			if ( img.isAutoExit( index ) ) {
+				this.hNext=EXIT;
+				return false;
+			}
+			final int npc=ProgramImage.toAddress( Component.ADDER_NoOutput( index, 1 ) );
+			// Decode
+			final int ctrl=Component.CONTROL( img.getOpcode( index ) );
+			final int pcWrite=InstrSpec.signal( ctrl, InstrSpec.PC_WRITE );
+			if ( pcWrite==InstrSpec.NONE ) { // Exit/Halt
+				this.hNext=EXIT;
+				return false;
+			}
+			// Read Operands
+			final int rr1=regBank.read_NoOutput( img.getRS( index ) );
+			final int rr2=regBank.read_NoOutput( img.getRT( index ) );
+			final int IMM=img.getImm( index );
+			// Execute
+			final int in1=Component.MUX_NoOutput( InstrSpec.signal( ctrl, InstrSpec.ALU_SRC1 ), rr1, npc );
+			final int in2=Component.MUX_NoOutput( InstrSpec.signal( ctrl, InstrSpec.ALU_SRC2 ), rr2, IMM );
+			final int aor=Component.ALU_NoOutput( in1, in2, InstrSpec.aluOp( ctrl ) );
+			// Memory
+			final int cond=InstrSpec.signal( ctrl, InstrSpec.BRANCH_COND );
+			final int target=img.getTarget( index );
+			final int branch=(cond!=InstrSpec.NONE && (cond==0)==(aor==0)) ? target : index + 1;
+			this.hNext=Component.MUX_NoOutput( pcWrite, index + 1, target, branch );
+			
+			final int memOp=InstrSpec.signal( ctrl, InstrSpec.MEM_OP );
+			int lmdr=0;
+			if ( memOp==0 ) // Load
+				lmdr=dataMem.readData_NoOutput( aor );
+			else if ( memOp==1 ) // Store
+				dataMem.writeData_NoOutput( aor, rr2 );
+			// Write Back
+			final int dest=InstrSpec.signal( ctrl, InstrSpec.REG_DEST );
+			final int memToReg=InstrSpec.signal( ctrl, InstrSpec.MEM_TO_REG );
+			if ( dest!=InstrSpec.NONE && memToReg!=InstrSpec.NONE )
+				regBank.write_NoOutput( Component.MUX_NoOutput( dest, img.getRT( index ), img.getRD( index ), 31 ),
+										Component.MUX_NoOutput( memToReg, aor, lmdr ) );
+			return this.hNext!=EXIT;
+		} catch ( IndexOutOfBoundsException | IllegalArgumentException e ) {
+			this.hNext=EXIT;
+			errorLog.append( e.getMessage( ) );
+			return false;
+		}
+	}
+	
+	// Compiled Blocks
+	private CompiledProgram program;
+	
+	/**
+	 Dispatch Loop, Runs the block/handler starting at the index, then the one at the index it returns.
+	 Index's without one are interpreted {@link #step_NoOutput(int)}, until an index with one is reached.
+	 */
+	private void runCompiled(int index) throws IllegalStateException{
+		if ( program==null )
+			program=(tier==Tier.BYTECODE) ? BlockCompiler.compile( image( ) ) : ClosureCompiler.compile( image( ) );
+		final int[] registers=regBank.registers_NoOutput( );
+		try {
+			while ( index!=EXIT ) {
+				final Block block=program.blockAt( index );
+				if ( block!=null )
+					index=block.run( registers, dataMem );
+				else
+					index=step_NoOutput( index ) ? this.hNext : EXIT;
+			}
+		} catch ( IndexOutOfBoundsException | IllegalArgumentException e ) {
+			errorLog.append( e.getMessage( ) );
+		}
 	}
 	
 	private Integer pipeline() throws IllegalArgumentException, IllegalStateException, IndexOutOfBoundsException{
-		Integer[] control = new Integer[7];
+		try ( SimulatorContext.Scope ignored=context.bind( ) ) {
+			return cycle( );
+		}
+	}
+	private Integer cycle() {
 		//TODO refactor methods to return arrays, instead of using global variables
 		fetch(this.PC );
-		control = decode(this.ins);
-		read_operands(this.ins, control[0]);
-		execute( this.RR1, this.NPC, this.RR2, this.IMM, control[1], control[2], control[3], control[6]);
-		memory( this.RR2, this.AOR,control[4], this.NPC, this.IMM, control[6], control[7]); // SVR = RR2
-		write_back( this.ARR, this.LMDR, control[5], control[0]);
+		final int control = decode(this.ins);
+		read_operands(this.ins, InstrSpec.signal( control, InstrSpec.REG_DEST ));
+		execute( this.RR1, this.NPC, this.RR2, this.IMM, InstrSpec.signal( control, InstrSpec.ALU_SRC1 ),
+				 InstrSpec.signal( control, InstrSpec.ALU_SRC2 ), InstrSpec.aluOp( control ), InstrSpec.signal( control, InstrSpec.PC_WRITE ));
+		memory( this.RR2, this.AOR, InstrSpec.signal( control, InstrSpec.MEM_OP ), this.NPC, this.IMM,
+				InstrSpec.signal( control, InstrSpec.PC_WRITE ), InstrSpec.signal( control, InstrSpec.BRANCH_COND )); // SVR = RR2
+		write_back( this.ARR, this.LMDR, InstrSpec.signal( control, InstrSpec.MEM_TO_REG ), InstrSpec.signal( control, InstrSpec.REG_DEST ),
+					InstrSpec.signal( control, InstrSpec.PC_WRITE ));
 		return this.PC;
 	}
+	private static int zeroIfNull(@Nullable Integer val){
+		return (val==null) ? 0 : val;
+	}
 }
@@ -0,0 +1,386 @@
+package control;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import model.ProgramImage;
+import model.components.Component;
+import model.components.DataMemory;
+import model.components.RegisterBank;
+import model.instr.Instruction;
+
+import util.logs.ErrorLog;
+import util.validation.InstrSpec;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ Classic 5 Stage Pipeline, IF -> ID -> EX -> MEM -> WB. Runs the same instructions as {@link Execution},
+ But each cycle every stage works on a different instruction, with latch registers between the stages.
+ <p>
+ Stages are run in reverse order (WB first), so every stage reads the latch written in the previous cycle.
+ <ul>
+ <li>Registers are written in the first half of the cycle (WB), and read in the second half (ID)</li>
+ <li>Hazard Detection: Load-Use stalls for 1 cycle, Without forwarding any RAW dependency stalls until the value is written</li>
+ <li>Forwarding: EX operands are taken from EX/MEM or MEM/WB, {@link #setForwarding(boolean)}</li>
+ <li>Branches/Jumps: Predicted Not Taken, resolved in EX. When taken the 2 younger instructions are flushed</li>
+ <li>Exit: Fetching stops once an Exit is decoded, execution ends when it reaches WB</li>
+ </ul>
+ Nothing is appended to the ExecutionLog, Only the final state and the {@link #report()} are of interest.
+ <p>Runtime errors are added to the {@link ErrorLog} when the faulting instruction would complete.
+ */
+public class PipelinedExecution {
+	private static final int EXIT_CTRL=Component.CONTROL( InstrSpec.ordinalOf( "exit" ) );
+	
+	private final ErrorLog errorLog;
+	private final DataMemory dataMem;
+	private final RegisterBank regBank;
+	private final List<Instruction> instructions;
+	private boolean forwarding=true;
+	
+	private ProgramImage image;
+	private final IF_ID ifId=new IF_ID( );
+	private final ID_EX idEx=new ID_EX( );
+	private final EX_MEM exMem=new EX_MEM( );
+	private final MEM_WB memWb=new MEM_WB( );
+	
+	private int fetchIndex;
+	private boolean fetchHalted, stalled, flush, done;
+	// Forwarding sources, captured as MEM/WB complete. 0 - Nothing to forward
+	private int memFwdDest, memFwdData, wbDest, wbData;
+	// Stats
+	private long cycles, retired, stalls, flushes;
+	
+	public PipelinedExecution (@NotNull ErrorLog errorLog, @NotNull DataMemory dataMem, @NotNull RegisterBank regBank,
+							   @NotNull List<Instruction> instructions) {
+		this.errorLog=errorLog;
+		this.dataMem=dataMem;
+		this.regBank=regBank;
+		this.instructions=instructions;
+		reset( );
+	}
+	
+	/** Forwarding Unit, when disabled the Hazard Detection Unit stalls until operands have been written back */
+	public void setForwarding (boolean forwarding) {
+		this.forwarding=forwarding;
+	}
+	public boolean isForwarding ( ) {
+		return forwarding;
+	}
+	
+	public void reset ( ) {
+		this.image=null;
+		ifId.bubble( );
+		idEx.bubble( );
+		exMem.bubble( );
+		memWb.bubble( );
+		fetchIndex=0;
+		fetchHalted=stalled=flush=done=false;
+		memFwdDest=wbDest=0;
+		cycles=retired=stalls=flushes=0;
+	}
+	
+	/** Predecodes the instructions on first use after {@link #reset()}, Instructions must already be assembled */
+	private ProgramImage image ( ) throws IllegalStateException {
+		if ( image==null )
+			image=ProgramImage.predecode( instructions );
+		return image;
+	}
+	
+	/** Runs cycles until the Exit reaches WB, or an Error is thrown */
+	public void runToEnd ( ) throws IllegalStateException {
+		//noinspection StatementWithEmptyBody
+		while ( cycle( ) ) ;
+	}
+	
+	/**
+	 Advances every stage by one cycle.
+	
+	 @return False if execution has ended (Exit/Error)
+	 @throws IllegalStateException Instructions have not been assembled
+	 */
+	public boolean cycle ( ) throws IllegalStateException {
+		if ( done )
+			return false;
+		final ProgramImage img=image( );
+		cycles++;
+		stalled=flush=false;
+		
+		writeBack( );
+		if ( done )
+			return false;
+		memory( );
+		if ( done )
+			return false;
+		execute( );
+		decode( img );
+		fetch( img );
+		return true;
+	}
+	
+	//------------------------------------------------- Stages -------------------------------------------------//
+	
+	private void fetch (ProgramImage img) {
+		if ( flush ) { // Fetch from the branch target next cycle
+			ifId.bubble( );
+			fetchHalted=false;
+			return;
+		}
+		if ( stalled )    // IF/ID is held
+			return;
+		if ( fetchHalted ) {
+			ifId.bubble( );
+			return;
+		}
+		ifId.valid=true;
+		ifId.index=fetchIndex;
+		ifId.fault=null;
+		try {
+			fetchHalted=img.isAutoExit( fetchIndex );
+		} catch ( IndexOutOfBoundsException e ) {
+			ifId.fault=e.getMessage( );    // Raised only if this instruction is not flushed
+			fetchHalted=true;
+		}
+		fetchIndex++;
+	}
+	
+	private void decode (ProgramImage img) {
+		if ( flush && ifId.valid )    // Squashed, by a taken Branch/Jump in EX
+			ifId.bubble( );
+		if ( !ifId.valid ) {
+			idEx.bubble( );
+			return;
+		}
+		final int index=ifId.index;
+		if ( ifId.fault!=null || index>=img.length( ) ) { // Fetch Error/Auto Exit, decoded as an Exit
+			idEx.set( index, EXIT_CTRL, ifId.fault );
+			fetchHalted=true;
+			return;
+		}
+		
+		final int ctrl=Component.CONTROL( img.getOpcode( index ) );
+		final int rs=(InstrSpec.signal( ctrl, InstrSpec.ALU_SRC1 )==0) ? img.getRS( index ) : 0;
+		final int rt=(InstrSpec.signal( ctrl, InstrSpec.ALU_SRC2 )==0 || InstrSpec.signal( ctrl, InstrSpec.MEM_OP )==1)
+					 ? img.getRT( index ) : 0;
+		if ( hazard( rs, rt ) ) {
+			stalled=true;
+			stalls++;
+			idEx.bubble( );
+			return;
+		}
+		
+		idEx.set( index, ctrl, null );
+		idEx.rs=rs;
+		idEx.rt=rt;
+		idEx.rr1=regBank.read_NoOutput( rs );
+		idEx.rr2=regBank.read_NoOutput( rt );
+		idEx.imm=img.getImm( index );
+		idEx.target=img.getTarget( index );
+		idEx.dest=destination( ctrl, img.getRT( index ), img.getRD( index ) );
+		if ( InstrSpec.signal( ctrl, InstrSpec.PC_WRITE )==InstrSpec.NONE )    // Exit/Halt
+			fetchHalted=true;
+	}
+	
+	private void execute ( ) {
+		exMem.set( idEx.valid, idEx.ctrl, idEx.dest, idEx.fault );
+		if ( !idEx.valid || idEx.fault!=null )
+			return;
+		final int ctrl=idEx.ctrl;
+		final int npc=ProgramImage.toAddress( idEx.index + 1 );
+		final int rr1=forward( idEx.rs, idEx.rr1 );
+		final int rr2=forward( idEx.rt, idEx.rr2 );
+		
+		final int in1=Component.MUX_NoOutput( InstrSpec.signal( ctrl, InstrSpec.ALU_SRC1 ), rr1, npc );
+		final int in2=Component.MUX_NoOutput( InstrSpec.signal( ctrl, InstrSpec.ALU_SRC2 ), rr2, idEx.imm );
+		final int aor=Component.ALU_NoOutput( in1, in2, InstrSpec.aluOp( ctrl ) );
+		exMem.aor=aor;
+		exMem.svr=rr2;
+		
+		final int pcWrite=InstrSpec.signal( ctrl, InstrSpec.PC_WRITE );
+		final int cond=InstrSpec.signal( ctrl, InstrSpec.BRANCH_COND );
+		if ( pcWrite==1 || (pcWrite==2 && cond!=InstrSpec.NONE && (cond==0)==(aor==0)) ) {
+			fetchIndex=idEx.target;
+			flush=true;
+			flushes++;
+		}
+	}
+	
+	private void memory ( ) {
+		memWb.set( exMem.valid, exMem.ctrl, exMem.dest, exMem.fault );
+		memFwdDest=0;
+		if ( !exMem.valid || exMem.fault!=null )
+			return;
+		final int memOp=InstrSpec.signal( exMem.ctrl, InstrSpec.MEM_OP );
+		memWb.aor=exMem.aor;
+		memWb.lmdr=0;
+		try {
+			if ( memOp==0 ) // Load
+				memWb.lmdr=dataMem.readData_NoOutput( exMem.aor );
+			else if ( memOp==1 ) // Store
+				dataMem.writeData_NoOutput( exMem.aor, exMem.svr );
+		} catch ( IndexOutOfBoundsException | IllegalArgumentException e ) {
+			errorLog.append( e.getMessage( ) );
+			done=true;
+			return;
+		}
+		if ( memOp!=0 ) {    // Loaded values are not ready until WB
+			memFwdDest=exMem.dest;
+			memFwdData=exMem.aor;
+		}
+	}
+	
+	private void writeBack ( ) {
+		wbDest=0;
+		if ( !memWb.valid )
+			return;
+		if ( memWb.fault!=null ) {
+			errorLog.append( memWb.fault );
+			done=true;
+			return;
+		}
+		retired++;
+		if ( InstrSpec.signal( memWb.ctrl, InstrSpec.PC_WRITE )==InstrSpec.NONE ) { // Exit/Halt
+			done=true;
+			return;
+		}
+		if ( memWb.dest!=0 ) {
+			wbDest=memWb.dest;
+			wbData=Component.MUX_NoOutput( InstrSpec.signal( memWb.ctrl, InstrSpec.MEM_TO_REG ), memWb.aor, memWb.lmdr );
+			regBank.write_NoOutput( wbDest, wbData );
+		}
+	}
+	
+	//------------------------------------------------- Units -------------------------------------------------//
+	
+	/** Destination Register written in WB, 0 if nothing is written ($zero can't be written to) */
+	private static int destination (int ctrl, int rt, int rd) {
+		final int dest=InstrSpec.signal( ctrl, InstrSpec.REG_DEST );
+		if ( dest==InstrSpec.NONE || InstrSpec.signal( ctrl, InstrSpec.MEM_TO_REG )==InstrSpec.NONE )
+			return 0;
+		return Component.MUX_NoOutput( dest, rt, rd, 31 );
+	}
+	
+	/**
+	 Hazard Detection Unit, Runs after EX, so EX/MEM holds the instruction that was in EX this cycle,
+	 And MEM/WB the one that was in MEM.
+	 <p>With forwarding, only a Load directly ahead stalls. Without, any pending write to a source register stalls.
+	 */
+	private boolean hazard (int rs, int rt) {
+		if ( writes( exMem.valid, exMem.dest, rs, rt ) && (!forwarding || InstrSpec.signal( exMem.ctrl, InstrSpec.MEM_OP )==0) )
+			return true;
+		return !forwarding && writes( memWb.valid, memWb.dest, rs, rt );
+	}
+	private static boolean writes (boolean valid, int dest, int rs, int rt) {
+		return valid && dest!=0 && (dest==rs || dest==rt);
+	}
+	
+	/** Forwarding Unit, The newest value of the register, EX/MEM then MEM/WB, before the value read in ID */
+	private int forward (int reg, int value) {
+		if ( !forwarding || reg==0 )
+			return value;
+		if ( reg==memFwdDest )
+			return memFwdData;
+		if ( reg==wbDest )
+			return wbData;
+		return value;
+	}
+	
+	//------------------------------------------------- Stats -------------------------------------------------//
+	
+	public long getCycles ( ) {
+		return cycles;
+	}
+	/** Instructions which completed WB, including the Exit */
+	public long getInstructions ( ) {
+		return retired;
+	}
+	/** Cycles the Hazard Detection Unit stalled ID & IF */
+	public long getStalls ( ) {
+		return stalls;
+	}
+	/** Taken Branches/Jumps, each flushes the 2 younger instructions */
+	public long getFlushes ( ) {
+		return flushes;
+	}
+	/** Cycles Per Instruction, 0 if no instructions have completed */
+	public double getCPI ( ) {
+		return (retired==0) ? 0 : (double) cycles/retired;
+	}
+	
+	public String report ( ) {
+		return String.format( Locale.ROOT, "Cycles[%d], Instructions[%d], CPI[%.3f],\tStalls[%d], Flushes[%d], Forwarding[%s]",
+							  cycles, retired, getCPI( ), stalls, flushes, forwarding ? "On" : "Off" );
+	}
+	
+	//------------------------------------------------- Latches -------------------------------------------------//
+	
+	/** Instruction Fetch -> Instruction Decode */
+	private static final class IF_ID {
+		boolean valid;
+		int index;
+		/** Fetch error, raised when the instruction reaches WB */
+		@Nullable String fault;
+		
+		void bubble ( ) {
+			valid=false;
+			fault=null;
+		}
+	}
+	
+	/** Instruction Decode -> Execute */
+	private static final class ID_EX {
+		boolean valid;
+		int index, ctrl;
+		int rs, rt, rr1, rr2, imm, target, dest;
+		@Nullable String fault;
+		
+		void set (int index, int ctrl, @Nullable String fault) {
+			this.valid=true;
+			this.index=index;
+			this.ctrl=ctrl;
+			this.fault=fault;
+			rs=rt=rr1=rr2=imm=target=dest=0;
+		}
+		void bubble ( ) {
+			valid=false;
+			fault=null;
+		}
+	}
+	
+	/** Execute -> Memory Access */
+	private static final class EX_MEM {
+		boolean valid;
+		int ctrl, aor, svr, dest;
+		@Nullable String fault;
+		
+		void set (boolean valid, int ctrl, int dest, @Nullable String fault) {
+			this.valid=valid;
+			this.ctrl=ctrl;
+			this.dest=dest;
+			this.fault=fault;
+			aor=svr=0;
+		}
+		void bubble ( ) {
+			set( false, 0, 0, null );
+		}
+	}
+	
+	/** Memory Access -> Write Back */
+	private static final class MEM_WB {
+		boolean valid;
+		int ctrl, aor, lmdr, dest;
+		@Nullable String fault;
+		
+		void set (boolean valid, int ctrl, int dest, @Nullable String fault) {
+			this.valid=valid;
+			this.ctrl=ctrl;
+			this.dest=dest;
+			this.fault=fault;
+			aor=lmdr=0;
+		}
+		void bubble ( ) {
+			set( false, 0, 0, null );
+		}
+	}
+}
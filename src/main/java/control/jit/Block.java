@@ -0,0 +1,22 @@
+package control.jit;
+
+import org.jetbrains.annotations.NotNull;
+
+import model.components.DataMemory;
+
+/**
+ A basic block, translated to bytecode by {@link BlockCompiler}.
+ <p>Runs every instruction of the block in order, working directly on the registers.
+ */
+public interface Block {
+	/** Returned instead of a next index, when the block ends with an Exit */
+	int EXIT=-1;
+	
+	/**
+	 @param registers The {@link model.components.RegisterBank}'s int[32], index 0 is never written
+	 @return Index of the next instruction to run, Or {@link #EXIT}
+	 @throws IndexOutOfBoundsException Data Memory Address is not supported
+	 @throws IllegalArgumentException Data Memory Address is not aligned
+	 */
+	int run (@NotNull int[] registers, @NotNull DataMemory dataMemory) throws IndexOutOfBoundsException, IllegalArgumentException;
+}
@@ -0,0 +1,237 @@
+package control.jit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import control.jit.ClassFileWriter.Code;
+import model.ProgramImage;
+import model.components.Component;
+import model.components.DataMemory;
+import util.validation.InstrSpec;
+
+/**
+ Translates the basic blocks of a {@link ProgramImage} into bytecode, One class per block.
+ <p>
+ Blocks start at index 0, every Branch/Jump target, and after every Branch/Jump/Exit.
+ A block ends at a Branch/Jump/Exit, or just before the next block starts.
+ (Labels are already resolved to Branch/Jump targets when assembled, so they are leaders too)
+ <p>
+ Generated code is the same datapath as the interpreter, But the Control Signals are resolved while compiling:
+ Only the selected MUX inputs and ALU operation are emitted, Registers are read from/written to the int[] directly.
+ Blocks with an instruction that can't be translated are left to the interpreter.
+ <p>
+ Classes are defined by a class loader for each program, so they can be unloaded along with the {@link CompiledProgram}.
+ */
+public final class BlockCompiler {
+	private static final String BLOCK=Block.class.getName( ).replace( '.', '/' );
+	private static final String DATA_MEM=DataMemory.class.getName( ).replace( '.', '/' );
+	private static final String RUN_DESC="([IL" + DATA_MEM + ";)I";
+	private static final int MAX_STACK=8, MAX_LOCALS=3; // this, registers, dataMemory
+	
+	private BlockCompiler ( ) {}
+	
+	/** Finds and translates every basic block of the program */
+	@NotNull
+	public static CompiledProgram compile (@NotNull ProgramImage img) {
+		final int length=img.length( );
+		final boolean[] leader=new boolean[ length + 1 ];
+		leader[ 0 ]=true;
+		for ( int i=0; i<length; i++ ) {
+			final int pcWrite=InstrSpec.signal( Component.CONTROL( img.getOpcode( i ) ), InstrSpec.PC_WRITE );
+			if ( pcWrite!=0 )
+				leader[ i + 1 ]=true;
+			if ( (pcWrite==1 || pcWrite==2) && img.getTarget( i )>=0 && img.getTarget( i )<length )
+				leader[ img.getTarget( i ) ]=true;
+		}
+		
+		final Block[] blocks=new Block[ length ];
+		final Loader loader=new Loader( );
+		int start=0;
+		while ( start<length ) {
+			int end=start;
+			while ( !endsBlock( img, end ) && !leader[ end + 1 ] )
+				end++;
+			blocks[ start ]=translate( img, start, end, loader );
+			start=end + 1;
+		}
+		return new CompiledProgram( blocks );
+	}
+	
+	private static boolean endsBlock (ProgramImage img, int index) {
+		return index + 1>=img.length( ) || InstrSpec.signal( Component.CONTROL( img.getOpcode( index ) ), InstrSpec.PC_WRITE )!=0;
+	}
+	
+	/** @return null if any instruction can't be translated, or the block is too large */
+	@Nullable
+	private static Block translate (ProgramImage img, int start, int end, Loader loader) {
+		final ClassFileWriter cf=new ClassFileWriter( );
+		final Code code=new Code( cf );
+		for ( int i=start; i<=end; i++ ) {
+			if ( !emit( img, i, code ) )
+				return null;
+		}
+		final int last=InstrSpec.signal( Component.CONTROL( img.getOpcode( end ) ), InstrSpec.PC_WRITE );
+		if ( last==0 ) {    // Falls through to the next block
+			code.push( end + 1 );
+			code.u1( Code.IRETURN );
+		}
+		
+		final String name=BLOCK + "_" + start;
+		final byte[] bytes=cf.toByteArray( name, BLOCK, "run", RUN_DESC, code, MAX_STACK, MAX_LOCALS );
+		if ( bytes==null )
+			return null;
+		try {
+			return (Block) loader.define( name.replace( '/', '.' ), bytes ).getConstructor( ).newInstance( );
+		} catch ( ReflectiveOperationException e ) {
+			throw new IllegalStateException( "Block[" + start + "] could not be loaded: " + e.getMessage( ), e );
+		}
+	}
+	
+	/** Emits one instruction, @return false if it can't be translated */
+	private static boolean emit (ProgramImage img, int i, Code code) {
+		final int ctrl=Component.CONTROL( img.getOpcode( i ) );
+		final int pcWrite=InstrSpec.signal( ctrl, InstrSpec.PC_WRITE );
+		final int memOp=InstrSpec.signal( ctrl, InstrSpec.MEM_OP );
+		
+		if ( pcWrite==2 )
+			return emitBranch( img, i, ctrl, code );
+		if ( pcWrite==InstrSpec.NONE ) { // Exit/Halt
+			code.push( Block.EXIT );
+			code.u1( Code.IRETURN );
+			return true;
+		}
+		final int aluOp=InstrSpec.aluOp( ctrl );
+		if ( aluOp!=-1 && aluOpcode( aluOp )==0 )
+			return false;
+		
+		final int dest=destination( img, i, ctrl );
+		final int memToReg=InstrSpec.signal( ctrl, InstrSpec.MEM_TO_REG );
+		if ( dest!=0 && memToReg!=((memOp==0) ? 1 : 0) )    // Only Loads write back LMDR
+			return false;
+		if ( memOp==1 ) {    // Store :: dataMemory.writeData_NoOutput( AOR, RR2 )
+			code.u1( Code.ALOAD_2 );
+			emitALU( img, i, ctrl, code );
+			emitRead( img.getRT( i ), code );
+			code.invokeVirtual( DATA_MEM, "writeData_NoOutput", "(II)V" );
+		} else if ( memOp==0 ) {    // Load :: registers[dest] = dataMemory.readData_NoOutput( AOR )
+			if ( dest!=0 ) {
+				code.u1( Code.ALOAD_1 );
+				code.push( dest );
+			}
+			code.u1( Code.ALOAD_2 );
+			emitALU( img, i, ctrl, code );
+			code.invokeVirtual( DATA_MEM, "readData_NoOutput", "(I)I" );
+			code.u1( dest!=0 ? Code.IASTORE : Code.POP );    // Still read, for errors
+		} else if ( dest!=0 ) {    // registers[dest] = AOR
+			code.u1( Code.ALOAD_1 );
+			code.push( dest );
+			emitALU( img, i, ctrl, code );
+			code.u1( Code.IASTORE );
+		}
+		
+		if ( pcWrite==1 ) {    // Jump
+			code.push( img.getTarget( i ) );
+			code.u1( Code.IRETURN );
+		}
+		return true;
+	}
+	
+	/**
+	 Branches compare RS & RT directly, instead of producing the ALU result then testing it for zero.
+	 <p>BranchCond 1 (Not~Zero) is taken when the ALU op is true, BranchCond 0 (Zero) when it is false.
+	 */
+	private static boolean emitBranch (ProgramImage img, int i, int ctrl, Code code) {
+		final int cond=InstrSpec.signal( ctrl, InstrSpec.BRANCH_COND );
+		if ( cond==InstrSpec.NONE || InstrSpec.signal( ctrl, InstrSpec.ALU_SRC1 )!=0 || InstrSpec.signal( ctrl, InstrSpec.ALU_SRC2 )!=0 )
+			return false;
+		int taken;    // When ALU Result != 0
+		switch ( InstrSpec.aluOp( ctrl ) ) {
+			case 6: taken=Code.IF_ICMPNE; break;    // XOR
+			case 8: taken=Code.IF_ICMPLT; break;    // SLT
+			case 9: taken=Code.IF_ICMPLE; break;    // SLE
+			default: return false;
+		}
+		if ( cond==0 )
+			taken=negate( taken );
+		
+		final int fallThrough=i + 1;
+		emitRead( img.getRS( i ), code );
+		emitRead( img.getRT( i ), code );
+		code.ifIcmp( taken, 3 + Code.pushSize( fallThrough ) + 1 );
+		code.push( fallThrough );
+		code.u1( Code.IRETURN );
+		code.push( img.getTarget( i ) );
+		code.u1( Code.IRETURN );
+		return true;
+	}
+	
+	private static int negate (int ifIcmp) {
+		switch ( ifIcmp ) {
+			case Code.IF_ICMPNE: return Code.IF_ICMPEQ;
+			case Code.IF_ICMPLT: return Code.IF_ICMPGE;
+			case Code.IF_ICMPLE: return Code.IF_ICMPGT;
+			default: throw new IllegalArgumentException( "No Negation for [" + ifIcmp + "]" );
+		}
+	}
+	
+	/** Pushes the ALU result, ALU Sources and Op are already known */
+	private static void emitALU (ProgramImage img, int i, int ctrl, Code code) {
+		emitSource( InstrSpec.signal( ctrl, InstrSpec.ALU_SRC1 ), img.getRS( i ), ProgramImage.toAddress( i + 1 ), code );
+		final int aluOp=InstrSpec.aluOp( ctrl );
+		if ( aluOp==-1 )    // NOP, forwards input0
+			return;
+		emitSource( InstrSpec.signal( ctrl, InstrSpec.ALU_SRC2 ), img.getRT( i ), img.getImm( i ), code );
+		code.u1( aluOpcode( aluOp ) );
+	}
+	
+	/** MUX, Register (0) or other (1) */
+	private static void emitSource (int sig, int reg, int other, Code code) {
+		if ( sig==0 )
+			emitRead( reg, code );
+		else if ( sig==1 )
+			code.push( other );
+		else
+			code.push( 0 );
+	}
+	
+	private static void emitRead (int reg, Code code) {
+		if ( reg==0 ) {    // $zero
+			code.push( 0 );
+		} else {
+			code.u1( Code.ALOAD_1 );
+			code.push( reg );
+			code.u1( Code.IALOAD );
+		}
+	}
+	
+	/** JVM opcode for the ALU op, 0 if not translated. The JVM also only uses the lowest 5 bits for shifts */
+	private static int aluOpcode (int aluOp) {
+		switch ( aluOp ) {
+			case 0: return Code.IADD;
+			case 1: return Code.ISHL;
+			case 2: return Code.ISUB;
+			case 4: return Code.IAND;
+			case 5: return Code.IOR;
+			case 6: return Code.IXOR;
+			default: return 0;
+		}
+	}
+	
+	/** Destination Register, 0 if nothing is written back ($zero can't be written to) */
+	static int destination (ProgramImage img, int i, int ctrl) {
+		final int dest=InstrSpec.signal( ctrl, InstrSpec.REG_DEST );
+		if ( dest==InstrSpec.NONE || InstrSpec.signal( ctrl, InstrSpec.MEM_TO_REG )==InstrSpec.NONE )
+			return 0;
+		return Component.MUX_NoOutput( dest, img.getRT( i ), img.getRD( i ), 31 );
+	}
+	
+	/** Each program has its own loader, Block classes are unloaded with it */
+	private static final class Loader extends ClassLoader {
+		Loader ( ) {
+			super( Block.class.getClassLoader( ) );
+		}
+		Class<?> define (String name, byte[] bytes) {
+			return defineClass( name, bytes, 0, bytes.length );
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package control.jit;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ Minimal class file writer, just enough for {@link BlockCompiler}.
+ <p>
+ Writes a public final class implementing one interface, with a default constructor and one method.
+ Class file version 49 is used, so no StackMapTable is needed (the type inferencing verifier is used).
+ */
+final class ClassFileWriter {
+	private static final int VERSION=49;
+	private static final int ACC_PUBLIC=0x0001, ACC_FINAL=0x0010, ACC_SUPER=0x0020;
+	private static final int MAX_CODE=0xFFFF;
+	
+	private final Bytes pool=new Bytes( );
+	private final Map<String, Integer> entries=new HashMap<>( );
+	private int poolCount=1;
+	
+	// Constant Pool
+	int utf8 (@NotNull String value) {
+		return entry( "U" + value, 1, ( ) -> pool.utf( value ) );
+	}
+	int constClass (@NotNull String internalName) {
+		int name=utf8( internalName );
+		return entry( "C" + internalName, 7, ( ) -> pool.u2( name ) );
+	}
+	int constInt (int value) {
+		return entry( "I" + value, 3, ( ) -> pool.u4( value ) );
+	}
+	int methodRef (@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+		int cls=constClass( owner );
+		int nameAndType=nameAndType( name, descriptor );
+		return entry( "M" + owner + "." + name + descriptor, 10, ( ) -> {
+			pool.u2( cls );
+			pool.u2( nameAndType );
+		} );
+	}
+	private int nameAndType (String name, String descriptor) {
+		int n=utf8( name );
+		int d=utf8( descriptor );
+		return entry( "N" + name + ":" + descriptor, 12, ( ) -> {
+			pool.u2( n );
+			pool.u2( d );
+		} );
+	}
+	private int entry (String key, int tag, Runnable body) {
+		Integer index=entries.get( key );
+		if ( index==null ) {
+			pool.u1( tag );
+			body.run( );
+			index=poolCount++;
+			entries.put( key, index );
+		}
+		return index;
+	}
+	
+	/**
+	 @param name internal name of the class, eg: "control/jit/Block_0"
+	 @param method body of the single method, {@link Code#length()} must not exceed 64KB
+	 @return class file bytes, or null if the method is too large
+	 */
+	byte[] toByteArray (@NotNull String name, @NotNull String iface, @NotNull String methodName,
+						@NotNull String descriptor, @NotNull Code method, int maxStack, int maxLocals) {
+		if ( method.length( )>MAX_CODE )
+			return null;
+		final String object="java/lang/Object";
+		int thisClass=constClass( name );
+		int superClass=constClass( object );
+		int ifaceClass=constClass( iface );
+		int codeAttr=utf8( "Code" );
+		int init=utf8( "<init>" );
+		int initDesc=utf8( "()V" );
+		int superInit=methodRef( object, "<init>", "()V" );
+		int runName=utf8( methodName );
+		int runDesc=utf8( descriptor );
+		
+		Bytes out=new Bytes( );
+		out.u4( 0xCAFEBABE );
+		out.u2( 0 );
+		out.u2( VERSION );
+		out.u2( poolCount );
+		out.bytes( pool );
+		out.u2( ACC_PUBLIC | ACC_FINAL | ACC_SUPER );
+		out.u2( thisClass );
+		out.u2( superClass );
+		out.u2( 1 );
+		out.u2( ifaceClass );
+		out.u2( 0 ); // Fields
+		out.u2( 2 ); // Methods
+		
+		Code ctor=new Code( );
+		ctor.u1( Code.ALOAD_0 );
+		ctor.u1( Code.INVOKESPECIAL );
+		ctor.u2( superInit );
+		ctor.u1( Code.RETURN );
+		writeMethod( out, init, initDesc, codeAttr, ctor, 1, 1 );
+		writeMethod( out, runName, runDesc, codeAttr, method, maxStack, maxLocals );
+		
+		out.u2( 0 ); // Attributes
+		return out.toByteArray( );
+	}
+	
+	private static void writeMethod (Bytes out, int name, int descriptor, int codeAttr, Code code, int maxStack, int maxLocals) {
+		out.u2( ACC_PUBLIC );
+		out.u2( name );
+		out.u2( descriptor );
+		out.u2( 1 );
+		out.u2( codeAttr );
+		out.u4( 12 + code.length( ) );
+		out.u2( maxStack );
+		out.u2( maxLocals );
+		out.u4( code.length( ) );
+		out.bytes( code );
+		out.u2( 0 ); // Exception Table
+		out.u2( 0 ); // Attributes
+	}
+	
+	/** Growable big-endian byte buffer */
+	static class Bytes {
+		private byte[] buf=new byte[ 64 ];
+		private int len=0;
+		
+		void u1 (int b) {
+			if ( len==buf.length )
+				buf=Arrays.copyOf( buf, len*2 );
+			buf[ len++ ]=(byte) b;
+		}
+		void u2 (int s) {
+			u1( s>>>8 );
+			u1( s );
+		}
+		void u4 (int i) {
+			u2( i>>>16 );
+			u2( i );
+		}
+		void utf (String s) {    // Only ASCII is written by BlockCompiler
+			u2( s.length( ) );
+			for ( int i=0; i<s.length( ); i++ )
+				u1( s.charAt( i ) );
+		}
+		void bytes (Bytes other) {
+			for ( int i=0; i<other.len; i++ )
+				u1( other.buf[ i ] );
+		}
+		int length ( ) {
+			return len;
+		}
+		byte[] toByteArray ( ) {
+			return Arrays.copyOf( buf, len );
+		}
+	}
+	
+	/** Method body, with the few instructions {@link BlockCompiler} needs */
+	static final class Code extends Bytes {
+		static final int ICONST_M1=0x02, ICONST_0=0x03, BIPUSH=0x10, SIPUSH=0x11, LDC_W=0x13;
+		static final int ALOAD_0=0x2a, ALOAD_1=0x2b, ALOAD_2=0x2c, IALOAD=0x2e, IASTORE=0x4f, POP=0x57;
+		static final int IADD=0x60, ISUB=0x64, ISHL=0x78, IAND=0x7e, IOR=0x80, IXOR=0x82;
+		static final int IF_ICMPEQ=0x9f, IF_ICMPNE=0xa0, IF_ICMPLT=0xa1, IF_ICMPGE=0xa2, IF_ICMPGT=0xa3, IF_ICMPLE=0xa4;
+		static final int IRETURN=0xac, RETURN=0xb1, INVOKEVIRTUAL=0xb6, INVOKESPECIAL=0xb7;
+		
+		private final ClassFileWriter cf;
+		
+		private Code ( ) {
+			this.cf=null;
+		}
+		Code (@NotNull ClassFileWriter cf) {
+			this.cf=cf;
+		}
+		
+		/** Pushes an int constant, using the shortest form */
+		void push (int value) {
+			if ( value>=-1 && value<=5 )
+				u1( ICONST_0 + value );
+			else if ( value>=Byte.MIN_VALUE && value<=Byte.MAX_VALUE ) {
+				u1( BIPUSH );
+				u1( value );
+			} else if ( value>=Short.MIN_VALUE && value<=Short.MAX_VALUE ) {
+				u1( SIPUSH );
+				u2( value );
+			} else {
+				u1( LDC_W );
+				//noinspection ConstantConditions
+				u2( cf.constInt( value ) );
+			}
+		}
+		/** Size in bytes of {@link #push(int)} */
+		static int pushSize (int value) {
+			if ( value>=-1 && value<=5 )
+				return 1;
+			if ( value>=Byte.MIN_VALUE && value<=Byte.MAX_VALUE )
+				return 2;
+			return 3;
+		}
+		void invokeVirtual (String owner, String name, String descriptor) {
+			u1( INVOKEVIRTUAL );
+			//noinspection ConstantConditions
+			u2( cf.methodRef( owner, name, descriptor ) );
+		}
+		/** Conditional jump, offset is relative to the start of this instruction */
+		void ifIcmp (int opcode, int offset) {
+			u1( opcode );
+			u2( offset );
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package control.jit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import model.ProgramImage;
+import model.components.Component;
+import util.validation.InstrSpec;
+
+/**
+ Binds each instruction of a {@link ProgramImage} to a specialized handler, a single instruction {@link Block}.
+ <p>
+ Handlers are built from the Control Signals, the same as {@link BlockCompiler}, But resolved while binding:
+ Register indexes, immediates and targets are captured as final ints, Only the selected MUX inputs and ALU operation are kept,
+ So no Control Signals are left to read while running. Writes to $zero are removed while binding.
+ <p>
+ Cheaper to build than {@link BlockCompiler}, with no class generation.
+ Instructions with signals that can't be bound (see {@link #handler(ProgramImage, int)}) are interpreted.
+ */
+public final class ClosureCompiler {
+	private ClosureCompiler ( ) {}
+	
+	/** Binds a handler for every instruction */
+	@NotNull
+	public static CompiledProgram compile (@NotNull ProgramImage img) {
+		final Block[] handlers=new Block[ img.length( ) ];
+		for ( int i=0; i<handlers.length; i++ )
+			handlers[ i ]=handler( img, i );
+		return new CompiledProgram( handlers );
+	}
+	
+	/** ALU Result (AOR) of a bound instruction */
+	@FunctionalInterface
+	private interface Alu {
+		int run (int[] registers);
+	}
+	
+	/**
+	 @return null if the signals can't be bound, A Branch that isn't a register comparison,
+	 An ALU op without a handler, Or a write back of LMDR by anything other than a Load.
+	 */
+	@Nullable
+	static Block handler (@NotNull ProgramImage img, int i) {
+		final int ctrl=Component.CONTROL( img.getOpcode( i ) );
+		final int pcWrite=InstrSpec.signal( ctrl, InstrSpec.PC_WRITE );
+		if ( pcWrite==InstrSpec.NONE )    // Exit/Halt/Nop, No PCWrite ends execution
+			return (r, m) -> Block.EXIT;
+		if ( pcWrite==2 )
+			return branch( img, i, ctrl );
+		
+		final Alu alu=alu( img, i, ctrl );
+		final int memOp=InstrSpec.signal( ctrl, InstrSpec.MEM_OP );
+		final int dest=BlockCompiler.destination( img, i, ctrl );
+		if ( alu==null || (dest!=0 && InstrSpec.signal( ctrl, InstrSpec.MEM_TO_REG )!=((memOp==0) ? 1 : 0)) )
+			return null;
+		final int rt=img.getRT( i );
+		final int next=(pcWrite==1) ? img.getTarget( i ) : i + 1;    // Jump
+		
+		if ( memOp==1 )    // Store :: dataMemory[AOR] = RR2
+			return (r, m) -> {
+				m.writeData_NoOutput( alu.run( r ), r[ rt ] );
+				return next;
+			};
+		if ( memOp==0 ) {    // Load :: registers[dest] = dataMemory[AOR]
+			if ( dest==0 )
+				return (r, m) -> {    // Still read, for errors
+					m.readData_NoOutput( alu.run( r ) );
+					return next;
+				};
+			return (r, m) -> {
+				r[ dest ]=m.readData_NoOutput( alu.run( r ) );
+				return next;
+			};
+		}
+		if ( dest==0 )
+			return (r, m) -> next;
+		return (r, m) -> {    // registers[dest] = AOR
+			r[ dest ]=alu.run( r );
+			return next;
+		};
+	}
+	
+	/**
+	 Branches compare RS & RT directly, instead of producing the ALU result then testing it for zero.
+	 <p>BranchCond 1 (Not~Zero) is taken when the ALU op is true, BranchCond 0 (Zero) when it is false.
+	 */
+	@Nullable
+	private static Block branch (ProgramImage img, int i, int ctrl) {
+		final int cond=InstrSpec.signal( ctrl, InstrSpec.BRANCH_COND );
+		if ( cond==InstrSpec.NONE || InstrSpec.signal( ctrl, InstrSpec.ALU_SRC1 )!=0 || InstrSpec.signal( ctrl, InstrSpec.ALU_SRC2 )!=0 )
+			return null;
+		final int rs=img.getRS( i ), rt=img.getRT( i ), target=img.getTarget( i ), next=i + 1;
+		final boolean notZero=cond==1;
+		
+		switch ( InstrSpec.aluOp( ctrl ) ) {
+			case 6:    // XOR
+				if ( notZero ) return (r, m) -> (r[ rs ]!=r[ rt ]) ? target : next;
+				return (r, m) -> (r[ rs ]==r[ rt ]) ? target : next;
+			case 8:    // SLT
+				if ( notZero ) return (r, m) -> (r[ rs ]<r[ rt ]) ? target : next;
+				return (r, m) -> (r[ rs ]>=r[ rt ]) ? target : next;
+			case 9:    // SLE
+				if ( notZero ) return (r, m) -> (r[ rs ]<=r[ rt ]) ? target : next;
+				return (r, m) -> (r[ rs ]>r[ rt ]) ? target : next;
+			default:
+				return null;
+		}
+	}
+	
+	/**
+	 ALU Sources and Op are already known, Input0 is RS or NPC, Input1 is RT or IMM (a source that isn't set is 0).
+	 <p>The JVM also only uses the lowest 5 bits for shifts.
+	 @return null if the ALU op has no handler, Or Input0 isn't RS
+	 */
+	@Nullable
+	private static Alu alu (ProgramImage img, int i, int ctrl) {
+		final int src1=InstrSpec.signal( ctrl, InstrSpec.ALU_SRC1 ), src2=InstrSpec.signal( ctrl, InstrSpec.ALU_SRC2 );
+		final int aluOp=InstrSpec.aluOp( ctrl );
+		final int rs=img.getRS( i ), rt=img.getRT( i );
+		
+		if ( aluOp==-1 ) {    // NOP, forwards input0
+			final int in0=(src1==1) ? ProgramImage.toAddress( i + 1 ) : 0;
+			if ( src1==0 ) return r -> r[ rs ];
+			return r -> in0;
+		}
+		if ( src1!=0 )
+			return null;
+		if ( src2==0 ) {
+			switch ( aluOp ) {
+				case 0: return r -> r[ rs ] + r[ rt ];
+				case 1: return r -> r[ rs ] << r[ rt ];
+				case 2: return r -> r[ rs ] - r[ rt ];
+				case 4: return r -> r[ rs ] & r[ rt ];
+				case 5: return r -> r[ rs ] | r[ rt ];
+				case 6: return r -> r[ rs ] ^ r[ rt ];
+				case 8: return r -> r[ rs ]<r[ rt ] ? 1 : 0;
+				case 9: return r -> r[ rs ]<=r[ rt ] ? 1 : 0;
+				default: return null;
+			}
+		}
+		final int in1=(src2==1) ? img.getImm( i ) : 0;
+		switch ( aluOp ) {
+			case 0: return r -> r[ rs ] + in1;
+			case 1: return r -> r[ rs ] << in1;
+			case 2: return r -> r[ rs ] - in1;
+			case 4: return r -> r[ rs ] & in1;
+			case 5: return r -> r[ rs ] | in1;
+			case 6: return r -> r[ rs ] ^ in1;
+			case 8: return r -> r[ rs ]<in1 ? 1 : 0;
+			case 9: return r -> r[ rs ]<=in1 ? 1 : 0;
+			default: return null;
+		}
+	}
+}
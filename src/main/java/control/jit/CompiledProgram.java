@@ -0,0 +1,26 @@
+package control.jit;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/** Translated Blocks of a program, indexed by the instruction index each block starts at. {@link BlockCompiler#compile} */
+public final class CompiledProgram {
+	private final Block[] blocks;
+	
+	CompiledProgram (Block[] blocks) {
+		this.blocks=blocks;
+	}
+	
+	/** @return The Block starting at the index, or null if there isn't one (Interpret the instruction instead) */
+	@Nullable
+	public Block blockAt (int index) {
+		return (index>=0 && index<blocks.length) ? blocks[ index ] : null;
+	}
+	
+	/** Number of blocks which were translated */
+	public int size ( ) {
+		return (int) Arrays.stream( blocks ).filter( Objects::nonNull ).count( );
+	}
+}
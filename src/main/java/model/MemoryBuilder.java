@@ -8,7 +8,10 @@ import model.components.DataMemory;
 import model.components.InstrMemory;
 import model.instr.Instruction;
 
+import setup.Lexer;
+
 import util.Convert;
+import util.SimulatorContext;
 import util.Util;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
@@ -16,10 +19,16 @@ import util.logs.WarningsLog;
 import util.validation.InstructionValidation;
 import util.validation.Validate;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.function.Supplier;
 
 /**
  <pre>
@@ -62,25 +71,38 @@ import java.util.LinkedList;
 public class MemoryBuilder {
 	private static final int INS_ADDR_BASE=InstrMemory.BASE_INSTR_ADDRESS; //0x 0400 0000
 	private static final int DATA_ADDR_BASE=DataMemory.BASE_DATA_ADDRESS; //0x 1001 0000
-	private static final int LIMIT=InstrMemory.MAX_INSTR_COUNT;
-	private static final int DATA_LIMIT=DataMemory.MAX_DATA_ITEMS;
 	private static final int ADDR_SIZE=InstrMemory.ADDR_SIZE;
 	private static final int DATA_SIZE=DataMemory.DATA_ALIGN;
 	
-	private final HashMap<Integer, Double> dataArr=new HashMap<>( ); //index=(offset from BASE)/DataMemory.DATA_ALIGN;
-	private final DataMemory dataMem=new DataMemory( dataArr, new ExecutionLog( new ArrayList<>( ) ) );
+	private final int LIMIT;
+	private final int DATA_LIMIT;
+	private final int[] dataArr; //index=(offset from BASE)/DataMemory.DATA_ALIGN;
 	private final HashMap<String, Integer> labelMap=new HashMap<>( );
 	private final LinkedList<String> labels=new LinkedList<>( );
 	private final InstructionValidation opsVal;
 	private final ArrayList<Instruction> instructions=new ArrayList<>( );
 	private int ProgramCounter;
 	private int MEM_PTR;
+	private final SimulatorContext context;
 	
 	public MemoryBuilder (@NotNull ErrorLog errorLog, @NotNull WarningsLog warningsLog) {
+		this( errorLog, warningsLog, SimulatorContext.current( ) );
+	}
+	/** @param context Used by the {@link setup.Parser} of this builder, and bound while assembling */
+	public MemoryBuilder (@NotNull ErrorLog errorLog, @NotNull WarningsLog warningsLog, @NotNull SimulatorContext context) {
 		this.opsVal=new InstructionValidation( errorLog, warningsLog );
+		this.context=context;
+		this.LIMIT=context.getGeometry( ).getMaxInstructions( );
+		this.DATA_LIMIT=context.getGeometry( ).getMaxDataWords( );
+		this.dataArr=new int[ DATA_LIMIT ];
 		clear( ); // Sets PC and MemPtr
 	}
 	
+	@NotNull
+	public SimulatorContext getContext ( ) {
+		return context;
+	}
+	
 	// TODO - Move addData / addCSVArray / addRange .  to setup.Parser
 	
 	/**
@@ -104,7 +126,6 @@ public class MemoryBuilder {
 	 @see Validate#isDataType(String)
 	 */
 	public boolean addData (@Nullable String dataType, @Nullable String data, @NotNull ErrorLog errorLog) {
-		final String SIGNED_INT="-?\\d*";    // matches optional '-' sign, then any length int
 		if ( dataType==null )
 			return true;
 		
@@ -117,7 +138,7 @@ public class MemoryBuilder {
 					return storeRange( data, errorLog );    // Val:N
 				else if ( data.contains( "," ) )
 					return storeCsvArray( data, errorLog );    // Int, Int, Int ...
-				else if ( data.matches( SIGNED_INT ) )
+				else if ( Lexer.isSignedInt( data ) )    // optional '-' sign, then any length int
 					return storeWord( tryParseInt( data, null, errorLog ) );    // INT
 				else
 					errorLog.append( "Data: [" + data + "], Not Valid For DataType: \"" + dataType + "\"!" );
@@ -147,7 +168,7 @@ public class MemoryBuilder {
 		//TODO prevent wasted cycles if isMemoryFull() ?
 		
 		// Parse/Validate Input
-		String[] arr=input.split( "\\s?:\\s?", 2 );
+		String[] arr=Lexer.split( input, ':', 2 );
 		Integer v=tryParseInt( arr[ 0 ], null, errorLog );
 		Integer n=tryParseInt( arr[ 1 ], null, errorLog );
 		if ( n!=null && n<0 ) { // if n negative -> invalid
@@ -202,7 +223,7 @@ public class MemoryBuilder {
 		}
 		if ( count>DATA_LIMIT ) {
 			csvIntArray=csvIntArray.substring( 0, index );    // split before the 'th comma
-			errorLog.appendEx( "CSV Too Large, stopped parsing at 256th Segment" );
+			errorLog.appendEx( "CSV Too Large, stopped parsing at " + DATA_LIMIT + "th Segment" );
 		}
 		
 		String[] str_arr=Convert.splitCSV( csvIntArray );
@@ -226,7 +247,7 @@ public class MemoryBuilder {
 	 */
 	private boolean storeWord (Integer word) {
 		if ( word!=null && !isMemoryFull( ) ) {
-			dataMem.writeData( MEM_PTR, word );
+			dataArr[ dataCount( ) ]=word;
 			attachLabelsToAddress( MEM_PTR ); // Labels are only attached, if Data is successfully added.
 			
 			MEM_PTR+=DATA_SIZE;
@@ -236,6 +257,54 @@ public class MemoryBuilder {
 		}
 	}
 	
+	/**
+	 Reads whole 32bit words from the binary file straight into {@link #dataArr}, with a single NIO read (no parsing).
+	 Pushed {@link #labels} are attached to the first word.
+	 <p>
+	 Stops at the Data Limit, Storing the words that fit and adding an error.
+	 
+	 @param offset bytes to skip, multiple of 4
+	 @param length bytes to read, multiple of 4. Null reads to the end of the file
+	 @param order byte order of the words in the file
+	 @return Success of adding all of the words.
+	 
+	 @see #addData(String, String, ErrorLog)
+	 */
+	public boolean addBinary (@NotNull Path file, long offset, @Nullable Long length, @NotNull ByteOrder order,
+							  @NotNull ErrorLog errorLog) {
+		final String FILE="Binary File: \"" + file.getFileName( ) + "\"";
+		try ( FileChannel channel=FileChannel.open( file ) ) {
+			final long size=channel.size( );
+			final long bytes=(length==null) ? size - offset : length;
+			if ( offset<0 || bytes<0 || offset%Integer.BYTES!=0 || bytes%Integer.BYTES!=0 || offset + bytes>size ) {
+				errorLog.append( FILE + ", Offset [" + offset + "] And Length [" + bytes
+								 + "] Must Be Whole Words Within The File [" + size + " Bytes]!" );
+				return false;
+			}
+			final int words=(int) Math.min( bytes/Integer.BYTES, DATA_LIMIT - dataCount( ) );
+			final ByteBuffer buffer=ByteBuffer.allocate( words*Integer.BYTES ).order( order );
+			while ( buffer.hasRemaining( ) ) {    // One read, unless the channel returns less
+				if ( channel.read( buffer, offset + buffer.position( ) )<0 )
+					break;
+			}
+			buffer.flip( );
+			
+			if ( words>0 ) {
+				buffer.asIntBuffer( ).get( dataArr, dataCount( ), words );
+				attachLabelsToAddress( MEM_PTR );
+				MEM_PTR+=words*DATA_SIZE;
+			}
+			if ( words<bytes/Integer.BYTES ) {
+				errorLog.appendEx( FILE + " Too Large, stopped at " + DATA_LIMIT + "th Segment" );
+				return false;
+			}
+			return true;
+		} catch ( IOException e ) {
+			errorLog.append( FILE + ", Can Not Be Read!" );
+			return false;
+		}
+	}
+	
 	private boolean isMemoryFull ( ) {
 		return !(MEM_PTR<DATA_ADDR_BASE + DATA_LIMIT*DATA_SIZE);
 	}
@@ -282,12 +351,19 @@ public class MemoryBuilder {
 	 @see InstructionValidation#splitValidOperands(int, String, String)
 	 */
 	public boolean addInstruction (int lineNo, @Nullable String opcode, @Nullable String operands) {
+		return addInstruction( (opcode==null) ? null : ( ) -> opsVal.splitValidOperands( lineNo, opcode, operands ) );
+	}
+	/** Same as {@link #addInstruction(int, String, String)}, With the tokens the {@link Lexer} already made for the line */
+	public boolean addInstruction (@NotNull Lexer.Line line) {
+		return addInstruction( (line.getMnemonic( )==null) ? null : ( ) -> opsVal.splitValidOperands( line ) );
+	}
+	/** @param instruction validates the operands, null if there is no opcode */
+	private boolean addInstruction (@Nullable Supplier<Instruction> instruction) {
 		if ( ProgramCounter<(INS_ADDR_BASE + LIMIT*ADDR_SIZE) ) {
-			if ( opcode!=null ) {
-				Instruction ins=opsVal.splitValidOperands( lineNo, opcode, operands );
+			if ( instruction!=null ) {
+				Instruction ins=instruction.get( );
 				if ( ins!=null ) {
-					int index=Convert.instrAddr2Index( ProgramCounter );
-					instructions.add( index, ins );
+					instructions.add( ins );
 					attachLabelsToAddress( ProgramCounter );
 					ProgramCounter+=ADDR_SIZE;
 				}
@@ -309,7 +385,7 @@ public class MemoryBuilder {
 	 @throws IndexOutOfBoundsException if addr does not refer to an instruction or data address
 	 */
 	private void attachLabelsToAddress (int addr) {
-		if ( addr<INS_ADDR_BASE || addr>DataMemory.OVER_DATA_ADDRESS )
+		if ( addr<INS_ADDR_BASE || addr>DataMemory.OVER_HEAP_ADDRESS )
 			throw new IndexOutOfBoundsException( "Address: " + addr );
 		
 		for ( String label : labels ) {
@@ -318,16 +394,28 @@ public class MemoryBuilder {
 		labels.clear( ); // clear the list of labels once allocated
 	}
 	
-	/** May Have 0 Entries, This does not mean it is invalid */
-	public HashMap<Integer, Double> retrieveData ( ) {
+	/**
+	 The initial Data Memory image, {@link MemoryGeometry#getMaxDataWords()} long ({@link DataMemory#MAX_DATA_ITEMS} by default). Unset words are 0.
+	 <p>Used directly by {@link setup.Parser#getMem(ExecutionLog)}, So it is the Data Memory of an Execution.
+	 */
+	public int[] retrieveData ( ) {
 		return dataArr;
 	}
+	/** Number of words stored, May be 0, This does not mean it is invalid */
+	public int dataCount ( ) {
+		return (MEM_PTR - DATA_ADDR_BASE)/DATA_SIZE;
+	}
 	
 	/**
 	 @return null means error during assembly, and application should be terminated.
 	 <b>Even if errors are from before assembly!</b>
 	 */
 	public ArrayList<Instruction> assembleInstr (ErrorLog errorLog) {
+		try ( SimulatorContext.Scope ignored=context.bind( ) ) {
+			return assemble( errorLog );
+		}
+	}
+	private ArrayList<Instruction> assemble (ErrorLog errorLog) {
 		if ( instructions.isEmpty( ) ) {
 			errorLog.appendEx( "No Instructions Found" );
 		} else { // if errorLog already has errors, then assembly should report as failed anyway.
@@ -347,6 +435,18 @@ public class MemoryBuilder {
 		return null;
 	}
 	
+	/**
+	 Assembles, then copies the result into an immutable {@link Program}, This builder's instructions are not frozen.
+	 <p>This builder can be cleared and reused afterwards, without affecting the Program.
+	 
+	 @return null if there was an error, see {@link #assembleInstr(ErrorLog)}
+	 */
+	@Nullable
+	public Program build (ErrorLog errorLog) {
+		final ArrayList<Instruction> assembled=assembleInstr( errorLog );
+		return (assembled==null) ? null : Program.of( assembled, dataArr, labelMap, context.getGeometry( ) );
+	}
+	
 	@VisibleForTesting
 	LinkedList<String> getLabels ( ) {
 		return labels;
@@ -358,7 +458,7 @@ public class MemoryBuilder {
 	
 	/** Resets the Memory Builder to initial state */
 	public void clear ( ) {
-		this.dataArr.clear( );
+		Arrays.fill( this.dataArr, 0 );
 		this.labelMap.clear( );
 		this.labels.clear( );
 		this.instructions.clear( );
@@ -0,0 +1,92 @@
+package model;
+
+import org.jetbrains.annotations.NotNull;
+
+import model.components.DataMemory;
+import model.components.InstrMemory;
+
+import setup.Parser;
+
+/**
+ Size limits for one run: instructions, .data words and source lines. Immutable.
+ <p>
+ Carried by the {@link util.SimulatorContext}, So the {@link Parser}, {@link MemoryBuilder},
+ {@link util.validation.AddressValidation} and {@link DataMemory} of that run all agree.
+ {@link #DEFAULT} is the original fixed limits ({@value InstrMemory#MAX_INSTR_COUNT} instructions,
+ {@value DataMemory#MAX_DATA_ITEMS} words, {@value Parser#MAX_LINES} lines).
+ <p>
+ Supported addresses grow with the limits, but never shrink below the defaults:
+ <ul>
+ <li>Instructions, up to {@link InstrMemory#OVER_SUPPORTED_INSTR_ADDRESS} or one past the last instruction (the auto exit)</li>
+ <li>Data, {@link DataMemory#BASE_DATA_ADDRESS} + words*{@link DataMemory#DATA_ALIGN}</li>
+ </ul>
+ */
+public final class MemoryGeometry {
+	/** Largest instruction limit, (2^24) */
+	public static final int MAX_INSTRUCTIONS=1<<24;
+	/** Largest data limit, (2^24) words */
+	public static final int MAX_DATA_WORDS=1<<24;
+	public static final MemoryGeometry DEFAULT=new MemoryGeometry( InstrMemory.MAX_INSTR_COUNT, DataMemory.MAX_DATA_ITEMS, Parser.MAX_LINES );
+	
+	private final int instructions;
+	private final int dataWords;
+	private final int lines;
+	
+	private MemoryGeometry (int instructions, int dataWords, int lines) {
+		this.instructions=instructions;
+		this.dataWords=dataWords;
+		this.lines=lines;
+	}
+	
+	/**
+	 @param instructions max instructions, 1 to {@value #MAX_INSTRUCTIONS}
+	 @param dataWords max .data words, 1 to {@value #MAX_DATA_WORDS}
+	 @param lines max source file lines, at least 1
+	 @throws IllegalArgumentException if any are out of range
+	 */
+	@NotNull
+	public static MemoryGeometry of (int instructions, int dataWords, int lines) throws IllegalArgumentException {
+		if ( instructions<1 || instructions>MAX_INSTRUCTIONS )
+			throw new IllegalArgumentException( "Instruction Limit [" + instructions + "] Must Be 1 to " + MAX_INSTRUCTIONS + "!" );
+		if ( dataWords<1 || dataWords>MAX_DATA_WORDS )
+			throw new IllegalArgumentException( "Data Limit [" + dataWords + "] Must Be 1 to " + MAX_DATA_WORDS + "!" );
+		if ( lines<1 )
+			throw new IllegalArgumentException( "Line Limit [" + lines + "] Must Be Positive!" );
+		if ( instructions==DEFAULT.instructions && dataWords==DEFAULT.dataWords && lines==DEFAULT.lines )
+			return DEFAULT;
+		return new MemoryGeometry( instructions, dataWords, lines );
+	}
+	
+	/** Max instructions, {@link InstrMemory#MAX_INSTR_COUNT} by default */
+	public int getMaxInstructions ( ) {
+		return instructions;
+	}
+	/** Max .data words, {@link DataMemory#MAX_DATA_ITEMS} by default */
+	public int getMaxDataWords ( ) {
+		return dataWords;
+	}
+	/** Max lines in a source file, {@link Parser#MAX_LINES} by default */
+	public int getMaxLines ( ) {
+		return lines;
+	}
+	
+	/** One past the last supported instruction address, {@link InstrMemory#OVER_SUPPORTED_INSTR_ADDRESS} by default */
+	public int getOverSupportedInstrAddress ( ) {
+		return overSupportedInstrAddress( instructions );
+	}
+	/** One past the last supported data address, {@link DataMemory#OVER_SUPPORTED_DATA_ADDRESS} by default */
+	public int getOverSupportedDataAddress ( ) {
+		return DataMemory.BASE_DATA_ADDRESS + dataWords*DataMemory.DATA_ALIGN;
+	}
+	
+	/** Supported instruction addresses for a number of instructions, Including the auto exit after them */
+	public static int overSupportedInstrAddress (int instructions) {
+		return Math.max( InstrMemory.OVER_SUPPORTED_INSTR_ADDRESS,
+						 InstrMemory.BASE_INSTR_ADDRESS + (instructions + 1)*InstrMemory.ADDR_SIZE );
+	}
+	
+	@Override
+	public String toString ( ) {
+		return "Instructions[" + instructions + "] Data[" + dataWords + "] Lines[" + lines + "]";
+	}
+}
@@ -0,0 +1,102 @@
+package model;
+
+import org.jetbrains.annotations.NotNull;
+
+import model.components.DataMemory;
+import model.instr.Instruction;
+
+import util.SimulatorContext;
+import util.logs.ExecutionLog;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ Frozen, assembled program: the instructions, the initial data image and the symbol table (labels).
+ <p>
+ Immutable, so any number of {@link control.Execution}s (on any threads) can start from it,
+ each with its own {@link model.components.RegisterBank} and {@link #newDataMemory(ExecutionLog)}.
+ Parse and assemble once, then run against many inputs.
+ <p>
+ Built by {@link MemoryBuilder#build(util.logs.ErrorLog)}, Which can then be cleared and reused without affecting it.
+ */
+public final class Program {
+	private final List<Instruction> instructions;
+	private final ProgramImage image;
+	private final int[] data;
+	private final Map<String, Integer> symbols;
+	private final MemoryGeometry geometry;
+	
+	private Program (List<Instruction> instructions, int[] data, Map<String, Integer> symbols, MemoryGeometry geometry) {
+		if ( data.length!=geometry.getMaxDataWords( ) )
+			throw new IllegalArgumentException( "Data Memory Must be " + geometry.getMaxDataWords( ) + " indexes!" );
+		if ( instructions.size( )>geometry.getMaxInstructions( ) )
+			throw new IllegalArgumentException( "Program Must be at most " + geometry.getMaxInstructions( ) + " instructions!" );
+		this.instructions=instructions.stream( ).map( Instruction::frozenCopy ).collect( Collectors.toUnmodifiableList( ) );
+		this.image=ProgramImage.predecode( this.instructions );
+		this.data=data.clone( );
+		this.symbols=Map.copyOf( symbols );
+		this.geometry=geometry;
+	}
+	
+	/**
+	 Copies the instructions ({@link Instruction#frozenCopy()}), data and symbols. The list given is left unchanged.
+	
+	 @param instructions must already be assembled
+	 @param data initial data image, see {@link DataMemory#DataMemory(int[], ExecutionLog)}
+	 @param symbols label -> address
+	 @throws IllegalStateException if an instruction has not been assembled
+	 */
+	@NotNull
+	public static Program of (@NotNull List<Instruction> instructions, @NotNull int[] data,
+							  @NotNull Map<String, Integer> symbols) throws IllegalStateException {
+		return of( instructions, data, symbols, MemoryGeometry.DEFAULT );
+	}
+	/**
+	 Same as {@link #of(List, int[], Map)}, For a program assembled with larger limits.
+	 @param data initial data image, {@link MemoryGeometry#getMaxDataWords()} long
+	 @throws IllegalArgumentException if the data or instructions do not fit the geometry
+	 */
+	@NotNull
+	public static Program of (@NotNull List<Instruction> instructions, @NotNull int[] data,
+							  @NotNull Map<String, Integer> symbols, @NotNull MemoryGeometry geometry) throws IllegalStateException {
+		return new Program( instructions, data, symbols, geometry );
+	}
+	
+	/** Read only, Frozen instructions */
+	@NotNull
+	public List<Instruction> getInstructions ( ) {
+		return instructions;
+	}
+	/** Predecoded once, shared by every execution */
+	@NotNull
+	public ProgramImage getImage ( ) {
+		return image;
+	}
+	/** Copy of the initial data image */
+	@NotNull
+	public int[] getData ( ) {
+		return data.clone( );
+	}
+	/** Read only, Label -> Address */
+	@NotNull
+	public Map<String, Integer> getSymbols ( ) {
+		return symbols;
+	}
+	@NotNull
+	public MemoryGeometry getGeometry ( ) {
+		return geometry;
+	}
+	
+	/** Fresh Data Memory, holding a copy of the initial data image */
+	@NotNull
+	public DataMemory newDataMemory (@NotNull ExecutionLog log) {
+		return new DataMemory( data.clone( ), geometry, log );
+	}
+	/** Same as {@link #newDataMemory(ExecutionLog)}, Output with the context of the Execution it is for */
+	@NotNull
+	public DataMemory newDataMemory (@NotNull ExecutionLog log, @NotNull SimulatorContext context) {
+		return new DataMemory( data.clone( ), geometry, log, context );
+	}
+}
@@ -0,0 +1,153 @@
+package model;
+
+import org.jetbrains.annotations.NotNull;
+
+import model.components.InstrMemory;
+import model.instr.Branch;
+import model.instr.Instruction;
+import model.instr.J_Type;
+import model.instr.MemAccess;
+
+import util.Convert;
+import util.validation.InstrSpec;
+
+import java.util.List;
+
+/**
+ Predecoded, compact form of assembled {@link Instruction}s. Struct of arrays, one index per instruction.
+ <p>
+ Built once after {@link MemoryBuilder#assembleInstr(util.logs.ErrorLog)}, so execution can fetch by index,
+ without boxing, instanceof checks, or searching for the {@link InstrSpec} each cycle.
+ <ul>
+ <li>OPCODE - ordinal of the opcode, {@link InstrSpec#ordinalOf(String)}</li>
+ <li>RS, RT, RD - register indexes, operands the instruction does not have are $zero (0)</li>
+ <li>IMM - resolved immediate (after labels are assembled)</li>
+ <li>TARGET - absolute instruction index of a Branch/Jump target, (0 for other instructions)</li>
+ </ul>
+ Index's past the last instruction are an auto exit. {@link #isAutoExit(int)}
+ */
+public class ProgramImage {
+	/** Highest index that can be fetched, {@link InstrMemory#OVER_SUPPORTED_INSTR_ADDRESS} */
+	public static final int OVER_SUPPORTED_INDEX=(InstrMemory.OVER_SUPPORTED_INSTR_ADDRESS-InstrMemory.BASE_INSTR_ADDRESS)/InstrMemory.ADDR_SIZE;
+	
+	private final int length;
+	/** {@link #OVER_SUPPORTED_INDEX}, Or past the auto exit of larger programs, {@link MemoryGeometry#overSupportedInstrAddress(int)} */
+	private final int overSupportedIndex;
+	private final int[] OPCODE;
+	private final int[] RS;
+	private final int[] RT;
+	private final int[] RD;
+	private final int[] IMM;
+	private final int[] TARGET;
+	/** Boxed address of each index (and the auto exit after the last), so stepping by address doesn't allocate */
+	private final Integer[] ADDRESS;
+	
+	private ProgramImage (int length) {
+		this.length=length;
+		this.overSupportedIndex=toIndex( MemoryGeometry.overSupportedInstrAddress( length ) );
+		this.OPCODE=new int[ length ];
+		this.RS=new int[ length ];
+		this.RT=new int[ length ];
+		this.RD=new int[ length ];
+		this.IMM=new int[ length ];
+		this.TARGET=new int[ length ];
+		this.ADDRESS=addresses( length );
+	}
+	
+	/** Boxed {@link #toAddress(int)} of index's 0 to length (the auto exit after the last instruction) */
+	@NotNull
+	public static Integer[] addresses (int length) {
+		final Integer[] addresses=new Integer[ length + 1 ];
+		for ( int i=0; i<addresses.length; i++ )
+			addresses[ i ]=toAddress( i );
+		return addresses;
+	}
+	
+	/**
+	 Predecodes the assembled instructions.
+	 
+	 @throws IllegalStateException if an instruction has not been assembled.
+	 */
+	@NotNull
+	public static ProgramImage predecode (@NotNull List<Instruction> instructions) throws IllegalStateException {
+		ProgramImage image=new ProgramImage( instructions.size( ) );
+		for ( int i=0; i<image.length; i++ ) {
+			Instruction ins=instructions.get( i );
+			Integer imm=ins.getImmediate( );
+			if ( imm==null && (ins instanceof J_Type || ins instanceof MemAccess || ins instanceof Branch) )
+				throw new IllegalStateException( ins.getOpcode( ) + " must be Assembled before Execution "
+												 + Convert.int2Hex( toAddress( i ) ) );
+			
+			image.OPCODE[ i ]=InstrSpec.ordinalOf( ins.getOpcode( ) );
+			image.RS[ i ]=zeroIfNull( ins.getRS( ) );
+			image.RT[ i ]=zeroIfNull( ins.getRT( ) );
+			image.RD[ i ]=zeroIfNull( ins.getRD( ) );
+			image.IMM[ i ]=zeroIfNull( imm );
+			
+			if ( ins instanceof Branch )    // PC relative, NPC + IMM
+				image.TARGET[ i ]=i + 1 + imm;
+			else if ( ins instanceof J_Type )    // Absolute, IMM<<2
+				image.TARGET[ i ]=toIndex( imm<<2 );
+		}
+		return image;
+	}
+	
+	private static int zeroIfNull (Integer val) {
+		return (val==null) ? 0 : val;
+	}
+	
+	/** Instruction Address -> Index, no validation is performed */
+	public static int toIndex (int address) {
+		return (address-InstrMemory.BASE_INSTR_ADDRESS)/InstrMemory.ADDR_SIZE;
+	}
+	/** Index -> Instruction Address */
+	public static int toAddress (int index) {
+		return InstrMemory.BASE_INSTR_ADDRESS + index*InstrMemory.ADDR_SIZE;
+	}
+	
+	/** Same as {@link #toAddress(int)}, but boxed. Index's within the image (and one past the end) are cached */
+	@NotNull
+	public Integer addressOf (int index) {
+		if ( index>=0 && index<ADDRESS.length )
+			return ADDRESS[ index ];
+		return toAddress( index );
+	}
+	
+	/**
+	 Fetching past the last instruction is an auto exit.
+	 
+	 @throws IndexOutOfBoundsException for index's outside the supported instruction addresses
+	 */
+	public boolean isAutoExit (int index) throws IndexOutOfBoundsException {
+		if ( index<length && index>=0 )
+			return false;
+		if ( index<0 || index>=overSupportedIndex ) {
+			int address=toAddress( index );
+			throw new IndexOutOfBoundsException( "Instruction Address [" + Convert.int2Hex( address )
+												 + ", " + address + "]  " + Convert.int2Hex( address ) + " Not In Range!" );
+		}
+		return true;
+	}
+	
+	public int length ( ) {
+		return length;
+	}
+	public int getOpcode (int index) {
+		return OPCODE[ index ];
+	}
+	public int getRS (int index) {
+		return RS[ index ];
+	}
+	public int getRT (int index) {
+		return RT[ index ];
+	}
+	public int getRD (int index) {
+		return RD[ index ];
+	}
+	public int getImm (int index) {
+		return IMM[ index ];
+	}
+	public int getTarget (int index) {
+		return TARGET[ index ];
+	}
+}
@@ -8,9 +8,11 @@ import model.instr.*;
 import util.ansi_codes.Color;
 import util.logs.ExecutionLog;
 import util.validation.InstrSpec;
+import util.validation.InstructionValidation;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class Component {
 	
@@ -39,6 +41,27 @@ public class Component {
 			throw new IndexOutOfBoundsException("Control Signal["+sig+"] Invalid for Mux["+Arrays.toString(input)+"]");
 	}
 	
+	/** Primitive 2 Input Multiplexer, no varargs/boxing. {@link InstrSpec#NONE} forwards 0*/
+	public static int MUX_NoOutput(int sig, int input0, int input1){
+		switch ( sig ){
+			case 0: return input0;
+			case 1: return input1;
+			case InstrSpec.NONE: return 0;
+			default:
+				throw new IndexOutOfBoundsException("Control Signal["+sig+"] Invalid for Mux["+input0+", "+input1+"]");
+		}
+	}
+	
+	/** Primitive 3 Input Multiplexer, no varargs/boxing. {@link InstrSpec#NONE} forwards 0*/
+	public static int MUX_NoOutput(int sig, int input0, int input1, int input2){
+		if ( sig==2 )
+			return input2;
+		else if ( sig==InstrSpec.NONE || sig<2 )
+			return MUX_NoOutput( sig, input0, input1 );
+		else
+			throw new IndexOutOfBoundsException("Control Signal["+sig+"] Invalid for Mux["+input0+", "+input1+", "+input2+"]");
+	}
+	
 	/** Logs the message {@link util.logs.Logger#appendEx(String)} and returns result of adding the two inputs.
 	 <p>If either input is null, addition is not attempted, null is forwarded
 	 <p>And the message is not logged. */
@@ -51,6 +74,11 @@ public class Component {
 		return input0+input1;
 	}
 	
+	/** Primitive {@link #ADDER(Integer, Integer, String, ExecutionLog)}, without a message to build*/
+	public static int ADDER_NoOutput(int input0, int input1){
+		return input0+input1;
+	}
+	
 	/** Performs ALU operation based on ALU_OP,
 	 <ui>
 	   <li>null:[-1] - NOP - no action/output</li>
@@ -63,69 +91,117 @@ public class Component {
 	   <li>111:[8] - SLT - Set On Less Than</li>
 	   <li>111:[9] - SLE - Set On Less Than Equal</li>
 	 </ui>*/
+	@Nullable
 	public static Integer ALU(Integer input0, Integer input1, Integer ALUCtrl, @NotNull ExecutionLog log){
-		int output;
-		String bitwise=null;
 		// BInvert is determined by bit[0], SUB/SLT
-		String ALU_OP = ALU_codes.get( ALUCtrl==null?-1:ALUCtrl );
-		String sign;
+		int ALU_OP = ALUCtrl==null?-1:ALUCtrl;
 		
-		if ( !ALU_OP.equals( "NOP" ) && ( input0==null || input1 ==null ))
+		if ( ALU_OP!=-1 && ( input0==null || input1 ==null ))
 			throw new IllegalArgumentException("ALU Inputs["+input0+","+input1+"] are null when ALUOp is not NOP");
+		if ( input0==null ) // NOP -- do nothing, for Nop & Exit
+			return null;
+		return ALU( (int) input0, (input1==null) ? 0 : input1, ALU_OP, log );
+	}
+	
+	/** Primitive {@link #ALU(Integer, Integer, Integer, ExecutionLog)}, Used by the datapath with output. ALUCtrl -1 (NOP) forwards input0 */
+	public static int ALU(int input0, int input1, int ALUCtrl, @NotNull ExecutionLog log){
+		final int output=ALU_NoOutput( input0, input1, ALUCtrl );
 		
-		switch (ALU_OP.toUpperCase()){
-			case "NOP": // -- do nothing, for Nop & Exit
-				if ( input0!=null )
-					log.append( "\tALU Result = " + input0 + " ==> " + Color.fmtUnder( ""+input0 ) );
-				return input0;
-			case "ADD": // ADD
-				output=input0 + input1; sign = " + ";
-				break;
-			case "SUB": // SUB
-				output=input0 - input1; sign = " - ";
-				break;
-			case "SLL": //Shift Left Logical
-				String biteStream = Integer.toBinaryString(input1);
-				if (biteStream.length()>5)
-					input1 = Integer.parseInt(biteStream.substring(biteStream.length()-5), 2);
-				output=input0 << input1; sign = " << ";
-				break;
-				
-			case "AND": // Bitwise AND
-				bitwise = " and ";
-				output=input0 & input1; sign = " & ";
-				break;
-			case "OR": // Bitwise OR
-				bitwise = " or ";
-				output=input0 | input1; sign = " | ";
-				break;
-			case "XOR": // Bitwise XOR
-				bitwise = " xor ";
-				output=input0 ^ input1; sign = " ^ ";
-				break;
-				
-			case "SLT": //Set Less Than
-				output=input0 < input1?1:0; sign = " set-on < ";
-				break;
-			case "SLT|E": //Set Less Than
-				output=input0 <= input1?1:0; sign = " set-on <= ";
-				break;
-			default:
-				throw new IllegalStateException("ALU_OP ["+ALU_OP+"] Not Implemented!");
+		if ( log.traces( ExecutionLog.Trace.ALU ) ) {
+			if ( ALUCtrl==-1 )
+				input1=0;
+			else if ( ALUCtrl==1 ) //SLL Shift Left Logical, Only the lowest 5 bits are used for the shift amount
+				input1&=0x1F;
+			log.event( ExecutionLog.Kind.ALU, RENDERER, ALUCtrl, input0, input1, output, null );
 		}
-		
+		return output;
+	}
+	
+	/** Sign of each ALU Op in the output, Bitwise ops also print their inputs in binary */
+	private static String sign (int ALU_OP){
+		switch ( ALU_OP ){
+			case 0: return " + ";
+			case 2: return " - ";
+			case 1: return " << ";
+			case 4: return " & ";
+			case 5: return " | ";
+			case 6: return " ^ ";
+			case 8: return " set-on < ";
+			case 9: return " set-on <= ";
+			default: return null;
+		}
+	}
+	private static String bitwise (int ALU_OP){
+		switch ( ALU_OP ){
+			case 4: return " and ";
+			case 5: return " or ";
+			case 6: return " xor ";
+			default: return null;
+		}
+	}
+	
+	private static final ExecutionLog.Renderer RENDERER=Component::render;
+	/** {@link ExecutionLog.Kind#ALU} Op, Input0, Input1, Result. {@link ExecutionLog.Kind#DECODE} Ordinal, Control Word, Instruction */
+	private static void render(ExecutionLog.Kind kind, int a, int b, int c, int d, Object ref, Consumer<String> out){
+		if ( kind==ExecutionLog.Kind.DECODE ) {
+			renderDecode( a, b, (Instruction) ref, out );
+			return;
+		}
+		final int ALU_OP=a, input0=b, input1=c, output=d;
+		if ( ALU_OP==-1 ) {
+			out.accept( "\tALU Result = " + input0 + " ==> " + Color.fmtUnder( ""+input0 ) );
+			return;
+		}
+		String bitwise=bitwise( ALU_OP );
 		if ( bitwise!=null ){
-			log.append( "\t (binary) '" + Integer.toBinaryString(input0) +"'"+ bitwise +"'"
+			out.accept( "\t (binary) '" + Integer.toBinaryString(input0) +"'"+ bitwise +"'"
 						+  Integer.toBinaryString(input1) + "' ==> '" + Color.fmtUnder( Integer.toBinaryString(output)) +"'");
 		}
 		
-		log.append( "\t"+Color.fmtSubTitle( Color.RED, "ALU Result" )+" = " + input0 + sign + input1 + " ==> " + Color.fmtUnder( ""+output ) );
-		return output;
+		out.accept( "\t"+Color.fmtSubTitle( Color.RED, "ALU Result" )+" = " + input0 + sign( ALU_OP ) + input1 + " ==> " + Color.fmtUnder( ""+output ) );
+	}
+	
+	/** Same operations as {@link #ALU(Integer, Integer, Integer, ExecutionLog)}, Without building any output.
+	 <p>Used by the headless datapath, ALUCtrl -1 (NOP) forwards input0.*/
+	public static int ALU_NoOutput(int input0, int input1, int ALUCtrl){
+		switch ( ALUCtrl ){
+			case -1: return input0;
+			case 0: return input0 + input1;
+			case 1: return input0 << (input1 & 0x1F); // Only the lowest 5 bits are used for the shift amount
+			case 2: return input0 - input1;
+			case 4: return input0 & input1;
+			case 5: return input0 | input1;
+			case 6: return input0 ^ input1;
+			case 8: return input0 < input1?1:0;
+			case 9: return input0 <= input1?1:0;
+			default:
+				throw new IllegalStateException("ALU_OP ["+ALUCtrl+"] Not Implemented!");
+		}
+	}
+	
+	private static final String DECODING ="Decoding";
+	
+	/** Control words of {@link InstructionValidation#SPEC}, indexed by opcode ordinal {@link InstrSpec#ordinalOf(String)} */
+	private static final int[] CONTROL_TABLE =InstructionValidation.SPEC.stream( ).mapToInt( InstrSpec::getCTRL_WORD ).toArray( );
+	
+	/** Control Word for the opcode ordinal, read the signals with {@link InstrSpec#signal(int, int)} */
+	public static int CONTROL(int opcodeOrdinal){
+		return CONTROL_TABLE[ opcodeOrdinal ];
 	}
 	
-	private static final String DECODE =Color.fmtTitle( Color.YELLOW, "Decoding" ) + ":";
+	// Signal names, in Control Word order -- ALUOp uses ALU_codes
+	private static final String[][] SIGNAL_NAMES ={
+			{ "RT", "RD", "$ReturnAddress:31" },
+			{ "AIR1", "NPC" },
+			{ "AIR2", "IMM" },
+			null,
+			{ "READ->LMDR", "WRITE<-SVR" },
+			{ "No:AOR", "Yes:LMDR" },
+			{ "NPC", "IMM", "COND" },
+			{ "Zero", "Not~Zero" } };
 	
 	/**
+	 Looks up the packed Control Word of the instruction, {@link InstrSpec#getCTRL_WORD()}
 	 <ul><li>[0] Destination: 0-RT, 1-RD, 2-$RA</li>
 	 <li>[1] ALUSrc1: 0-AIR1, 1-NPC</li>
 	 <li>[2] ALUSrc2: 0-AIR2, 1-IMM</li>
@@ -135,92 +211,44 @@ public class Component {
 	 <li>[6] PCWrite: 0-No, 1-Yes, 2-Based on Cond</li>
 	 <li>[7] BranchCond: 0-Eq Zero, 1-NotEq Zero</li>
 	 </ul>*/
-	public static Integer[] DECODER(Instruction ins, ExecutionLog log){
+	public static int DECODE(Instruction ins, ExecutionLog log){
 		String opcode = ins.getOpcode();
 		if ( opcode==null )
 			opcode="nop";
 		
-		InstrSpec spec = InstrSpec.findSpec( opcode );
+		int ordinal = InstrSpec.ordinalOf( opcode );
+		int ctrl = CONTROL( ordinal );
 		
-		log.append( "\n" );
-		log.append( DECODE + "\t----\t" + ins.getType() + " Instruction :: "
+		if ( log.traces( ExecutionLog.Trace.DECODE ) )
+			log.event( ExecutionLog.Kind.DECODE, RENDERER, ordinal, ctrl, 0, 0, ins );
+		return ctrl;
+	}
+	private static void renderDecode(int ordinal, int ctrl, Instruction ins, Consumer<String> out){
+		String opcode = InstructionValidation.SPEC.get( ordinal ).getOPCODE( );
+		out.accept( Color.fmtTitle( Color.YELLOW, DECODING ) + ":\t----\t" + ins.getType() + " Instruction :: "
 					+ Color.fmt(Color.reverse( Color.csi(Color.bright(Color.WHITE))), opcode.toUpperCase())
 					+" :: "
-					+ Color.fmt(Color.reverse( Color.csi(Color.bright(Color.WHITE))),spec.getNAME())
+					+ Color.fmt(Color.reverse( Color.csi(Color.bright(Color.WHITE))),InstructionValidation.SPEC.get( ordinal ).getNAME())
 					+"\n" );
-//		if ( ins instanceof R_Type )
-//			log.append( "\n\t\t "+opcode+"\tRS["+ins.getRS()+"], RT["+ins.getRT()+"], RD["+ins.getRD()+"], [shamt], [funct]" );
-//		else if ( ins instanceof I_Type )
-//			log.append( "\n\t\t "+opcode+"\tRS["+ins.getRS()+"], RT["+ins.getRT()+"], 16_IMM["+ins.getImmediate()+"]" );
-//		else if ( ins instanceof J_Type )
-//			log.append( "\n\t\t "+opcode+"\t26_IMM["+ins.getImmediate()+"]" );
 		
-		Integer[] ctrl =spec.getCTRL();
 		String[] name = new String[8];
-		Arrays.fill( name, "-" );
-		
-		//Dest
-		if ( ctrl[0]!=null ) {
-			if ( ctrl[ 0 ]==0 )
-				name[ 0 ]="RT";
-			else if ( ctrl[ 0 ]==1 )
-				name[ 0 ]="RD";
-			else if ( ctrl[ 0 ]==2 )
-				name[ 0 ]="$ReturnAddress:31";
-		}//ALUSrc1
-		
-		if ( ctrl[1]!=null ) {
-			if ( ctrl[ 1 ]==0 )
-				name[ 1 ]="AIR1";
-			else if ( ctrl[ 1 ]==1 )
-				name[ 1 ]="NPC";
-		}//ALUSrc2
-		if ( ctrl[2]!=null ) {
-			if ( ctrl[ 2 ]==0 )
-				name[ 2 ]="AIR2";
-			else if ( ctrl[ 2 ]==1 )
-				name[ 2 ]="IMM";
-		}//ALUOp
-		if ( ctrl[3]!=null ) {
-			name[ 3 ]=ALU_codes.get( ctrl[ 3 ] );
-		}//MemOp
-		if ( ctrl[4]!=null ) {
-			if ( ctrl[ 4 ]==0 )
-				name[ 4 ]="READ->LMDR";
-			else if ( ctrl[ 4 ]==1 )
-				name[ 4 ]="WRITE<-SVR";
-		}//MemToReg
-		if ( ctrl[5]!=null ) {
-			if ( ctrl[ 5 ]==0 )
-				name[ 5 ]="No:AOR";
-			else if ( ctrl[ 5 ]==1 )
-				name[ 5 ]="Yes:LMDR";
-		}//PCWrite
-		if ( ctrl[6]!=null ) {
-			if ( ctrl[ 6 ]==0 )
-				name[ 6 ]="NPC";
-			else if ( ctrl[ 6 ]==1 )
-				name[ 6 ]="IMM";
-			else if ( ctrl[ 6 ]==2 )
-				name[ 6 ]="COND";
-		}//BranchCond
-		if ( ctrl[7]!=null ) {
-			if ( ctrl[ 7 ]==0 )
-				name[ 7 ]="Zero";
-			else if ( ctrl[ 7 ]==1 )
-				name[ 7 ]="Not~Zero";
-		}
-		
 		for ( int i=0; i<name.length; i++ ) {
-			if (name[i]==null||name[i].equals("-")){
+			int sig = InstrSpec.signal( ctrl, i*InstrSpec.SIGNAL_BITS );
+			if ( sig!=InstrSpec.NONE )
+				name[ i ]=(SIGNAL_NAMES[ i ]==null) ? ALU_codes.get( sig-1 ) : SIGNAL_NAMES[ i ][ sig ];
+			
+			if (name[i]==null){
 				name[i]=Color.fmt( Color.bright( Color.BLACK ), "-" );
 			}else {
 				name[i]=Color.fmt(Color.bright( Color.WHITE ),name[i]);
 			}
 		}
-		log.append( "\tALUSrc1["+name[1]+"], ALUSrc2["+name[2]+"], ALUOp["+name[3]+"],\tRegDest["+name[0]+"]" );
-		log.append( "\tMemOp["+name[4]+"], MemToReg["+name[5]+"],\tPCWrite["+name[6]+"], BranchCond["+name[7]+"]" );
-		
-		return ctrl;
+		out.accept( "\tALUSrc1["+name[1]+"], ALUSrc2["+name[2]+"], ALUOp["+name[3]+"],\tRegDest["+name[0]+"]" );
+		out.accept( "\tMemOp["+name[4]+"], MemToReg["+name[5]+"],\tPCWrite["+name[6]+"], BranchCond["+name[7]+"]" );
+	}
+	
+	/** {@link #DECODE(Instruction, ExecutionLog)}, with the control word unpacked into its 8 signals*/
+	public static Integer[] DECODER(Instruction ins, ExecutionLog log){
+		return InstrSpec.unpack( DECODE( ins, log ) );
 	}
 }
@@ -3,19 +3,27 @@ package model.components;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import model.MemoryGeometry;
+
 import util.Convert;
-import util.Util;
+import util.SimulatorContext;
 import util.ansi_codes.Color;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
 import util.validation.AddressValidation;
 
-import java.util.HashMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /**
- Wrapper for float[] data.
+ Data Memory, one word per double-word aligned address (multiple of 8).
+ <p>
+ The Data segment, {@link #BASE_DATA_ADDRESS} to {@link #OVER_HEAP_ADDRESS} (Global then Heap),
+ And the Stack segment, {@link #BASE_STACK_ADDRESS} to {@link #TOP_STACK_ADDRESS}.
  <p>
- Index's are double-word aligned (multiple of 8).
+ The first {@value #MAX_DATA_ITEMS} words (or {@link MemoryGeometry#getMaxDataWords()}) are the int[] .data image, the rest is {@link PagedMemory}, allocated as it is written.
+ A file can be mapped over part of the Heap, see {@link #map(MappedMemory)}.
  <p>
  Describes actions being performed in the DataLog
  <p>
@@ -23,74 +31,185 @@ import java.util.HashMap;
  
  @see AddressValidation#dataAddr2index(int, ErrorLog)
  @see #BASE_DATA_ADDRESS
- @see #OVER_SUPPORTED_DATA_ADDRESS */
+ @see #OVER_HEAP_ADDRESS
+ @see #BASE_STACK_ADDRESS */
 public class DataMemory {
 	public static final int DATA_ALIGN=8;
 	public static final int MAX_DATA_ITEMS=256;
 	public static final int BASE_DATA_ADDRESS=0x10010000;
 	public static final int OVER_SUPPORTED_DATA_ADDRESS=BASE_DATA_ADDRESS + (MAX_DATA_ITEMS)*DATA_ALIGN;
 	public static final int OVER_DATA_ADDRESS=0x10040000;
-	private final String NAME= "\t"+ Color.fmtSubTitle( Color.MAGENTA, "DataMemory");
-	private final HashMap<Integer, Double> data;
+	public static final int OVER_HEAP_ADDRESS=0x20000000;
+	public static final int BASE_STACK_ADDRESS=0x70000000;
+	public static final int TOP_STACK_ADDRESS=Integer.MAX_VALUE - (DATA_ALIGN - 1);
+	private final String NAME;
+	private final int[] data;
+	private final int overImage;
+	private final PagedMemory heap;
+	private final PagedMemory stack=new PagedMemory( BASE_STACK_ADDRESS, TOP_STACK_ADDRESS );
+	@Nullable
+	private MappedMemory mapped=null;
 	private final ExecutionLog executionLog;
+	private final ExecutionLog.Renderer renderer=this::render;
 	
-	public DataMemory(@NotNull HashMap<Integer, Double> data, @NotNull ExecutionLog executionLog) throws IllegalArgumentException{
-		if ( data.size( )>MAX_DATA_ITEMS )
-			throw new IllegalArgumentException( "Data Memory cannot have move than " + MAX_DATA_ITEMS + " indexes" );
-		
-		data.forEach((k,v) ->{
-			if( !Util.notNullAndInRange( k, 0, MAX_DATA_ITEMS - 1) )
-				throw new IllegalArgumentException( "Data Contains a Key["+k+"] Out Of Range[0->"+(MAX_DATA_ITEMS-1)+"]!" );
-		} );// Check all the Keys are InRange
+	/** Empty Data Memory, every word is 0 */
+	public DataMemory(@NotNull ExecutionLog executionLog) {
+		this( new int[ MAX_DATA_ITEMS ], executionLog );
+	}
+	/**
+	 @param data Initial image, index = (address-{@link #BASE_DATA_ADDRESS})/{@link #DATA_ALIGN}. It is used directly, not copied
+	 @throws IllegalArgumentException if data is not {@value #MAX_DATA_ITEMS} long
+	 */
+	public DataMemory(@NotNull int[] data, @NotNull ExecutionLog executionLog) throws IllegalArgumentException{
+		this( data, MemoryGeometry.DEFAULT, executionLog );
+	}
+	/**
+	 @param data Initial image, It is used directly, not copied
+	 @throws IllegalArgumentException if data is not {@link MemoryGeometry#getMaxDataWords()} long
+	 */
+	public DataMemory(@NotNull int[] data, @NotNull MemoryGeometry geometry, @NotNull ExecutionLog executionLog) throws IllegalArgumentException{
+		this( data, geometry, executionLog, null );
+	}
+	/**
+	 @param data Initial image, It is used directly, not copied
+	 @param context Colour support of the output, And the {@link MemoryGeometry}
+	 @throws IllegalArgumentException if data is not {@link MemoryGeometry#getMaxDataWords()} long
+	 */
+	public DataMemory(@NotNull int[] data, @NotNull ExecutionLog executionLog, @NotNull SimulatorContext context) throws IllegalArgumentException{
+		this( data, context.getGeometry( ), executionLog, context );
+	}
+	/** @param context Colour support of the output, Null uses the context bound when constructed */
+	public DataMemory(@NotNull int[] data, @NotNull MemoryGeometry geometry, @NotNull ExecutionLog executionLog,
+					  @Nullable SimulatorContext context) throws IllegalArgumentException{
+		if ( data.length!=geometry.getMaxDataWords( ) )
+			throw new IllegalArgumentException( "Data Memory Must be " + geometry.getMaxDataWords( ) + " indexes!" );
 		
 		this.data=data;
+		this.overImage=geometry.getOverSupportedDataAddress( );
+		this.heap=new PagedMemory( overImage, OVER_HEAP_ADDRESS - DATA_ALIGN );
 		this.executionLog=executionLog;
+		try ( SimulatorContext.Scope ignored=((context==null) ? SimulatorContext.current( ) : context).bind( ) ) {
+			this.NAME="\t" + Color.fmtSubTitle( Color.MAGENTA, "DataMemory" );
+		}
+	}
+	
+	/** The int[] backing the .data image (the first {@value #MAX_DATA_ITEMS} words by default), Reads/Writes to it are not logged */
+	@NotNull
+	public int[] data_NoOutput ( ) {
+		return this.data;
+	}
+	/**
+	 Loads/Stores within the mapped range go to the file instead of the Heap pages.
+	 @throws IllegalArgumentException if it overlaps the .data image, or a file is already mapped
+	 */
+	public void map(@NotNull MappedMemory mapped) throws IllegalArgumentException {
+		if ( this.mapped!=null )
+			throw new IllegalArgumentException( "Data Memory Already Has A Mapped File!" );
+		if ( mapped.getBase( )<overImage )
+			throw new IllegalArgumentException( "Mapped Base Address [" + Convert.int2Hex( mapped.getBase( ) )
+												+ "] Must Be >=" + Convert.int2Hex( overImage ) + "!" );
+		this.mapped=mapped;
+	}
+	@Nullable
+	public MappedMemory getMapped ( ) {
+		return mapped;
+	}
+	
+	/**
+	 Final state, Non-Zero words by address: The .data image, Heap and Stack pages, And words stored to the mapped file.
+	 Not logged, So it can be read after any {@link control.Execution.Tier}.
+	 */
+	@NotNull
+	public SortedMap<Integer, Integer> nonZeroWords ( ) {
+		final SortedMap<Integer, Integer> words=new TreeMap<>( );
+		for ( int i=0; i<data.length; i++ ) {
+			if ( data[ i ]!=0 )
+				words.put( BASE_DATA_ADDRESS + i*DATA_ALIGN, data[ i ] );
+		}
+		heap.putNonZero( words );
+		if ( mapped!=null )
+			mapped.putStored( words );
+		stack.putNonZero( words );
+		return words;
+	}
+	
+	/** Pages allocated beyond the .data image, across the Heap and Stack */
+	public int pageCount ( ) {
+		return heap.pageCount( ) + stack.pageCount( );
 	}
 	
 	/**
 	 Given a valid Data Address, Returns the Data object for that address.
 	 <p>
-	 if data has not been set or null input, returns 0 as default value
+	 if data has not been set returns 0, for null input returns 0 as default value
 	 
 	 @throws IndexOutOfBoundsException for non-supported address.
 	 @see AddressValidation#isSupportedDataAddr(int, ErrorLog)
 	 @see #BASE_DATA_ADDRESS
-	 @see #OVER_SUPPORTED_DATA_ADDRESS
+	 @see #OVER_HEAP_ADDRESS
+	 @see #BASE_STACK_ADDRESS
 	 */
 	public int readData(@Nullable Integer address) throws IndexOutOfBoundsException, IllegalArgumentException {
-		int val=0;
 		if ( address==null ) {
 			noAction( );
-		} else if ( inRange( address ) ) {
-			int index=toIndex( address );
-			if ( data.containsKey( index ) )
-				val=this.data.get( index ).intValue( );
-			
-			this.executionLog.append( NAME + ":\t" + "Reading Value[" + colorize( ""+val,false) + "]\tFrom Memory Address["
-									  + fmtMem( address, false ) + "]!" );
+			return 0;
 		}
+		return readData( (int) address );
+	}
+	/** Primitive {@link #readData(Integer)}, Used by the datapath with output.
+	 @throws IndexOutOfBoundsException for non-supported address. */
+	public int readData(int address) throws IndexOutOfBoundsException, IllegalArgumentException {
+		final int val=load( address );
+		if ( executionLog.traces( ExecutionLog.Trace.MEMORY ) )
+			this.executionLog.event( ExecutionLog.Kind.MEM_READ, renderer, address, val );
 		return val;
 	}
 	
+	/** Same as {@link #readData(Integer)}, Without logging to the {@link ExecutionLog}.
+	 @throws IndexOutOfBoundsException for non-supported address. */
+	public int readData_NoOutput(int address) throws IndexOutOfBoundsException, IllegalArgumentException {
+		return load( address );
+	}
+	
 	//Explicit instruction to do nothing,
 	public void noAction() {
-		this.executionLog.append( NAME + ":\t" + "No Action!" );
+		if ( executionLog.traces( ExecutionLog.Trace.MEMORY ) )
+			this.executionLog.append( NAME + ":\t" + "No Action!" );
 	}
 	
-	private boolean inRange(int address) throws IndexOutOfBoundsException{
-		if ( address>=BASE_DATA_ADDRESS && address<=(OVER_SUPPORTED_DATA_ADDRESS - DATA_ALIGN) )
-			return true;
-		else
+	private void inRange(int address) throws IndexOutOfBoundsException, IllegalArgumentException{
+		if ( address<BASE_STACK_ADDRESS && (address<BASE_DATA_ADDRESS || address>=OVER_HEAP_ADDRESS) )
 			throw new IndexOutOfBoundsException( "Data Address ["+Convert.int2Hex(address)+", "+address+"] Must Be >="
 												 + Convert.int2Hex( BASE_DATA_ADDRESS ) + " and <="
-												 + Convert.int2Hex( OVER_SUPPORTED_DATA_ADDRESS - DATA_ALIGN ) + "!" );
-	}
-	
-	private int toIndex(int address) throws IllegalArgumentException{
-		if ( address%DATA_ALIGN!=0 && inRange( address ) )
+												 + Convert.int2Hex( OVER_HEAP_ADDRESS - DATA_ALIGN ) + ", Or >="
+												 + Convert.int2Hex( BASE_STACK_ADDRESS ) + " and <="
+												 + Convert.int2Hex( TOP_STACK_ADDRESS ) + "!" );
+		if ( address%DATA_ALIGN!=0 )
 			throw new IllegalArgumentException( "Data Address ["+Convert.int2Hex(address)
 												+", "+address+"] Must Be DoubleWord Aligned!" );
-		return Convert.dataAddr2Index( address )/2;
+	}
+	
+	private int load(int address) throws IndexOutOfBoundsException, IllegalArgumentException{
+		inRange( address );
+		if ( address<overImage )
+			return this.data[ (address - BASE_DATA_ADDRESS)/DATA_ALIGN ];
+		if ( address>=BASE_STACK_ADDRESS )
+			return stack.read( address );
+		if ( mapped!=null && mapped.contains( address ) )
+			return mapped.read( address );
+		return heap.read( address );
+	}
+	
+	private void store(int address, int value) throws IndexOutOfBoundsException, IllegalArgumentException{
+		inRange( address );
+		if ( address<overImage )
+			this.data[ (address - BASE_DATA_ADDRESS)/DATA_ALIGN ]=value;
+		else if ( address>=BASE_STACK_ADDRESS )
+			stack.write( address, value );
+		else if ( mapped!=null && mapped.contains( address ) )
+			mapped.write( address, value );
+		else
+			heap.write( address, value );
 	}
 	
 	private String fmtMem(int address, boolean write) {
@@ -107,6 +226,15 @@ public class DataMemory {
 			return Color.fmt( READ_COL, text );
 	}
 	
+	/** {@link ExecutionLog.Kind#MEM_READ}/ {@link ExecutionLog.Kind#MEM_WRITE}, Address, Value */
+	private void render (ExecutionLog.Kind kind, int address, int val, int c, int d, Object ref, Consumer<String> out) {
+		if ( kind==ExecutionLog.Kind.MEM_READ )
+			out.accept( NAME + ":\t" + "Reading Value[" + colorize( ""+val,false) + "]\tFrom Memory Address["
+						+ fmtMem( address, false ) + "]!" );
+		else
+			out.accept( NAME + ":\t" + "Writing Value[" +colorize( ""+val,true)  + "]\tTo Memory Address[" + fmtMem( address, true ) + "]!" );
+	}
+	
 	/**
 	 Given a valid Data Address, Sets the Data object for that address.
 	 <p> <b>Use {@link AddressValidation#isSupportedDataAddr(int, ErrorLog)} to check input</b>
@@ -116,16 +244,29 @@ public class DataMemory {
 	 @throws IndexOutOfBoundsException for non-supported address.
 	 @see AddressValidation#isSupportedDataAddr(int, ErrorLog)
 	 @see #BASE_DATA_ADDRESS
-	 @see #OVER_SUPPORTED_DATA_ADDRESS
+	 @see #OVER_HEAP_ADDRESS
+	 @see #BASE_STACK_ADDRESS
 	 */
 	public boolean writeData(@Nullable Integer address, @Nullable Integer data) throws IndexOutOfBoundsException, IllegalArgumentException {
 		if ( address==null || data==null ) {
 			noAction( );
 			return false;
-		} else if ( inRange( address ) ) {
-			this.data.put( toIndex( address ), data.doubleValue( ) );
-			this.executionLog.append( NAME + ":\t" + "Writing Value[" +colorize( ""+data,true)  + "]\tTo Memory Address[" + fmtMem( address, true ) + "]!" );
 		}
+		return writeData( (int) address, (int) data );
+	}
+	/** Primitive {@link #writeData(Integer, Integer)}, Used by the datapath with output.
+	 @throws IndexOutOfBoundsException for non-supported address. */
+	@SuppressWarnings ( "UnusedReturnValue" )
+	public boolean writeData(int address, int data) throws IndexOutOfBoundsException, IllegalArgumentException {
+		store( address, data );
+		if ( executionLog.traces( ExecutionLog.Trace.MEMORY ) )
+			this.executionLog.event( ExecutionLog.Kind.MEM_WRITE, renderer, address, data );
 		return true;
 	}
+	
+	/** Same as {@link #writeData(Integer, Integer)}, Without logging to the {@link ExecutionLog}.
+	 @throws IndexOutOfBoundsException for non-supported address. */
+	public void writeData_NoOutput(int address, int data) throws IndexOutOfBoundsException, IllegalArgumentException {
+		store( address, data );
+	}
 }
@@ -2,17 +2,22 @@ package model.components;
 
 import org.jetbrains.annotations.NotNull;
 
+import model.MemoryGeometry;
 import model.instr.Instruction;
 import model.instr.Nop;
 
 import util.Convert;
+import util.SimulatorContext;
 import util.ansi_codes.Color;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
 import util.validation.AddressValidation;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  Wrapper for Instruction[] instructions. Provides protection for runtime errors where an address calculated during
@@ -30,48 +35,66 @@ public class InstrMemory {
 	public static final int OVER_INSTR_ADDRESS=0x10000000;
 	public static final int MAX_INSTR_COUNT=256;
 	
-	private final ArrayList<Instruction> instructions;
+	private final List<Instruction> instructions;
+	private final int overSupported;
 	private final ExecutionLog executionLog;
 	// reference autoExit instruction TODO with lineNo (-1)
-	private static final Instruction autoExit = new Nop( "exit" );
+	private final Instruction autoExit = new Nop( "exit" );    // Each InstrMemory has its own, Instructions aren't shared
+	private final String fetching;
+	private final ExecutionLog.Renderer renderer=this::render;
 	
-	public InstrMemory(@NotNull ArrayList<Instruction> instructions, @NotNull ExecutionLog executionLog) {
+	public InstrMemory(@NotNull List<Instruction> instructions, @NotNull ExecutionLog executionLog) {
+		this( instructions, executionLog, SimulatorContext.current( ) );
+	}
+	public InstrMemory(@NotNull List<Instruction> instructions, @NotNull ExecutionLog executionLog,
+					   @NotNull SimulatorContext context) {
 		this.instructions=instructions;
+		this.overSupported=MemoryGeometry.overSupportedInstrAddress( instructions.size( ) );
 		this.executionLog=executionLog;
 		autoExit.assemble(new ErrorLog( new ArrayList<>() ),new HashMap<>(), 0x00400000);// Pre-Assemble AutoExit
+		try ( SimulatorContext.Scope ignored=context.bind( ) ) {
+			this.fetching=Color.fmtTitle( Color.GREEN, "Fetching" ) + ":";
+		}
 	}
 	
-	private static final String fetching=Color.fmtTitle(Color.GREEN,"Fetching")+":";
 	/**
 	 Given a valid Instruction Address, Returns the Instruction object for that address.
 	 <p>
 	 Fetching past last instruction, returns a Exit instruction.
+	 <p>
+	 Supported up to {@link #OVER_SUPPORTED_INSTR_ADDRESS}, Or the auto exit of larger programs {@link MemoryGeometry#overSupportedInstrAddress(int)}
 	 
 	 @throws IndexOutOfBoundsException for Not Supported Address
 	 @throws IllegalArgumentException  for Non-Word Aligned Address
 	 @see AddressValidation#isSupportedInstrAddr(int, ErrorLog)
 	 */
 	public Instruction InstructionFetch(int PC_Address) throws IndexOutOfBoundsException, IllegalArgumentException{
-		String hex_addr=Convert.int2Hex( PC_Address );
 		//Supported Instr Address
-		if ( ( PC_Address<BASE_INSTR_ADDRESS || PC_Address>=OVER_SUPPORTED_INSTR_ADDRESS ) )
+		if ( ( PC_Address<BASE_INSTR_ADDRESS || PC_Address>=overSupported ) )
 			throw new IndexOutOfBoundsException( "Instruction Address ["+Convert.int2Hex(PC_Address)
-												 +", "+PC_Address+"]  " + hex_addr + " Not In Range!" );
+												 +", "+PC_Address+"]  " + Convert.int2Hex( PC_Address ) + " Not In Range!" );
 		if ( PC_Address%ADDR_SIZE!=0 )
 			throw new IllegalArgumentException( "Instruction Address ["+Convert.int2Hex(PC_Address)
-												 +", "+PC_Address+"] " + hex_addr + " Not Word Aligned!" );
+												 +", "+PC_Address+"] " + Convert.int2Hex( PC_Address ) + " Not Word Aligned!" );
 		
-		int index=Convert.instrAddr2Index( PC_Address );
+		int index=(PC_Address - BASE_INSTR_ADDRESS)/ADDR_SIZE;
 		
-		executionLog.append( fetching+" Instruction At Address [" + Color.fmtUnder(Color.fmtSubTitle(Color.GREEN,hex_addr)) + "]" );
-		if ( index<instructions.size( ) ) {
-			return instructions.get( index );
-		} else { // index >256
-			executionLog.appendEx(
-					Color.fmt( Color.WARN_LOG,
-							   "\tRun Over Provided Instructions -- Auto Exit"  )
-			);
-			return autoExit;
-		}
+		final boolean over=index>=instructions.size( );
+		if ( executionLog.traces( ExecutionLog.Trace.FETCH ) )
+			executionLog.event( ExecutionLog.Kind.FETCH, renderer, PC_Address, over ? 1 : 0 );
+		return over ? autoExit : instructions.get( index );
+	}
+	/** {@link ExecutionLog.Kind#FETCH}, PC, Auto Exit */
+	private void render (ExecutionLog.Kind kind, int pc, int over, int c, int d, Object ref, Consumer<String> out) {
+		out.accept( fetching+" Instruction At Address [" + Color.fmtUnder(Color.fmtSubTitle(Color.GREEN,Convert.int2Hex( pc ))) + "]" );
+		if ( over==1 )	// index >size
+			out.accept( Color.fmt( Color.WARN_LOG,
+								   "\tRun Over Provided Instructions -- Auto Exit"  ) + "!" );
+	}
+	
+	/** Read only view of the instructions held */
+	@NotNull
+	public List<Instruction> getInstructions ( ) {
+		return Collections.unmodifiableList( instructions );
 	}
 }
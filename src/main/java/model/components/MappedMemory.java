@@ -0,0 +1,143 @@
+package model.components;
+
+import org.jetbrains.annotations.NotNull;
+
+import util.Convert;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ Binary file mapped into the Data segment with {@link FileChannel#map}, one 32bit word of the file per {@link DataMemory#DATA_ALIGN} bytes of address.
+ <p>
+ Loads and Stores go straight to the {@link MappedByteBuffer}, nothing is read up front. So mapping is constant time, whatever the file size,
+ and only the parts of the file that are used are paged in (by the OS).
+ <p>
+ Attach it to a {@link DataMemory} with {@link DataMemory#map(MappedMemory)}.
+
+ @see Mode
+ */
+public class MappedMemory {
+	/** Start of the Heap, just past the Global .data segment */
+	public static final int DEFAULT_BASE=DataMemory.OVER_DATA_ADDRESS;
+	private static final int WORD_SIZE=Integer.BYTES;
+	
+	/** What happens to Stores */
+	public enum Mode {
+		/** Stores are runtime errors */
+		READ_ONLY( FileChannel.MapMode.READ_ONLY ),
+		/** Stores are written back to the file */
+		WRITE_BACK( FileChannel.MapMode.READ_WRITE ),
+		/** Stores are private to this mapping, the file is not changed. (The file must still be writable) */
+		COPY_ON_WRITE( FileChannel.MapMode.PRIVATE );
+		
+		private final FileChannel.MapMode mapMode;
+		Mode (FileChannel.MapMode mapMode) {
+			this.mapMode=mapMode;
+		}
+	}
+	
+	private final MappedByteBuffer buffer;
+	private final Mode mode;
+	private final int base;
+	private final int words;
+	/** Word indexes stored to */
+	private final BitSet stored=new BitSet( );
+	
+	private MappedMemory (MappedByteBuffer buffer, Mode mode, int base, int words) {
+		this.buffer=buffer;
+		this.mode=mode;
+		this.base=base;
+		this.words=words;
+	}
+	
+	/** Big Endian file, mapped at {@link #DEFAULT_BASE} */
+	@NotNull
+	public static MappedMemory map (@NotNull Path file, @NotNull Mode mode) throws IOException, IllegalArgumentException {
+		return map( file, mode, DEFAULT_BASE, ByteOrder.BIG_ENDIAN );
+	}
+	/**
+	 Maps the whole file, The mapping stays valid after the channel is closed.
+	
+	 @param base address of the first word, must be {@link DataMemory#DATA_ALIGN} aligned
+	 @param order byte order of the words in the file
+	 @throws IllegalArgumentException if the file is not a whole number of words, or does not fit in the Data segment
+	 */
+	@NotNull
+	public static MappedMemory map (@NotNull Path file, @NotNull Mode mode, int base, @NotNull ByteOrder order) throws IOException, IllegalArgumentException {
+		if ( base%DataMemory.DATA_ALIGN!=0 )
+			throw new IllegalArgumentException( "Mapped Base Address [" + Convert.int2Hex( base ) + "] Must Be DoubleWord Aligned!" );
+		
+		final StandardOpenOption[] options=(mode==Mode.READ_ONLY)
+				? new StandardOpenOption[]{ StandardOpenOption.READ }
+				: new StandardOpenOption[]{ StandardOpenOption.READ, StandardOpenOption.WRITE };
+		try ( FileChannel channel=FileChannel.open( file, options ) ) {
+			final long size=channel.size( );
+			if ( size%WORD_SIZE!=0 )
+				throw new IllegalArgumentException( "Mapped File [" + file + "] Must Be Whole Words, Has " + size + " Bytes!" );
+			if ( size/WORD_SIZE>((long) DataMemory.OVER_HEAP_ADDRESS - base)/DataMemory.DATA_ALIGN )
+				throw new IllegalArgumentException( "Mapped File [" + file + "] Too Large For The Data Segment at ["
+													+ Convert.int2Hex( base ) + "]!" );
+			final MappedByteBuffer buffer=channel.map( mode.mapMode, 0, size );
+			buffer.order( order );
+			return new MappedMemory( buffer, mode, base, (int) (size/WORD_SIZE) );
+		}
+	}
+	
+	public boolean contains (int address) {
+		return address>=base && (address - base)/DataMemory.DATA_ALIGN<words;
+	}
+	
+	/** Address must be {@link #contains(int)} and aligned */
+	public int read (int address) {
+		return buffer.getInt( (address - base)/DataMemory.DATA_ALIGN*WORD_SIZE );
+	}
+	
+	/**
+	 Address must be {@link #contains(int)} and aligned
+	 @throws IllegalArgumentException if {@link Mode#READ_ONLY}
+	 */
+	public void write (int address, int value) throws IllegalArgumentException {
+		if ( mode==Mode.READ_ONLY )
+			throw new IllegalArgumentException( "Data Address [" + Convert.int2Hex( address ) + ", " + address + "] Is Read Only!" );
+		final int word=(address - base)/DataMemory.DATA_ALIGN;
+		buffer.putInt( word*WORD_SIZE, value );
+		stored.set( word );
+	}
+	
+	/** Adds each word stored to through this mapping (Non-Zero), by address. The rest of the file is the initial data */
+	public void putStored (@NotNull Map<Integer, Integer> words) {
+		for ( int word=stored.nextSetBit( 0 ); word>=0; word=stored.nextSetBit( word + 1 ) ) {
+			final int value=buffer.getInt( word*WORD_SIZE );
+			if ( value!=0 )
+				words.put( base + word*DataMemory.DATA_ALIGN, value );
+		}
+	}
+	
+	/** Forces {@link Mode#WRITE_BACK} stores out to the file, Otherwise does nothing */
+	public void flush ( ) {
+		if ( mode==Mode.WRITE_BACK )
+			buffer.force( );
+	}
+	
+	public int getBase ( ) {
+		return base;
+	}
+	/** Last mapped address, Below {@link #getBase()} if the file is empty */
+	public int getLast ( ) {
+		return base + (words - 1)*DataMemory.DATA_ALIGN;
+	}
+	public int getWords ( ) {
+		return words;
+	}
+	@NotNull
+	public Mode getMode ( ) {
+		return mode;
+	}
+}
@@ -0,0 +1,107 @@
+package model.components;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ Sparse word memory, covering {@link #getBase()} to {@link #getLast()} one word per {@link DataMemory#DATA_ALIGN} bytes.
+ <p>
+ Words are kept in pages of {@value #PAGE_WORDS}, allocated on the first non-zero write. Reading a page that was never written gives 0.
+ So memory use is proportional to the pages touched, not the size of the range.
+ <p>
+ Two level page table, {@value #TABLE_SIZE} pages per table, Tables are also allocated on first write.
+ A lookup is two array indexes (shift/mask of the word offset).
+ <p>
+ Addresses must be checked by the caller, {@link #contains(int)} and aligned.
+ */
+public class PagedMemory {
+	public static final int PAGE_SHIFT=10;
+	public static final int PAGE_WORDS=1<<PAGE_SHIFT;
+	public static final int TABLE_SHIFT=10;
+	public static final int TABLE_SIZE=1<<TABLE_SHIFT;
+	private static final int PAGE_MASK=PAGE_WORDS - 1;
+	private static final int TABLE_MASK=TABLE_SIZE - 1;
+	private static final int ALIGN_SHIFT=Integer.numberOfTrailingZeros( DataMemory.DATA_ALIGN );
+	
+	private final int base;
+	private final int last;
+	private final int[][][] tables;
+	private int pages=0;
+	
+	/**
+	 @param base first address
+	 @param last last address (inclusive, so the range can end at {@link Integer#MAX_VALUE})
+	 @throws IllegalArgumentException if base or last are not aligned, or last is below base
+	 */
+	public PagedMemory (int base, int last) throws IllegalArgumentException {
+		if ( base%DataMemory.DATA_ALIGN!=0 || last%DataMemory.DATA_ALIGN!=0 || last<base )
+			throw new IllegalArgumentException( "Paged Memory Range Must Be DoubleWord Aligned, and Last>=Base!" );
+		this.base=base;
+		this.last=last;
+		final int words=((last - base)>>>ALIGN_SHIFT) + 1;
+		this.tables=new int[ ((words - 1)>>>(PAGE_SHIFT + TABLE_SHIFT)) + 1 ][][];
+	}
+	
+	public boolean contains (int address) {
+		return address>=base && address<=last;
+	}
+	
+	/** Unwritten words are 0 */
+	public int read (int address) {
+		final int word=(address - base)>>>ALIGN_SHIFT;
+		final int[][] table=tables[ word>>>(PAGE_SHIFT + TABLE_SHIFT) ];
+		if ( table==null )
+			return 0;
+		final int[] page=table[ (word>>>PAGE_SHIFT)&TABLE_MASK ];
+		return page==null ? 0 : page[ word&PAGE_MASK ];
+	}
+	
+	/** Allocates the page (and its table) on the first non-zero write to it */
+	public void write (int address, int value) {
+		final int word=(address - base)>>>ALIGN_SHIFT;
+		int[][] table=tables[ word>>>(PAGE_SHIFT + TABLE_SHIFT) ];
+		if ( table==null ) {
+			if ( value==0 )
+				return;    // Already reads as 0
+			table=tables[ word>>>(PAGE_SHIFT + TABLE_SHIFT) ]=new int[ TABLE_SIZE ][];
+		}
+		int[] page=table[ (word>>>PAGE_SHIFT)&TABLE_MASK ];
+		if ( page==null ) {
+			if ( value==0 )
+				return;
+			page=table[ (word>>>PAGE_SHIFT)&TABLE_MASK ]=new int[ PAGE_WORDS ];
+			pages++;
+		}
+		page[ word&PAGE_MASK ]=value;
+	}
+	
+	/** Adds each Non-Zero word of the allocated pages, by address */
+	public void putNonZero (@NotNull Map<Integer, Integer> words) {
+		for ( int t=0; t<tables.length; t++ ) {
+			if ( tables[ t ]==null )
+				continue;
+			for ( int p=0; p<TABLE_SIZE; p++ ) {
+				final int[] page=tables[ t ][ p ];
+				if ( page==null )
+					continue;
+				final int first=((t<<TABLE_SHIFT) + p)<<PAGE_SHIFT;
+				for ( int w=0; w<PAGE_WORDS; w++ ) {
+					if ( page[ w ]!=0 )
+						words.put( base + ((first + w)<<ALIGN_SHIFT), page[ w ] );
+				}
+			}
+		}
+	}
+	
+	/** Number of pages allocated so far */
+	public int pageCount ( ) {
+		return pages;
+	}
+	public int getBase ( ) {
+		return base;
+	}
+	public int getLast ( ) {
+		return last;
+	}
+}
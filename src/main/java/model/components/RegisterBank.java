@@ -4,10 +4,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import util.Convert;
+import util.SimulatorContext;
 import util.ansi_codes.Color;
 import util.logs.ExecutionLog;
 
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  Wrapper for int[32] registers. Must be size 32
@@ -16,11 +18,13 @@ import java.util.Objects;
  Out of Range inputs throw {@link IndexOutOfBoundsException}
  */
 public class RegisterBank {
-	public static RegFormat regFormat=RegFormat.R;
-	public static boolean fmtUpperCase=true;
 	private final int[] registers;
 	private final ExecutionLog executionLog;
-	private final String NAME="\t"+Color.fmtSubTitle( Color.YELLOW, "RegisterBank" );
+	private final @Nullable SimulatorContext context;
+	private final String NAME;
+	private final ExecutionLog.Renderer renderer=this::render;
+	/** {@link #readPort(int, int)} without a register */
+	public static final int NO_READ=-1;
 	private Integer LAST_READ0=null;
 	private Integer LAST_READ1=null;
 	
@@ -28,6 +32,10 @@ public class RegisterBank {
 	private Integer LAST_WRITTEN=null;
 	
 	public RegisterBank (int[] registers, @NotNull ExecutionLog executionLog) {
+		this( registers, executionLog, null );
+	}
+	/** @param context Register name format and colour support of the output, Null uses the context bound when called */
+	public RegisterBank (int[] registers, @NotNull ExecutionLog executionLog, @Nullable SimulatorContext context) {
 		if ( registers.length!=32 )
 			throw new IllegalArgumentException( "Register Bank Must be 32 indexes!" );
 		if ( registers[ 0 ]!=0 )
@@ -36,6 +44,14 @@ public class RegisterBank {
 		
 		this.registers=registers;
 		this.executionLog=executionLog;
+		this.context=context;
+		try ( SimulatorContext.Scope ignored=context( ).bind( ) ) {
+			this.NAME="\t" + Color.fmtSubTitle( Color.YELLOW, "RegisterBank" );
+		}
+	}
+	@NotNull
+	private SimulatorContext context ( ) {
+		return (context==null) ? SimulatorContext.current( ) : context;
 	}
 	/**
 	 Reads the data of the register at the given index, Returns 0 for null input.
@@ -65,7 +81,8 @@ public class RegisterBank {
 		if ( index0==null && index1==null ) {
 			LAST_READ0=null;
 			LAST_READ1=null;
-			this.executionLog.append( NAME + ":\t" + "No Read!" );
+			if ( executionLog.traces( ExecutionLog.Trace.REGISTERS ) )
+				this.executionLog.append( NAME + ":\t" + "No Read!" );
 			
 		} else if ( index0!=null && index1==null ) {
 			LAST_READ0=index0;
@@ -93,12 +110,33 @@ public class RegisterBank {
 		}
 		return new int[] { data0, data1 };
 	}
+	/**
+	 One of the two read ports of {@link #read(Integer, Integer)}, Without the int[] for the result.
+	 
+	 @param port 0 or 1, Which of {@link #LAST_READ0}/ {@link #LAST_READ1} is tracked
+	 @param index {@link #NO_READ} for no read on the port, Returns 0
+	 @throws IndexOutOfBoundsException if register index out of bounds.
+	 */
+	public int readPort (int port, int index) throws IndexOutOfBoundsException {
+		final Integer read=(index==NO_READ) ? null : index;
+		if ( port==0 )
+			LAST_READ0=read;
+		else
+			LAST_READ1=read;
+		return (read==null) ? 0 : readVal( index );
+	}
+	/** Reads the register without logging, or tracking {@link #LAST_READ0}.
+	 @throws IndexOutOfBoundsException if register index out of bounds. */
+	public int read_NoOutput (int index) throws IndexOutOfBoundsException {
+		inRange( index );
+		return this.registers[ index ];
+	}
 	private int readVal(int index){
 		inRange( index );
 		
 		int data = this.registers[ index ];
-		this.executionLog.append( NAME + ":\t" + "Reading Value[" + colorVal( index, data )
-								  + "]\tFrom Register Index[" + fmtReg( index ) + "]!" );
+		if ( executionLog.traces( ExecutionLog.Trace.REGISTERS ) )
+			this.executionLog.event( ExecutionLog.Kind.REG_READ, renderer, index, data, colour( index ), 0, null );
 		return data;
 	}
 	
@@ -117,9 +155,18 @@ public class RegisterBank {
 	 */
 	@SuppressWarnings ( "UnusedReturnValue" )
 	public boolean write (@Nullable Integer index, @Nullable Integer data) throws IndexOutOfBoundsException {
-		if ( index==null || data==null || index==0 ) {
+		if ( index==null || data==null )
+			return write( 0, 0 );
+		return write( (int) index, (int) data );
+	}
+	/** Primitive {@link #write(Integer, Integer)}, Writes to index 0 are No Write.
+	 @throws IndexOutOfBoundsException if register index out of bounds. */
+	@SuppressWarnings ( "UnusedReturnValue" )
+	public boolean write (int index, int data) throws IndexOutOfBoundsException {
+		if ( index==0 ) {
 			LAST_WRITTEN=null;
-			this.executionLog.append( NAME + ":\t" + "No Write!" );
+			if ( executionLog.traces( ExecutionLog.Trace.REGISTERS ) )
+				this.executionLog.append( NAME + ":\t" + "No Write!" );
 			return false;
 		} else if ( inRange( index ) ) {
 			LAST_WRITTEN=index;
@@ -128,11 +175,21 @@ public class RegisterBank {
 			LAST_READ1=(Objects.equals( LAST_READ1, LAST_WRITTEN )) ? null : LAST_READ1; // to avoid read colour being printed
 			
 			this.registers[ index ]=data;
-			this.executionLog.append( NAME + ":\t" + "Writing Value[" + colorVal( index, data ) + "]\tTo Register Index["
-									  + fmtReg( index ) + "]!" );
+			if ( executionLog.traces( ExecutionLog.Trace.REGISTERS ) )
+				this.executionLog.event( ExecutionLog.Kind.REG_WRITE, renderer, index, data, colour( index ), 0, null );
 		}
 		return true;
 	}
+	/** Sets the register without logging, or tracking {@link #LAST_WRITTEN}. Writes to index 0 are ignored.
+	 @throws IndexOutOfBoundsException if register index out of bounds. */
+	public void write_NoOutput (int index, int data) throws IndexOutOfBoundsException {
+		if ( inRange( index ) && index!=0 )
+			this.registers[ index ]=data;
+	}
+	/** The int[32] backing the bank, for compiled blocks {@link control.jit.Block}. Index 0 must never be written */
+	public int[] registers_NoOutput ( ) {
+		return this.registers;
+	}
 	public boolean inRange (int index) throws IndexOutOfBoundsException {
 		int MIN_INDEX=0;
 		int MAX_INDEX=31;
@@ -146,16 +203,31 @@ public class RegisterBank {
 	}
 	/** Depending on the status colorize the output */
 	private String colorize (int index, String text){
-		final String READ_COL=Color.READ;
-		final String WRITE_COL=Color.WRITE;
-		
+		return paint( colour( index ), text );
+	}
+	
+	// Colour of a register, Kept with each event since LAST_READ/WRITTEN change before the event is rendered
+	private static final int PLAIN=0, READ=1, WRITE=2, STAR=4;
+	/** Colour of the register from {@link #LAST_READ0}/ {@link #LAST_WRITTEN}, And {@link #STAR} if it was the last written */
+	private int colour (int index) {
+		int colour;
 		if ( LAST_READ0!=null && index==LAST_READ0 )
-				text=Color.fmt( READ_COL, text );
+			colour=READ;
 		else if ( LAST_READ1!=null && index==LAST_READ1 )
-				text=Color.fmt( READ_COL, text );
+			colour=READ;
 		else if ( LAST_WRITTEN!=null && index==LAST_WRITTEN )
-				text=Color.fmt( WRITE_COL, text );
-		
+			colour=WRITE;
+		else
+			colour=PLAIN;
+		if ( LAST_WRITTEN!=null && index==LAST_WRITTEN )
+			colour|=STAR;
+		return colour;
+	}
+	private static String paint (int colour, String text){
+		if ( (colour & READ)!=0 )
+			return Color.fmt( Color.READ, text );
+		else if ( (colour & WRITE)!=0 )
+			return Color.fmt( Color.WRITE, text );
 		return text;
 	}
 	
@@ -164,13 +236,27 @@ public class RegisterBank {
 	 and add an asterisk if {@link #LAST_WRITTEN}
 	 */
 	private String fmtReg (int index) {
-		String reg = colorize( index, regName( index ) );
-		if ( LAST_WRITTEN!=null && index==LAST_WRITTEN )
-			reg = Color.fmt( Color.WRITE, "*" + colorize( index, reg));
+		return fmtReg( index, colour( index ) );
+	}
+	private String fmtReg (int index, int colour) {
+		String reg = paint( colour, regName( index ) );
+		if ( (colour & STAR)!=0 )
+			reg = Color.fmt( Color.WRITE, "*" + paint( colour, reg));
 		return reg;
 	}
+	
+	/** {@link ExecutionLog.Kind#REG_READ}/ {@link ExecutionLog.Kind#REG_WRITE}, Index, Value, Colour */
+	private void render (ExecutionLog.Kind kind, int index, int data, int colour, int d, Object ref, Consumer<String> out) {
+		if ( kind==ExecutionLog.Kind.REG_READ )
+			out.accept( NAME + ":\t" + "Reading Value[" + paint( colour, ""+data )
+						+ "]\tFrom Register Index[" + fmtReg( index, colour ) + "]!" );
+		else
+			out.accept( NAME + ":\t" + "Writing Value[" + paint( colour, ""+data ) + "]\tTo Register Index["
+						+ fmtReg( index, colour ) + "]!" );
+	}
 	/** Formats the register index for output based on {@link RegFormat} */
 	private String regName (int index) {
+		final RegFormat regFormat=context( ).getRegFormat( );
 		if ( regFormat==RegFormat.Index )
 			return "$" + index;
 		
@@ -188,14 +274,15 @@ public class RegisterBank {
 				reg=Convert.r2Named( reg );
 				break;
 		}
-		return rtn + (fmtUpperCase ? reg.toUpperCase( ) : reg);
+		return rtn + (context( ).isFmtUpperCase( ) ? reg.toUpperCase( ) : reg);
 	}
 	/** Explicit instruction to do nothing. And Clears the LAST_WRITTEN/READ */
 	public void noAction ( ) {
 		LAST_WRITTEN=null;
 		LAST_READ1=null;
 		LAST_READ0=null;
-		this.executionLog.append( NAME + ":\t" + "No Action!" );
+		if ( executionLog.traces( ExecutionLog.Trace.REGISTERS ) )
+			this.executionLog.append( NAME + ":\t" + "No Action!" );
 	}
 	/**
 	 Returns a formatted string, that when printed, displays the current state of the register bank.
@@ -203,6 +290,43 @@ public class RegisterBank {
 	 */
 	@NotNull
 	public String format ( ) {
+		try ( SimulatorContext.Scope ignored=context( ).bind( ) ) {
+			return formatBank( );
+		}
+	}
+	/**
+	 Only the registers changed since the last {@link #formatChanges()}, on one line.
+	 The first is the whole table, And again after {@link #resetFrame()}.
+	 <p>Compares against a copy of the last frame, So registers written by the compiled tiers are included too.
+	 */
+	@NotNull
+	public String formatChanges ( ) {
+		if ( frame==null ) {
+			frame=registers.clone( );
+			return format( );
+		}
+		try ( SimulatorContext.Scope ignored=context( ).bind( ) ) {
+			StringBuilder rtn=new StringBuilder( CHANGES );
+			boolean changed=false;
+			for ( int i=1; i<registers.length; i++ ) {
+				if ( registers[ i ]!=frame[ i ] ) {
+					rtn.append( changed ? "\t" : "" ).append( fmtRegWithData( i ) );
+					changed=true;
+				}
+			}
+			return rtn.append( changed ? "|\n" : "No Changes|\n" ).toString( );
+		} finally {
+			System.arraycopy( registers, 0, frame, 0, registers.length );
+		}
+	}
+	/** The next {@link #formatChanges()} is the whole table again */
+	public void resetFrame ( ) {
+		frame=null;
+	}
+	private static final String CHANGES="-------- REGISTER-BANK CHANGES -------- |";
+	/** Values at the last frame, null until the first */
+	private int[] frame=null;
+	private String formatBank ( ) {
 		StringBuilder rtn=new StringBuilder( "-------- -------- -------- REGISTER-BANK -------- -------- -------- -------- \n" );
 		int I1=0, I2=4, I3=8, I4=12, I5=16, I6=20, I7=24, I8=28;
 		
@@ -19,7 +19,7 @@ import java.util.List;
  <p>For Jump Type,
  <p> - it presumes the immediate stores the address shifted 2 bits right.
  */
-public abstract class Instruction {
+public abstract class Instruction implements Cloneable {
 	private final Type type;	// refactor out type in-favour of instanceOf
 	protected final String opcode;
 	protected Integer NPC;
@@ -28,6 +28,8 @@ public abstract class Instruction {
 	protected Integer RT;
 	protected Integer IMM;
 	protected final String label;
+	/** Set on the copies held by a {@link model.Program}, The operands can no longer change */
+	private boolean frozen=false;
 	// TODO Add lineNo
 	
 	/**No Validation is performed, assumed all input to be valid. {@link #assemble(ErrorLog, HashMap, int)} needs to be ran before execution.
@@ -57,9 +59,11 @@ public abstract class Instruction {
 	 also returns True if the instruction has already been assembled.
 	 
 	 <p>Illegal Argument Exception may be throw is the label map
+	 @throws IllegalStateException if the instruction is {@link #isFrozen() frozen}
 	 */
 	public boolean assemble (@NotNull ErrorLog log, @NotNull HashMap<String, Integer> labelMap, int PC)
-			throws IllegalArgumentException{
+			throws IllegalArgumentException, IllegalStateException{
+		notFrozen( );
 		boolean rtn = true;
 		if ( (this.IMM==null && (!Util.isNullOrBlank(this.label))) )
 			rtn=this.setImm( log, labelMap, PC );
@@ -78,11 +82,12 @@ public abstract class Instruction {
 	 @return success of setting the immediate - if label matches an address
 	 
 	 @throws IllegalArgumentException if used with null label Operand.
-	 @throws IllegalStateException error with initialisation of instruction.
+	 @throws IllegalStateException error with initialisation of instruction, Or it is {@link #isFrozen() frozen}.
 	 */
 	public boolean setImm(@NotNull ErrorLog errorLog, @NotNull HashMap<String, Integer> labelMap, int PC)
 			throws IllegalArgumentException, IllegalStateException {
-		if ( IMM==null) {
+		notFrozen( );
+		if ( IMM==null ) {
 			if ( this.label==null || this.label.isBlank( ) )
 				throw new IllegalArgumentException( "Cannot setImmediate with Blank/Null internal Label!" );
 			
@@ -155,6 +160,28 @@ public abstract class Instruction {
 		return true;
 	}
 	
+	/**
+	 Copy that can't be changed by assembly, {@link #assemble(ErrorLog, HashMap, int)} and {@link #setImm(ErrorLog, HashMap, int)} throw.
+	 <p>Used once successfully assembled, so the copy can be shared between threads. This instruction is unchanged.
+	 */
+	@NotNull
+	public Instruction frozenCopy ( ) {
+		try {
+			final Instruction copy=(Instruction) clone( );
+			copy.frozen=true;
+			return copy;
+		} catch ( CloneNotSupportedException e ) {
+			throw new AssertionError( e );
+		}
+	}
+	public boolean isFrozen ( ) {
+		return frozen;
+	}
+	protected void notFrozen ( ) throws IllegalStateException {
+		if ( frozen )
+			throw new IllegalStateException( "Instruction [" + this + "] is Frozen, It can't be Assembled again" );
+	}
+	
 	@Nullable
 	public Integer getImmediate() {
 		return IMM;
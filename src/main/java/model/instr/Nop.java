@@ -14,6 +14,7 @@ public class Nop extends Instruction {
 	}
 	@Override
 	public boolean assemble (@NotNull ErrorLog log, @NotNull HashMap<String, Integer> labelMap, int PC) throws IllegalArgumentException {
+		notFrozen( );
 		return true;
 	}
 }
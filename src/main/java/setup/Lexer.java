@@ -0,0 +1,424 @@
+package setup;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ Hand written, single pass lexer for the assembler front end. No regular expressions.
+ <p>
+ Reads a {@link CharBuffer} one {@link Line} at a time (Line terminators as {@link java.io.BufferedReader#readLine()}),
+ Each line is read once, char by char, into its parts and typed {@link Token}s with their source positions.
+ <p>
+ The parts are the same as the {@link Parser} has always split a line into:
+ <ul>
+ <li>Whitespace is collapsed to a single space, and trimmed</li>
+ <li>Everything outside "quotes" and before the comment is lowercase</li>
+ <li>The comment starts at the first '#' or ';', and keeps its case</li>
+ <li>Unless the line starts with a '.', Everything before the first ':' is the label</li>
+ <li>Then the Directive/ Opcode, up to the next space. The rest are the Data/ Operands</li>
+ </ul>
+ The static helpers classify and split operands the same way, So validation does not need regular expressions either.
+ */
+public class Lexer {
+	/** Token types */
+	public enum Kind {
+		/** Label definition, before the ':' */
+		LABEL,
+		/** .directive or .datatype */
+		DIRECTIVE,
+		OPCODE,
+		/** Starts with '$' */
+		REGISTER,
+		/** Decimal or Hex, {@link #isDecimal(CharSequence)} {@link #isHex(CharSequence)} */
+		IMMEDIATE,
+		/** Label reference or register name, {@link #isLabel(CharSequence)} */
+		IDENTIFIER,
+		/** "quoted", Case is kept */
+		STRING,
+		COMMA,
+		OPEN,
+		CLOSE,
+		/** Anything else, Left to validation to report */
+		OTHER,
+		/** From the first '#' or ';' to the end of the line */
+		COMMENT
+	}
+	
+	/** Immutable token, with its position in the source */
+	public static final class Token {
+		private final Kind kind;
+		private final String text;
+		private final int line;
+		private final int column;
+		
+		Token (Kind kind, String text, int line, int column) {
+			this.kind=kind;
+			this.text=text;
+			this.line=line;
+			this.column=column;
+		}
+		
+		@NotNull
+		public Kind getKind ( ) {
+			return kind;
+		}
+		/** Normalized text, see {@link Lexer} */
+		@NotNull
+		public String getText ( ) {
+			return text;
+		}
+		/** Line number, from 1 */
+		public int getLine ( ) {
+			return line;
+		}
+		/** Column in the original line, from 1 */
+		public int getColumn ( ) {
+			return column;
+		}
+		
+		@Override
+		public String toString ( ) {
+			return kind + "[" + text + "]@" + line + ":" + column;
+		}
+	}
+	
+	/** One source line, split into its parts and tokens */
+	public static final class Line {
+		private final int lineNo;
+		@Nullable
+		private final String label, mnemonic, operands, comment;
+		private final List<Token> tokens;
+		
+		Line (int lineNo, @Nullable String label, @Nullable String mnemonic, @Nullable String operands,
+			  @Nullable String comment, List<Token> tokens) {
+			this.lineNo=lineNo;
+			this.label=label;
+			this.mnemonic=mnemonic;
+			this.operands=operands;
+			this.comment=comment;
+			this.tokens=Collections.unmodifiableList( tokens );
+		}
+		
+		public int getLineNo ( ) {
+			return lineNo;
+		}
+		/** Text before the ':', May be an invalid label */
+		@Nullable
+		public String getLabel ( ) {
+			return label;
+		}
+		/** Directive/ DataType/ Opcode */
+		@Nullable
+		public String getMnemonic ( ) {
+			return mnemonic;
+		}
+		public boolean isDirective ( ) {
+			return mnemonic!=null && mnemonic.charAt( 0 )=='.';
+		}
+		/** Data/ Operands, null if there are none */
+		@Nullable
+		public String getOperands ( ) {
+			return operands;
+		}
+		@Nullable
+		public String getComment ( ) {
+			return comment;
+		}
+		/** In source order */
+		@NotNull
+		public List<Token> getTokens ( ) {
+			return tokens;
+		}
+		/** Data/ Operand tokens, Between the Directive/ Opcode and the comment. Empty if there are none */
+		@NotNull
+		public List<Token> getOperandTokens ( ) {
+			int from=0, to=tokens.size( );
+			while ( from<to && (tokens.get( from ).kind==Kind.LABEL || tokens.get( from ).kind==Kind.DIRECTIVE
+								|| tokens.get( from ).kind==Kind.OPCODE) )
+				from++;
+			if ( to>from && tokens.get( to - 1 ).kind==Kind.COMMENT )
+				to--;
+			return tokens.subList( from, to );
+		}
+		/** Directive/ Opcode token, null if there is none */
+		@Nullable
+		public Token getMnemonicToken ( ) {
+			for ( Token token : tokens ) {
+				if ( token.kind==Kind.DIRECTIVE || token.kind==Kind.OPCODE )
+					return token;
+			}
+			return null;
+		}
+		
+		/** [0] Label, [1] Directive/ DataType/ Opcode, [2] Data/ Operands, [3] Comment */
+		@NotNull
+		String[] toArray ( ) {
+			return new String[] { label, mnemonic, operands, comment };
+		}
+	}
+	
+	private final CharBuffer source;
+	private int lineNo=0;
+	
+	/** Lexes from the buffer's position to its limit */
+	public Lexer (@NotNull CharBuffer source) {
+		this.source=source;
+	}
+	
+	public boolean hasNext ( ) {
+		return source.hasRemaining( );
+	}
+	
+	/** Lexes the next line, and moves past its terminator ('\n', '\r' or "\r\n") */
+	@NotNull
+	public Line next ( ) {
+		final int start=source.position( );
+		final int limit=source.limit( );
+		int end=start;
+		while ( end<limit && source.get( end )!='\n' && source.get( end )!='\r' )
+			end++;
+		int next=end;
+		if ( next<limit && source.get( next++ )=='\r' && next<limit && source.get( next )=='\n' )
+			next++;
+		final Line line=lex( source, 0, end - start, ++lineNo );    // CharBuffer.charAt is relative to the position
+		source.position( next );
+		return line;
+	}
+	
+	/** Lexes a single line */
+	@NotNull
+	public static Line lex (@NotNull CharSequence line, int lineNo) {
+		return lex( line, 0, line.length( ), lineNo );
+	}
+	
+	/** Reads [start, end) once, Then tokenizes the (short) normalized text */
+	private static Line lex (CharSequence src, int start, int end, int lineNo) {
+		final StringBuilder code=new StringBuilder( end - start );
+		final int[] columns=new int[ end - start + 1 ];    // Normalized index -> Column
+		StringBuilder comment=null;
+		int commentColumn=0;
+		int colon=-1;
+		boolean quoted=false, space=false;
+		
+		for ( int i=start; i<end; i++ ) {
+			final char c=src.charAt( i );
+			if ( comment!=null ) {    // Keeps case
+				if ( isSpace( c ) )
+					space=true;
+				else {
+					if ( space )
+						comment.append( ' ' );
+					comment.append( c );
+					space=false;
+				}
+			} else if ( quoted ) {
+				columns[ code.length( ) ]=i - start + 1;
+				code.append( c );
+				quoted=(c!='"');
+			} else if ( c=='#' || c==';' ) {
+				comment=new StringBuilder( end - i ).append( c );
+				commentColumn=i - start + 1;
+				space=false;
+			} else if ( isSpace( c ) ) {
+				space=true;
+			} else {
+				if ( space && code.length( )>0 ) {
+					columns[ code.length( ) ]=i - start;
+					code.append( ' ' );
+				}
+				space=false;
+				if ( c==':' && colon==-1 )
+					colon=code.length( );
+				columns[ code.length( ) ]=i - start + 1;
+				code.append( Character.toLowerCase( c ) );
+				quoted=(c=='"');
+			}
+		}
+		
+		final List<Token> tokens=new ArrayList<>( );
+		String label=null, mnemonic=null, operands=null;
+		int pos=0;
+		if ( code.length( )>0 && code.charAt( 0 )!='.' && colon!=-1 ) {
+			label=code.substring( 0, colon );
+			tokens.add( new Token( Kind.LABEL, label, lineNo, columns[ 0 ] ) );
+			pos=colon + 1;
+			if ( pos<code.length( ) && code.charAt( pos )==' ' )
+				pos++;
+		}
+		if ( pos<code.length( ) ) {
+			int space1=code.indexOf( " ", pos );
+			if ( space1==-1 )
+				space1=code.length( );
+			mnemonic=code.substring( pos, space1 );
+			tokens.add( new Token( mnemonic.charAt( 0 )=='.' ? Kind.DIRECTIVE : Kind.OPCODE, mnemonic, lineNo, columns[ pos ] ) );
+			if ( space1 + 1<code.length( ) ) {
+				operands=code.substring( space1 + 1 );
+				tokenize( code, space1 + 1, columns, lineNo, tokens );
+			}
+		}
+		if ( comment!=null )
+			tokens.add( new Token( Kind.COMMENT, comment.toString( ), lineNo, commentColumn ) );
+		return new Line( lineNo, label, mnemonic, operands, (comment==null) ? null : comment.toString( ), tokens );
+	}
+	
+	/**
+	 Tokens of operands on their own, eg. {@link Line#getOperands()}. Whitespace is collapsed the same as a line, But the case is kept.
+	 <p>Columns are from 1 within the operands.
+	 */
+	@NotNull
+	public static List<Token> lexOperands (@NotNull CharSequence operands, int lineNo) {
+		final StringBuilder code=new StringBuilder( operands.length( ) );
+		final int[] columns=new int[ operands.length( ) + 1 ];
+		boolean quoted=false, space=false;
+		for ( int i=0; i<operands.length( ); i++ ) {
+			final char c=operands.charAt( i );
+			if ( !quoted && isSpace( c ) ) {
+				space=true;
+				continue;
+			}
+			if ( space && code.length( )>0 ) {
+				columns[ code.length( ) ]=i;
+				code.append( ' ' );
+			}
+			space=false;
+			columns[ code.length( ) ]=i + 1;
+			code.append( c );
+			if ( c=='"' )
+				quoted=!quoted;
+		}
+		final List<Token> tokens=new ArrayList<>( );
+		tokenize( code, 0, columns, lineNo, tokens );
+		return tokens;
+	}
+	
+	/** Text of the tokens, With a single space where there was whitespace between them. eg. An operand, for messages */
+	@NotNull
+	public static String text (@NotNull List<Token> tokens) {
+		final StringBuilder sb=new StringBuilder( );
+		for ( int i=0; i<tokens.size( ); i++ ) {
+			final Token token=tokens.get( i );
+			if ( i>0 ) {
+				final Token previous=tokens.get( i - 1 );
+				if ( token.column>previous.column + previous.text.length( ) )
+					sb.append( ' ' );
+			}
+			sb.append( token.text );
+		}
+		return sb.toString( );
+	}
+	
+	/** Operand tokens, from pos to the end of the normalized code */
+	private static void tokenize (StringBuilder code, int pos, int[] columns, int lineNo, List<Token> tokens) {
+		final int end=code.length( );
+		while ( pos<end ) {
+			final char c=code.charAt( pos );
+			int next=pos + 1;
+			final Kind kind;
+			if ( c==' ' ) {
+				pos++;
+				continue;
+			} else if ( c==',' )
+				kind=Kind.COMMA;
+			else if ( c=='(' )
+				kind=Kind.OPEN;
+			else if ( c==')' )
+				kind=Kind.CLOSE;
+			else if ( c=='"' ) {
+				while ( next<end && code.charAt( next++ )!='"' ) ;
+				kind=Kind.STRING;
+			} else {
+				while ( next<end && " ,()\"".indexOf( code.charAt( next ) )==-1 )
+					next++;
+				final String word=code.substring( pos, next );
+				if ( c=='$' )
+					kind=Kind.REGISTER;
+				else if ( isDecimal( word ) || isHex( word ) )
+					kind=Kind.IMMEDIATE;
+				else if ( isLabel( word ) )
+					kind=Kind.IDENTIFIER;
+				else
+					kind=Kind.OTHER;
+			}
+			tokens.add( new Token( kind, code.substring( pos, next ), lineNo, columns[ pos ] ) );
+			pos=next;
+		}
+	}
+	
+	/** Same as regex "\s" */
+	public static boolean isSpace (char c) {
+		return c==' ' || c=='\t' || c=='\n' || c==0x0B || c=='\f' || c=='\r';
+	}
+	private static boolean isDigit (char c) {
+		return c>='0' && c<='9';
+	}
+	
+	/** Optional '-', Then digits with at most one '.', At least one digit. eg "-5", "1.5", ".5" */
+	public static boolean isDecimal (@Nullable CharSequence s) {
+		if ( s==null )
+			return false;
+		int i=(s.length( )>0 && s.charAt( 0 )=='-') ? 1 : 0;
+		boolean digit=false, dot=false;
+		for ( ; i<s.length( ); i++ ) {
+			final char c=s.charAt( i );
+			if ( isDigit( c ) )
+				digit=true;
+			else if ( c=='.' && !dot )
+				dot=true;
+			else
+				return false;
+		}
+		return digit;
+	}
+	/** Starts with "0x", The digits are checked when it is converted */
+	public static boolean isHex (@Nullable CharSequence s) {
+		return s!=null && s.length( )>=2 && s.charAt( 0 )=='0' && s.charAt( 1 )=='x';
+	}
+	/** Optional '-', Then any number of digits (may be none) */
+	public static boolean isSignedInt (@Nullable CharSequence s) {
+		if ( s==null )
+			return false;
+		for ( int i=(s.length( )>0 && s.charAt( 0 )=='-') ? 1 : 0; i<s.length( ); i++ ) {
+			if ( !isDigit( s.charAt( i ) ) )
+				return false;
+		}
+		return true;
+	}
+	/** Lowercase label, [_a-z] then any of [_.-a-z0-9] */
+	public static boolean isLabel (@Nullable CharSequence s) {
+		if ( s==null || s.length( )==0 )
+			return false;
+		final char first=s.charAt( 0 );
+		if ( first!='_' && (first<'a' || first>'z') )
+			return false;
+		for ( int i=1; i<s.length( ); i++ ) {
+			final char c=s.charAt( i );
+			if ( c!='_' && c!='.' && c!='-' && !isDigit( c ) && (c<'a' || c>'z') )
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 Splits around the delimiter, Dropping at most one whitespace either side of it.
+	 <p>Same as {@code s.split( "\\s?" + delimiter + "\\s?", limit )}, Except trailing empty strings are kept.
+	
+	 @param limit max number of parts, 0 for no limit
+	 */
+	@NotNull
+	public static String[] split (@NotNull String s, char delimiter, int limit) {
+		final List<String> parts=new ArrayList<>( );
+		int from=0;
+		for ( int i=s.indexOf( delimiter ); i!=-1 && (limit==0 || parts.size( )<limit - 1); i=s.indexOf( delimiter, from ) ) {
+			final int before=(i>from && isSpace( s.charAt( i - 1 ) )) ? i - 1 : i;
+			parts.add( s.substring( from, before ) );
+			from=(i + 1<s.length( ) && isSpace( s.charAt( i + 1 ) )) ? i + 2 : i + 1;
+		}
+		parts.add( s.substring( from ) );
+		return parts.toArray( new String[ 0 ] );
+	}
+}
@@ -5,22 +5,28 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 import model.MemoryBuilder;
+import model.MemoryGeometry;
+import model.Program;
 import model.components.DataMemory;
-import model.components.InstrMemory;
 import model.instr.Instruction;
 
-import util.Convert;
+import util.SimulatorContext;
 import util.Util;
 import util.validation.Validate;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
 import util.logs.WarningsLog;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  Responsible for parsing files containing MIPS instructions and building a model for the emulator to run using.
@@ -37,6 +43,8 @@ import java.util.ArrayList;
  The setup.Parser will attempt to collect as many errors as possible before terminating to allow the user to correct
  multiple
  mistakes before re-parsing.
+ <p>
+ Parsing uses the {@link SimulatorContext} of the {@link MemoryBuilder}.
  */
 public class Parser {
 	public static final String DEFAULT_FILENAME="FileInput.s";
@@ -49,6 +57,8 @@ public class Parser {
 	
 	private String errorFn; // This should not be returned!, Error Messages should be meaningful!
 	private boolean dataLimit, instrLimit;
+	@Nullable
+	private Path baseDir; // .incbin paths are relative to the file being parsed
 	
 	/**
 	 Same as {@link #Parser(MemoryBuilder, ErrorLog, WarningsLog)}, But, it will automatically run {@link
@@ -96,6 +106,7 @@ public class Parser {
 		this.mb.clear();
 		this.dataLimit=false;
 		this.instrLimit=false;
+		this.baseDir=null;
 		this.errorFn=" NOT SET !";
 	}
 	
@@ -112,7 +123,9 @@ public class Parser {
 	 @see #assemble()
 	 */
 	public boolean loadParseFile(String filename) {
-		return parseFile( loadFile( filename ) );
+		try ( SimulatorContext.Scope ignored=mb.getContext( ).bind( ) ) {
+			return parseFile( loadFile( filename ) );
+		}
 	}
 	
 	/**
@@ -128,28 +141,26 @@ public class Parser {
 	public boolean parseFile(@Nullable File file) {
 		boolean rtn=true;
 		
-		BufferedReader reader=null;
 		if ( file!=null ) {
 			errorFn="File: \"" + file.getName() + "\", ";
-			try {
-				reader=new BufferedReader( new FileReader( file ) );
-				int lineNo=1;
+			baseDir=file.getAbsoluteFile( ).toPath( ).getParent( );
+			try ( SimulatorContext.Scope ignored=mb.getContext( ).bind( ) ) {
+				// Whole file in one read, Then lexed line by line
+				final Lexer lexer=new Lexer( Charset.defaultCharset( ).decode( ByteBuffer.wrap( Files.readAllBytes( file.toPath( ) ) ) ) );
+				final int maxLines=geometry( ).getMaxLines( );
 				
-				for ( String line=reader.readLine( ); line!=null; line=reader.readLine( ) ) {
-					if ( lineNo>=MAX_LINES ) {
-						errorLog.appendEx( errorFn + "Has Too Many Lines!, Max Lines = [" + MAX_LINES + "]" );
+				while ( lexer.hasNext( ) ) {
+					final Lexer.Line line=lexer.next( );
+					if ( line.getLineNo( )>=maxLines ) {
+						errorLog.appendEx( errorFn + "Has Too Many Lines!, Max Lines = [" + maxLines + "]" );
 						rtn=false;
 						break;
 					}
-					rtn&=parseLine( line, lineNo++ );
+					rtn&=parse( line );
 				}
-			} catch ( IOException e ) {
+			} catch ( IOException | InvalidPathException e ) {
 				errorLog.appendEx( errorFn + "Not Valid FileName - Parsed" );
 				rtn=false;
-			} finally {
-				try {
-					if ( reader!=null ) reader.close( ); // Close reader
-				} catch ( IOException e ) { e.printStackTrace( );}
 			}
 		} else
 			rtn=false;
@@ -192,10 +203,10 @@ public class Parser {
 			else if ( !temp.isFile( ) ) this.errorLog.appendEx( errorFn + "Is Not a File" );
 			else if ( !temp.canRead( ) ) this.errorLog.appendEx( errorFn + "Can Not Be Read" );
 			else { // Check file Extension
-				if ( filename.contains( "." ) ) {
-					String[] split=filename.split( "\\." );
-					String ext=split[ 1 ];
-					if ( ext!=null && (ext.equals( "s" ) || ext.equals( "asm" ) || ext.equals( "txt" )) )
+				if ( name.contains( "." ) ) {    // Only the file name, The path may have dots too
+					final int dot=name.lastIndexOf( '.' );
+					String ext=name.substring( dot + 1 );
+					if ( dot==name.indexOf( '.' ) && (ext.equals( "s" ) || ext.equals( "asm" ) || ext.equals( "txt" )) )    // One extension
 						return temp;
 				}
 				this.errorLog.appendEx( errorFn + "Not Valid File Extension (needs to be one of *.s|*.asm|*.txt)" );
@@ -218,26 +229,31 @@ public class Parser {
 	 @see #assemble()
 	 */
 	public boolean parseLine(@NotNull String line, int lineNo) {
-		String[] split=splitLine( line );
-		int errLength=errorLog.toString( ).length( );
+		try ( SimulatorContext.Scope ignored=mb.getContext( ).bind( ) ) {
+			return parse( Lexer.lex( line, lineNo ) );
+		}
+	}
+	private boolean parse(@NotNull Lexer.Line line) {
+		final int lineNo=line.getLineNo( );
+		final int errors=errorLog.count( );
 		// parse mode -> ignored
 		// validate label
-		String label=this.val.isValidLabel( lineNo, split[ 0 ] );
+		String label=this.val.isValidLabel( lineNo, line.getLabel( ) );
 		if ( label!=null )
 			mb.pushLabel( label );
 		
-		String arg1=split[ 1 ];
-		String arg2=split[ 2 ];
-		if ( !Util.isNullOrBlank( arg1 ) ) {
+		String arg1=line.getMnemonic( );
+		String arg2=line.getOperands( );
+		if ( arg1!=null ) {
 			// first character is a dot '.'
-			if ( arg1.matches( "\\..*" ) ) {
+			if ( line.isDirective( ) ) {
 				// validate directive
 				if ( this.val.isValidDirective( lineNo, arg1 ) )
 					if ( !dataLimit && Validate.isDataType( arg1 ) ) // is DataType
-						if ( !mb.addData( arg1, arg2, errorLog ) ) { // mb.addData
-							if ( mb.retrieveData( ).size( )>=DataMemory.MAX_DATA_ITEMS ) {
+						if ( !(arg1.equals( ".incbin" ) ? includeBinary( line ) : mb.addData( arg1, arg2, errorLog )) ) { // mb.addData
+							if ( mb.dataCount( )>=geometry( ).getMaxDataWords( ) ) {
 								warningsLog.appendEx( lineNo,"Reached MAX Data Size!, No More Data Will Be Parsed" );
-								warningsLog.append( "\t\t\tData Limit == [" + DataMemory.MAX_DATA_ITEMS + "]" );
+								warningsLog.append( "\t\t\tData Limit == [" + geometry( ).getMaxDataWords( ) + "]" );
 								dataLimit=true;
 							}
 						}
@@ -245,14 +261,65 @@ public class Parser {
 				// validate opcode
 				// validate arg2 (operands)
 				// mb.addInstr
-				if ( !mb.addInstruction( lineNo, arg1, arg2 ) ) {
+				if ( !mb.addInstruction( line ) ) {
 					warningsLog.appendEx( lineNo,"Reached MAX Instructions!, Further Instructions Will Not Be Parsed" );
-					warningsLog.append( "\t\t\tInstruction Limit == [" + InstrMemory.MAX_INSTR_COUNT + "]" );
+					warningsLog.append( "\t\t\tInstruction Limit == [" + geometry( ).getMaxInstructions( ) + "]" );
 					instrLimit=true;
 				}// TODO Change to report Error
 			}
 		}
-		return (errLength==errorLog.toString( ).length( ));
+		return (errors==errorLog.count( ));
+	}
+	
+	/**
+	 <b><pre>.incbin "file"[, offset[, length[, big|little]]]</pre></b>
+	 Offset and Length are in bytes (whole words), Length defaults to the rest of the file. Words are Big Endian by default.
+	 <p>The file is relative to the file being parsed (Or the working directory)
+	 
+	 @see MemoryBuilder#addBinary(Path, long, Long, ByteOrder, ErrorLog)
+	 */
+	private boolean includeBinary(@NotNull Lexer.Line line) {
+		final String data=line.getOperands( );
+		if ( Util.isNullOrBlank( data ) ) {
+			errorLog.append( "No Data Given! For DataType: \".incbin\"!" );
+			return false;
+		}
+		// "file" [, offset [, length [, big|little]]]
+		final List<Lexer.Token> tokens=line.getOperandTokens( );
+		final int args=(tokens.size( ) + 1)/2;
+		boolean valid=tokens.size( )%2==1 && args<=4 && isQuoted( tokens.get( 0 ) );
+		for ( int i=1; valid && i<tokens.size( ); i+=2 )
+			valid=tokens.get( i ).getKind( )==Lexer.Kind.COMMA;
+		valid&=args<2 || isUnsigned( tokens.get( 2 ) );
+		valid&=args<3 || isUnsigned( tokens.get( 4 ) );
+		valid&=args<4 || tokens.get( 6 ).getText( ).equals( "big" ) || tokens.get( 6 ).getText( ).equals( "little" );
+		if ( !valid ) {
+			errorLog.append( "Data: [" + data + "], Not Valid For DataType: \".incbin\"!" );
+			return false;
+		}
+		try {
+			final String name=tokens.get( 0 ).getText( );
+			Path file=Path.of( name.substring( 1, name.length( ) - 1 ) );
+			if ( baseDir!=null )
+				file=baseDir.resolve( file );
+			final long offset=(args<2) ? 0 : Long.parseLong( tokens.get( 2 ).getText( ) );
+			final Long length=(args<3) ? null : Long.parseLong( tokens.get( 4 ).getText( ) );
+			final ByteOrder order=(args==4 && tokens.get( 6 ).getText( ).equals( "little" )) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+			return mb.addBinary( file, offset, length, order, errorLog );
+		} catch ( NumberFormatException | InvalidPathException e ) {
+			errorLog.append( "Data: [" + data + "], Not Valid For DataType: \".incbin\"!" );
+			return false;
+		}
+	}
+	/** A closed, Non empty "string" */
+	private static boolean isQuoted (Lexer.Token token) {
+		final String text=token.getText( );
+		return token.getKind( )==Lexer.Kind.STRING && text.length( )>2 && text.endsWith( "\"" );
+	}
+	/** Decimal digits only, eg. an offset or length */
+	private static boolean isUnsigned (Lexer.Token token) {
+		final String text=token.getText( );
+		return token.getKind( )==Lexer.Kind.IMMEDIATE && text.charAt( 0 )!='-' && Lexer.isSignedInt( text );
 	}
 	
 	/**
@@ -261,69 +328,12 @@ public class Parser {
 	 <li>[1] - Directive/ DataType/ Opcode</li>
 	 <li>[2] - Data/Operands</li>
 	 <li>[3] - Comments</li>
+	 
+	 @see Lexer
 	 */
 	@Nullable
 	String[] splitLine(@NotNull String line) {
-		String comment, label, ARG1, ARG2;
-		comment=label=ARG1=ARG2=null;
-		String[] split;
-		
-		// Split Comments - reserve capitalization
-		split=splitComment( Convert.removeExtraWhitespace( line ) );
-		if ( split.length==2 )
-			comment=split[ 1 ];
-		//
-		line=split[ 0 ].toLowerCase( ).strip( );    // Make the remainder lowercase
-		
-		boolean directive = line.matches( "^\\s?\\..*" ); // first non-whitespace is a period
-		
-		// Split Labels
-		int colonIndex = line.indexOf( ":" );
-		if ( !directive&&colonIndex!=-1 ) {
-			int periodIndex = line.indexOf( "." );
-			if ( periodIndex>colonIndex ) // if line contains '.' after colon ':'
-				split=line.split( ":\\s?(?=.*\\.)", 2 );    // forward lookup : before .
-			else
-				split=line.split( ":\\s?", 2 );
-			
-			label=split[ 0 ];
-			line=split[ 1 ];
-		}
-		
-		if ( !line.isBlank( ) ) {    // skip if rest of line is blank
-			// Split Arg1 (.directive/ .datatype/ opcode)
-			split=line.split( "\\s", 2 ); // split around first white space
-			ARG1=split[ 0 ];
-			
-			if ( split.length==2 && !split[ 1 ].isEmpty( ) )
-				ARG2=split[ 1 ]; // if empty, remain null
-		}
-		
-		return new String[] { label, ARG1, ARG2, comment };
-	}
-	
-	/** Return: [0] contains line, if (length==2) [1] contains comment */
-	private String[] splitComment(@NotNull String line) {
-		// Split at Comment, # or ;
-		String[] split;
-		
-		split=line.split( "#", 2 );
-		String comments="";
-		if ( split.length==2 )
-			comments="#" + split[ 1 ];
-		
-		line=split[ 0 ];
-		
-		split=line.split( ";", 2 );
-		if ( split.length==2 )
-			comments=";" + split[ 1 ] + comments;
-		
-		line=split[ 0 ];
-		
-		if ( comments.isBlank( ) )
-			return new String[] { line };
-		else    // contains comments
-			return new String[] { line, comments };
+		return Lexer.lex( line, 0 ).toArray( );
 	}
 	
 	/**
@@ -335,8 +345,23 @@ public class Parser {
 		return mb.assembleInstr( errorLog );
 	}
 	
+	/**
+	 Wrapper for {@link MemoryBuilder#build(ErrorLog)}
+	 
+	 @return immutable assembled program, null if assembly failed.
+	 */
+	public Program build() {
+		return mb.build( errorLog );
+	}
+	
+	/** Data Memory of the parsed .data image, With the {@link MemoryBuilder}'s context */
 	public DataMemory getMem(ExecutionLog log) {
-		return new DataMemory( mb.retrieveData( ), log );
+		return new DataMemory( mb.retrieveData( ), log, mb.getContext( ) );
+	}
+	
+	/** Limits of the {@link MemoryBuilder}'s context */
+	private MemoryGeometry geometry() {
+		return mb.getContext( ).getGeometry( );
 	}
 	
 }
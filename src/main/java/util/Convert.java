@@ -7,6 +7,8 @@ import model.components.InstrMemory;
 
 import util.validation.Validate;
 
+import java.util.ArrayList;
+
 /**
  Provides common conversions between data types. Input should be checked using appropriate {@link Validate} method
  beforehand to avoid exceptions.
@@ -121,13 +123,15 @@ public class Convert {
 			return (address2Imm( address - base )); // multiple of 2.
 	}
 	
+	/** Supported up to the {@link model.MemoryGeometry} of {@link SimulatorContext#current()} */
 	public static Integer instrAddr2Index(@NotNull Integer address){
 		return address2Index(  address, "Instr", InstrMemory.BASE_INSTR_ADDRESS,
-							   InstrMemory.OVER_SUPPORTED_INSTR_ADDRESS, "Word", 4);
+							   SimulatorContext.current( ).getGeometry( ).getOverSupportedInstrAddress( ), "Word", 4);
 	}
+	/** Supported up to the {@link model.MemoryGeometry} of {@link SimulatorContext#current()} */
 	public static Integer dataAddr2Index(@NotNull Integer address){
 		return address2Index(  address, "Data", DataMemory.BASE_DATA_ADDRESS,
-							   DataMemory.OVER_SUPPORTED_DATA_ADDRESS, "DoubleWord", 8);
+							   SimulatorContext.current( ).getGeometry( ).getOverSupportedDataAddress( ), "DoubleWord", 8);
 	}
 	
 	/**
@@ -139,7 +143,15 @@ public class Convert {
 	 */
 	@NotNull
 	public static String[] splitCSV(@NotNull String CSV) {
-		return Convert.removeExtraWhitespace( CSV ).split( "\\s*,\\s*", -1 );
+		final String csv=Convert.removeExtraWhitespace( CSV );
+		final ArrayList<String> values=new ArrayList<>( );
+		int from=0;
+		for ( int i=csv.indexOf( ',' ); i!=-1; i=csv.indexOf( ',', from ) ) {
+			values.add( csv.substring( from, i ).strip( ) );
+			from=i + 1;
+		}
+		values.add( csv.substring( from ).strip( ) );
+		return values.toArray( new String[ 0 ] );
 	}
 	
 	/**
@@ -148,8 +160,21 @@ public class Convert {
 	@NotNull
 	public static String removeExtraWhitespace(@NotNull String string) {
 		// Replace multiple spaces with single space
-		string=string.strip( ).replaceAll( "[ \\t]+", " " );
-		return string;
+		string=string.strip( );
+		final StringBuilder sb=new StringBuilder( string.length( ) );
+		boolean space=false;
+		for ( int i=0; i<string.length( ); i++ ) {
+			final char c=string.charAt( i );
+			if ( c==' ' || c=='\t' ) {
+				if ( !space )
+					sb.append( ' ' );
+				space=true;
+			} else {
+				sb.append( c );
+				space=false;
+			}
+		}
+		return sb.toString( );
 	}
 	
 	/**
@@ -160,7 +185,7 @@ public class Convert {
 	 */
 	@NotNull
 	public static String r2Named(@NotNull String r_Register) {
-		if ( !r_Register.matches( "^r\\d{1,2}$" ) )
+		if ( !isRRegister( r_Register ) )
 			throw new IllegalArgumentException( "Not valid R Register" );	// <- COVER
 		
 		try {
@@ -171,6 +196,18 @@ public class Convert {
 		}
 	}
 	
+	/** "r" then 1 or 2 digits */
+	private static boolean isRRegister(@NotNull String r_Register) {
+		final int length=r_Register.length( );
+		if ( length<2 || length>3 || r_Register.charAt( 0 )!='r' )
+			return false;
+		for ( int i=1; i<length; i++ ) {
+			if ( r_Register.charAt( i )<'0' || r_Register.charAt( i )>'9' )
+				return false;
+		}
+		return true;
+	}
+	
 	/**
 	 Converts R style register names "R0-R31" to Index in {@link model.components.RegisterBank}
 	 <p>	Expects $ to be removed.
@@ -180,7 +217,7 @@ public class Convert {
 	 */
 	@NotNull
 	public static Integer r2Index(@NotNull String r_Register) {
-		if ( !r_Register.matches( "^r\\d{1,2}$" ) )
+		if ( !isRRegister( r_Register ) )
 			throw new IllegalArgumentException( "Not valid R Register" );
 		
 		int index=Integer.parseInt( r_Register.substring( 1 ) );
@@ -0,0 +1,115 @@
+package util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import model.MemoryGeometry;
+import model.components.RegisterBank;
+import model.components.RegisterBank.RegFormat;
+import util.ansi_codes.Color;
+
+/**
+ Output/Interaction settings and {@link MemoryGeometry} for one simulation, carried through {@link setup.Parser}, {@link model.MemoryBuilder},
+ {@link control.Execution} and the components. Immutable, so one context can be shared by any number of simulations.
+ <p>
+ Static calls to {@link Color#fmt(String, String)} and {@link util.validation.AddressValidation} use the context bound to the current thread, see {@link #bind()}.
+ <p>
+ {@link #GLOBAL} holds the defaults, It is used wherever no context is given or bound.
+ There are no static settings, A different context is bound or passed to the components instead.
+ */
+public class SimulatorContext {
+	/** Defaults, Colour, R0-R31 register names, Waiting for input */
+	public static final SimulatorContext GLOBAL=new SimulatorContext( true, RegFormat.R, true, true );
+	private static final ThreadLocal<SimulatorContext> BOUND=new ThreadLocal<>( );
+	
+	private final boolean colorSupport;
+	private final RegFormat regFormat;
+	private final boolean fmtUpperCase;
+	private final boolean wait;
+	private final MemoryGeometry geometry;
+	
+	public SimulatorContext (boolean colorSupport, @NotNull RegFormat regFormat, boolean fmtUpperCase, boolean wait) {
+		this( colorSupport, regFormat, fmtUpperCase, wait, MemoryGeometry.DEFAULT );
+	}
+	public SimulatorContext (boolean colorSupport, @NotNull RegFormat regFormat, boolean fmtUpperCase, boolean wait,
+							 @NotNull MemoryGeometry geometry) {
+		this.colorSupport=colorSupport;
+		this.regFormat=regFormat;
+		this.fmtUpperCase=fmtUpperCase;
+		this.wait=wait;
+		this.geometry=geometry;
+	}
+	
+	/** No colour, no waiting for input */
+	@NotNull
+	public static SimulatorContext headless ( ) {
+		return new SimulatorContext( false, RegFormat.R, true, false );
+	}
+	
+	/** ANSI colour codes are added to output */
+	public boolean isColorSupport ( ) { return colorSupport; }
+	/** Register names in the {@link RegisterBank} output */
+	@NotNull
+	public RegFormat getRegFormat ( ) { return regFormat; }
+	public boolean isFmtUpperCase ( ) { return fmtUpperCase; }
+	/** Wait for user input between runs/cycles */
+	public boolean isWait ( ) { return wait; }
+	/** Instruction/Data/Line limits */
+	@NotNull
+	public MemoryGeometry getGeometry ( ) { return geometry; }
+	
+	@NotNull
+	public SimulatorContext withColorSupport (boolean colorSupport) {
+		return new SimulatorContext( colorSupport, getRegFormat( ), isFmtUpperCase( ), isWait( ), getGeometry( ) );
+	}
+	@NotNull
+	public SimulatorContext withRegFormat (@NotNull RegFormat regFormat, boolean fmtUpperCase) {
+		return new SimulatorContext( isColorSupport( ), regFormat, fmtUpperCase, isWait( ), getGeometry( ) );
+	}
+	@NotNull
+	public SimulatorContext withWait (boolean wait) {
+		return new SimulatorContext( isColorSupport( ), getRegFormat( ), isFmtUpperCase( ), wait, getGeometry( ) );
+	}
+	@NotNull
+	public SimulatorContext withGeometry (@NotNull MemoryGeometry geometry) {
+		return new SimulatorContext( isColorSupport( ), getRegFormat( ), isFmtUpperCase( ), isWait( ), geometry );
+	}
+	
+	/** Context bound to this thread, or {@link #GLOBAL} */
+	@NotNull
+	public static SimulatorContext current ( ) {
+		SimulatorContext ctx=BOUND.get( );
+		return (ctx==null) ? GLOBAL : ctx;
+	}
+	
+	/**
+	 Binds this context to the current thread, until the returned {@link Scope} is closed.
+	 <p>Use with try-with-resources, Scopes can be nested.
+	 */
+	@NotNull
+	public Scope bind ( ) {
+		final SimulatorContext previous=BOUND.get( );
+		BOUND.set( this );
+		Scope scope=this.scope;
+		if ( scope==null || scope.previous!=previous )
+			this.scope=scope=new Scope( previous );
+		return scope;
+	}
+	/** Last Scope returned by {@link #bind()}, Reused while it restores the same context, So binding each cycle doesn't allocate.
+	 <p>Scopes are immutable, Threads racing on this field at worst allocate another */
+	private Scope scope;
+	
+	/** Restores the previously bound context when closed */
+	public static final class Scope implements AutoCloseable {
+		private final @Nullable SimulatorContext previous;
+		
+		private Scope (@Nullable SimulatorContext previous) {
+			this.previous=previous;
+		}
+		
+		@Override
+		public void close ( ) {
+			BOUND.set( previous );    // Not removed, So the next bind doesn't allocate another entry
+		}
+	}
+}
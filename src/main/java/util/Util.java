@@ -5,8 +5,6 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Scanner;
 
 public class Util {
-	public static boolean wait=true;
-	
 	/** Min and Max Inclusive */
 	public static boolean notNullAndInRange (Integer val, int min, int max) {
 		if ( max<min )
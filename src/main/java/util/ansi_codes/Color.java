@@ -3,7 +3,10 @@ package util.ansi_codes;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.VisibleForTesting;
 
+import util.SimulatorContext;
+
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Color {    // Static Class Constructor preventing 100% Coverage
 	private static final String CSI="\033["; // Control Sequence Introducer "ESC ["
@@ -27,8 +30,7 @@ public class Color {    // Static Class Constructor preventing 100% Coverage
 	public static final String READ=csi(bright(GREEN));
 	public static final String WRITE=csi(bright(CYAN));
 	
-	public static boolean colorSupport=true;
-	private static int nextColCounter=0;
+	private static final AtomicInteger nextColCounter=new AtomicInteger( );
 	
 	/**Only used for testing*/
 	@VisibleForTesting
@@ -36,17 +38,22 @@ public class Color {    // Static Class Constructor preventing 100% Coverage
 		List<Integer> temp=List.of( RED, BLUE, GREEN, YELLOW, CYAN, WHITE, bright( BLACK),
 								   bright( RED), bright( BLUE), bright( GREEN), bright( YELLOW),
 								   bright( CYAN), bright( WHITE));
-		return csi(temp.get( nextColCounter++%temp.size( ) ));
+		return csi(temp.get( nextColCounter.getAndIncrement( )%temp.size( ) ));
+	}
+	
+	/** Colour Support of the {@link SimulatorContext} bound to this thread */
+	private static boolean enabled ( ) {
+		return SimulatorContext.current( ).isColorSupport( );
 	}
 	
 	@NotNull
 	public static String fmt (@NotNull String ansi, @NotNull String string) {
 		return string.isBlank( ) ? string :
-			   ((Color.colorSupport) ? (ansi + string + RESET) : string);
+			   ((enabled( )) ? (ansi + string + RESET) : string);
 	}
 	public static String fmt (int color, @NotNull String string) {
 		return string.isBlank( ) ? string :
-			   ((colorSupport) ? (csi( color ) + string + RESET) : string);
+			   ((enabled( )) ? (csi( color ) + string + RESET) : string);
 	}
 	public static String fmtTitle(int color, String txt){
 		return fmt(doubleUnderline( Color.bold(Color.csi(color))), txt );
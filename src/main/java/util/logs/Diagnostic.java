@@ -0,0 +1,102 @@
+package util.logs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ One structured entry of an {@link ErrorLog}/ {@link WarningsLog}. Immutable.
+ <p>
+ Keeps where and what was reported, So callers can count and filter entries without building the log's text,
+ {@link Logger#toString()} is only needed when the log is printed.
+ */
+public final class Diagnostic {
+	/** No line number, eg. a file level error */
+	public static final int NO_LINE=Integer.MIN_VALUE;
+	/** Column is not known */
+	public static final int NO_COLUMN=0;
+	
+	public enum Severity {
+		ERROR,
+		WARNING
+	}
+	
+	private final Severity severity;
+	private final int line;
+	private final int column;
+	@Nullable
+	private final String code;
+	@Nullable
+	private final String prefix;
+	private final String message;
+	private final Object[] args;
+	
+	private Diagnostic (Severity severity, int line, int column, @Nullable String code, @Nullable String prefix,
+						String message, Object[] args) {
+		this.severity=severity;
+		this.line=line;
+		this.column=column;
+		this.code=code;
+		this.prefix=prefix;
+		this.message=message;
+		this.args=args;
+	}
+	
+	/**
+	 @param line {@link #NO_LINE} if none
+	 @param code Short identifier, eg. "OPCODE", null if none
+	 @param message {@link String#format(String, Object...)} pattern if there are args, otherwise the text as is
+	 */
+	@NotNull
+	public static Diagnostic of (@NotNull Severity severity, int line, int column, @Nullable String code,
+								 @NotNull String message, @NotNull Object... args) {
+		return new Diagnostic( severity, line, column, code, null, message, args );
+	}
+	/** Appended through {@link Logger#append(String)}, With the logger's prefix at the time */
+	static Diagnostic logged (Severity severity, int line, @Nullable String prefix, String message) {
+		return new Diagnostic( severity, line, NO_COLUMN, null, prefix, message, new Object[ 0 ] );
+	}
+	
+	@NotNull
+	public Severity getSeverity ( ) {
+		return severity;
+	}
+	/** {@link #NO_LINE} if none */
+	public int getLine ( ) {
+		return line;
+	}
+	public boolean hasLine ( ) {
+		return line!=NO_LINE;
+	}
+	/** From 1, {@link #NO_COLUMN} if not known */
+	public int getColumn ( ) {
+		return column;
+	}
+	@Nullable
+	public String getCode ( ) {
+		return code;
+	}
+	@NotNull
+	public Object[] getArgs ( ) {
+		return args.clone( );
+	}
+	
+	/** Message without the prefix, formatted with its args */
+	@NotNull
+	public String getMessage ( ) {
+		return (args.length==0) ? message : String.format( message, args );
+	}
+	
+	/** Same text as {@link Logger#append(int, String)}, "LineNo: " + line + "\t" + message */
+	@NotNull
+	public String render ( ) {
+		final String pre=(prefix!=null) ? prefix : hasLine( ) ? "LineNo: " + line : null;
+		return (pre!=null) ? pre + "\t" + getMessage( ) : getMessage( );
+	}
+	
+	@Override
+	public String toString ( ) {
+		return severity + ((code!=null) ? "[" + code + "]" : "")
+			   + (hasLine( ) ? "@" + line + ((column!=NO_COLUMN) ? ":" + column : "") : "")
+			   + " " + getMessage( );
+	}
+}
@@ -6,7 +6,7 @@ import java.util.ArrayList;
 
 public class ErrorLog extends Logger {
 	public ErrorLog(ArrayList<String> logs) {
-		super( "Errors", logs );
+		super( "Errors", Diagnostic.Severity.ERROR, logs );
 	}
 	
 	@Override
@@ -1,12 +1,220 @@
 package util.logs;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import util.SimulatorContext;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
+/**
+ Log of the datapath, Components record typed events instead of formatted Strings.
+ <p>
+ Events are kept in preallocated arrays (grown when needed, reused after {@link #clear()}),
+ They are only formatted by their {@link Renderer} when the text is needed ({@link #toString()}/ {@link #count()}),
+ With the {@link SimulatorContext} that was bound when they were recorded, So the text is the same as if formatted straight away.
+ Cleared events are never formatted.
+ <p>
+ Plain {@link #append(String)} messages are kept in order with the events.
+ */
 public class ExecutionLog extends Logger {
+	/** Event types, The args of each are set by the component that records it */
+	public enum Kind {
+		/** Plain message */
+		TEXT,
+		/** PC, Auto Exit (1/0) */
+		FETCH,
+		/** PC */
+		PC_INCREMENT,
+		/** Opcode Ordinal, Control Word, Instruction */
+		DECODE,
+		/** Index, Value, Colour */
+		REG_READ,
+		/** Immediate */
+		IMMEDIATE,
+		/** Immediate, Address */
+		SHIFT,
+		/** Address, NPC */
+		TARGET,
+		/** ALU Op, Input0, Input1, Result */
+		ALU,
+		/** ALU Output, Branch Condition, Taken (1/0) */
+		BRANCH,
+		/** Address, Value */
+		MEM_READ,
+		/** Address, Value */
+		MEM_WRITE,
+		/** Index, Value, Colour */
+		REG_WRITE
+	}
+	
+	/**
+	 Trace categories, a bitmask of what is logged. see {@link #setTrace(int)}
+	 <p>Components check {@link #traces(int)} before recording anything, So a disabled category builds nothing.
+	 */
+	public static final class Trace {
+		/** Instruction Fetch, And PC + 4 */
+		public static final int FETCH=1;
+		/** Instruction and Control Signals */
+		public static final int DECODE=1<<1;
+		/** Reading Operands, Immediate */
+		public static final int OPERANDS=1<<2;
+		/** Execution, ALU and Address calculation */
+		public static final int ALU=1<<3;
+		/** Branch decisions */
+		public static final int BRANCH=1<<4;
+		/** Memory Access, Data Memory reads/writes */
+		public static final int MEMORY=1<<5;
+		/** Register Bank reads/writes */
+		public static final int REGISTERS=1<<6;
+		/** Write Back, And the end of the cycle */
+		public static final int WRITE_BACK=1<<7;
+		/** Whole Register Bank before each cycle */
+		public static final int REGISTER_DUMP=1<<8;
+		public static final int NONE=0;
+		public static final int ALL=(1<<9) - 1;
+		
+		private Trace ( ) { }
+	}
+	
+	/** Formats an event into zero or more lines, Only called when the text is needed */
+	@FunctionalInterface
+	public interface Renderer {
+		void render (@NotNull Kind kind, int a, int b, int c, int d, @Nullable Object ref, @NotNull Consumer<String> out);
+	}
+	
+	private static final int INITIAL_CAPACITY=64;
+	private Kind[] kinds=new Kind[ INITIAL_CAPACITY ];
+	private int[] args=new int[ INITIAL_CAPACITY*4 ];
+	private Object[] refs=new Object[ INITIAL_CAPACITY ];
+	private Renderer[] renderers=new Renderer[ INITIAL_CAPACITY ];
+	private SimulatorContext[] contexts=new SimulatorContext[ INITIAL_CAPACITY ];
+	private int size=0;
+	private final Consumer<String> lines=super::append;
+	private int trace=Trace.ALL;
+	
 	public ExecutionLog(ArrayList<String> logs) {
 		super( "Execution", logs );
 	}
 	
+	/** @param trace {@link Trace} categories to log, {@link Trace#ALL} by default */
+	public void setTrace (int trace) {
+		if ( (trace & ~Trace.ALL)!=0 )
+			throw new IllegalArgumentException( "Trace[" + Integer.toBinaryString( trace ) + "] has unknown categories" );
+		this.trace=trace;
+	}
+	public int getTrace ( ) {
+		return trace;
+	}
+	/** True if any of the {@link Trace} categories are logged, Check before building anything to log */
+	public boolean traces (int category) {
+		return (trace & category)!=0;
+	}
+	
+	/** Records an event with the bound {@link SimulatorContext}, Nothing is formatted */
+	public void event (@NotNull Kind kind, @NotNull Renderer renderer, int a, int b, int c, int d, @Nullable Object ref) {
+		if ( size==kinds.length )
+			grow( );
+		final int i=size++;
+		kinds[ i ]=kind;
+		args[ i*4 ]=a;
+		args[ i*4 + 1 ]=b;
+		args[ i*4 + 2 ]=c;
+		args[ i*4 + 3 ]=d;
+		refs[ i ]=ref;
+		renderers[ i ]=renderer;
+		contexts[ i ]=SimulatorContext.current( );
+	}
+	/** {@link #event(Kind, Renderer, int, int, int, int, Object)} with two args */
+	public void event (@NotNull Kind kind, @NotNull Renderer renderer, int a, int b) {
+		event( kind, renderer, a, b, 0, 0, null );
+	}
+	private void grow ( ) {
+		final int capacity=kinds.length*2;
+		kinds=Arrays.copyOf( kinds, capacity );
+		args=Arrays.copyOf( args, capacity*4 );
+		refs=Arrays.copyOf( refs, capacity );
+		renderers=Arrays.copyOf( renderers, capacity );
+		contexts=Arrays.copyOf( contexts, capacity );
+	}
+	
+	/** Kept as a {@link Kind#TEXT} event, Unless there is a prefix */
+	@Override
+	public void append (@Nullable String msg) {
+		if ( msg==null || msg.isBlank( ) )
+			return;
+		if ( getPrefix( )!=null ) {
+			final String prefix=clearPrefix( );    // Events are not prefixed
+			render( );
+			setPrefix( prefix );
+			super.append( msg );
+		} else
+			event( Kind.TEXT, TEXT, 0, 0, 0, 0, msg );
+	}
+	private static final Renderer TEXT=(kind, a, b, c, d, ref, out) -> out.accept( (String) ref );
+	
+	/** Events not yet formatted */
+	public int pending ( ) {
+		return size;
+	}
+	/** Kind of the i'th pending event */
+	@NotNull
+	public Kind kind (int i) {
+		return kinds[ checkIndex( i ) ];
+	}
+	/** Arg [0-3] of the i'th pending event */
+	public int arg (int i, int arg) {
+		if ( arg<0 || arg>3 )
+			throw new IndexOutOfBoundsException( "Arg[" + arg + "] Must be 0 to 3" );
+		return args[ checkIndex( i )*4 + arg ];
+	}
+	private int checkIndex (int i) {
+		if ( i<0 || i>=size )
+			throw new IndexOutOfBoundsException( "Event[" + i + "] Must be less than " + size );
+		return i;
+	}
+	
+	/** Formats the pending events in order, Into the logs */
+	private void render ( ) {
+		int i=0;
+		while ( i<size ) {
+			final SimulatorContext context=contexts[ i ];
+			try ( SimulatorContext.Scope ignored=context.bind( ) ) {
+				for ( ; i<size && contexts[ i ]==context; i++ )
+					renderers[ i ].render( kinds[ i ], args[ i*4 ], args[ i*4 + 1 ], args[ i*4 + 2 ], args[ i*4 + 3 ], refs[ i ], lines );
+			}
+		}
+		discard( );
+	}
+	/** Drops the pending events, Without formatting them */
+	private void discard ( ) {
+		Arrays.fill( refs, 0, size, null );
+		Arrays.fill( contexts, 0, size, null );
+		size=0;
+	}
+	
+	@Override
+	public String toString ( ) {
+		render( );
+		return super.toString( );
+	}
+	@Override
+	public int count ( ) {
+		render( );
+		return super.count( );
+	}
+	@Override
+	public boolean hasEntries ( ) {
+		return size>0 || super.hasEntries( );
+	}
+	@Override
+	public void clear ( ) {
+		discard( );
+		super.clear( );
+	}
+	
 	public String toStringAndClear(){
 		String temp = toString();
 		clear();
@@ -4,6 +4,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  Provides logging capacity for the application.
@@ -13,19 +17,38 @@ public class Logger {
 	protected String name;
 	private final ArrayList<String> logs;
 	private String prefix;
+	private int prefixLine=Diagnostic.NO_LINE;
+	/** Null if this log does not keep {@link Diagnostic}s */
+	@Nullable
+	private final Diagnostic.Severity severity;
+	private final List<Diagnostic> diagnostics=new ArrayList<>( );
+	/** Diagnostics already in the {@link #logs}, The rest are rendered when the text is needed */
+	private int rendered=0;
+	private final Map<Diagnostic.Severity, Integer> counts=new EnumMap<>( Diagnostic.Severity.class );
 	
 	public Logger (@NotNull String name, @NotNull ArrayList<String> logs) {
+		this( name, null, logs );
+	}
+	/** @param severity of the {@link Diagnostic}s kept for each entry, null to only keep the text */
+	protected Logger (@NotNull String name, @Nullable Diagnostic.Severity severity, @NotNull ArrayList<String> logs) {
 		this.name=name;
+		this.severity=severity;
 		this.logs=logs;
 		clearPrefix( );
 	}
 	public String clearPrefix ( ) {
 		return setPrefix( null );
 	}
+	/** Current prefix, null if none */
+	@Nullable
+	protected String getPrefix ( ) {
+		return prefix;
+	}
 	/** Prefixes "prefix+"\t", returns existing prefix */
 	public String setPrefix (String prefix) {
 		String existing=this.prefix;
 		this.prefix=prefix;
+		this.prefixLine=Diagnostic.NO_LINE;
 		return existing;
 	}
 	/** Adds the message to the log, null/empty will be ignored, Prefixes LineNo */
@@ -36,13 +59,37 @@ public class Logger {
 	}
 	/** Prefixes "LineNo: " + lineNo + "\t", returns existing prefix */
 	public String setLineNoPrefix (int lineNo) {
-		return setPrefix( "LineNo: " + lineNo );
+		String existing=setPrefix( "LineNo: " + lineNo );
+		this.prefixLine=lineNo;
+		return existing;
 	}
-	/** Adds the message to the log, null/empty will be ignored */
+	/**
+	 Adds the message to the log, null/empty will be ignored.
+	 <p>If this log keeps {@link Diagnostic}s, It is kept as one and the text is only built when needed
+	 */
 	public void append (@Nullable String msg) {
-		if ( msg!=null && !msg.isBlank( ) )
-			this.logs.add(
-					((prefix!=null) ? prefix + "\t" : "") + msg );
+		if ( msg!=null && !msg.isBlank( ) ) {
+			if ( severity!=null )
+				record( Diagnostic.logged( severity, prefixLine, prefix, msg ) );
+			else {
+				render( );    // Keeps the order
+				this.logs.add(
+						((prefix!=null) ? prefix + "\t" : "") + msg );
+			}
+		}
+	}
+	/** Adds a structured entry, Its text is {@link Diagnostic#render()}, when the text is needed. The logger's prefix is not used */
+	public void report (@NotNull Diagnostic diagnostic) {
+		record( diagnostic );
+	}
+	private void record (Diagnostic diagnostic) {
+		diagnostics.add( diagnostic );
+		counts.merge( diagnostic.getSeverity( ), 1, Integer::sum );
+	}
+	/** Renders the Diagnostics not yet in the {@link #logs}, in order */
+	private void render ( ) {
+		for ( ; rendered<diagnostics.size( ); rendered++ )
+			this.logs.add( diagnostics.get( rendered ).render( ) );
 	}
 	
 	/** Adds the message to the log, null/empty will be ignored, Prefixes LineNo, Suffix '!' */
@@ -74,6 +121,7 @@ public class Logger {
 	 */
 	@Override
 	public String toString ( ) {
+		render( );
 		StringBuilder rtn=new StringBuilder( );
 		if ( !this.logs.isEmpty( ) ) {
 			rtn.append( this.name ).append( ":\n" );
@@ -86,11 +134,36 @@ public class Logger {
 	/** Clears the {@link #logs}. */
 	public void clear ( ) {
 		this.logs.clear( );
+		this.diagnostics.clear( );
+		this.counts.clear( );
+		this.rendered=0;
 	}
 	
 	/** @return Whether the {@link #logs} are not empty. */
 	public boolean hasEntries ( ) {
-		return !this.logs.isEmpty( );
+		return !this.logs.isEmpty( ) || rendered<diagnostics.size( );
+	}
+	/**
+	 Number of entries, O(1). Does not build the text like {@link #toString()},
+	 So compare counts before and after a step to see if it added anything.
+	 */
+	public int count ( ) {
+		return this.logs.size( ) + diagnostics.size( ) - rendered;
+	}
+	/** Number of {@link Diagnostic}s of the severity, O(1) */
+	public int count (@NotNull Diagnostic.Severity severity) {
+		return counts.getOrDefault( severity, 0 );
+	}
+	/** Text of each entry in order, The backing list, Once any Diagnostics not yet rendered are added to it */
+	@NotNull
+	public List<String> entries ( ) {
+		render( );
+		return Collections.unmodifiableList( logs );
+	}
+	/** In order, Entries added straight to the backing list have none */
+	@NotNull
+	public List<Diagnostic> getDiagnostics ( ) {
+		return Collections.unmodifiableList( diagnostics );
 	}
 	
 	/** Shortcut for System.Out.Print(this).  Does <b>NOT</b> clear the log, use {@link #clear()} */
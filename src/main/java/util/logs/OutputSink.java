@@ -0,0 +1,136 @@
+package util.logs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ Where {@link control.Execution} writes its output, one step at a time.
+ <p>
+ Streaming sinks ({@link #stdout()}, {@link #file(Path)}) write through a fixed size buffer,
+ Flushing after the first step and then every {@value #FLUSH_STEPS} steps (or when the buffer is full),
+ So memory stays the same however long the trace is, and the first step is shown straight away.
+ <p>
+ {@link #NONE} discards the output, The execution does not build it at all.
+ */
+public abstract class OutputSink implements Flushable, Closeable {
+	/** Characters buffered by streaming sinks */
+	public static final int BUFFER_SIZE=1<<16;
+	/** Steps between flushes of streaming sinks */
+	public static final int FLUSH_STEPS=64;
+	
+	/** Discards everything, {@link control.Execution} skips building output for it */
+	public static final OutputSink NONE=new OutputSink( ) {
+		@Override
+		public void append (@NotNull CharSequence text) { }
+		@Override
+		public boolean isDiscarding ( ) { return true; }
+	};
+	
+	/** Adds the text, IO errors are thrown as {@link UncheckedIOException} */
+	public abstract void append (@NotNull CharSequence text);
+	
+	/** Called after each step, Streaming sinks flush periodically */
+	public void endStep ( ) { }
+	
+	/** True if the output is never read, So there is no need to build it */
+	public boolean isDiscarding ( ) {
+		return false;
+	}
+	
+	@Override
+	public void flush ( ) { }
+	/** Flushes, And closes the file of a {@link #file(Path)} sink */
+	@Override
+	public void close ( ) {
+		flush( );
+	}
+	
+	/** Appends to the builder, Nothing is flushed */
+	@NotNull
+	public static OutputSink of (@NotNull StringBuilder builder) {
+		return new OutputSink( ) {
+			@Override
+			public void append (@NotNull CharSequence text) {
+				builder.append( text );
+			}
+		};
+	}
+	
+	/** Buffered writes to the writer, {@link #close()} only flushes, the writer is left open */
+	@NotNull
+	public static OutputSink of (@NotNull Writer writer) {
+		return new Streaming( writer, false );
+	}
+	
+	/** Buffered writes to the current {@link System#out}, Left open when closed */
+	@NotNull
+	public static OutputSink stdout ( ) {
+		return of( new OutputStreamWriter( System.out, Charset.defaultCharset( ) ) );
+	}
+	
+	/** Buffered writes to a {@link FileChannel}, The file is created or truncated, And closed with the sink */
+	@NotNull
+	public static OutputSink file (@NotNull Path path) throws IOException {
+		final FileChannel channel=FileChannel.open( path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+													StandardOpenOption.TRUNCATE_EXISTING );
+		return new Streaming( Channels.newWriter( channel, StandardCharsets.UTF_8 ), true );
+	}
+	
+	private static final class Streaming extends OutputSink {
+		private final Writer out;
+		private final boolean closeWriter;
+		private int steps=0;
+		
+		private Streaming (Writer writer, boolean closeWriter) {
+			this.out=new BufferedWriter( writer, BUFFER_SIZE );
+			this.closeWriter=closeWriter;
+		}
+		
+		@Override
+		public void append (@NotNull CharSequence text) {
+			try {
+				out.append( text );
+			} catch ( IOException e ) {
+				throw new UncheckedIOException( e );
+			}
+		}
+		@Override
+		public void endStep ( ) {
+			if ( steps++%FLUSH_STEPS==0 )
+				flush( );
+		}
+		@Override
+		public void flush ( ) {
+			try {
+				out.flush( );
+			} catch ( IOException e ) {
+				throw new UncheckedIOException( e );
+			}
+		}
+		@Override
+		public void close ( ) {
+			if ( !closeWriter ) {
+				flush( );
+				return;
+			}
+			try {
+				out.close( );
+			} catch ( IOException e ) {
+				throw new UncheckedIOException( e );
+			}
+		}
+	}
+}
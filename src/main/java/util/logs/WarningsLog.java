@@ -6,7 +6,7 @@ import java.util.ArrayList;
 
 public class WarningsLog extends Logger {
 	public WarningsLog(ArrayList<String> logs) {
-		super( "Warnings", logs );
+		super( "Warnings", Diagnostic.Severity.WARNING, logs );
 	}
 	
 	@Override
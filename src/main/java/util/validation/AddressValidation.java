@@ -7,6 +7,7 @@ import model.components.DataMemory;
 import model.components.InstrMemory;
 
 import util.Convert;
+import util.SimulatorContext;
 import util.logs.ErrorLog;
 
 /**
@@ -67,6 +68,7 @@ public class AddressValidation {
 	 <p>
 	 {@link InstrMemory#BASE_INSTR_ADDRESS} <b>>= address <=</b> {@link InstrMemory#OVER_SUPPORTED_INSTR_ADDRESS}
 	 -{@link InstrMemory#ADDR_SIZE}.
+	 <p>	The upper bound grows with the {@link model.MemoryGeometry} of {@link SimulatorContext#current()}.
 	 <p>	If not supported, adds to the {@link ErrorLog}.
 	 
 	 <p> Prints a different error message, if the address is also not valid. using {@link #isValidInstrAddr(int,
@@ -78,7 +80,7 @@ public class AddressValidation {
 	 @see InstrMemory#OVER_SUPPORTED_INSTR_ADDRESS
 	 */
 	public static boolean isSupportedInstrAddr(int address, ErrorLog errorLog) {
-		final int INSTR_SUPPORTED_MAX=InstrMemory.OVER_SUPPORTED_INSTR_ADDRESS - InstrMemory.ADDR_SIZE;
+		final int INSTR_SUPPORTED_MAX=SimulatorContext.current( ).getGeometry( ).getOverSupportedInstrAddress( ) - InstrMemory.ADDR_SIZE;
 		
 		if ( !isValidInstrAddr( address, errorLog ) )
 			return false;
@@ -95,6 +97,7 @@ public class AddressValidation {
 	 <p>
 	 {@link DataMemory#BASE_DATA_ADDRESS} <b>>= address <=</b>  {@link DataMemory#OVER_SUPPORTED_DATA_ADDRESS}
 	 -{@link DataMemory#DATA_ALIGN}.
+	 <p>	The upper bound grows with the {@link model.MemoryGeometry} of {@link SimulatorContext#current()}.
 	 <p>	If not supported, adds to the {@link ErrorLog}.
 	 
 	 <p> Prints a different error message, if the address is also not valid. using {@link #isValidDataAddr(int,
@@ -106,7 +109,7 @@ public class AddressValidation {
 	 @see DataMemory#OVER_SUPPORTED_DATA_ADDRESS
 	 */
 	public static boolean isSupportedDataAddr(int address, ErrorLog errorLog) {
-		final int DATA_SUPPORTED_MAX=DataMemory.OVER_SUPPORTED_DATA_ADDRESS - DataMemory.DATA_ALIGN;
+		final int DATA_SUPPORTED_MAX=SimulatorContext.current( ).getGeometry( ).getOverSupportedDataAddress( ) - DataMemory.DATA_ALIGN;
 		
 		if ( !isValidDataAddr( address, errorLog ) )
 			return false;
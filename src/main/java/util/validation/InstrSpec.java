@@ -1,9 +1,13 @@
 package util.validation;
 
+import org.jetbrains.annotations.NotNull;
+
 import model.instr.Instruction;
 
 import util.logs.ExecutionLog;
 
+import java.util.NoSuchElementException;
+
 public class InstrSpec {
 	private final String OPCODE;
 	private final String NAME;
@@ -11,6 +15,8 @@ public class InstrSpec {
 	private final FMT FORMAT_TYPE;
 	/** {@link model.components.Component#DECODER(Instruction, ExecutionLog)} */
 	private final Integer[] CTRL;
+	/** {@link #CTRL} packed into a single control word, {@link model.components.Component#DECODE(Instruction, ExecutionLog)} */
+	private final int CTRL_WORD;
 	
 	InstrSpec (String OPCODE, String NAME, int OPS_SPLIT, FMT FORMAT_TYPE, Integer[] CTRL) {
 		this.OPCODE=OPCODE;
@@ -18,6 +24,7 @@ public class InstrSpec {
 		this.OPS_SPLIT=OPS_SPLIT;
 		this.FORMAT_TYPE=FORMAT_TYPE;
 		this.CTRL=CTRL;
+		this.CTRL_WORD=pack( CTRL );
 	}
 	
 	public String getOPCODE ( ) {
@@ -35,6 +42,58 @@ public class InstrSpec {
 	public Integer[] getCTRL ( ) {
 		return CTRL;
 	}
+	public int getCTRL_WORD ( ) {
+		return CTRL_WORD;
+	}
+	/** Has a RegDest signal, So its first operand is the destination register */
+	public boolean writesRegister ( ) {
+		return signal( CTRL_WORD, REG_DEST )!=NONE;
+	}
+	
+	/* Control Word :: 4 bits per signal, in the same order as CTRL -- Field values are the bit offset of each signal.
+	   ALUOp is stored +1, so NOP[-1] and no ALUOp [null] are kept apart. */
+	public static final int REG_DEST=0, ALU_SRC1=4, ALU_SRC2=8, ALU_OP=12, MEM_OP=16, MEM_TO_REG=20, PC_WRITE=24, BRANCH_COND=28;
+	/** Signal is not set (null in {@link #getCTRL()}) */
+	public static final int NONE=0xF;
+	public static final int SIGNAL_BITS=4;
+	private static final int SIGNAL_MASK=0xF;
+	
+	/** Packs the 8 control signals into a control word, null signals become {@link #NONE} */
+	static int pack(@NotNull Integer[] ctrl){
+		if ( ctrl.length!=8 )
+			throw new IllegalArgumentException( "Control Signals[" + ctrl.length + "] must have 8 Signals" );
+		int word=0;
+		for ( int i=0; i<ctrl.length; i++ ) {
+			int field=i*SIGNAL_BITS;
+			int sig=ctrl[ i ]==null ? NONE : (field==ALU_OP) ? ctrl[ i ] + 1 : ctrl[ i ];
+			if ( sig<0 || sig>NONE || (ctrl[ i ]!=null && sig==NONE) )
+				throw new IllegalArgumentException( "Control Signal[" + ctrl[ i ] + "] does not fit in the Control Word" );
+			word|=sig << field;
+		}
+		return word;
+	}
+	
+	/** Reverse of {@link #pack(Integer[])}, for displaying/testing the control word */
+	public static Integer[] unpack(int ctrlWord){
+		Integer[] ctrl=new Integer[ 8 ];
+		for ( int i=0; i<ctrl.length; i++ ) {
+			int field=i*SIGNAL_BITS;
+			int sig=signal( ctrlWord, field );
+			ctrl[ i ]=(sig==NONE) ? null : (field==ALU_OP) ? sig - 1 : sig;
+		}
+		return ctrl;
+	}
+	
+	/** Control Signal at the field's offset, {@link #NONE} if not set. ALUOp is still offset by +1, use {@link #aluOp(int)} */
+	public static int signal(int ctrlWord, int field){
+		return (ctrlWord >>> field) & SIGNAL_MASK;
+	}
+	
+	/** ALU Operation of the control word, -1 (NOP) when not set */
+	public static int aluOp(int ctrlWord){
+		int op=signal( ctrlWord, ALU_OP );
+		return op==NONE ? -1 : op - 1;
+	}
 	
 	public enum FMT {
 		RD_RS_RT,
@@ -45,7 +104,20 @@ public class InstrSpec {
 		NO_OPS
 	}
 	
+	/**
+	 Returns the position of the opcode's spec in {@link InstructionValidation#SPEC}.
+	 Used by {@link model.ProgramImage} so specs can be looked up by index instead of searched for.
+	 
+	 @throws NoSuchElementException opcode has no spec
+	 */
+	public static int ordinalOf(String opcode){
+		Integer ordinal=InstructionValidation.SPEC_ORDINAL.get( opcode );
+		if ( ordinal==null )
+			throw new NoSuchElementException( "No Spec for Opcode: \"" + opcode + "\"" );
+		return ordinal;
+	}
+	
 	public static InstrSpec findSpec(String opcode){
-		return InstructionValidation.SPEC.stream( ).filter( s -> s.getOPCODE().equals(opcode)).findFirst().orElseThrow();
+		return InstructionValidation.SPEC.get( ordinalOf( opcode ) );
 	}
 }
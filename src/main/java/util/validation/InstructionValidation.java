@@ -7,46 +7,28 @@ import org.jetbrains.annotations.VisibleForTesting;
 import model.DataType;
 import model.instr.*;
 
+import setup.Lexer;
+
 import util.Convert;
 import util.Util;
+import util.logs.Diagnostic;
 import util.logs.ErrorLog;
 import util.logs.Logger;
 import util.logs.WarningsLog;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class InstructionValidation {
 	
-	// Operands should only belong to one subset, the subsets can then be merged
-	public static final List<String> NO_OPERANDS_OPCODE=List.of( "exit", "halt" );
-	public static final List<String> R_RD_RS_RT=List.of( "add", "sub" );
-	
-	// if it supports I type labels
-	public static final List<String> I_MEM_READ=List.of( "sw" );
-	public static final List<String> I_MEM_WRITE=List.of( "lw" );
-	public static final List<String> I_RT_IMM_RS=Stream.of( I_MEM_READ, I_MEM_WRITE )
-													   .flatMap( Collection :: stream ).collect( Collectors.toUnmodifiableList( ) );
-	
-	public static final List<String> I_RT_RS_IMM=List.of( "addi" );
-	public static final List<String> I_RS_RT_IMM=List.of( "beq", "bne", "bgt", "blt", "bge", "ble" );
-	// SUPPORTED OPCODES
-	public static final List<String> R_TYPE=(R_RD_RS_RT);
-	public static final List<String> I_TYPE=Stream.of( I_RT_RS_IMM, I_RS_RT_IMM, I_RT_IMM_RS )
-												   .flatMap( Collection :: stream ).collect( Collectors.toUnmodifiableList( ) );
-	public static final List<String> J_TYPE=List.of( "j", "jal" );
-	
-	// ALL SUPPORTED OPCODES
-	public static final List<String> SUPPORTED_OPCODES=
-			Stream.of( R_TYPE, I_TYPE,
-					   J_TYPE, NO_OPERANDS_OPCODE )
-				  .flatMap( Collection :: stream ).collect( Collectors.toUnmodifiableList( ) );
-	
-	// TODO Write a helper method with searches all the specs, and creates a list of opcodes for each format.
-	
 	public static final List<InstrSpec> SPEC = List.of(	// Decoder Input ::  Dest | ALUSrc1|AluSrc2 | AluOp | MemOp|MemToReg | PCWrite|BranchCond
 			new InstrSpec( "add", "Addition", 3, InstrSpec.FMT.RD_RS_RT, new Integer[]{ 1, 0,0,0, null,0, 0,null} ),
 			new InstrSpec( "sub", "Subtraction", 3, InstrSpec.FMT.RD_RS_RT, new Integer[]{ 1, 0,0,2, null,0, 0,null} ),
@@ -70,6 +52,43 @@ public class InstructionValidation {
 			
 			new InstrSpec( "nop", "NO_OPERATION", 0, InstrSpec.FMT.NO_OPS, new Integer[]{ null, null,null,null, null,null, null,null} )
 	);
+	/** Used by the simulator itself (Pipeline bubbles, Decoder default), Not written in source files */
+	public static final List<String> INTERNAL_OPCODES=List.of( "nop" );
+	
+	// Operands should only belong to one subset, the subsets can then be merged. Each is generated from the SPEC formats
+	public static final List<String> NO_OPERANDS_OPCODE=opcodesOf( spec -> spec.getFORMAT_TYPE( )==InstrSpec.FMT.NO_OPS );
+	public static final List<String> R_RD_RS_RT=opcodesOf( spec -> spec.getFORMAT_TYPE( )==InstrSpec.FMT.RD_RS_RT );
+	
+	// if it supports I type labels
+	public static final List<String> I_MEM_READ=opcodesOf( spec -> spec.getFORMAT_TYPE( )==InstrSpec.FMT.RT_MEM && !spec.writesRegister( ) );
+	public static final List<String> I_MEM_WRITE=opcodesOf( spec -> spec.getFORMAT_TYPE( )==InstrSpec.FMT.RT_MEM && spec.writesRegister( ) );
+	public static final List<String> I_RT_IMM_RS=Stream.of( I_MEM_READ, I_MEM_WRITE )
+													   .flatMap( Collection :: stream ).collect( Collectors.toUnmodifiableList( ) );
+	
+	public static final List<String> I_RT_RS_IMM=opcodesOf( spec -> spec.getFORMAT_TYPE( )==InstrSpec.FMT.RT_RS_IMM );
+	public static final List<String> I_RS_RT_IMM=opcodesOf( spec -> spec.getFORMAT_TYPE( )==InstrSpec.FMT.RS_RT_OFFSET );
+	// SUPPORTED OPCODES
+	public static final List<String> R_TYPE=(R_RD_RS_RT);
+	public static final List<String> I_TYPE=Stream.of( I_RT_RS_IMM, I_RS_RT_IMM, I_RT_IMM_RS )
+												   .flatMap( Collection :: stream ).collect( Collectors.toUnmodifiableList( ) );
+	public static final List<String> J_TYPE=opcodesOf( spec -> spec.getFORMAT_TYPE( )==InstrSpec.FMT.JUMP_ADDR );
+	
+	// ALL SUPPORTED OPCODES
+	public static final List<String> SUPPORTED_OPCODES=
+			Stream.of( R_TYPE, I_TYPE,
+					   J_TYPE, NO_OPERANDS_OPCODE )
+				  .flatMap( Collection :: stream ).collect( Collectors.toUnmodifiableList( ) );
+	private static final Set<String> SUPPORTED=Set.copyOf( SUPPORTED_OPCODES );
+	
+	/** Opcodes of the matching {@link #SPEC} rows in order, Excluding {@link #INTERNAL_OPCODES} */
+	private static List<String> opcodesOf (Predicate<InstrSpec> filter) {
+		return SPEC.stream( ).filter( filter ).map( InstrSpec::getOPCODE )
+				   .filter( op -> !INTERNAL_OPCODES.contains( op ) ).collect( Collectors.toUnmodifiableList( ) );
+	}
+	
+	/** Position of each opcode in {@link #SPEC}, used as the opcode ordinal. {@link InstrSpec#ordinalOf(String)} */
+	static final Map<String, Integer> SPEC_ORDINAL=IntStream.range( 0, SPEC.size( ) ).boxed( )
+															.collect( Collectors.toUnmodifiableMap( i -> SPEC.get( i ).getOPCODE( ), i -> i ) );
 	
 	private final ErrorLog errorLog;
 	private final WarningsLog warningsLog;
@@ -86,13 +105,13 @@ public class InstructionValidation {
 	void setLineNo (int lineNo) {
 		this.lineNo=lineNo;
 	}
-	/** @see Util#isNullOrBlank(String) */
+	/** @see Lexer#isDecimal(CharSequence) */
 	private static boolean isDec (@Nullable String string) {
-		return !Util.isNullOrBlank( string ) && string.matches( "-?\\d*(\\d\\.|\\.\\d|\\d)\\d*" );
+		return Lexer.isDecimal( string );
 	}
-	/** @see Util#isNullOrBlank(String) */
+	/** @see Lexer#isHex(CharSequence) */
 	private static boolean isHex (@Nullable String string) {
-		return !Util.isNullOrBlank( string ) && string.matches( "0x.*" );
+		return Lexer.isHex( string );
 	}
 	/**
 	 If not valid, adds to the {@link #errorLog}
@@ -102,8 +121,13 @@ public class InstructionValidation {
 	 */
 	@VisibleForTesting
 	protected boolean isValidOpCode (int lineNo, @NotNull String opcode) {
-		if ( !SUPPORTED_OPCODES.contains( opcode ) ) {
-			errorLog.append( "LineNo: " + lineNo + "\tOpcode: \"" + opcode + "\" Not Supported!" );
+		return isValidOpCode( lineNo, Diagnostic.NO_COLUMN, opcode );
+	}
+	/** @param column of the opcode, {@link Diagnostic#NO_COLUMN} if not known */
+	private boolean isValidOpCode (int lineNo, int column, @NotNull String opcode) {
+		if ( !SUPPORTED.contains( opcode ) ) {
+			errorLog.report( Diagnostic.of( Diagnostic.Severity.ERROR, lineNo, column, "OPCODE",
+											"Opcode: \"%s\" Not Supported!", opcode ) );
 			return false;
 		}
 		return true;
@@ -116,8 +140,8 @@ public class InstructionValidation {
 	 
 	 <p><b>If Returned Object is Null, Then there are errors Operands, Or the Opcode is Null</b></p>
 	 
-	 <li>First, checks operands spacing syntax</li>
-	 <li>Then, splits the operands</li>
+	 <li>First, lexes the operands, see {@link Lexer#lexOperands(CharSequence, int)}</li>
+	 <li>Then, splits the tokens at each comma</li>
 	 <li>Then, Checks the operands, individually in order</li>
 	 
 	 @param opcode Instruction opcode, used to determine Operands format.
@@ -132,135 +156,188 @@ public class InstructionValidation {
 	 */
 	@Nullable
 	public Instruction splitValidOperands (int lineNo, @Nullable String opcode, @Nullable String operands) {
-		final String opsNotValid = "Operands: [" + operands + "] for Opcode: \"" + opcode + "\" Not Valid ";
-		final String comma="\\s?,\\s?";
-		
+		final List<Lexer.Token> tokens=Util.isNullOrBlank( operands ) ? List.of( ) : Lexer.lexOperands( operands, lineNo );
+		return splitValidOperands( lineNo, Diagnostic.NO_COLUMN, opcode, operands, tokens );    // Token columns are within the operands
+	}
+	/** Same as {@link #splitValidOperands(int, String, String)}, With the tokens the {@link Lexer} already made for the line */
+	@Nullable
+	public Instruction splitValidOperands (@NotNull Lexer.Line line) {
+		final Lexer.Token mnemonic=line.getMnemonicToken( );
+		return splitValidOperands( line.getLineNo( ), (mnemonic==null) ? Diagnostic.NO_COLUMN : mnemonic.getColumn( ),
+								   line.getMnemonic( ), line.getOperands( ), line.getOperandTokens( ) );
+	}
+	/**
+	 @param column of the opcode, Diagnostics about the operands are at the first operand token (Or the opcode if there are none)
+	 @param tokens of the operands, With columns in the line if column is known
+	 */
+	@Nullable
+	private Instruction splitValidOperands (int lineNo, int column, @Nullable String opcode, @Nullable String operands,
+											@NotNull List<Lexer.Token> tokens) {
 		if ( opcode==null )
 			return null;
 		
 		Instruction rtn=null;
 		
-		if ( isValidOpCode(lineNo, opcode) ) {
+		if ( isValidOpCode( lineNo, column, opcode ) ) {
 			
 			setOpcode( opcode );    // Todo refactor into method signatures
 			setLineNo( lineNo );
 			
-			DataType dataType=DataType.NORMAL; // TODO datatype check before adding floating point support
-			Integer rs, rt, imm;
+			final InstrSpec spec=InstrSpec.findSpec( opcode );
 			
 			// No_Operands type
-			if ( Util.isNullOrBlank( operands ) ) {
-				if ( NO_OPERANDS_OPCODE.contains( opcode ) )
-					rtn=new Nop( opcode );
+			if ( tokens.isEmpty( ) ) {
+				if ( spec.getOPS_SPLIT( )==0 )
+					rtn=MATCHERS.get( spec.getFORMAT_TYPE( ) ).match( this, spec, List.of( ) );
 				else
 					errorLog.appendEx( lineNo, "\tNo Operands found" );
 				// -> Not Valid
-			} else if ( !NO_OPERANDS_OPCODE.contains( opcode ) ) {    // Remainder of types require operands
-				if ( operands.contains( "#" ) )
+			} else if ( spec.getOPS_SPLIT( )>0 ) {    // Remainder of types require operands
+				if ( operands!=null && operands.contains( "#" ) )
 					throw new IllegalStateException( "# Comments Not Removed By Parser!" );
 				
-				//Split operands
-				String first, second=null, third=null;
-				List<String> ops_List=Arrays.asList( (operands + "#").split( comma ) );
-				// Remove padded #
-				if ( ops_List.size( )<2 ) {
-					first=trimHash( ops_List.get( 0 ) );
-				} else if ( ops_List.size( )<3 ) {
-					first=ops_List.get( 0 );
-					second=trimHash( ops_List.get( 1 ) );
-				} else {
-					first=ops_List.get( 0 );
-					second=ops_List.get( 1 );
-					third=trimHash( ops_List.get( 2 ) );
-				}
-				switch ( ops_List.size( ) ) {
-					case 1:
-						if ( J_TYPE.contains( opcode ) )
-							rtn=Jump_LabelOrInt( first );
-						break;// -> Not Valid
-					
-					case 2:
-						if ( I_RT_IMM_RS.contains( opcode ) ) {        // TODO - Could set InstrType here instead?
-							if ( I_MEM_WRITE.contains( opcode ) ) //Set RT
-								rt=convertWriteRegister( first, dataType );
-							else if ( I_MEM_READ.contains( opcode ) )
-								rt=convertRegister( first, dataType );
-							else rt=null; // Unreachable
-							// Future - (Branch) else rt=null;// TODO Branch RT_RS_IMM /RS_IMM
-							
-							if ( rt!=null )  // _ IMM(RS) or _ IMM/LABEL
-								rtn=rt_ImmRs( rt, second ); // _ IMM($0) or _ IMM/LABEL
-						}
-						break;// -> Not Valid
-					
-					case 3:    // RD, RS, RT or // RT, RS, IMM - first Operands is Write Destination
-						if ( R_TYPE.contains( opcode ) || I_RT_RS_IMM.contains( opcode ) ) {
-							Integer destination=convertWriteRegister( first, dataType );
-							rs=convertRegister( second, dataType );
-							
-							if ( R_TYPE.contains( opcode ) ) {
-								// RD, RS, RT
-								rt=convertRegister( third, dataType );
-								if ( destination!=null && rs!=null && rt!=null )
-									rtn=new R_Type( opcode, rs, rt, destination );
-							} else if ( I_RT_RS_IMM.contains( opcode ) ) {
-								// RT, RS, IMM
-								rt=destination;
-								imm=is16Bit( convertInteger( third ) );    // Check for Null/Blank
-								if ( rt!=null && rs!=null && imm!=null )
-									rtn=new I_Type( opcode, rs, rt, imm );
-							}
-						} else if ( I_RS_RT_IMM.contains( opcode ) ) {
-							// RT, RS, INSTR - IMM Offset/Label for Instruction PC
-							rs=convertRegister( first, dataType );
-							rt=convertRegister( second, dataType );;
-							// IMM may be Label
-							if ( rs!=null && rt!=null )
-								rtn = Branch_LabelOrInt( rs, rt, third );
-						}
-						break;// -> Not Valid
-					default:    // if for some reason the user gives more than 3 operands ? -> not Valid
-				}
+				//Split operands, if for some reason the user gives a different number of operands -> not Valid
+				final List<List<Lexer.Token>> ops=split( tokens );
+				if ( ops.size( )==spec.getOPS_SPLIT( ) )
+					rtn=MATCHERS.get( spec.getFORMAT_TYPE( ) ).match( this, spec, ops );
 			}
 			if ( rtn==null )
-				errorLog.appendEx( lineNo, opsNotValid );
+				errorLog.report( Diagnostic.of( Diagnostic.Severity.ERROR, lineNo,
+												(tokens.isEmpty( ) || column==Diagnostic.NO_COLUMN) ? column : tokens.get( 0 ).getColumn( ), "OPERANDS",
+												"Operands: [%s] for Opcode: \"%s\" Not Valid !", operands, opcode ) );
 		}
 		return rtn;
 	}
 	
-	/** Trims Last Value in string, expected last value is a hash*/
-	private String trimHash(String s){return s.substring( 0,s.length()-1 ); }
+	/** Tokens between each {@link Lexer.Kind#COMMA}, An operand may be empty */
+	@NotNull
+	private static List<List<Lexer.Token>> split (@NotNull List<Lexer.Token> tokens) {
+		final List<List<Lexer.Token>> ops=new ArrayList<>( );
+		int from=0;
+		for ( int i=0; i<tokens.size( ); i++ ) {
+			if ( tokens.get( i ).getKind( )==Lexer.Kind.COMMA ) {
+				ops.add( tokens.subList( from, i ) );
+				from=i + 1;
+			}
+		}
+		ops.add( tokens.subList( from, tokens.size( ) ) );
+		return ops;
+	}
+	/** An Immediate, Or a Label if it does not start with an {@link Lexer.Kind#IMMEDIATE} */
+	private static boolean isImmediate (@NotNull List<Lexer.Token> op) {
+		return !op.isEmpty( ) && op.get( 0 ).getKind( )==Lexer.Kind.IMMEDIATE;
+	}
+	/** Index of the first token of that kind, from 'from', or -1 */
+	private static int indexOf (@NotNull List<Lexer.Token> op, @NotNull Lexer.Kind kind, int from) {
+		for ( int i=from; i<op.size( ); i++ ) {
+			if ( op.get( i ).getKind( )==kind )
+				return i;
+		}
+		return -1;
+	}
 	
 	/**
-	 Splits Valid Imm(RS), If they are valid, and correctly formatted,
-	 Returns a {@link I_Type} instruction with the operands assigned.
+	 Checks the operand tokens of one {@link InstrSpec.FMT}, Split at each comma.
+	 Operands are in source order, and there are {@link InstrSpec#getOPS_SPLIT()} of them
 	 */
+	@FunctionalInterface
+	private interface OperandMatcher {
+		@Nullable
+		Instruction match (@NotNull InstructionValidation validation, @NotNull InstrSpec spec, @NotNull List<List<Lexer.Token>> ops);
+	}
+	/** One matcher per format, So a new opcode only needs its {@link #SPEC} row */
+	private static final Map<InstrSpec.FMT, OperandMatcher> MATCHERS=new EnumMap<>( Map.<InstrSpec.FMT, OperandMatcher>of(
+			InstrSpec.FMT.RD_RS_RT, InstructionValidation::rd_Rs_Rt,
+			InstrSpec.FMT.RT_RS_IMM, InstructionValidation::rt_Rs_Imm,
+			InstrSpec.FMT.RS_RT_OFFSET, InstructionValidation::rs_Rt_Offset,
+			InstrSpec.FMT.RT_MEM, InstructionValidation::rt_Mem,
+			InstrSpec.FMT.JUMP_ADDR, InstructionValidation::jump,
+			InstrSpec.FMT.NO_OPS, InstructionValidation::noOps ) );
+	
+	/** First operand is the destination if the instruction writes a register, Otherwise it is read */
+	@Nullable
+	private Integer firstRegister (@NotNull InstrSpec spec, @NotNull List<Lexer.Token> op) {
+		return spec.writesRegister( ) ? convertWriteRegister( Lexer.text( op ), DataType.NORMAL ) : register( op );
+	}
+	@Nullable
+	private Integer register (@NotNull List<Lexer.Token> op) {
+		return convertRegister( Lexer.text( op ), DataType.NORMAL );
+	}
+	/** REGISTER, REGISTER, REGISTER :: RD, RS, RT */
+	@Nullable
+	private Instruction rd_Rs_Rt (@NotNull InstrSpec spec, @NotNull List<List<Lexer.Token>> ops) {
+		Integer rd=firstRegister( spec, ops.get( 0 ) );
+		Integer rs=register( ops.get( 1 ) );
+		Integer rt=register( ops.get( 2 ) );
+		if ( rd!=null && rs!=null && rt!=null )
+			return new R_Type( opcode, rs, rt, rd );
+		return null;
+	}
+	/** REGISTER, REGISTER, IMMEDIATE :: RT, RS, IMM */
+	@Nullable
+	private Instruction rt_Rs_Imm (@NotNull InstrSpec spec, @NotNull List<List<Lexer.Token>> ops) {
+		Integer rt=firstRegister( spec, ops.get( 0 ) );
+		Integer rs=register( ops.get( 1 ) );
+		Integer imm=is16Bit( convertInteger( Lexer.text( ops.get( 2 ) ) ) );    // Check for Null/Blank
+		if ( rt!=null && rs!=null && imm!=null )
+			return new I_Type( opcode, rs, rt, imm );
+		return null;
+	}
+	/** REGISTER, REGISTER, IMMEDIATE|IDENTIFIER :: RS, RT, INSTR - IMM Offset/Label for Instruction PC */
+	@Nullable
+	private Instruction rs_Rt_Offset (@NotNull InstrSpec spec, @NotNull List<List<Lexer.Token>> ops) {
+		Integer rs=firstRegister( spec, ops.get( 0 ) );
+		Integer rt=register( ops.get( 1 ) );
+		// IMM may be Label
+		if ( rs!=null && rt!=null )
+			return Branch_LabelOrInt( rs, rt, ops.get( 2 ) );
+		return null;
+	}
+	/** REGISTER, [IMMEDIATE] ( [REGISTER] ) | IMMEDIATE | IDENTIFIER :: RT, IMM(RS) or RT, IMM/LABEL */
+	@Nullable
+	private Instruction rt_Mem (@NotNull InstrSpec spec, @NotNull List<List<Lexer.Token>> ops) {
+		Integer rt=firstRegister( spec, ops.get( 0 ) );
+		if ( rt!=null )
+			return rt_ImmRs( rt, ops.get( 1 ) );
+		return null;
+	}
+	/** IMMEDIATE|IDENTIFIER :: IMM/LABEL */
+	@Nullable
+	private Instruction jump (@NotNull InstrSpec spec, @NotNull List<List<Lexer.Token>> ops) {
+		return Jump_LabelOrInt( ops.get( 0 ) );
+	}
+	@NotNull
+	private Instruction noOps (@NotNull InstrSpec spec, @NotNull List<List<Lexer.Token>> ops) {
+		return new Nop( opcode );
+	}
+	
+	/** Lexes the operand, see {@link #rt_ImmRs(Integer, List)} */
 	@Nullable
 	@VisibleForTesting
 	protected I_Type rt_ImmRs (@NotNull Integer rt, @Nullable String immRs) {
-		final String openBracket_DelimiterRegex="\\s?\\(\\s?";
-		final String closeBracket_DelimiterRegex="\\s?\\)\\s?";
-		
-		Integer rs, imm;
-		String rs_String, immediateString;
-		String[] split;
-		if ( !Util.isNullOrBlank( immRs ) ) {
-			if ( immRs.contains( "(" ) ) {// Check for Brackets, if there are - set RS
-				if ( immRs.contains( ")" ) ) {// check for close bracket
-					// split into Imm, and rs
-					split=immRs.split( openBracket_DelimiterRegex, 2 );    // IMM | RS
-					immediateString=split[ 0 ];
-					
-					//Set IMM
-					immediateString=Util.isNullOrBlank( immediateString ) ? "0" : immediateString;
-					imm=is16Bit( convertInteger( immediateString ) );    // not 16bit, Imm->null
-					
-					split=split[ 1 ].split( closeBracket_DelimiterRegex, 2 ); // remove ')', expect returned[1] to be null
-					rs_String=split[ 0 ];
+		return rt_ImmRs( rt, Util.isNullOrBlank( immRs ) ? List.of( ) : Lexer.lexOperands( immRs, lineNo ) );
+	}
+	/**
+	 Splits Valid Imm(RS) at the brackets, If they are valid, and correctly formatted,
+	 Returns a {@link I_Type} instruction with the operands assigned.
+	 <p>A missing Imm is 0, A missing RS is $zero. Without brackets it is an Imm or Label.
+	 */
+	@Nullable
+	private I_Type rt_ImmRs (@NotNull Integer rt, @NotNull List<Lexer.Token> immRs) {
+		if ( !immRs.isEmpty( ) ) {
+			final int open=indexOf( immRs, Lexer.Kind.OPEN, 0 );
+			final int close=indexOf( immRs, Lexer.Kind.CLOSE, 0 );
+			if ( open!=-1 ) {// Check for Brackets, if there are - set RS
+				if ( close!=-1 ) {// check for close bracket
+					//Set IMM, Tokens before the '('
+					final String immediateString=(open==0) ? "0" : Lexer.text( immRs.subList( 0, open ) );
+					final Integer imm=is16Bit( convertInteger( immediateString ) );    // not 16bit, Imm->null
 					
-					// Validate RS -> if Null, defaults to $zero
-					rs_String=Util.isNullOrBlank( rs_String ) ? "$zero" : rs_String;
-					rs=convertRegister( rs_String, DataType.NORMAL );
+					// Tokens up to the ')', Validate RS -> if None, defaults to $zero
+					int end=indexOf( immRs, Lexer.Kind.CLOSE, open + 1 );
+					end=(end==-1) ? immRs.size( ) : end;
+					final String rs_String=(end==open + 1) ? "$zero" : Lexer.text( immRs.subList( open + 1, end ) );
+					final Integer rs=convertRegister( rs_String, DataType.NORMAL );
 					
 					//TODO check if RS=0, if so, check if IMM is a valid address
 					if ( imm!=null && rs!=null )
@@ -268,7 +345,7 @@ public class InstructionValidation {
 					// else -> return null
 				} else
 					errorLog.appendEx( lineNo, "\tMissing Closing Bracket: \")\" " );
-			} else if ( immRs.contains( ")" ) )    // unmatched Bracket
+			} else if ( close!=-1 )    // unmatched Bracket
 				errorLog.appendEx( lineNo, "\tMissing Opening Bracket: \"(\" " );
 			else
 				return Mem_LabelOrInt( rt, immRs );    // Return Label/Imm
@@ -279,20 +356,23 @@ public class InstructionValidation {
 	@Nullable
 	@VisibleForTesting
 	protected MemAccess Mem_LabelOrInt (@NotNull Integer rt, @NotNull String addr) {
-		if ( !Util.isNullOrBlank( addr ) ) {
+		return Util.isNullOrBlank( addr ) ? null : Mem_LabelOrInt( rt, Lexer.lexOperands( addr, lineNo ) );
+	}
+	/** IMMEDIATE|IDENTIFIER, Extra tokens are left to the conversion to report */
+	@Nullable
+	private MemAccess Mem_LabelOrInt (@NotNull Integer rt, @NotNull List<Lexer.Token> addr) {
+		final String text=Lexer.text( addr );
+		if ( isImmediate( addr ) ) {
 			Integer imm;
-			if ( isDec( addr ) || isHex( addr ) ){
-				if ( (imm=is16Bit( convertInteger( addr ) ))!=null ) {
-					//TODO - This check is skipped with empty brackets Imm(),  Needs to be consistent !
-					Integer address=AddressValidation.convertValidImm2Addr( lineNo, imm, errorLog );
-					if ( address!=null && AddressValidation.isSupportedDataAddr( address, errorLog ) )
-						throw new IllegalStateException(
-								"You Have Broken The Laws Of Mathematics, Or I have some Debugging to do!" );//return new Operands( opcode, zero, rt, imm );
-				}
-			}else if ( isValidLabel( addr ) )
-				return new MemAccess( opcode, rt, addr );
-			
-		}
+			if ( (imm=is16Bit( convertInteger( text ) ))!=null ) {
+				//TODO - This check is skipped with empty brackets Imm(),  Needs to be consistent !
+				Integer address=AddressValidation.convertValidImm2Addr( lineNo, imm, errorLog );
+				if ( address!=null && AddressValidation.isSupportedDataAddr( address, errorLog ) )
+					throw new IllegalStateException(
+							"You Have Broken The Laws Of Mathematics, Or I have some Debugging to do!" );//return new Operands( opcode, zero, rt, imm );
+			}
+		} else if ( isValidLabel( text ) )
+			return new MemAccess( opcode, rt, text );
 		return null;
 	}
 	/**
@@ -303,32 +383,42 @@ public class InstructionValidation {
 	@Nullable
 	@VisibleForTesting
 	protected J_Type Jump_LabelOrInt (@Nullable String addr) {
-		if ( !Util.isNullOrBlank( addr ) ) {
+		return Util.isNullOrBlank( addr ) ? null : Jump_LabelOrInt( Lexer.lexOperands( addr, lineNo ) );
+	}
+	/** IMMEDIATE|IDENTIFIER, Extra tokens are left to the conversion to report */
+	@Nullable
+	private J_Type Jump_LabelOrInt (@NotNull List<Lexer.Token> addr) {
+		if ( addr.isEmpty( ) )
+			return null;
+		final String text=Lexer.text( addr );
+		if ( isImmediate( addr ) ) {
 			Integer imm;
-			if ( isDec( addr ) || isHex( addr ) ) {
-				if ( (imm=isU26Bit( convertInteger( addr ) ))!=null ) {
-					Integer address=AddressValidation.convertValidImm2Addr( lineNo, imm, errorLog );
-					if ( address!=null && AddressValidation.isSupportedInstrAddr( address, errorLog ) )
-						return new J_Type( opcode, imm );
-				}
-			} else if ( isValidLabel( addr ) )
-					return new J_Type( opcode, addr );
-		}
+			if ( (imm=isU26Bit( convertInteger( text ) ))!=null ) {
+				Integer address=AddressValidation.convertValidImm2Addr( lineNo, imm, errorLog );
+				if ( address!=null && AddressValidation.isSupportedInstrAddr( address, errorLog ) )
+					return new J_Type( opcode, imm );
+			}
+		} else if ( isValidLabel( text ) )
+			return new J_Type( opcode, text );
 		return null;
 	}
 	@Nullable
 	@VisibleForTesting
 	protected I_Type Branch_LabelOrInt (@NotNull Integer rs, @NotNull Integer rt, @Nullable String addr) {
-		if ( !Util.isNullOrBlank( addr ) ) {
+		return Util.isNullOrBlank( addr ) ? null : Branch_LabelOrInt( rs, rt, Lexer.lexOperands( addr, lineNo ) );
+	}
+	/** IMMEDIATE|IDENTIFIER, Extra tokens are left to the conversion to report */
+	@Nullable
+	private I_Type Branch_LabelOrInt (@NotNull Integer rs, @NotNull Integer rt, @NotNull List<Lexer.Token> addr) {
+		if ( addr.isEmpty( ) )
+			return null;
+		final String text=Lexer.text( addr );
+		if ( isImmediate( addr ) ) {
 			Integer imm;
-			if ( isDec( addr ) || isHex( addr ) ){
-				if ( (imm=is16Bit( convertInteger( addr ) ))!=null ) {
-					return new Branch( opcode, rs,rt,imm );
-				}
-			}else if ( isValidLabel( addr ) )
-				return new Branch( opcode, rs,rt,addr );
-			
-		}
+			if ( (imm=is16Bit( convertInteger( text ) ))!=null )
+				return new Branch( opcode, rs, rt, imm );
+		} else if ( isValidLabel( text ) )
+			return new Branch( opcode, rs, rt, text );
 		return null;
 	}
 	/**
@@ -351,7 +441,7 @@ public class InstructionValidation {
 		boolean recognised=false;
 		if ( dataType==DataType.NORMAL ) {
 			if ( !Util.isNullOrBlank( register ) && !isDec( register ) ) {
-				if ( register.matches( "\\$.*" ) & !register.isBlank( ) )
+				if ( register.charAt( 0 )=='$' )
 					temp=register.substring( 1 );    // Strips $
 				else
 					temp=register;
@@ -3,6 +3,8 @@ package util.validation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import setup.Lexer;
+
 import util.Convert;
 import util.logs.ErrorLog;
 import util.logs.WarningsLog;
@@ -24,7 +26,7 @@ import java.util.List;
  @see WarningsLog */
 public class Validate{
 	//TODO make this auto generate based on {@link DataType} - perhaps a HashMap?
-	private static final List<String> SUPPORTED_DATATYPE_CSV = List.of( ".word" );
+	private static final List<String> SUPPORTED_DATATYPE_CSV = List.of( ".word", ".incbin" );
 	private static final List<String>  SUPPORTED_DIRECTIVES_CSV = List.of(".data", ".text", ".code");
 	//TODO refactor to Enum? or, Loop Up Table ?
 	
@@ -62,7 +64,7 @@ public class Validate{
 	@Nullable
 	public static String isValidLabel(int lineNo, @Nullable String label, @NotNull ErrorLog errorLog){
 		if (label!=null) {
-			if (label.matches("[_a-z][_.\\-a-z\\d]*"))
+			if (Lexer.isLabel(label))
 				return label;
 			
 			errorLog.append("LineNo: "+lineNo+"\tLabel: \""+label+"\" Not Supported!");
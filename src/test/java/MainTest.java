@@ -1,14 +1,13 @@
+import _test.TestLogs;
 import _test.TestLogs.FMT_MSG;
 import _test.TestSysOut;
 import org.junit.jupiter.api.*;
 
-import util.Util;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -24,7 +23,7 @@ class MainTest {
 	
 	@BeforeAll
 	static void beforeAll ( ) {
-		Util.wait=false;
+		TestLogs.PLAIN.bind( );
 	}
 	@BeforeEach
 	void setUp ( ) {
@@ -46,7 +45,6 @@ class MainTest {
 	@DisplayName ( "Test : Parse -> Assemble --> Execution :: Success" )
 	void Successful_Parse_Assemble_Execute ( ) {
 		//Setup
-		HashMap<Integer, Double> data = new HashMap<>();
 		ExecutionLog log = new ExecutionLog( new ArrayList<>() );
 		FMT_MSG._Execution _ex = new FMT_MSG._Execution(log);
 		
@@ -214,7 +212,7 @@ class MainTest {
 		_ex.store_output_before_exception(0x00400000, 2,0,-20,1,0, -20);
 		expectedOutput.append(log); log.clear();
 		expectedOutput.append( END_WITH_ERRORS );
-		expectedOutput.append( "Errors:\n\tData Address [0xFFFFFFEC, -20] Must Be >=0x10010000 and <=0x100107F8!\n" );
+		expectedOutput.append( "Errors:\n\tData Address [0xFFFFFFEC, -20] Must Be >=0x10010000 and <=0x1FFFFFF8, Or >=0x70000000 and <=0x7FFFFFF8!\n" );
 		compareWithSystemOut(expectedOutput);
 	}
 	
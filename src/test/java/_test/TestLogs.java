@@ -1,6 +1,7 @@
 package _test;
 
 import util.Convert;
+import util.SimulatorContext;
 import util.ansi_codes.Color;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
@@ -28,8 +29,11 @@ public class TestLogs {
 	public final WarningsLog expectedWarnings=new WarningsLog( new ArrayList<>( ) );
 	public final ExecutionLog expectedExecution=new ExecutionLog( new ArrayList<>( ) );
 	private static int testNo=0;
+	/** No colour, No waiting for input. Bound to the test thread by each TestLogs, And left bound for the rest of the tests */
+	public static final SimulatorContext PLAIN=SimulatorContext.headless( );
+	private static final SimulatorContext COLOUR=PLAIN.withColorSupport( true );
 	public TestLogs ( ) {
-		Color.colorSupport=false;
+		PLAIN.bind( );
 	}
 	
 	/**
@@ -71,9 +75,9 @@ public class TestLogs {
 		return actualString;
 	}
 	public static void tempPrint(String txt){
-		Color.colorSupport=true;
-		System.out.print( Color.fmt( Color.next(), txt));
-		Color.colorSupport=false;
+		try ( SimulatorContext.Scope ignored=COLOUR.bind( ) ) {
+			System.out.print( Color.fmt( Color.next(), txt));
+		}
 	}
 	
 	// Methods starting with an underscore have the !, so use append for those, for the rest, use appendEx
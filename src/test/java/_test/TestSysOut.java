@@ -1,6 +1,5 @@
 package _test;
 
-import util.ansi_codes.Color;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
@@ -12,7 +11,7 @@ public class TestSysOut {
 	
 	/** Setup - redirecting Standard Output */
 	public TestSysOut ( ) {
-		Color.colorSupport=false;
+		TestLogs.PLAIN.bind( );
 		System.setOut( new PrintStream( outputStream ) );
 	}
 	
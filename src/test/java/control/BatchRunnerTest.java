@@ -0,0 +1,156 @@
+package control;
+
+import _test.Tags;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import control.BatchRunner.Result;
+import control.BatchRunner.Status;
+import model.components.DataMemory;
+import model.components.MappedMemory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.EX )
+class BatchRunnerTest {
+	private static final Path TEST_RESOURCES_DIR=Paths.get( "src" + File.separator + "test" + File.separator + "resources" );
+	private static final String LOOP="loop: addi $1, $1, 1\nj loop\n";
+	private static final String RUNTIME_ERROR="addi $1, $0, 5\nlw $2, 3($0)\naddi $3, $0, 1\n";
+	
+	@TempDir
+	Path dir;
+	
+	private Path write (String name, String content) throws IOException {
+		Path file=dir.resolve( name );
+		Files.createDirectories( file.getParent( ) );
+		return Files.writeString( file, content );
+	}
+	private Path copy (String resource, String name) throws IOException {
+		return Files.copy( TEST_RESOURCES_DIR.resolve( resource ), dir.resolve( name ) );
+	}
+	
+	@Test
+	void Submissions_In_Directory ( ) throws IOException {
+		write( "b.s", LOOP );
+		write( "a.asm", LOOP );
+		write( "notes.txt", LOOP );
+		write( "student1/c.s", LOOP );
+		
+		List<Path> found=BatchRunner.submissions( dir );
+		assertEquals( List.of( dir.resolve( "a.asm" ), dir.resolve( "b.s" ), dir.resolve( "student1/c.s" ) ), found );
+	}
+	
+	@Test
+	void Submissions_In_Manifest ( ) throws IOException {
+		Path manifest=write( "list.txt", "# Submissions\nb.s\n\n  sub/a.s  \n" );
+		assertEquals( List.of( dir.resolve( "b.s" ), dir.resolve( "sub/a.s" ) ), BatchRunner.submissions( manifest ) );
+	}
+	
+	@Test
+	void Results_Each_Status ( ) throws Exception {
+		List<Path> files=List.of( copy( "Execution_NoBranches.s", "ok.s" ),
+								  copy( "Parse_Invalid.s", "invalid.s" ),
+								  write( "error.s", RUNTIME_ERROR ),
+								  write( "loop.s", LOOP ) );
+		ByteArrayOutputStream bytes=new ByteArrayOutputStream( );
+		List<Result> results=new BatchRunner( 500, 2 ).runAll( files, new PrintStream( bytes, true ) );
+		
+		Result ok=results.get( 0 );
+		assertEquals( Status.EXIT, ok.getStatus( ) );
+		assertEquals( 11, ok.getCycles( ) );
+		assertEquals( -800, ok.getRegisters( )[ 20 ] );
+		assertEquals( -900, ok.getData( ).get( 2 ) );
+		assertTrue( ok.getErrors( ).isEmpty( ) );
+		
+		assertEquals( Status.INVALID, results.get( 1 ).getStatus( ) );
+		assertEquals( 0, results.get( 1 ).getCycles( ) );
+		assertFalse( results.get( 1 ).getErrors( ).isEmpty( ) );
+		
+		Result error=results.get( 2 );
+		assertEquals( Status.ERROR, error.getStatus( ) );
+		assertEquals( 2, error.getCycles( ) );
+		assertEquals( 5, error.getRegisters( )[ 1 ] );
+		assertEquals( 0, error.getRegisters( )[ 3 ] );
+		
+		Result loop=results.get( 3 );
+		assertEquals( Status.BUDGET, loop.getStatus( ) );
+		assertEquals( 500, loop.getCycles( ) );
+		assertEquals( List.of( "Cycle Budget [500] Ran Out!" ), loop.getErrors( ) );
+		
+		String[] lines=bytes.toString( ).split( "\\R" );
+		assertEquals( 4, lines.length );
+		for ( int i=0; i<lines.length; i++ ) {
+			assertEquals( results.get( i ).toString( ), lines[ i ] );
+			assertTrue( lines[ i ].startsWith( files.get( i ) + "\t" + results.get( i ).getStatus( ) + "\tCycles[" ) );
+		}
+	}
+	
+	@Test
+	void Many_Submissions_Same_As_Sequential ( ) throws Exception {
+		List<Path> files=new ArrayList<>( );
+		for ( int i=0; i<40; i++ )
+			files.add( (i%2==0) ? copy( "Execution_NoBranches.s", i + ".s" ) : write( i + ".s", RUNTIME_ERROR ) );
+		Collections.shuffle( files );
+		
+		BatchRunner runner=new BatchRunner( 500, 4 );
+		List<Result> results=runner.runAll( files, new PrintStream( new ByteArrayOutputStream( ) ) );
+		for ( int i=0; i<files.size( ); i++ )
+			assertEquals( runner.run( files.get( i ) ).toString( ), results.get( i ).toString( ) );
+	}
+	
+	@Test
+	void Mapped_Data_File ( ) throws Exception {
+		// Adds the first two mapped words, storing the total in the third
+		String sum=".data\nptr: .word 268697600\n.text\nlw $5, ptr\nlw $1, 0($5)\nlw $2, 8($5)\nadd $3, $1, $2\nsw $3, 16($5)\n";
+		List<Path> files=List.of( write( "a.s", sum ), write( "b.s", sum ) );
+		Path data=dir.resolve( "data.bin" );
+		Files.write( data, new byte[]{ 0, 0, 0, 40, 0, 0, 0, 2, 0, 0, 0, 0 } );
+		
+		List<Result> results=new BatchRunner( 500, 2, data ).runAll( files, new PrintStream( new ByteArrayOutputStream( ) ) );
+		for ( Result result : results ) {
+			assertEquals( Status.EXIT, result.getStatus( ), result.toString( ) );
+			assertEquals( 42, result.getRegisters( )[ 3 ] );
+			assertEquals( 42, result.getData( ).get( index( MappedMemory.DEFAULT_BASE + 16 ) ), "Stored To The Mapped File" );
+			assertNull( result.getData( ).get( index( MappedMemory.DEFAULT_BASE ) ), "Only Words Stored To" );
+		}
+		assertArrayEquals( new byte[]{ 0, 0, 0, 40, 0, 0, 0, 2, 0, 0, 0, 0 }, Files.readAllBytes( data ) );    // Copy On Write
+		
+		Result missing=new BatchRunner( 500, 1, dir.resolve( "missing.bin" ) ).run( files.get( 0 ) );
+		assertEquals( Status.ERROR, missing.getStatus( ) );
+		assertTrue( missing.getErrors( ).get( 0 ).startsWith( "Mapping Data File Failed" ) );
+	}
+	
+	@Test
+	void Data_Includes_Heap_And_Stack ( ) throws Exception {
+		String program=".data\nheap: .word 268697608\nstack: .word 2147483632\n.text\n"
+					   + "lw $5, heap\nlw $29, stack\naddi $1, $0, 7\nsw $1, 0($5)\nsw $1, 0($29)\nexit\n";
+		Result result=new BatchRunner( 500, 1 ).run( write( "pages.s", program ) );
+		assertEquals( Status.EXIT, result.getStatus( ), result.toString( ) );
+		assertEquals( 7, result.getData( ).get( index( 268697608 ) ), "Heap" );
+		assertEquals( 7, result.getData( ).get( index( 2147483632 ) ), "Stack" );
+		assertEquals( 268697608, result.getData( ).get( 0 ), ".data" );
+	}
+	private static int index (int address) {
+		return (address - DataMemory.BASE_DATA_ADDRESS)/DataMemory.DATA_ALIGN;
+	}
+	
+	@Test
+	void Invalid_Arguments ( ) {
+		assertThrows( IllegalArgumentException.class, ( ) -> new BatchRunner( 0, 1 ) );
+		assertThrows( IllegalArgumentException.class, ( ) -> new BatchRunner( 1, 0 ) );
+		assertEquals( 4, BatchRunner.positive( "Threads", "4" ) );
+		for ( String value : new String[]{ "0", "-2", "four", "" } )
+			assertThrows( IllegalArgumentException.class, ( ) -> BatchRunner.positive( "Threads", value ), value );
+	}
+}
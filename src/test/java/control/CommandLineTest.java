@@ -0,0 +1,89 @@
+package control;
+
+import _test.Tags;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.EX )
+class CommandLineTest {
+	private static final String OK="src" + File.separator + "test" + File.separator + "resources" + File.separator + "Execution_NoBranches.s";
+	private static final String LOOP="loop: addi $1, $1, 1\nj loop\n";
+	
+	@TempDir
+	Path dir;
+	
+	private final ByteArrayOutputStream bytes=new ByteArrayOutputStream( );
+	private final PrintStream out=new PrintStream( bytes, true );
+	
+	private int run (String... args) {
+		return CommandLine.main( args, out );
+	}
+	
+	@Test
+	void Is_Command_Line ( ) {
+		assertFalse( CommandLine.isCommandLine( new String[] { OK } ) );
+		assertFalse( CommandLine.isCommandLine( new String[] { "--batch", "dir" } ) );
+		assertTrue( CommandLine.isCommandLine( new String[] { "--run", OK } ) );
+		assertTrue( CommandLine.isCommandLine( new String[] { OK, "--quiet" } ) );
+	}
+	
+	@Test
+	void Run_Text ( ) {
+		assertEquals( CommandLine.EXIT_OK, run( "--run", OK ) );
+		String text=bytes.toString( );
+		assertTrue( text.startsWith( "Status: EXIT\nCycles: " ), text );
+		assertFalse( text.contains( "REGISTER-BANK" ), text );
+		
+		bytes.reset( );
+		assertEquals( CommandLine.EXIT_OK, run( "--quiet", "--dump-regs", "--dump-mem", OK ) );
+		text=bytes.toString( );
+		assertFalse( text.contains( "Status" ), text );
+		assertTrue( text.contains( "|R0: 0\tR4: 0\tR8: 268500992\tR12: 0\t\tR16: 50\tR20: -800\tR24: -950\t" ), text );
+		assertTrue( text.contains( "Data Memory:\n[0x10010000]\t50\n[0x10010008]\t268500992\n[0x10010010]\t-900\n" ), text );
+	}
+	
+	@Test
+	void Run_Json ( ) throws IOException {
+		assertEquals( CommandLine.EXIT_OK, run( "--format", "json", "--dump-regs", OK ) );
+		String json=bytes.toString( );
+		assertTrue( json.startsWith( "{\"path\":" + CommandLine.jsonString( OK ) + ",\"status\":\"EXIT\",\"exitCode\":0,\"cycles\":" ), json );
+		assertTrue( json.contains( ",\"errors\":[],\"registers\":[0,0,0,0,0,0,0,0,268500992," ), json );
+		assertTrue( json.endsWith( "]}\n" ), json );
+		
+		bytes.reset( );
+		Path loop=Files.writeString( dir.resolve( "loop.s" ), LOOP );
+		assertEquals( CommandLine.EXIT_BUDGET, run( "--format", "JSON", "--max-cycles", "50", "--quiet", "--dump-mem", loop.toString( ) ) );
+		assertEquals( "{\"data\":{}}\n", bytes.toString( ) );
+	}
+	
+	@Test
+	void Exit_Codes ( ) throws IOException {
+		Path invalid=Files.writeString( dir.resolve( "invalid.s" ), "addi $1, $1\n" );
+		Path error=Files.writeString( dir.resolve( "error.s" ), "lw $2, 3($0)\n" );
+		assertEquals( CommandLine.EXIT_INVALID, run( "--run", invalid.toString( ) ) );
+		assertEquals( CommandLine.EXIT_ERROR, run( "--run", error.toString( ) ) );
+		assertEquals( CommandLine.EXIT_BUDGET, run( "--max-cycles", "10", Files.writeString( dir.resolve( "loop.s" ), LOOP ).toString( ) ) );
+		
+		for ( String[] args : new String[][] { { "--run" }, { "--max-cycles", "0", OK }, { "--max-cycles" }, { "--format", "xml", OK },
+											   { "--verbose", OK }, { OK, OK } } ) {
+			bytes.reset( );
+			assertEquals( CommandLine.EXIT_USAGE, run( args ), String.join( " ", args ) );
+			assertTrue( bytes.toString( ).contains( "Usage: " + CommandLine.USAGE ) );
+		}
+	}
+	
+	@Test
+	void Json_String ( ) {
+		assertEquals( "\"a\\\"b\\\\c\\n\\td\\u0001\"", CommandLine.jsonString( "a\"b\\c\n\td\u0001" ) );
+		assertEquals( "null", CommandLine.jsonString( null ) );
+	}
+}
@@ -0,0 +1,110 @@
+package control;
+
+import _test.Tags;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import control.BatchRunner.Result;
+import control.BatchRunner.Status;
+import model.MemoryBuilder;
+import model.components.DataMemory;
+import model.components.RegisterBank;
+import model.instr.Instruction;
+
+import setup.Parser;
+
+import util.SimulatorContext;
+import util.logs.ErrorLog;
+import util.logs.ExecutionLog;
+import util.logs.OutputSink;
+import util.logs.WarningsLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Reference programs in src/test/resources/corpus, Against their golden final states (golden.tsv) */
+@Tag( Tags.EX )
+class CorpusTest {
+	static final Path CORPUS=Paths.get( "src", "test", "resources", "corpus" );
+	
+	/** Name, Golden line (a {@link Result} with the file name as the path) */
+	static Stream<Arguments> golden ( ) throws IOException {
+		return Files.readAllLines( CORPUS.resolve( "golden.tsv" ) ).stream( )
+					.filter( line -> !line.isBlank( ) && !line.startsWith( "#" ) )
+					.map( line -> Arguments.of( line.substring( 0, line.indexOf( '\t' ) ), line ) );
+	}
+	
+	@Test
+	void Every_Program_Has_A_Golden_State ( ) throws IOException {
+		List<String> programs=BatchRunner.submissions( CORPUS ).stream( ).map( p -> p.getFileName( ).toString( ) )
+										 .collect( Collectors.toList( ) );
+		List<Object> golden=golden( ).map( args -> args.get( )[ 0 ] ).collect( Collectors.toList( ) );
+		assertEquals( programs, golden );
+		assertTrue( programs.size( )>=6, programs.toString( ) );
+	}
+	
+	@ParameterizedTest( name="{0}" )
+	@MethodSource( "golden" )
+	void Golden_State (String name, String golden) {
+		Result result=new BatchRunner( ).run( CORPUS.resolve( name ) );
+		assertEquals( Status.EXIT, result.getStatus( ), result.toString( ) );
+		assertEquals( golden, name + result.toString( ).substring( result.getPath( ).length( ) ) );
+	}
+	
+	/** Every Tier headless, and the datapath with output, End in the same state */
+	@ParameterizedTest( name="{0}" )
+	@MethodSource( "golden" )
+	void Same_State_Each_Tier (String name, String golden) {
+		final String expected=registersAndData( golden );
+		for ( Execution.Tier tier : Execution.Tier.values( ) )
+			assertEquals( expected, registersAndData( run( name, tier ).toString( ) ), tier.toString( ) );
+		assertEquals( expected, registersAndData( run( name, null ).toString( ) ), "Not Headless" );
+	}
+	/** Status, Registers, Data, Errors, ie. Without the path and cycles */
+	private static String registersAndData (String line) {
+		String[] fields=line.split( "\t" );
+		return String.join( "\t", fields[ 1 ], fields[ 3 ], fields[ 4 ], fields[ 5 ] );
+	}
+	
+	/** @param tier null to run with output (only the last Register Bank, Nothing is traced) */
+	private static Result run (String name, Execution.Tier tier) {
+		final SimulatorContext context=SimulatorContext.headless( );
+		final ErrorLog errorLog=new ErrorLog( new ArrayList<>( ) );
+		final WarningsLog warningsLog=new WarningsLog( new ArrayList<>( ) );
+		final MemoryBuilder mb=new MemoryBuilder( errorLog, warningsLog, context );
+		final Parser parser=new Parser( CORPUS.resolve( name ).toString( ), mb, errorLog, warningsLog );
+		final ArrayList<Instruction> instructions=parser.assemble( );
+		assertNotNull( instructions, errorLog::toString );
+		assertFalse( errorLog.hasEntries( ), errorLog::toString );
+		
+		final ExecutionLog log=new ExecutionLog( new ArrayList<>( ) );
+		final int[] registers=new int[ 32 ];
+		final DataMemory dataMemory=parser.getMem( log );
+		final Execution execution=new Execution( log, errorLog, dataMemory,
+												 new RegisterBank( registers, log, context ), instructions, context );
+		final StringBuilder output=new StringBuilder( );
+		if ( tier!=null ) {
+			execution.setHeadless( true );
+			execution.setTier( tier );
+		} else {
+			execution.setTrace( ExecutionLog.Trace.NONE );
+			execution.setOutput( OutputSink.of( output ) );
+		}
+		execution.runToEnd( );
+		assertTrue( execution.hasEnded( ) );
+		assertEquals( (tier==null) ? 1 : 0, Arrays.stream( output.toString( ).split( "\n" ) )
+												   .filter( l -> l.contains( "REGISTER-BANK" ) ).count( ) );
+		return new Result( name, errorLog.hasEntries( ) ? Status.ERROR : Status.EXIT, 0, registers, dataMemory, errorLog.entries( ) );
+	}
+}
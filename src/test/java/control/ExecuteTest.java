@@ -2,6 +2,7 @@ package control;
 
 import _test.Tags;
 import _test.TestLogs;
+import _test.TestSysOut;
 import _test.providers.InstrProvider;
 import org.junit.jupiter.api.*;
 
@@ -9,27 +10,29 @@ import model.components.DataMemory;
 import model.components.RegisterBank;
 import model.instr.*;
 
-import util.Util;
 import util.logs.ExecutionLog;
+import util.logs.OutputSink;
 
+import com.sun.management.ThreadMXBean;
+
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 @Tag( Tags.EX )
 class ExecuteTest {
 	private static TestLogs testLogs;
 	private static Execution execution;
-	private static final HashMap<Integer, Double> data=new HashMap<>( );
+	private static final int[] data=new int[ DataMemory.MAX_DATA_ITEMS ];
 	private static final ArrayList<Instruction> instr_list= new ArrayList<>();
 	private static final int[] values=new int[ 32 ];
 	private static ExecutionLog actual;
 	
 	@BeforeAll
 	static void beforeAll ( ) {
-		Util.wait=false;
 		testLogs= new TestLogs();
 		actual = testLogs.actualExecution;
 	}
@@ -41,11 +44,12 @@ class ExecuteTest {
 	void tearDown ( ) {
 		actual.println();
 		actual.clear();	// Skip checking Output, other than for errors
+		actual.setTrace( ExecutionLog.Trace.ALL );
 		
 		testLogs.after();
 		execution.reset();
 		instr_list.clear();
-		data.clear();
+		Arrays.fill( data, 0 );
 		for ( int i=1; i<32; i++ ) values[i]=0; /*reset Register Bank values*/
 	}
 	
@@ -69,7 +73,7 @@ class ExecuteTest {
 		for ( int i =3; i<values.length;i++ ){
 			assertEquals(0, values[i]);
 		}
-		assertTrue( data.isEmpty() );
+		assertArrayEquals( new int[ DataMemory.MAX_DATA_ITEMS ], data );
 	}
 	
 	// TODO nest these tests and move setup portion, and Execution to BeforeEach
@@ -89,8 +93,236 @@ class ExecuteTest {
 			assertEquals(0, values[i]);
 		}
 		assertEquals( 0,values[31] );
-		assertTrue( data.isEmpty() );
+		assertArrayEquals( new int[ DataMemory.MAX_DATA_ITEMS ], data );
 		testLogs.expectedErrors.appendEx( "Data Address [0x1001002D, 268501037] Must Be DoubleWord Aligned" );
 	}
+	
+	@Test
+	@Tag( Tags.EX )
+	void Trace_Categories ( ) {
+		values[1]=7;
+		values[30]=0x10010000;
+		instr_list.add( new MemAccess( "sw", 30, 1, 8 ) );//0
+		instr_list.add( new Branch( "beq", 0, 0, 0 ));//4 -> 8
+		instr_list.forEach( i -> i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, 0x00400000) ); // ASSEMBLE
+		
+		execution.setTrace( ExecutionLog.Trace.MEMORY | ExecutionLog.Trace.BRANCH );
+		StringBuilder out=new StringBuilder( );
+		execution.runSteps( out, 2 );
+		String output=out.toString( );
+		assertTrue( output.contains( "Writing Value[7]\tTo Memory Address[0x10010008]!" ), output );
+		assertTrue( output.contains( "AOR[0] == Zero? True:Branch Taken!" ), output );
+		for ( String disabled : new String[]{ "Fetching", "Decoding", "RegisterBank", "ALU Result", "Write Back", "|" } )
+			assertFalse( output.contains( disabled ), disabled );
+		assertEquals( 7, data[ 1 ] );
+		
+		execution.setTrace( ExecutionLog.Trace.NONE );
+		out.setLength( 0 );
+		execution.runStep( out );    // Auto Exit
+		assertEquals( "", out.toString( ) );
+		assertNull( execution.runStep( out ) );
+		assertThrows( IllegalArgumentException.class, ( ) -> execution.setTrace( ExecutionLog.Trace.ALL + 1 ) );
+	}
+	
+	@Test
+	@Tag( Tags.EX )
+	void Register_Changes_Output ( ) {
+		for ( int i=0; i<20; i++ )
+			instr_list.add( new I_Type( "addi", 1, 1, 1 ));
+		instr_list.forEach( i -> i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, 0x00400000) ); // ASSEMBLE
+		
+		execution.setTrace( ExecutionLog.Trace.REGISTER_DUMP );
+		StringBuilder full=new StringBuilder( );
+		execution.runSteps( full, 20 );
+		
+		execution.reset( );
+		values[1]=0;
+		execution.setRegisterChanges( true );
+		StringBuilder changes=new StringBuilder( );
+		execution.runSteps( changes, 20 );
+		assertEquals( 20, values[1] );
+		assertTrue( changes.toString( ).contains( "-------- REGISTER-BANK CHANGES -------- |*R1: 19|\n" ), changes.toString( ) );
+		assertTrue( changes.length( )*5<full.length( ), changes.length( )+" vs "+full.length( ) );
+		
+		execution.reset( );	// Starts again from the whole table
+		StringBuilder restarted=new StringBuilder( );
+		execution.runSteps( restarted, 1 );
+		assertTrue( restarted.toString( ).contains( "-------- REGISTER-BANK --------" ), restarted.toString( ) );
+		assertFalse( restarted.toString( ).contains( "CHANGES" ), restarted.toString( ) );
+	}
+	
+	@Test
+	void Output_Sink ( ) {
+		for ( int i=0; i<10; i++ )
+			instr_list.add( new I_Type( "addi", 1, 1, 1 ));
+		instr_list.forEach( i -> i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, 0x00400000) ); // ASSEMBLE
+		
+		RegisterBank regBank=new RegisterBank( values, actual );
+		StringBuilder expected=new StringBuilder( );
+		new Execution( actual, testLogs.actualErrors, new DataMemory( data, actual ), regBank, instr_list ).runSteps( expected, 20 );
+		expected.append( regBank.format( ) ).append( "\n\n\n" );
+		
+		values[1]=0;
+		StringWriter streamed=new StringWriter( );
+		Execution sinkExecution=new Execution( actual, testLogs.actualErrors, new DataMemory( data, actual ), new RegisterBank( values, actual ), instr_list );
+		sinkExecution.setOutput( OutputSink.of( streamed ) );
+		sinkExecution.runToEnd( );
+		assertEquals( 10, values[1] );
+		assertEquals( expected.toString( ), streamed.toString( ) );
+		
+		sinkExecution.reset( );
+		values[1]=0;
+		assertNull( sinkExecution.runSteps( OutputSink.NONE, 20 ) );	// Nothing is built
+		assertEquals( 10, values[1] );
+		assertFalse( actual.hasEntries( ) );
+	}
+	
+	@Test
+	void Output_Sink_Stdout ( ) {
+		for ( int i=0; i<10; i++ )
+			instr_list.add( new I_Type( "addi", 1, 1, 1 ));
+		instr_list.forEach( i -> i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, 0x00400000) ); // ASSEMBLE
+		
+		RegisterBank regBank=new RegisterBank( values, actual );
+		Execution legacy=new Execution( actual, testLogs.actualErrors, new DataMemory( data, actual ), regBank, instr_list );
+		TestSysOut sysOut=new TestSysOut( );	// Redirected after construction
+		try {
+			legacy.runToEnd( );	// Only the final Register Bank
+			assertEquals( regBank.format( ) + "\n\n\n", sysOut.toString( ) );
+			
+			sysOut.getOutput( ).reset( );
+			legacy.reset( );
+			legacy.setOutput( OutputSink.NONE );
+			legacy.runToEnd( );
+			assertEquals( "", sysOut.toString( ) );
+			assertTrue( legacy.hasEnded( ) );
+		} finally {
+			sysOut.close( );
+		}
+	}
+	
+	@Nested
+	class Headless {
+		@BeforeEach
+		void setUp ( ) {
+			execution.setHeadless( true );
+		}
+		
+		@Test
+		void Test_Result_RunToEnd_NoOutput ( ) {
+			values[1]=4;
+			values[5]=0x10010000;
+			instr_list.add( new R_Type( "add", 1,1,2 ));//0 -> 4
+			instr_list.add( new J_Type( "j",0x00100003 ));//4 -> J: 12
+			instr_list.add( new R_Type( "sub", 1,1,1 ));//8 - skipped
+			instr_list.add( new I_Type( "addi", 1, 1, -40));//12 <-
+			instr_list.add( new MemAccess( "sw", 5, 2, 8 ) );//16 -> data[1]=8
+			instr_list.add( new MemAccess( "lw", 5, 3, 8 ) );//20 -> R3=8
+			instr_list.add( new J_Type( "jal",0x00100008 ));//24 -> J: 32, R31=28
+			instr_list.add( new R_Type( "sub", 1,1,1 ));//28 - skipped
+			instr_list.add( new Branch( "bne", 3, 0, 1 ));//32 -> taken: 40
+			instr_list.add( new R_Type( "sub", 1,1,1 ));//36 - skipped
+			instr_list.forEach( i -> i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, 0x00400000) ); // ASSEMBLE
+			// 40 (0x28) ,  <- AutoExit
+			
+			execution.runToEnd();
+			
+			assertFalse( actual.hasEntries( ) ); // Nothing Logged
+			assertEquals(-36, values[1]);
+			assertEquals(8, values[2]);
+			assertEquals(8, values[3]);
+			assertEquals(0x0040001C, values[31]);
+			for ( int i =6; i<31;i++ ){
+				assertEquals(0, values[i]);
+			}
+			assertEquals( 8, data[ 1 ] );
+			assertNull( execution.runStep_NoOutput( ) ); // Exited
+		}
+		
+		@Test
+		void Test_Result_RunSteps_NoOutput ( ) {
+			values[1]=4;
+			instr_list.add( new R_Type( "add", 1,1,2 ));//0 -> 4
+			instr_list.add( new I_Type( "addi", 1, 1, -40));//4 -> 8
+			instr_list.forEach( i -> i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, 0x00400000) ); // ASSEMBLE
+			
+			StringBuilder out=new StringBuilder( );
+			assertEquals( 0x00400004, execution.runStep( out ) );
+			assertEquals( 0x00400008, execution.runStep_NoOutput( ) );
+			assertNull( execution.runSteps( out, 5 ) );// AutoExit
+			
+			assertEquals( "", out.toString( ) );
+			assertFalse( actual.hasEntries( ) );
+			assertEquals(-36, values[1]);
+			assertEquals(8, values[2]);
+		}
+		
+		@Test
+		void Test_Result_Run_Interrupted_ByError ( ) {
+			values[30]=0x10010005;
+			instr_list.add( new MemAccess( "lw", 30, 1, 40 ) );//0 -> * ERROR
+			instr_list.add( new R_Type( "add", 1,1,1 )); // Not Run
+			instr_list.forEach( i -> i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, 0x00400000) ); // ASSEMBLE
+			
+			execution.runToEnd();
+			
+			assertFalse( actual.hasEntries( ) );
+			assertEquals( 0x10010005, values[30] );
+			for ( int i =0; i<30;i++ ){
+				assertEquals(0, values[i]);
+			}
+			assertArrayEquals( new int[ DataMemory.MAX_DATA_ITEMS ], data );
+			testLogs.expectedErrors.appendEx( "Data Address [0x1001002D, 268501037] Must Be DoubleWord Aligned" );
+		}
+		
+		@Test
+		void Test_Steady_State_Allocation_Free ( ) {
+			ThreadMXBean threads=(ThreadMXBean) ManagementFactory.getThreadMXBean( );
+			Assumptions.assumeTrue( threads.isThreadAllocatedMemorySupported( ) && threads.isThreadAllocatedMemoryEnabled( ) );
+			
+			instr_list.add( new I_Type( "addi", 2, 2, 3));//0 <-
+			instr_list.add( new R_Type( "add", 2,3,3 ));//4
+			instr_list.add( new I_Type( "addi", 1, 1, -1));//8
+			instr_list.add( new Branch( "bne", 1, 0, -4 ));//12 -> 0, while R1!=0
+			instr_list.forEach( i -> i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, 0x00400000) ); // ASSEMBLE
+			
+			assertAll(
+					( ) -> assertSteadyState( threads, "runToEnd", execution::runToEnd ),
+					( ) -> assertSteadyState( threads, "runStep_NoOutput", ( ) -> {
+						while ( execution.runStep_NoOutput( )!=null ) ;
+					} ),
+					( ) -> assertSteadyState( threads, "pipeline", ( ) -> {	// Datapath with output, Nothing traced
+						execution.setHeadless( false );
+						execution.setTrace( ExecutionLog.Trace.NONE );
+						while ( execution.runStep_NoOutput( )!=null ) ;
+						execution.setHeadless( true );
+					} ) );
+			assertFalse( actual.hasEntries( ) );
+		}
+		
+		/** Fixed costs (predecoding) are the same for both runs, Only the extra 400_000 cycles are different */
+		private void assertSteadyState (ThreadMXBean threads, String name, Runnable run){
+			for ( int i=0; i<10; i++ ) // Warm Up
+				allocatedBytes( threads, 10_000, run );
+			long small=allocatedBytes( threads, 1_000, run );
+			long large=allocatedBytes( threads, 101_000, run );
+			
+			assertTrue( large - small<ALLOCATION_TOLERANCE, name + " Allocated " + (large - small) + " Bytes, Over 400_000 Cycles" );
+			assertEquals( 101_000*3, values[2], name );
+		}
+		/** Bytes, Allowing for the odd allocation outside of the datapath (eg. by the JIT) */
+		private static final long ALLOCATION_TOLERANCE=512;
+		
+		/** Runs the loop program for N iterations, returning the bytes allocated by this thread */
+		private long allocatedBytes (ThreadMXBean threads, int loops, Runnable run){
+			execution.reset( );
+			values[1]=loops;
+			values[2]=values[3]=0;
+			long tid=Thread.currentThread( ).getId( );
+			long before=threads.getThreadAllocatedBytes( tid );
+			run.run( );
+			return threads.getThreadAllocatedBytes( tid ) - before;
+		}
+	}
 	//TODO - add   [Jump to invalid Instr Addr]
 }
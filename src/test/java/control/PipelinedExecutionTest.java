@@ -0,0 +1,234 @@
+package control;
+
+import _test.Tags;
+import _test.TestLogs;
+import _test.providers.InstrProvider;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import model.components.DataMemory;
+import model.components.RegisterBank;
+import model.instr.*;
+
+import util.logs.ExecutionLog;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.EX )
+class PipelinedExecutionTest {
+	private static TestLogs testLogs;
+	private static ExecutionLog actual;
+	private static final ArrayList<Instruction> instr_list=new ArrayList<>( );
+	
+	// Pipelined
+	private final int[] data=new int[ DataMemory.MAX_DATA_ITEMS ];
+	private final int[] values=new int[ 32 ];
+	private PipelinedExecution pipeline;
+	// Sequential, Expected
+	private final int[] seqData=new int[ DataMemory.MAX_DATA_ITEMS ];
+	private final int[] seqValues=new int[ 32 ];
+	
+	@BeforeAll
+	static void beforeAll ( ) {
+		testLogs=new TestLogs( );
+		actual=testLogs.actualExecution;
+	}
+	@BeforeEach
+	void setUp ( ) {
+		pipeline=new PipelinedExecution( testLogs.actualErrors, new DataMemory( data, actual ), new RegisterBank( values, actual ), instr_list );
+	}
+	@AfterEach
+	void tearDown ( ) {
+		instr_list.clear( );
+		assertFalse( actual.hasEntries( ) ); // Nothing Logged
+		testLogs.after( );
+	}
+	
+	private void assemble ( ) {
+		int pc=0x00400000;
+		for ( Instruction i : instr_list ) {
+			assertTrue( i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, pc ) );
+			pc+=4;
+		}
+	}
+	
+	/** Runs the sequential headless datapath on a copy of the initial registers, then the pipeline with/without forwarding */
+	private void runBoth (boolean forwarding) {
+		System.arraycopy( values, 0, seqValues, 0, 32 );
+		Execution execution=new Execution( actual, testLogs.actualErrors, new DataMemory( seqData, actual ),
+										   new RegisterBank( seqValues, actual ), instr_list );
+		execution.setHeadless( true );
+		execution.runToEnd( );
+		
+		pipeline.setForwarding( forwarding );
+		pipeline.runToEnd( );
+		System.out.println( pipeline.report( ) );
+		
+		assertArrayEquals( seqValues, values );
+		assertArrayEquals( seqData, data );
+	}
+	
+	@Nested
+	class Same_Result_As_Sequential {
+		
+		@ParameterizedTest ( name = "Forwarding[{0}]" )
+		@ValueSource ( booleans = { true, false } )
+		void Jumps_And_Memory (boolean forwarding) {
+			values[1]=4;
+			values[5]=0x10010000;
+			instr_list.add( new R_Type( "add", 1, 1, 2 ) );//0 -> 4
+			instr_list.add( new J_Type( "j", 0x00100003 ) );//4 -> J: 12
+			instr_list.add( new R_Type( "sub", 1, 1, 1 ) );//8 - skipped
+			instr_list.add( new I_Type( "addi", 1, 1, -40 ) );//12 <-
+			instr_list.add( new MemAccess( "sw", 5, 2, 8 ) );//16 -> data[1]=8
+			instr_list.add( new MemAccess( "lw", 5, 3, 8 ) );//20 -> R3=8
+			instr_list.add( new J_Type( "jal", 0x00100008 ) );//24 -> J: 32, R31=28
+			instr_list.add( new R_Type( "sub", 1, 1, 1 ) );//28 - skipped
+			instr_list.add( new Branch( "bne", 3, 0, 1 ) );//32 -> Load-Use, taken: 40
+			instr_list.add( new R_Type( "sub", 1, 1, 1 ) );//36 - skipped
+			assemble( );
+			
+			runBoth( forwarding );
+			assertEquals( 8, values[ 3 ] );
+			assertEquals( 0x0040001C, values[ 31 ] );
+		}
+		
+		@ParameterizedTest ( name = "Forwarding[{0}]" )
+		@ValueSource ( booleans = { true, false } )
+		void Dependent_Loop (boolean forwarding) {
+			values[1]=20;
+			values[5]=0x10010000;
+			instr_list.add( new I_Type( "addi", 2, 2, 3 ) );//0 <-
+			instr_list.add( new R_Type( "add", 2, 3, 3 ) );//4 RAW R2
+			instr_list.add( new MemAccess( "sw", 5, 3, 0 ) );//8 RAW R3
+			instr_list.add( new MemAccess( "lw", 5, 4, 0 ) );//12
+			instr_list.add( new R_Type( "add", 4, 4, 6 ) );//16 Load-Use R4
+			instr_list.add( new I_Type( "addi", 1, 1, -1 ) );//20
+			instr_list.add( new Branch( "bne", 1, 0, -7 ) );//24 -> 0, while R1!=0
+			instr_list.add( new Nop( "exit" ) );//28
+			instr_list.add( new I_Type( "addi", 7, 7, 1 ) );//32 - Never Run
+			assemble( );
+			
+			runBoth( forwarding );
+			assertEquals( 630, values[ 3 ] );
+			assertEquals( 1260, values[ 6 ] );
+			assertEquals( 0, values[ 7 ] );
+		}
+		
+		@ParameterizedTest ( name = "Forwarding[{0}]" )
+		@ValueSource ( booleans = { true, false } )
+		void Interrupted_ByError (boolean forwarding) {
+			values[30]=0x10010005;
+			instr_list.add( new I_Type( "addi", 1, 1, 5 ) );//0
+			instr_list.add( new MemAccess( "lw", 30, 2, 40 ) );//4 -> * ERROR
+			instr_list.add( new R_Type( "add", 1, 1, 3 ) );//8 Not Run
+			assemble( );
+			
+			runBoth( forwarding );
+			assertEquals( 5, values[ 1 ] );
+			assertEquals( 0, values[ 3 ] );
+			testLogs.expectedErrors.appendEx( "Data Address [0x1001002D, 268501037] Must Be DoubleWord Aligned" );
+			testLogs.expectedErrors.appendEx( "Data Address [0x1001002D, 268501037] Must Be DoubleWord Aligned" );
+		}
+		
+		@Test
+		void Jump_Out_Of_Range ( ) {
+			instr_list.add( new J_Type( "j", 0x00000000 ) );//0 -> * ERROR
+			instr_list.add( new I_Type( "addi", 1, 1, 5 ) );//4 Flushed
+			assemble( );
+			
+			runBoth( true );
+			assertEquals( 0, values[ 1 ] );
+			testLogs.expectedErrors.append( "Instruction Address [0x00000000, 0]  0x00000000 Not In Range!" );
+			testLogs.expectedErrors.append( "Instruction Address [0x00000000, 0]  0x00000000 Not In Range!" );
+		}
+	}
+	
+	@Nested
+	class CPI {
+		
+		@Test
+		void No_Hazards ( ) {
+			instr_list.add( new R_Type( "add", 1, 1, 2 ) );
+			instr_list.add( new R_Type( "add", 1, 1, 3 ) );
+			instr_list.add( new R_Type( "add", 1, 1, 4 ) );
+			instr_list.add( new Nop( "exit" ) );
+			assemble( );
+			pipeline.runToEnd( );
+			
+			assertEquals( 4, pipeline.getInstructions( ) );
+			assertEquals( 4 + 4, pipeline.getCycles( ) ); // Fill the pipeline, then 1 per cycle
+			assertEquals( 0, pipeline.getStalls( ) );
+			assertEquals( 2.0, pipeline.getCPI( ) );
+		}
+		
+		@Test
+		void Forwarding_Removes_RAW_Stalls ( ) {
+			values[1]=1;
+			instr_list.add( new R_Type( "add", 1, 1, 2 ) );
+			instr_list.add( new R_Type( "add", 2, 2, 3 ) );// RAW R2, distance 1
+			instr_list.add( new Nop( "exit" ) );
+			assemble( );
+			
+			pipeline.runToEnd( );
+			assertEquals( 0, pipeline.getStalls( ) );
+			assertEquals( 4, values[ 3 ] );
+			
+			pipeline.reset( );
+			values[2]=values[3]=0;
+			pipeline.setForwarding( false );
+			pipeline.runToEnd( );
+			assertEquals( 2, pipeline.getStalls( ) ); // Waits for WB
+			assertEquals( 3 + 4 + 2, pipeline.getCycles( ) );
+			assertEquals( 4, values[ 3 ] );
+		}
+		
+		@Test
+		void Load_Use_Stall ( ) {
+			values[5]=0x10010000;
+			data[ 0 ]=7;
+			instr_list.add( new MemAccess( "lw", 5, 1, 0 ) );
+			instr_list.add( new R_Type( "add", 1, 1, 2 ) );// Load-Use R1
+			instr_list.add( new Nop( "exit" ) );
+			assemble( );
+			pipeline.runToEnd( );
+			
+			assertEquals( 1, pipeline.getStalls( ) );
+			assertEquals( 3 + 4 + 1, pipeline.getCycles( ) );
+			assertEquals( 14, values[ 2 ] );
+		}
+		
+		@Test
+		void Taken_Branch_Flush ( ) {
+			instr_list.add( new Branch( "beq", 0, 0, 2 ) );// Taken -> 12
+			instr_list.add( new I_Type( "addi", 1, 1, 1 ) );// Flushed
+			instr_list.add( new I_Type( "addi", 2, 2, 1 ) );// Flushed
+			instr_list.add( new Nop( "exit" ) );
+			assemble( );
+			pipeline.runToEnd( );
+			
+			assertEquals( 1, pipeline.getFlushes( ) );
+			assertEquals( 2, pipeline.getInstructions( ) );
+			assertEquals( 2 + 4 + 2, pipeline.getCycles( ) );
+			assertEquals( 0, values[ 1 ] );
+			assertEquals( 0, values[ 2 ] );
+		}
+		
+		@Test
+		void Report ( ) {
+			instr_list.add( new Nop( "exit" ) );
+			assemble( );
+			pipeline.runToEnd( );
+			assertEquals( "Cycles[5], Instructions[1], CPI[5.000],\tStalls[0], Flushes[0], Forwarding[On]", pipeline.report( ) );
+		}
+	}
+	
+	@Test
+	void Not_Assembled ( ) {
+		instr_list.add( new J_Type( "j", "panda" ) );
+		assertThrows( IllegalStateException.class, ( ) -> pipeline.runToEnd( ) );
+	}
+}
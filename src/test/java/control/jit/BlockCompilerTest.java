@@ -0,0 +1,195 @@
+package control.jit;
+
+import _test.Tags;
+import _test.TestLogs;
+import _test.providers.InstrProvider;
+import control.Execution;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import model.ProgramImage;
+import model.components.DataMemory;
+import model.components.RegisterBank;
+import model.instr.*;
+
+import util.logs.ExecutionLog;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.EX )
+class BlockCompilerTest {
+	private static TestLogs testLogs;
+	private static ExecutionLog actual;
+	private static final ArrayList<Instruction> instr_list=new ArrayList<>( );
+	
+	// Compiled
+	private final int[] data=new int[ DataMemory.MAX_DATA_ITEMS ];
+	private final int[] values=new int[ 32 ];
+	// Interpreted, Expected
+	private final int[] intData=new int[ DataMemory.MAX_DATA_ITEMS ];
+	private final int[] intValues=new int[ 32 ];
+	
+	@BeforeAll
+	static void beforeAll ( ) {
+		testLogs=new TestLogs( );
+		actual=testLogs.actualExecution;
+	}
+	@AfterEach
+	void tearDown ( ) {
+		instr_list.clear( );
+		assertFalse( actual.hasEntries( ) ); // Nothing Logged
+		testLogs.after( );
+	}
+	
+	private void assemble ( ) {
+		int pc=0x00400000;
+		for ( Instruction i : instr_list ) {
+			assertTrue( i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, pc ) );
+			pc+=4;
+		}
+	}
+	
+	/** Runs the program interpreted, then compiled by the tier from the same initial registers. (Creating an Execution clears the ErrorLog) */
+	private void runBoth (Execution.Tier tier) {
+		System.arraycopy( values, 0, intValues, 0, 32 );
+		Execution interpreted=new Execution( actual, testLogs.actualErrors, new DataMemory( intData, actual ),
+											 new RegisterBank( intValues, actual ), instr_list );
+		interpreted.setHeadless( true );
+		interpreted.runToEnd( );
+		
+		Execution compiled=new Execution( actual, testLogs.actualErrors, new DataMemory( data, actual ),
+										  new RegisterBank( values, actual ), instr_list );
+		compiled.setHeadless( true );
+		compiled.setTier( tier );
+		compiled.runToEnd( );
+		assertNull( compiled.runStep_NoOutput( ) ); // Exited
+		
+		assertArrayEquals( intValues, values );
+		assertArrayEquals( intData, data );
+	}
+	
+	@Test
+	void Blocks_Split_At_Targets ( ) {
+		instr_list.add( new I_Type( "addi", 1, 1, 3 ) );//0	Block 0
+		instr_list.add( new I_Type( "addi", 2, 2, 1 ) );//1	Block 1 <- Loop
+		instr_list.add( new I_Type( "addi", 1, 1, -1 ) );//2
+		instr_list.add( new Branch( "bne", 1, 0, -3 ) );//3 -> 1
+		instr_list.add( new J_Type( "jal", 0x00100006 ) );//4	Block 4 -> 6
+		instr_list.add( new R_Type( "sub", 1, 1, 1 ) );//5	Block 5
+		instr_list.add( new Nop( "exit" ) );//6	Block 6
+		assemble( );
+		
+		CompiledProgram program=BlockCompiler.compile( ProgramImage.predecode( instr_list ) );
+		assertEquals( 5, program.size( ) );
+		for ( int start : new int[]{ 0, 1, 4, 5, 6 } )
+			assertNotNull( program.blockAt( start ), "Block["+start+"]" );
+		assertNull( program.blockAt( 2 ) ); // Middle of a block
+		assertNull( program.blockAt( 7 ) ); // Auto Exit
+		
+		int[] regs=new int[ 32 ];
+		DataMemory mem=new DataMemory( actual );
+		assertEquals( 1, program.blockAt( 0 ).run( regs, mem ) );
+		assertEquals( 1, program.blockAt( 1 ).run( regs, mem ) ); // Taken R1=2
+		assertEquals( 1, program.blockAt( 1 ).run( regs, mem ) ); // Taken R1=1
+		assertEquals( 4, program.blockAt( 1 ).run( regs, mem ) ); // Not Taken R1=0
+		assertEquals( 3, regs[ 2 ] );
+		assertEquals( 6, program.blockAt( 4 ).run( regs, mem ) );
+		assertEquals( 0x00400014, regs[ 31 ] );
+		assertEquals( Block.EXIT, program.blockAt( 6 ).run( regs, mem ) );
+	}
+	
+	@Nested
+	class Same_Result_As_Interpreter {
+		
+		@ParameterizedTest ( name = "{0}" )
+		@EnumSource ( value = Execution.Tier.class, names = { "CLOSURES", "BYTECODE" } )
+		void Jumps_And_Memory (Execution.Tier tier) {
+			values[1]=4;
+			values[5]=0x10010000;
+			instr_list.add( new R_Type( "add", 1, 1, 2 ) );//0 -> 4
+			instr_list.add( new J_Type( "j", 0x00100003 ) );//4 -> J: 12
+			instr_list.add( new R_Type( "sub", 1, 1, 1 ) );//8 - skipped
+			instr_list.add( new I_Type( "addi", 1, 1, -40 ) );//12 <-
+			instr_list.add( new MemAccess( "sw", 5, 2, 8 ) );//16 -> data[1]=8
+			instr_list.add( new MemAccess( "lw", 5, 3, 8 ) );//20 -> R3=8
+			instr_list.add( new MemAccess( "lw", 5, 0, 8 ) );//24 -> $zero unchanged
+			instr_list.add( new J_Type( "jal", 0x00100009 ) );//28 -> J: 36, R31=32
+			instr_list.add( new R_Type( "sub", 1, 1, 1 ) );//32 - skipped
+			instr_list.add( new Branch( "bne", 3, 0, 1 ) );//36 -> taken: 44
+			instr_list.add( new R_Type( "sub", 1, 1, 1 ) );//40 - skipped
+			assemble( );
+			
+			runBoth( tier );
+			assertEquals( 8, values[ 3 ] );
+			assertEquals( 0x00400020, values[ 31 ] );
+		}
+		
+		@ParameterizedTest ( name = "{0}" )
+		@EnumSource ( value = Execution.Tier.class, names = { "CLOSURES", "BYTECODE" } )
+		void All_Branches (Execution.Tier tier) {
+			values[1]=-3;
+			values[2]=5;
+			String[] branches={ "beq", "bne", "blt", "bge", "ble", "bgt" };
+			for ( int b=0; b<branches.length; b++ ) {
+				instr_list.add( new Branch( branches[ b ], 1, 2, 1 ) );
+				instr_list.add( new I_Type( "addi", 10 + b, 10 + b, 1 ) );// Only run when Not Taken
+				instr_list.add( new Branch( branches[ b ], 2, 1, 1 ) );
+				instr_list.add( new I_Type( "addi", 20 + b, 20 + b, 1 ) );
+				instr_list.add( new Branch( branches[ b ], 1, 1, 1 ) );
+				instr_list.add( new I_Type( "addi", 26 + b/2, 26 + b/2, 1<<(b%2) ) );
+			}
+			assemble( );
+			
+			runBoth( tier );
+		}
+		
+		@ParameterizedTest ( name = "{0}" )
+		@EnumSource ( value = Execution.Tier.class, names = { "CLOSURES", "BYTECODE" } )
+		void Loop (Execution.Tier tier) {
+			values[1]=1000;
+			values[5]=0x10010000;
+			instr_list.add( new I_Type( "addi", 2, 2, 3 ) );//0 <-
+			instr_list.add( new R_Type( "add", 2, 3, 3 ) );//4
+			instr_list.add( new R_Type( "sub", 3, 2, 4 ) );//8
+			instr_list.add( new MemAccess( "sw", 5, 3, 0 ) );//12
+			instr_list.add( new I_Type( "addi", 1, 1, -1 ) );//16
+			instr_list.add( new Branch( "bgt", 1, 0, -6 ) );//20 -> 0, while R1>0
+			instr_list.add( new Nop( "halt" ) );//24
+			instr_list.add( new I_Type( "addi", 7, 7, 1 ) );//28 - Never Run
+			assemble( );
+			
+			runBoth( tier );
+			assertEquals( 3000, values[ 2 ] );
+			assertEquals( 0, values[ 7 ] );
+		}
+		
+		@ParameterizedTest ( name = "{0}" )
+		@EnumSource ( value = Execution.Tier.class, names = { "CLOSURES", "BYTECODE" } )
+		void Interrupted_ByError (Execution.Tier tier) {
+			values[30]=0x10010005;
+			instr_list.add( new I_Type( "addi", 1, 1, 5 ) );//0
+			instr_list.add( new MemAccess( "lw", 30, 2, 40 ) );//4 -> * ERROR
+			instr_list.add( new R_Type( "add", 1, 1, 3 ) );//8 Not Run
+			assemble( );
+			
+			runBoth( tier );
+			assertEquals( 5, values[ 1 ] );
+			testLogs.expectedErrors.appendEx( "Data Address [0x1001002D, 268501037] Must Be DoubleWord Aligned" );
+		}
+		
+		@ParameterizedTest ( name = "{0}" )
+		@EnumSource ( value = Execution.Tier.class, names = { "CLOSURES", "BYTECODE" } )
+		void Jump_Out_Of_Range (Execution.Tier tier) {
+			instr_list.add( new I_Type( "addi", 1, 1, 5 ) );//0
+			instr_list.add( new J_Type( "j", 0x00000000 ) );//4 -> * ERROR
+			assemble( );
+			
+			runBoth( tier );
+			assertEquals( 5, values[ 1 ] );
+			testLogs.expectedErrors.append( "Instruction Address [0x00000000, 0]  0x00000000 Not In Range!" );
+		}
+	}
+}
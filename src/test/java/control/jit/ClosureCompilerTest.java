@@ -0,0 +1,140 @@
+package control.jit;
+
+import _test.Tags;
+import _test.TestLogs;
+import _test.providers.InstrProvider;
+import org.junit.jupiter.api.*;
+
+import model.ProgramImage;
+import model.components.DataMemory;
+import model.instr.*;
+
+import util.validation.InstructionValidation;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.EX )
+class ClosureCompilerTest {
+	private static TestLogs testLogs;
+	private static final ArrayList<Instruction> instr_list=new ArrayList<>( );
+	private final int[] data=new int[ DataMemory.MAX_DATA_ITEMS ];
+	private final int[] regs=new int[ 32 ];
+	private DataMemory mem;
+	
+	@BeforeEach
+	void setUp ( ) {
+		testLogs=new TestLogs( );
+		mem=new DataMemory( data, testLogs.actualExecution );
+	}
+	@AfterEach
+	void tearDown ( ) {
+		instr_list.clear( );
+		testLogs.after( );
+	}
+	
+	private CompiledProgram compile ( ) {
+		int pc=0x00400000;
+		for ( Instruction i : instr_list ) {
+			assertTrue( i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, pc ) );
+			pc+=4;
+		}
+		return ClosureCompiler.compile( ProgramImage.predecode( instr_list ) );
+	}
+	
+	@Test
+	void Handler_For_Every_Instruction ( ) {
+		instr_list.add( new R_Type( "add", 1, 2, 3 ) );
+		instr_list.add( new MemAccess( "sw", 5, 2, 8 ) );
+		instr_list.add( new Branch( "blt", 1, 2, -3 ) );
+		instr_list.add( new J_Type( "j", 0x00100000 ) );
+		instr_list.add( new Nop( "exit" ) );
+		CompiledProgram program=compile( );
+		
+		assertEquals( 5, program.size( ) );
+		assertNull( program.blockAt( 5 ) ); // Auto Exit, interpreted
+	}
+	
+	/** Handlers are bound from the Control Signals, Every opcode has one */
+	@Test
+	void Handler_For_Every_Opcode ( ) {
+		instr_list.add( new R_Type( "add", 1, 2, 3 ) );
+		instr_list.add( new R_Type( "sub", 1, 2, 3 ) );
+		instr_list.add( new I_Type( "addi", 1, 2, 3 ) );
+		instr_list.add( new MemAccess( "lw", 5, 2, 8 ) );
+		instr_list.add( new MemAccess( "sw", 5, 2, 8 ) );
+		instr_list.add( new J_Type( "j", 0x00100000 ) );
+		instr_list.add( new J_Type( "jal", 0x00100000 ) );
+		for ( String b : new String[] { "beq", "bne", "blt", "bge", "ble", "bgt" } )
+			instr_list.add( new Branch( b, 1, 2, -3 ) );
+		instr_list.add( new Nop( "exit" ) );
+		instr_list.add( new Nop( "halt" ) );
+		assertEquals( InstructionValidation.SPEC.size( ) - InstructionValidation.INTERNAL_OPCODES.size( ), instr_list.size( ) );
+		CompiledProgram program=compile( );
+		
+		for ( int i=0; i<instr_list.size( ); i++ )
+			assertNotNull( program.blockAt( i ), instr_list.get( i ).getOpcode( ) );
+	}
+	
+	@Test
+	void Register_Handlers ( ) {
+		regs[1]=7;
+		regs[2]=3;
+		instr_list.add( new R_Type( "add", 1, 2, 3 ) );
+		instr_list.add( new R_Type( "sub", 1, 2, 4 ) );
+		instr_list.add( new I_Type( "addi", 1, 5, -10 ) );
+		instr_list.add( new R_Type( "add", 1, 2, 0 ) );// $zero, not written
+		CompiledProgram program=compile( );
+		
+		for ( int i=0; i<4; i++ )
+			assertEquals( i + 1, program.blockAt( i ).run( regs, mem ) );
+		assertEquals( 10, regs[ 3 ] );
+		assertEquals( 4, regs[ 4 ] );
+		assertEquals( -3, regs[ 5 ] );
+		assertEquals( 0, regs[ 0 ] );
+	}
+	
+	@Test
+	void Memory_Handlers ( ) {
+		regs[5]=0x10010000;
+		regs[2]=42;
+		instr_list.add( new MemAccess( "sw", 5, 2, 8 ) );
+		instr_list.add( new MemAccess( "lw", 5, 3, 8 ) );
+		instr_list.add( new MemAccess( "lw", 5, 0, 4 ) );// Misaligned, $zero is still read
+		CompiledProgram program=compile( );
+		
+		program.blockAt( 0 ).run( regs, mem );
+		program.blockAt( 1 ).run( regs, mem );
+		assertEquals( 42, data[ 1 ] );
+		assertEquals( 42, regs[ 3 ] );
+		assertThrows( IllegalArgumentException.class, ( ) -> program.blockAt( 2 ).run( regs, mem ) );
+	}
+	
+	@Test
+	void Branch_Handlers ( ) {
+		regs[1]=-1;
+		regs[2]=1;
+		String[] branches={ "beq", "bne", "blt", "bge", "ble", "bgt" };
+		boolean[] taken={ false, true, true, false, true, false }; // -1 ? 1
+		for ( String b : branches )
+			instr_list.add( new Branch( b, 1, 2, 4 ) );
+		CompiledProgram program=compile( );
+		
+		for ( int i=0; i<branches.length; i++ )
+			assertEquals( taken[ i ] ? i + 5 : i + 1, program.blockAt( i ).run( regs, mem ), branches[ i ] );
+	}
+	
+	@Test
+	void Jump_Handlers ( ) {
+		instr_list.add( new J_Type( "j", 0x00100002 ) );
+		instr_list.add( new J_Type( "jal", 0x00100000 ) );
+		instr_list.add( new Nop( "halt" ) );
+		CompiledProgram program=compile( );
+		
+		assertEquals( 2, program.blockAt( 0 ).run( regs, mem ) );
+		assertEquals( 0, program.blockAt( 1 ).run( regs, mem ) );
+		assertEquals( 0x00400008, regs[ 31 ] );
+		assertEquals( Block.EXIT, program.blockAt( 2 ).run( regs, mem ) );
+	}
+}
@@ -34,7 +34,6 @@ class MemoryBuilderTest {
 	private static final String ASCIIZ_DATA="\"Example of ASCII TEXT\"";
 	private static final String BLANK="      ";
 	private static final String WORD=".word";
-	private static final double DELTA=0.000001d; //5sf
 	private static final double DATA_MAX=DataMemory.MAX_DATA_ITEMS;
 	private static final List<String> inValid_For_Word_Type=
 			Arrays.asList( "" + Double.MAX_VALUE, "" + Double.MIN_VALUE, DEC_ZERO, ASCII_DATA, ASCIIZ_DATA );
@@ -84,15 +83,14 @@ class MemoryBuilderTest {
 			void Add_Single_Data_Word (String hexWord, int intWord) {//Int
 				assertTrue( mb.addData( WORD, ""+intWord, errors ) );
 				//mb.retrieveData().size()-1  most recently added data is at the index "size()-1"
-				// Data in DataManager is stored as double, so Delta is necessary
-				assertEquals( Integer.parseInt( ""+intWord ), mb.retrieveData( ).get( mb.retrieveData( ).size( ) - 1 ), DELTA );
+				assertEquals( intWord, mb.retrieveData( )[ mb.dataCount( ) - 1 ] );
 			}
 			
 			@ParameterizedTest ( name="[{index}] Adding Single Valid Word[{0}]" )
 			@ArgumentsSource ( ImmediateProvider._32Bit.class )
 			void Add_Single_Data_Word_HEX (String hexWord) {//Hex
 				assertFalse( mb.addData( WORD, hexWord, errors ) );	//TODO - Hex Integer Support in Memory
-				//assertEquals( Integer.decode( hexWord ).doubleValue( ), mb.retrieveData( ).get( mb.retrieveData( ).size( ) - 1 ), DELTA );
+				//assertEquals( (int) Integer.decode( hexWord ), mb.retrieveData( )[ mb.dataCount( ) - 1 ] );
 				testLogs.expectedErrors.appendEx( FMT_MSG.data.NotValFor_WordType( hexWord ));
 			}
 			
@@ -108,7 +106,7 @@ class MemoryBuilderTest {
 					assertFalse( mb.addData( WORD, inv, errors ) );
 					testLogs.expectedErrors.appendEx( FMT_MSG.data.NotValFor_WordType( inv ));
 				}
-				assertTrue( mb.retrieveData( ).isEmpty( ) ); // No Data Successfully Added
+				assertTrue( mb.dataCount( )==0 ); // No Data Successfully Added
 			}
 			
 			@ParameterizedTest ( name="[{index}] Adding Single Valid Word[{1}]" )
@@ -116,7 +114,7 @@ class MemoryBuilderTest {
 			void Invalid_Not_Signed_Int (String hexWord, long longWord) {
 				assertFalse( mb.addData( WORD, ""+longWord, errors ) );
 				testLogs.expectedErrors.appendEx( FMT_MSG.data.NotValSignedInt( ""+longWord ));
-				assertTrue( mb.retrieveData( ).isEmpty( ) ); // Data Not Added
+				assertTrue( mb.dataCount( )==0 ); // Data Not Added
 			}
 			
 			@ParameterizedTest ( name="[{index}] Invalid AddData Blank/Null Input: [{0}]" )
@@ -136,14 +134,14 @@ class MemoryBuilderTest {
 			void AddData_Range_Word (int range_N) {
 				assertTrue( mb.addData( WORD, 20 + ":" + range_N, errors ) ); // Added Successfully
 				
-				assertEquals( 20.0, mb.retrieveData( ).get( mb.retrieveData( ).size( ) - 1 ), DELTA );
+				assertEquals( 20, mb.retrieveData( )[ mb.dataCount( ) - 1 ] );
 			}
 			
 			@Test
 			void Invalid_AddData_Range_Zero ( ) {
 				assertTrue( mb.addData( WORD, 20 + ":" + INT_ZERO, errors ) );
 				// Adding a Range of "0" Elements, should return true, but not actually affect the Data.
-				assertTrue( mb.retrieveData( ).isEmpty( ) );
+				assertTrue( mb.dataCount( )==0 );
 				// No Errors for this scenario
 				//TODO - A Warning could be issued for this scenario
 			}
@@ -162,12 +160,12 @@ class MemoryBuilderTest {
 				
 				assertFalse( mb.addData( WORD, five + ":" + Integer.MAX_VALUE, errors ) );
 				
-				HashMap<Integer, Double> data=mb.retrieveData( );
+				int[] data=mb.retrieveData( );
 				
-				assertEquals( DataMemory.MAX_DATA_ITEMS, data.size( ) ); // size stops increasing at the limit
+				assertEquals( DataMemory.MAX_DATA_ITEMS, mb.dataCount( ) ); // size stops increasing at the limit
 				// first 256 items should be set // All
-				for ( int i=0; i<data.size( ); i++ ) {
-					assertEquals( 5.0, data.get( i ), DELTA );
+				for ( int i=0; i<mb.dataCount( ); i++ ) {
+					assertEquals( 5, data[ i ] );
 				}
 				
 			}
@@ -194,22 +192,21 @@ class MemoryBuilderTest {
 			void AddData_CSVArray ( ) {
 				// build array of MAX_DATA items
 				Random random = new Random();
-				ArrayList<Double> copy=new ArrayList<>( );
+				ArrayList<Integer> copy=new ArrayList<>( );
 				int val=random.nextInt( );
 				StringBuilder arrCSV=new StringBuilder( "" + val );
-				copy.add( (double) val );    // value 1
+				copy.add( val );    // value 1
 				for ( int c=1; c<DATA_MAX; c++ ) {    // N-1 commas = N values
 					val=random.nextInt( );
 					arrCSV.append( " , " ).append( val );
-					copy.add( (double) val );
+					copy.add( val );
 				}
 				
 				assertTrue( mb.addData( WORD, arrCSV.toString( ), errors ) );
-				// Data in DataManager is stored as double, so Delta is necessary
-				HashMap<Integer, Double> data=mb.retrieveData( );
+				int[] data=mb.retrieveData( );
 				
-				for ( int i=0; i<data.size( ); i++ ) {
-					assertEquals( copy.get( i ), data.get( i ), DELTA );
+				for ( int i=0; i<mb.dataCount( ); i++ ) {
+					assertEquals( (int) copy.get( i ), data[ i ] );
 				}
 			}
 			
@@ -218,27 +215,26 @@ class MemoryBuilderTest {
 				// Trying to use MAX_VALUE leads to Java running out of memory
 				int TEST_LIMIT=(int) (DATA_MAX*2); // value of DATA_MAX(256) *4 causes StackOverflow
 				// build array of MAX_DATA items
-				ArrayList<Double> copy=new ArrayList<>( );
+				ArrayList<Integer> copy=new ArrayList<>( );
 				int val=0;
 				StringBuilder arrCSV=new StringBuilder( "" + val );
-				copy.add( (double) val );    // value 1
+				copy.add( val );    // value 1
 				for ( int c=0; c<TEST_LIMIT; c++ ) {    // N-1 commas = N values
 					arrCSV.append( ", " ).append( val+1 );
 					
 					if ( c<DATA_MAX ) // only copy up to DATA_MAX
-						copy.add( (double) val+1 );
+						copy.add( val+1 );
 					val++;
 				}
 				
 				assertFalse( mb.addData( WORD, arrCSV.toString( ), errors ) );
 				testLogs.expectedErrors.appendEx( "CSV Too Large, stopped parsing at 256th Segment" );
-				// Data in DataManager is stored as double, so Delta is necessary
-				HashMap<Integer, Double> data=mb.retrieveData( );
+				int[] data=mb.retrieveData( );
 				
-				assertEquals( DataMemory.MAX_DATA_ITEMS, data.size( ) ); // expect stops  adding items at size limit
+				assertEquals( DataMemory.MAX_DATA_ITEMS, mb.dataCount( ) ); // expect stops  adding items at size limit
 				
-				for ( int i=0; i<data.size( ); i++ ) {
-					assertEquals( copy.get( i ), data.get( i ), DELTA );
+				for ( int i=0; i<mb.dataCount( ); i++ ) {
+					assertEquals( (int) copy.get( i ), data[ i ] );
 				}
 			}
 			
@@ -252,12 +248,12 @@ class MemoryBuilderTest {
 				testLogs.expectedErrors.appendEx(FMT_MSG.data.NotValSignedInt( "- 9",5 ));
 				
 				// reminder of values should have been placed
-				HashMap<Integer, Double> data=mb.retrieveData( );
-				assertEquals( 4, data.size( ) );
-				assertEquals( -567, data.get( 0 ), DELTA );
-				assertEquals( 800, data.get( 1 ), DELTA );
-				assertEquals( 5, data.get( 2 ), DELTA );
-				assertEquals( 100, data.get( 3 ), DELTA );
+				int[] data=mb.retrieveData( );
+				assertEquals( 4, mb.dataCount( ) );
+				assertEquals( -567, data[ 0 ] );
+				assertEquals( 800, data[ 1 ] );
+				assertEquals( 5, data[ 2 ] );
+				assertEquals( 100, data[ 3 ] );
 			}
 			
 			@Test
@@ -270,9 +266,9 @@ class MemoryBuilderTest {
 				testLogs.expectedErrors.appendEx(FMT_MSG.data.NotValSignedInt( "",2 ));
 				
 				// reminder of values should have been placed
-				HashMap<Integer, Double> data=mb.retrieveData( );
-				assertEquals( 1, data.size( ) );
-				assertEquals( -567, data.get( 0 ), DELTA );
+				int[] data=mb.retrieveData( );
+				assertEquals( 1, mb.dataCount( ) );
+				assertEquals( -567, data[ 0 ] );
 			}
 		}
 		
@@ -281,7 +277,7 @@ class MemoryBuilderTest {
 		@ArgumentsSource ( SetupProvider.InvalidDataTypes.class )
 		void Invalid_AddData_Invalid_DataType (String dataType) {
 			assertThrows( IllegalStateException.class, ( ) -> mb.addData( dataType, "20", errors ) );
-			assertTrue( mb.retrieveData( ).isEmpty( ) );
+			assertTrue( mb.dataCount( )==0 );
 		}
 		
 	}
@@ -365,8 +361,8 @@ class MemoryBuilderTest {
 			mb.pushLabel("polar_bear");// -> #4
 			mb.addData(WORD,"50", errors);	// 0x10010020 #4
 			// Data In Correct Places
-			assertEquals(25, mb.retrieveData().get(0));
-			assertEquals(50, mb.retrieveData().get(3));
+			assertEquals(25, mb.retrieveData()[0]);
+			assertEquals(50, mb.retrieveData()[3]);
 			assertTrue(mb.getLabels().isEmpty()); // No Labels Remaining
 			// Labels Point to Expected Addresses
 			assertEquals(0x10010000, mb.getLabelMap().get("panda"));
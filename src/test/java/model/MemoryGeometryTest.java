@@ -0,0 +1,144 @@
+package model;
+
+import _test.Tags;
+import _test.TestLogs;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import control.Execution;
+import model.components.DataMemory;
+import model.components.InstrMemory;
+import model.components.RegisterBank;
+
+import setup.Parser;
+import util.SimulatorContext;
+import util.logs.ErrorLog;
+import util.logs.ExecutionLog;
+import util.logs.WarningsLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.Pkg.MOD )
+@DisplayName( Tags.Pkg.MOD+" : Memory Geometry Test" )
+class MemoryGeometryTest {
+	private static final MemoryGeometry LARGE=MemoryGeometry.of( 1024, 2048, 4096 );
+	private static final SimulatorContext CONTEXT=SimulatorContext.headless( ).withGeometry( LARGE );
+	private static final int WORDS=1000;
+	private static final int ADDS=600;
+	private TestLogs testLogs;
+	
+	@BeforeEach
+	void setUp ( ) {
+		testLogs=new TestLogs( );
+	}
+	@AfterEach
+	void tearDown ( ) {
+		testLogs.after( );
+	}
+	
+	@Test
+	void Default ( ) {
+		MemoryGeometry geometry=MemoryGeometry.DEFAULT;
+		assertSame( geometry, SimulatorContext.headless( ).getGeometry( ) );
+		assertSame( geometry, MemoryGeometry.of( InstrMemory.MAX_INSTR_COUNT, DataMemory.MAX_DATA_ITEMS, Parser.MAX_LINES ) );
+		assertEquals( InstrMemory.OVER_SUPPORTED_INSTR_ADDRESS, geometry.getOverSupportedInstrAddress( ) );
+		assertEquals( DataMemory.OVER_SUPPORTED_DATA_ADDRESS, geometry.getOverSupportedDataAddress( ) );
+	}
+	
+	@Test
+	void Large ( ) {
+		assertEquals( 1024, LARGE.getMaxInstructions( ) );
+		assertEquals( 2048, LARGE.getMaxDataWords( ) );
+		assertEquals( 4096, LARGE.getMaxLines( ) );
+		assertEquals( InstrMemory.OVER_SUPPORTED_INSTR_ADDRESS, LARGE.getOverSupportedInstrAddress( ) ); // Still under the default
+		assertEquals( 0x10010000 + 2048*8, LARGE.getOverSupportedDataAddress( ) );
+		assertEquals( 0x00400000 + (1<<20)*4 + 4, MemoryGeometry.of( 1<<20, 1, 1 ).getOverSupportedInstrAddress( ) );
+		assertSame( LARGE, CONTEXT.getGeometry( ) );
+	}
+	
+	@Test
+	void Invalid ( ) {
+		assertThrows( IllegalArgumentException.class, ( ) -> MemoryGeometry.of( 0, 1, 1 ) );
+		assertThrows( IllegalArgumentException.class, ( ) -> MemoryGeometry.of( MemoryGeometry.MAX_INSTRUCTIONS + 1, 1, 1 ) );
+		assertThrows( IllegalArgumentException.class, ( ) -> MemoryGeometry.of( 1, 0, 1 ) );
+		assertThrows( IllegalArgumentException.class, ( ) -> MemoryGeometry.of( 1, MemoryGeometry.MAX_DATA_WORDS + 1, 1 ) );
+		assertThrows( IllegalArgumentException.class, ( ) -> MemoryGeometry.of( 1, 1, 0 ) );
+		assertThrows( IllegalArgumentException.class, ( ) -> new DataMemory( new int[ 256 ], LARGE, testLogs.actualExecution ) );
+	}
+	
+	/** {@value #WORDS} words of data, {@value #ADDS} instructions, Over 1600 lines */
+	private static File largeProgram (Path dir) throws IOException {
+		final List<String> lines=new ArrayList<>( );
+		lines.add( ".data" );
+		lines.add( "ptr: .word 268500992" );    // Its own address
+		for ( int i=1; i<WORDS; i++ )
+			lines.add( ".word " + i );
+		lines.add( "last: .word 0" );
+		lines.add( ".text" );
+		lines.add( "lw $5, ptr" );
+		for ( int i=0; i<ADDS; i++ )
+			lines.add( "addi $2, $2, 1" );
+		lines.add( "lw $3, " + (WORDS - 1)*8 + "($5)" );
+		lines.add( "sw $2, " + WORDS*8 + "($5)" );
+		lines.add( "exit" );
+		final Path file=dir.resolve( "large.s" );
+		Files.write( file, lines );
+		return file.toFile( );
+	}
+	
+	@Test
+	void Large_Program_Runs (@TempDir Path dir) throws IOException {
+		final File file=largeProgram( dir );
+		final MemoryBuilder mb=new MemoryBuilder( testLogs.actualErrors, testLogs.actualWarnings, CONTEXT );
+		final Parser parser=new Parser( mb, testLogs.actualErrors, testLogs.actualWarnings );
+		assertTrue( parser.parseFile( file ) );
+		
+		final Program program=parser.build( );
+		assertNotNull( program );
+		assertSame( LARGE, program.getGeometry( ) );
+		assertEquals( ADDS + 4, program.getInstructions( ).size( ) );
+		assertEquals( 0x10010000 + WORDS*8, program.getSymbols( ).get( "last" ) );
+		assertEquals( LARGE.getMaxDataWords( ), program.getData( ).length );
+		
+		final ExecutionLog log=new ExecutionLog( new ArrayList<>( ) );
+		final DataMemory data=program.newDataMemory( log );
+		final int[] registers=new int[ 32 ];
+		final Execution execution=new Execution( log, testLogs.actualErrors, data,
+												 new RegisterBank( registers, log, CONTEXT ), program, CONTEXT );
+		execution.setHeadless( true );
+		execution.runToEnd( );
+		assertEquals( ADDS, registers[ 2 ] );
+		assertEquals( WORDS - 1, registers[ 3 ] );
+		assertEquals( ADDS, data.readData_NoOutput( 0x10010000 + WORDS*8 ) );
+		assertEquals( 0, data.pageCount( ) );    // Within the image
+	}
+	
+	@Test
+	void Large_Program_Default_Limits (@TempDir Path dir) throws IOException {
+		final File file=largeProgram( dir );
+		final ErrorLog errors=new ErrorLog( new ArrayList<>( ) );
+		final MemoryBuilder mb=new MemoryBuilder( errors, new WarningsLog( new ArrayList<>( ) ), SimulatorContext.headless( ) );
+		final Parser parser=new Parser( mb, errors, new WarningsLog( new ArrayList<>( ) ) );
+		assertFalse( parser.parseFile( file ) );
+		assertTrue( errors.toString( ).contains( "Has Too Many Lines!, Max Lines = [512]" ), errors.toString( ) );
+	}
+	
+	@Test
+	void Large_CSV_Stops_At_Limit ( ) {
+		final MemoryBuilder mb=new MemoryBuilder( testLogs.actualErrors, testLogs.actualWarnings, CONTEXT );
+		final StringBuilder csv=new StringBuilder( "0" );
+		for ( int i=1; i<=LARGE.getMaxDataWords( ) + 10; i++ )
+			csv.append( ", " ).append( i );
+		
+		assertFalse( mb.addData( ".word", csv.toString( ), testLogs.actualErrors ) );
+		testLogs.expectedErrors.appendEx( "CSV Too Large, stopped parsing at 2048th Segment" );
+		assertEquals( LARGE.getMaxDataWords( ), mb.dataCount( ) );
+	}
+}
@@ -0,0 +1,123 @@
+package model;
+
+import _test.Tags;
+import _test.TestLogs;
+import _test.providers.InstrProvider;
+import org.junit.jupiter.api.*;
+
+import model.instr.*;
+
+import util.validation.InstrSpec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.Pkg.MOD )
+@Tag( Tags.INSTR )
+@DisplayName( Tags.Pkg.MOD+" : "+Tags.INSTR+" ProgramImage Test" )
+class ProgramImageTest {
+	private static TestLogs testLogs;
+	private static final ArrayList<Instruction> instr_list=new ArrayList<>( );
+	
+	@BeforeEach
+	void setUp ( ) {
+		testLogs=new TestLogs( );
+	}
+	@AfterEach
+	void tearDown ( ) {
+		testLogs.after( );
+		instr_list.clear( );
+	}
+	
+	private ProgramImage assembleAndPredecode ( ) {
+		int pc=0x00400000;
+		for ( Instruction i : instr_list ) {
+			assertTrue( i.assemble( testLogs.actualErrors, InstrProvider.labelsMap, pc ) );
+			pc+=4;
+		}
+		return ProgramImage.predecode( instr_list );
+	}
+	
+	@Test
+	void Predecode_Operands ( ) {
+		instr_list.add( new R_Type( "sub", 1, 2, 3 ) );//0
+		instr_list.add( new I_Type( "addi", 4, 5, -40 ) );//1
+		instr_list.add( new MemAccess( "lw", 6, 7, 16 ) );//2
+		instr_list.add( new Nop( "exit" ) );//3
+		ProgramImage image=assembleAndPredecode( );
+		
+		assertEquals( 4, image.length( ) );
+		assertAll(
+				( ) -> assertEquals( InstrSpec.ordinalOf( "sub" ), image.getOpcode( 0 ) ),
+				( ) -> assertEquals( 1, image.getRS( 0 ) ),
+				( ) -> assertEquals( 2, image.getRT( 0 ) ),
+				( ) -> assertEquals( 3, image.getRD( 0 ) ),
+				
+				( ) -> assertEquals( InstrSpec.ordinalOf( "addi" ), image.getOpcode( 1 ) ),
+				( ) -> assertEquals( 4, image.getRS( 1 ) ),
+				( ) -> assertEquals( 5, image.getRT( 1 ) ),
+				( ) -> assertEquals( 0, image.getRD( 1 ) ),    // No RD -> $zero
+				( ) -> assertEquals( -40, image.getImm( 1 ) ),
+				
+				( ) -> assertEquals( InstrSpec.ordinalOf( "lw" ), image.getOpcode( 2 ) ),
+				( ) -> assertEquals( 16, image.getImm( 2 ) ),
+				
+				( ) -> assertEquals( InstrSpec.ordinalOf( "exit" ), image.getOpcode( 3 ) ),
+				( ) -> assertEquals( 0, image.getRS( 3 ) )
+		);
+	}
+	
+	@Test
+	void Predecode_Targets ( ) {
+		instr_list.add( new Branch( "beq", 1, 2, 1 ) );//0 -> 2
+		instr_list.add( new J_Type( "j", 0x00100003 ) );//1 -> 3
+		instr_list.add( new Branch( "bne", 1, 2, -2 ) );//2 -> 1
+		instr_list.add( new J_Type( "jal", "instr" ) );//3 -> 0x00400000 : 0
+		ProgramImage image=assembleAndPredecode( );
+		
+		assertAll(
+				( ) -> assertEquals( 2, image.getTarget( 0 ) ),
+				( ) -> assertEquals( 3, image.getTarget( 1 ) ),
+				( ) -> assertEquals( 1, image.getTarget( 2 ) ),
+				( ) -> assertEquals( 0, image.getTarget( 3 ) )
+		);
+	}
+	
+	@Test
+	void Auto_Exit ( ) {
+		instr_list.add( new R_Type( "add", 1, 2, 3 ) );
+		ProgramImage image=assembleAndPredecode( );
+		
+		assertFalse( image.isAutoExit( 0 ) );
+		assertTrue( image.isAutoExit( 1 ) );
+		assertTrue( image.isAutoExit( ProgramImage.OVER_SUPPORTED_INDEX-1 ) );
+		assertThrows( IndexOutOfBoundsException.class, ( ) -> image.isAutoExit( ProgramImage.OVER_SUPPORTED_INDEX ) );
+		assertThrows( IndexOutOfBoundsException.class, ( ) -> image.isAutoExit( -1 ) );
+	}
+	
+	@Test
+	void Not_Assembled ( ) {
+		List<Instruction> list=List.of( new R_Type( "add", 1, 2, 3 ), new J_Type( "j", "instr" ) );
+		assertThrows( IllegalStateException.class, ( ) -> ProgramImage.predecode( list ) );
+	}
+	
+	@Test
+	void Address_Index ( ) {
+		assertEquals( 0, ProgramImage.toIndex( 0x00400000 ) );
+		assertEquals( 3, ProgramImage.toIndex( 0x0040000C ) );
+		assertEquals( 0x0040000C, ProgramImage.toAddress( 3 ) );
+	}
+	
+	@Test
+	void Address_Cached ( ) {
+		instr_list.add( new R_Type( "add", 1, 2, 3 ) );
+		instr_list.add( new Nop( "exit" ) );
+		ProgramImage image=assembleAndPredecode( );
+		
+		assertEquals( 0x00400004, image.addressOf( 1 ) );
+		assertSame( image.addressOf( 2 ), image.addressOf( 2 ) ); // Auto Exit, one past the end
+		assertEquals( 0x00400040, image.addressOf( 16 ) ); // Not Cached
+	}
+}
@@ -0,0 +1,150 @@
+package model;
+
+import _test.Tags;
+import _test.TestLogs;
+import org.junit.jupiter.api.*;
+
+import control.Execution;
+import model.components.DataMemory;
+import model.components.RegisterBank;
+import model.instr.Instruction;
+
+import setup.Parser;
+import util.SimulatorContext;
+import util.logs.ErrorLog;
+import util.logs.ExecutionLog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.Pkg.MOD )
+@DisplayName( Tags.Pkg.MOD+" : Program Test" )
+class ProgramTest {
+	private static final SimulatorContext CONTEXT=SimulatorContext.headless( );
+	private TestLogs testLogs;
+	private MemoryBuilder mb;
+	private Parser parser;
+	
+	@BeforeEach
+	void setUp ( ) {
+		testLogs=new TestLogs( );
+		mb=new MemoryBuilder( testLogs.actualErrors, testLogs.actualWarnings, CONTEXT );
+		parser=new Parser( mb, testLogs.actualErrors, testLogs.actualWarnings );
+	}
+	@AfterEach
+	void tearDown ( ) {
+		testLogs.after( );
+	}
+	
+	/** Sums $1 down to 1 into data[1], $1 is the input */
+	private Program sum ( ) {
+		String[] lines={
+				".data",
+				"total: .word 0",
+				"       .word 0",
+				"ptr:   .word 268500992",    // Address of total
+				".text",
+				"lw $5, ptr",
+				"loop: add $2, $2, $1",
+				"addi $1, $1, -1",
+				"bne $1, $0, loop",
+				"sw $2, 8($5)",
+				"exit" };
+		for ( int i=0; i<lines.length; i++ )
+			assertTrue( parser.parseLine( lines[ i ], i + 1 ) );
+		Program program=parser.build( );
+		assertNotNull( program );
+		return program;
+	}
+	
+	@Test
+	void Frozen_Copy ( ) {
+		Program program=sum( );
+		assertEquals( 6, program.getInstructions( ).size( ) );    // lw label is 2
+		assertEquals( 0x10010000, program.getSymbols( ).get( "total" ) );
+		assertEquals( 0x10010010, program.getSymbols( ).get( "ptr" ) );
+		assertEquals( 0x00400004, program.getSymbols( ).get( "loop" ) );
+		assertArrayEquals( new int[]{ 0, 0, 268500992 }, Arrays.copyOf( program.getData( ), 3 ) );
+		assertEquals( DataMemory.MAX_DATA_ITEMS, program.getData( ).length );
+		program.getInstructions( ).forEach( ins -> assertTrue( ins.isFrozen( ) ) );
+		
+		assertThrows( UnsupportedOperationException.class, ( ) -> program.getInstructions( ).clear( ) );
+		program.getData( )[ 2 ]=1;    // Copy
+		assertThrows( UnsupportedOperationException.class, ( ) -> program.getSymbols( ).clear( ) );
+		
+		// Reusing the builder doesn't affect the program
+		mb.clear( );
+		assertEquals( 6, program.getInstructions( ).size( ) );
+		assertEquals( 268500992, program.getData( )[ 2 ] );
+		assertEquals( 3, program.getSymbols( ).size( ) );
+		
+		// Re-assembling a frozen instruction throws, and doesn't change it
+		Instruction loop=program.getInstructions( ).get( 3 );
+		String before=loop.toString( );
+		assertThrows( IllegalStateException.class, ( ) -> loop.assemble( new ErrorLog( new ArrayList<>( ) ), new HashMap<>( ), 0x00400000 ) );
+		assertThrows( IllegalStateException.class, ( ) -> loop.setImm( new ErrorLog( new ArrayList<>( ) ), new HashMap<>( ), 0x00400000 ) );
+		assertEquals( before, loop.toString( ) );
+	}
+	
+	@Test
+	void Builder_Instructions_Not_Frozen ( ) {
+		Program program=sum( );
+		ArrayList<Instruction> instructions=mb.assembleInstr( testLogs.actualErrors );    // The builder's own, Still assembled
+		assertNotNull( instructions );
+		assertEquals( program.getInstructions( ).size( ), instructions.size( ) );
+		for ( int i=0; i<instructions.size( ); i++ ) {
+			assertFalse( instructions.get( i ).isFrozen( ) );
+			assertNotSame( instructions.get( i ), program.getInstructions( ).get( i ) );
+			assertEquals( instructions.get( i ).toString( ), program.getInstructions( ).get( i ).toString( ) );
+		}
+	}
+	
+	@Test
+	void Build_Fails ( ) {
+		assertTrue( parser.parseLine( "j nowhere", 1 ) );
+		assertNull( parser.build( ) );
+		testLogs.expectedErrors.appendEx( "Label: \"nowhere\" Not Found" );
+		testLogs.expectedErrors.append( "Failed To Assemble Instructions!" );
+	}
+	
+	/** Every Execution starts from the same initial data, and has its own registers/data */
+	@Test
+	void Concurrent_Executions_Share_Program ( ) throws Exception {
+		final Program program=sum( );
+		ExecutorService pool=Executors.newFixedThreadPool( 8 );
+		try {
+			List<Future<Integer>> runs=new ArrayList<>( );
+			for ( int n=0; n<200; n++ ) {
+				final int input=n + 1;
+				runs.add( pool.submit( ( ) -> {
+					ExecutionLog log=new ExecutionLog( new ArrayList<>( ) );
+					ErrorLog errors=new ErrorLog( new ArrayList<>( ) );
+					DataMemory data=program.newDataMemory( log );
+					int[] registers=new int[ 32 ];
+					registers[ 1 ]=input;
+					Execution execution=new Execution( log, errors, data, new RegisterBank( registers, log, CONTEXT ), program, CONTEXT );
+					execution.setHeadless( true );
+					execution.runToEnd( );
+					assertFalse( errors.hasEntries( ), errors.toString( ) );
+					assertEquals( 0, data.readData_NoOutput( 0x10010000 ) );
+					return data.readData_NoOutput( 0x10010008 );
+				} ) );
+			}
+			for ( int n=0; n<runs.size( ); n++ ) {
+				final int input=n + 1;
+				assertEquals( input*(input + 1)/2, runs.get( n ).get( 30, TimeUnit.SECONDS ), "Input " + input );
+			}
+		} finally {
+			pool.shutdownNow( );
+		}
+		assertEquals( 268500992, program.getData( )[ 2 ] );
+	}
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.*;
 import model.instr.*;
 
 import util.logs.ExecutionLog;
+import util.validation.InstrSpec;
+import util.validation.InstructionValidation;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,6 +53,19 @@ class ComponentTest {
 		void IndexOutOfBounds ( ) {
 			assertThrows( IndexOutOfBoundsException.class, ()-> Component.MUX( 3,"OutOfBounds", I0, I1 ) );
 		}
+		
+		@Test
+		void Primitive ( ) {
+			assertAll(
+					()-> assertEquals( -900, Component.MUX_NoOutput( 0, -900, 50 ) ),
+					()-> assertEquals( 50, Component.MUX_NoOutput( 1, -900, 50 ) ),
+					()-> assertEquals( 0, Component.MUX_NoOutput( InstrSpec.NONE, -900, 50 ) ),
+					()-> assertEquals( 31, Component.MUX_NoOutput( 2, -900, 50, 31 ) ),
+					()-> assertEquals( 0, Component.MUX_NoOutput( InstrSpec.NONE, -900, 50, 31 ) ),
+					()-> assertThrows( IndexOutOfBoundsException.class, ()-> Component.MUX_NoOutput( 2, -900, 50 ) ),
+					()-> assertThrows( IndexOutOfBoundsException.class, ()-> Component.MUX_NoOutput( 3, -900, 50, 31 ) )
+			);
+		}
 	}
 	
 	@Nested
@@ -372,5 +387,42 @@ class ComponentTest {
 			expected.append( _Execution._control_Nop("exit", "-"));
 			arraysEqual(new Integer[]{null, null,null,null ,null,null, null, null}, ctrl);
 		}
+		
+		@Nested
+		class ControlWord {
+			
+			@Test
+			void Table_Matches_Spec ( ) {
+				for ( InstrSpec spec: InstructionValidation.SPEC ) {
+					int ctrl = Component.CONTROL( InstrSpec.ordinalOf( spec.getOPCODE( ) ) );
+					assertEquals( spec.getCTRL_WORD( ), ctrl );
+					arraysEqual( spec.getCTRL( ), InstrSpec.unpack( ctrl ) );
+				}
+			}
+			
+			@Test
+			void Signals_Lw ( ) {
+				int ctrl = Component.DECODE( new MemAccess( "lw", 2, "panda"), log );
+				expected.append( _Execution._control_Load());
+				assertEquals( 0, InstrSpec.signal( ctrl, InstrSpec.REG_DEST ) );
+				assertEquals( 1, InstrSpec.signal( ctrl, InstrSpec.ALU_SRC2 ) );
+				assertEquals( 0, InstrSpec.aluOp( ctrl ) );
+				assertEquals( 0, InstrSpec.signal( ctrl, InstrSpec.MEM_OP ) );
+				assertEquals( 1, InstrSpec.signal( ctrl, InstrSpec.MEM_TO_REG ) );
+				assertEquals( InstrSpec.NONE, InstrSpec.signal( ctrl, InstrSpec.BRANCH_COND ) );
+			}
+			
+			@Test
+			void Signals_ALUOp_Nop_vs_None ( ) {
+				int jal = Component.DECODE( new J_Type( "jal", "panda"), log );
+				int j = Component.DECODE( new J_Type( "j", "panda"), log );
+				expected.append( _Execution._control_JumpAndLink());
+				expected.append( _Execution._control_Jump());
+				assertEquals( -1, InstrSpec.aluOp( jal ) );
+				assertEquals( -1, InstrSpec.aluOp( j ) );
+				assertNotEquals( InstrSpec.NONE, InstrSpec.signal( jal, InstrSpec.ALU_OP ) );
+				assertEquals( InstrSpec.NONE, InstrSpec.signal( j, InstrSpec.ALU_OP ) );
+			}
+		}
 	}
 }
@@ -1,16 +1,16 @@
 package model.components;
 
 import _test.Tags;
+import _test.TestLogs;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import util.Convert;
-import util.ansi_codes.Color;
 import util.logs.ExecutionLog;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,22 +22,21 @@ import static org.junit.jupiter.api.Assertions.*;
 @DisplayName ( Tags.Pkg.MOD + " : " + Tags.Pkg.COM + " : "+Tags.DATA+Tags.MEM+" Test" )
 class DataMemoryTest {
 	private static final ExecutionLog log=new ExecutionLog( new ArrayList<>( ) );
-	private static final double DELTA=0.000001d;
 	private static DataMemory dataMemory;
-	private static HashMap<Integer, Double> data;
+	private static int[] data;
 	private static Random random;
 	
 	@BeforeAll
 	static void setUp() {
-		Color.colorSupport=false;
-		data=new HashMap<>( );
+		TestLogs.PLAIN.bind( );
+		data=new int[ DataMemory.MAX_DATA_ITEMS ];
 		dataMemory=new DataMemory( data, log );
 		random=new Random( );
 	}
 	
 	@AfterEach
 	void clear() {
-		data.clear( );
+		Arrays.fill( data, 0 );
 		log.clear( );
 	}
 	
@@ -50,11 +49,11 @@ class DataMemoryTest {
 	@ValueSource (ints={ Integer.MIN_VALUE, -50050, -11, 0, 25, 2375, Integer.MAX_VALUE })
 	void valid_ReadWrite_Data_Word(int inputData) {
 		// populate 20 entries in the data with random values, and returns a deep copy of the data
-		HashMap<Integer, Double> copy=new HashMap<>( );
+		int[] copy=new int[ DataMemory.MAX_DATA_ITEMS ];
 		for ( int i=0; i<20; i++ ) {
-			double value=random.nextInt( );
-			copy.put( i, value );    // Possible issue of inputData == randomSignedInt ?
-			data.put( i, value );
+			int value=random.nextInt( );
+			copy[ i ]=value;    // Possible issue of inputData == randomSignedInt ?
+			data[ i ]=value;
 		}
 		
 		int index=random.nextInt( 20 ); // random index 0-19
@@ -66,9 +65,9 @@ class DataMemoryTest {
 				() -> assertEquals( PREFIX + "Writing Value[" + inputData
 									+ "]\tTo Memory Address[" + Convert.int2Hex( address ) + "]!\n", log.toString( ) ),
 				//check set index has changed.
-				() -> assertEquals( inputData, data.get( index ), DELTA ),
-				() -> assertNotEquals( inputData, copy.get( index ), DELTA ),
-				() -> assertNotEquals( copy.get( index ), data.get( index ), DELTA )
+				() -> assertEquals( inputData, data[ index ] ),
+				() -> assertNotEquals( inputData, copy[ index ] ),
+				() -> assertNotEquals( copy[ index ], data[ index ] )
 		);
 		log.clear( );
 		
@@ -77,11 +76,11 @@ class DataMemoryTest {
 					  + "]\tFrom Memory Address[" + Convert.int2Hex( address ) + "]!\n", log.toString( ) );
 		
 		//check other indexes are not changed.
-		for ( int i=0; i<data.size( ); i++ ) {
+		for ( int i=0; i<data.length; i++ ) {
 			if ( i!=index ) {
-				assertEquals( copy.get( i ), data.get( i ), DELTA );
+				assertEquals( copy[ i ], data[ i ] );
 				assertEquals( dataMemory.readData( DataMemory.BASE_DATA_ADDRESS + i*DataMemory.DATA_ALIGN ),
-							  data.get( i ), DELTA );
+							  data[ i ] );
 			}
 		}
 	}
@@ -100,9 +99,13 @@ class DataMemoryTest {
 				//Below valid data address, readData
 				() -> assertThrows( IndexOutOfBoundsException.class, () -> dataMemory.readData( (int) 0x10000000L ) ),
 				//Above Valid data address, writeData
-				() -> assertThrows( IndexOutOfBoundsException.class, () -> dataMemory.writeData( (int) 0x10010800L, 20 ) ),
+				() -> assertThrows( IndexOutOfBoundsException.class, () -> dataMemory.writeData( DataMemory.OVER_HEAP_ADDRESS, 20 ) ),
 				//Above Valid data address, writeData
-				() -> assertThrows( IndexOutOfBoundsException.class, () -> dataMemory.readData( ((int) 0x10010800L) ) ),
+				() -> assertThrows( IndexOutOfBoundsException.class, () -> dataMemory.readData( DataMemory.OVER_HEAP_ADDRESS ) ),
+				//Below Stack, readData
+				() -> assertThrows( IndexOutOfBoundsException.class, () -> dataMemory.readData( DataMemory.BASE_STACK_ADDRESS-8 ) ),
+				//Negative, readData_NoOutput
+				() -> assertThrows( IndexOutOfBoundsException.class, () -> dataMemory.readData_NoOutput( -8 ) ),
 				
 				// Invalid Address Alignment
 				//Not Word Aligned, writeData
@@ -112,20 +115,63 @@ class DataMemoryTest {
 		);
 	}
 	
+	@Test
+	void Heap_And_Stack_Paged ( ) {
+		final DataMemory memory=new DataMemory( data, log );
+		final int last=DataMemory.OVER_HEAP_ADDRESS - DataMemory.DATA_ALIGN;
+		assertAll(
+				() -> assertEquals( 0, memory.readData_NoOutput( last ) ),
+				() -> assertEquals( 0, memory.readData_NoOutput( DataMemory.TOP_STACK_ADDRESS ) ),
+				() -> assertEquals( 0, memory.pageCount( ) ) // Reads don't allocate
+		);
+		// Past the .data image
+		memory.writeData_NoOutput( DataMemory.OVER_SUPPORTED_DATA_ADDRESS, 1 );
+		memory.writeData_NoOutput( last, 2 );
+		memory.writeData_NoOutput( DataMemory.TOP_STACK_ADDRESS, 3 );
+		memory.writeData_NoOutput( DataMemory.BASE_STACK_ADDRESS, 4 );
+		memory.writeData_NoOutput( DataMemory.BASE_STACK_ADDRESS + DataMemory.DATA_ALIGN, 5 ); // Same page
+		assertAll(
+				() -> assertEquals( 1, memory.readData_NoOutput( DataMemory.OVER_SUPPORTED_DATA_ADDRESS ) ),
+				() -> assertEquals( 2, memory.readData( last ) ),
+				() -> assertEquals( 3, memory.readData_NoOutput( DataMemory.TOP_STACK_ADDRESS ) ),
+				() -> assertEquals( 4, memory.readData_NoOutput( DataMemory.BASE_STACK_ADDRESS ) ),
+				() -> assertEquals( 5, memory.readData_NoOutput( DataMemory.BASE_STACK_ADDRESS + DataMemory.DATA_ALIGN ) ),
+				() -> assertEquals( 0, memory.readData_NoOutput( DataMemory.OVER_SUPPORTED_DATA_ADDRESS + DataMemory.DATA_ALIGN ) ),
+				() -> assertEquals( 4, memory.pageCount( ) ),
+				() -> assertArrayEquals( new int[ DataMemory.MAX_DATA_ITEMS ], data ) // .data image untouched
+		);
+		log.clear( );
+	}
+	
+	@Test
+	void Large_Array ( ) {
+		final DataMemory memory=new DataMemory( log );
+		final int N=300_000;
+		int base=DataMemory.OVER_DATA_ADDRESS;
+		for ( int i=0; i<N; i++ )
+			memory.writeData_NoOutput( base + i*DataMemory.DATA_ALIGN, i );
+		for ( int i=0; i<N; i++ )
+			assertEquals( i, memory.readData_NoOutput( base + i*DataMemory.DATA_ALIGN ) );
+		// Only the pages written are allocated
+		assertTrue( memory.pageCount( )<=N/PagedMemory.PAGE_WORDS + 2 );
+	}
+	
 	@Test
 	void InvalidConstruction_TooManyDataIndexes ( ) {
-		// Provided data HashMap with too many items	// Should really be requiring the hashMap is empty perhaps
-		for ( int i=0; i<DataMemory.MAX_DATA_ITEMS+1; i++ ) {
-			data.put(DataMemory.BASE_DATA_ADDRESS+i*DataMemory.DATA_ALIGN, 5.0 );
-		}
-		
 		// Initializing DataMemory with too many indexes
-		assertThrows( IllegalArgumentException.class, () -> new DataMemory(data,log));
+		assertThrows( IllegalArgumentException.class, () -> new DataMemory(new int[ DataMemory.MAX_DATA_ITEMS+1 ],log));
+	}
+	@Test
+	void InvalidConstruction_TooFewDataIndexes ( ) {
+		assertThrows( IllegalArgumentException.class, () -> new DataMemory(new int[ DataMemory.MAX_DATA_ITEMS-1 ],log));
 	}
 	@Test
-	void InvalidConstruction_Key_OutOfRange ( ) {
-		data.put( DataMemory.MAX_DATA_ITEMS,50.0);
-		assertThrows( IllegalArgumentException.class, () -> new DataMemory(data,log));
+	void Construction_Empty ( ) {
+		DataMemory empty=new DataMemory( log );
+		assertEquals( DataMemory.MAX_DATA_ITEMS, empty.data_NoOutput( ).length );
+		empty.writeData_NoOutput( DataMemory.BASE_DATA_ADDRESS + DataMemory.DATA_ALIGN, 7 );
+		assertEquals( 7, empty.data_NoOutput( )[ 1 ] );
+		assertSame( data, dataMemory.data_NoOutput( ) ); // Not Copied
 	}
 	
 	@Test
@@ -134,8 +180,7 @@ class DataMemoryTest {
 		final int align=8;
 		//set first 20 values to 20 check get(10) returns 20, as expected.
 		for ( int i=0; i<20; i++ ) {
-			double value=20;
-			data.put( i, value );
+			data[ i ]=20;
 			assertEquals( 20, dataMemory.readData( (int) 0x10010000L + (i*align) ) );// check all the values are 20
 		}
 		assertAll(
@@ -152,14 +197,14 @@ class DataMemoryTest {
 	@Tag( Tags.MUT )
 	void WriteData_To_An_Arbitrary_Address() {
 		dataMemory.writeData( DataMemory.OVER_SUPPORTED_DATA_ADDRESS - DataMemory.DATA_ALIGN, 50 );
-		assertEquals( 50, data.get( DataMemory.MAX_DATA_ITEMS - 1 ) );
+		assertEquals( 50, data[ DataMemory.MAX_DATA_ITEMS - 1 ] );
 	}
 	
 	@Test
 	@Tag( Tags.OUT )
 	@Tag( Tags.ACC )
 	void ReadData_From_An_Arbitrary_Address() {
-		data.put( DataMemory.MAX_DATA_ITEMS - 1, 250.0 );
+		data[ DataMemory.MAX_DATA_ITEMS - 1 ]=250;
 		assertEquals( 250, dataMemory.readData( DataMemory.OVER_SUPPORTED_DATA_ADDRESS - DataMemory.DATA_ALIGN ) );
 	}
 	
@@ -28,7 +28,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class InstrMemoryTest {
 	// Ignored
 	private static final ExecutionLog lg = new ExecutionLog( new ArrayList<>() );
-	private static final DataMemory dm = new DataMemory( new HashMap<>(), lg);
+	private static final DataMemory dm = new DataMemory( lg );
 	private static final RegisterBank rm = new RegisterBank( new int[32], lg );
 	// Ok - Actual stuff
 	private static TestLogs testLogs;
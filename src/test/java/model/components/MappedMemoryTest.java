@@ -0,0 +1,122 @@
+package model.components;
+
+import _test.Tags;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.components.MappedMemory.Mode;
+
+import util.logs.ExecutionLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.Pkg.MOD )
+@Tag( Tags.Pkg.COM )
+@Tag( Tags.MEM )
+@DisplayName ( Tags.Pkg.MOD + " : " + Tags.Pkg.COM + " : Mapped"+Tags.MEM+" Test" )
+class MappedMemoryTest {
+	private static final int BASE=MappedMemory.DEFAULT_BASE;
+	private static final int ALIGN=DataMemory.DATA_ALIGN;
+	
+	@TempDir
+	Path dir;
+	
+	private Path words (ByteOrder order, int... values) throws IOException {
+		ByteBuffer bytes=ByteBuffer.allocate( values.length*Integer.BYTES ).order( order );
+		for ( int v : values )
+			bytes.putInt( v );
+		return Files.write( dir.resolve( "data.bin" ), bytes.array( ) );
+	}
+	
+	@Test
+	void Read_Only ( ) throws IOException {
+		MappedMemory mapped=MappedMemory.map( words( ByteOrder.BIG_ENDIAN, 1, -2, 3 ), Mode.READ_ONLY );
+		assertAll(
+				( ) -> assertEquals( 3, mapped.getWords( ) ),
+				( ) -> assertEquals( BASE + 2*ALIGN, mapped.getLast( ) ),
+				( ) -> assertTrue( mapped.contains( BASE ) ),
+				( ) -> assertTrue( mapped.contains( BASE + 2*ALIGN ) ),
+				( ) -> assertFalse( mapped.contains( BASE + 3*ALIGN ) ),
+				( ) -> assertFalse( mapped.contains( BASE - ALIGN ) ),
+				( ) -> assertEquals( 1, mapped.read( BASE ) ),
+				( ) -> assertEquals( -2, mapped.read( BASE + ALIGN ) ),
+				( ) -> assertEquals( 3, mapped.read( BASE + 2*ALIGN ) ),
+				( ) -> assertThrows( IllegalArgumentException.class, ( ) -> mapped.write( BASE, 5 ) )
+		);
+	}
+	
+	@Test
+	void Little_Endian_At_Base ( ) throws IOException {
+		final int base=DataMemory.OVER_SUPPORTED_DATA_ADDRESS;
+		MappedMemory mapped=MappedMemory.map( words( ByteOrder.LITTLE_ENDIAN, 0x01020304 ), Mode.READ_ONLY, base, ByteOrder.LITTLE_ENDIAN );
+		assertEquals( 0x01020304, mapped.read( base ) );
+	}
+	
+	@Test
+	void Write_Back ( ) throws IOException {
+		Path file=words( ByteOrder.BIG_ENDIAN, 1, 2 );
+		MappedMemory mapped=MappedMemory.map( file, Mode.WRITE_BACK );
+		mapped.write( BASE + ALIGN, 20 );
+		mapped.flush( );
+		assertEquals( 20, mapped.read( BASE + ALIGN ) );
+		assertEquals( 20, ByteBuffer.wrap( Files.readAllBytes( file ) ).getInt( 4 ) );
+	}
+	
+	@Test
+	void Copy_On_Write ( ) throws IOException {
+		Path file=words( ByteOrder.BIG_ENDIAN, 1, 2 );
+		MappedMemory first=MappedMemory.map( file, Mode.COPY_ON_WRITE );
+		MappedMemory second=MappedMemory.map( file, Mode.COPY_ON_WRITE );
+		first.write( BASE, 10 );
+		first.flush( );
+		assertEquals( 10, first.read( BASE ) );
+		assertEquals( 1, second.read( BASE ) );
+		assertEquals( 1, ByteBuffer.wrap( Files.readAllBytes( file ) ).getInt( 0 ) );
+	}
+	
+	@Test
+	void Invalid_Map ( ) throws IOException {
+		Path partial=Files.write( dir.resolve( "partial.bin" ), new byte[ 6 ] );
+		Path two=words( ByteOrder.BIG_ENDIAN, 1, 2 );
+		assertAll(
+				( ) -> assertThrows( IllegalArgumentException.class, ( ) -> MappedMemory.map( partial, Mode.READ_ONLY ) ),
+				( ) -> assertThrows( IllegalArgumentException.class,    // Not Aligned
+									 ( ) -> MappedMemory.map( two, Mode.READ_ONLY, BASE + 4, ByteOrder.BIG_ENDIAN ) ),
+				( ) -> assertThrows( IllegalArgumentException.class,    // Runs past the Heap
+									 ( ) -> MappedMemory.map( two, Mode.READ_ONLY, DataMemory.OVER_HEAP_ADDRESS - ALIGN, ByteOrder.BIG_ENDIAN ) ),
+				( ) -> assertDoesNotThrow( ( ) -> MappedMemory.map( two, Mode.READ_ONLY, DataMemory.OVER_HEAP_ADDRESS - 2*ALIGN, ByteOrder.BIG_ENDIAN ) )
+		);
+	}
+	
+	@Test
+	void Data_Memory_Routes_To_Mapped ( ) throws IOException {
+		ExecutionLog log=new ExecutionLog( new ArrayList<>( ) );
+		DataMemory memory=new DataMemory( log );
+		MappedMemory mapped=MappedMemory.map( words( ByteOrder.BIG_ENDIAN, 7, 8 ), Mode.READ_ONLY );
+		memory.map( mapped );
+		assertSame( mapped, memory.getMapped( ) );
+		assertAll(
+				( ) -> assertEquals( 7, memory.readData_NoOutput( BASE ) ),
+				( ) -> assertEquals( 8, memory.readData( BASE + ALIGN ) ),
+				( ) -> assertThrows( IllegalArgumentException.class, ( ) -> memory.writeData( BASE, 1 ) ),
+				( ) -> assertThrows( IllegalArgumentException.class, ( ) -> memory.map( mapped ) )
+		);
+		// Either side of the file is Heap
+		memory.writeData_NoOutput( BASE - ALIGN, 1 );
+		memory.writeData_NoOutput( BASE + 2*ALIGN, 2 );
+		assertEquals( 1, memory.readData_NoOutput( BASE - ALIGN ) );
+		assertEquals( 2, memory.readData_NoOutput( BASE + 2*ALIGN ) );
+		assertEquals( 7, memory.readData_NoOutput( BASE ) );
+		
+		DataMemory overlaps=new DataMemory( log );
+		MappedMemory low=MappedMemory.map( words( ByteOrder.BIG_ENDIAN, 1 ), Mode.READ_ONLY, DataMemory.BASE_DATA_ADDRESS, ByteOrder.BIG_ENDIAN );
+		assertThrows( IllegalArgumentException.class, ( ) -> overlaps.map( low ) );
+	}
+}
@@ -0,0 +1,70 @@
+package model.components;
+
+import _test.Tags;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.Pkg.MOD )
+@Tag( Tags.Pkg.COM )
+@Tag( Tags.MEM )
+@DisplayName ( Tags.Pkg.MOD + " : " + Tags.Pkg.COM + " : Paged"+Tags.MEM+" Test" )
+class PagedMemoryTest {
+	private static final int BASE=0x10000000;
+	private static final int ALIGN=DataMemory.DATA_ALIGN;
+	private static final int TABLE_SPAN=PagedMemory.PAGE_WORDS*PagedMemory.TABLE_SIZE*ALIGN;
+	
+	@Test
+	void Invalid_Construction ( ) {
+		assertAll(
+				( ) -> assertThrows( IllegalArgumentException.class, ( ) -> new PagedMemory( BASE + 4, BASE + 8 ) ),
+				( ) -> assertThrows( IllegalArgumentException.class, ( ) -> new PagedMemory( BASE, BASE + 4 ) ),
+				( ) -> assertThrows( IllegalArgumentException.class, ( ) -> new PagedMemory( BASE, BASE - 8 ) )
+		);
+	}
+	
+	@Test
+	void Single_Word ( ) {
+		PagedMemory memory=new PagedMemory( BASE, BASE );
+		assertTrue( memory.contains( BASE ) );
+		assertFalse( memory.contains( BASE + ALIGN ) );
+		assertFalse( memory.contains( BASE - ALIGN ) );
+		memory.write( BASE, -1 );
+		assertEquals( -1, memory.read( BASE ) );
+		assertEquals( 1, memory.pageCount( ) );
+	}
+	
+	@Test
+	void Pages_Allocated_On_Write ( ) {
+		PagedMemory memory=new PagedMemory( BASE, BASE + 4*TABLE_SPAN - ALIGN );
+		memory.write( BASE + TABLE_SPAN, 0 );    // Zero, Nothing to store
+		assertEquals( 0, memory.pageCount( ) );
+		
+		memory.write( BASE + TABLE_SPAN - ALIGN, 1 );   // Last word of the first table
+		memory.write( BASE + TABLE_SPAN, 2 );   // First word of the second
+		memory.write( memory.getLast( ), 3 );
+		memory.write( BASE + ALIGN*(PagedMemory.PAGE_WORDS - 1), 4 );   // Last word of the first page
+		assertAll(
+				( ) -> assertEquals( 1, memory.read( BASE + TABLE_SPAN - ALIGN ) ),
+				( ) -> assertEquals( 2, memory.read( BASE + TABLE_SPAN ) ),
+				( ) -> assertEquals( 3, memory.read( memory.getLast( ) ) ),
+				( ) -> assertEquals( 4, memory.read( BASE + ALIGN*(PagedMemory.PAGE_WORDS - 1) ) ),
+				( ) -> assertEquals( 0, memory.read( BASE + ALIGN*PagedMemory.PAGE_WORDS ) ),
+				( ) -> assertEquals( 0, memory.read( BASE + 2*TABLE_SPAN ) ),
+				( ) -> assertEquals( 4, memory.pageCount( ) )
+		);
+		
+		memory.write( BASE + TABLE_SPAN, 0 );    // Overwrite with zero, keeps the page
+		assertEquals( 0, memory.read( BASE + TABLE_SPAN ) );
+		assertEquals( 4, memory.pageCount( ) );
+	}
+	
+	@Test
+	void Up_To_Max_Int ( ) {
+		PagedMemory memory=new PagedMemory( DataMemory.BASE_STACK_ADDRESS, DataMemory.TOP_STACK_ADDRESS );
+		assertTrue( memory.contains( DataMemory.TOP_STACK_ADDRESS ) );
+		assertFalse( memory.contains( Integer.MIN_VALUE ) );
+		memory.write( DataMemory.TOP_STACK_ADDRESS, 7 );
+		assertEquals( 7, memory.read( DataMemory.TOP_STACK_ADDRESS ) );
+	}
+}
@@ -1,12 +1,13 @@
 package model.components;
 
 import _test.Tags;
+import _test.TestLogs;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import util.ansi_codes.Color;
+import util.SimulatorContext;
 import util.logs.ExecutionLog;
 
 import java.util.ArrayList;
@@ -28,9 +29,7 @@ class RegisterBankTest {
 	
 	@BeforeEach
 	void setUp() {
-		Color.colorSupport=false;
-		RegisterBank.regFormat=RegisterBank.RegFormat.R;
-		RegisterBank.fmtUpperCase=true;
+		TestLogs.PLAIN.bind( );
 		
 		regs=new int[ 32 ];        // Setup Register values to any random integer
 		for ( int i=1; i<32; i++ ) {    // skip index 0. that should always be ==0;
@@ -71,18 +70,20 @@ class RegisterBankTest {
 	@Tag ("Output")
 	@DisplayName ("Output")
 	class Output {
-		RegisterBank.RegFormat defaultFormat;
-		
-		@BeforeEach
-		void setUp() { defaultFormat=RegisterBank.regFormat; }    // Save Format
+		SimulatorContext.Scope format;
 		
 		@AfterEach
-		void tearDown() { RegisterBank.regFormat=defaultFormat; } // Restore Format
+		void tearDown() { if ( format!=null ) format.close( ); } // Restore Format
+		
+		/** Register names of the output, Until the end of the test */
+		void withFormat(RegisterBank.RegFormat regFormat) {
+			format=TestLogs.PLAIN.withRegFormat( regFormat, true ).bind( );
+		}
 		
 		@Test
 		@DisplayName ("Format Output")
 		void format() {
-			RegisterBank.regFormat=RegisterBank.RegFormat.R;
+			withFormat( RegisterBank.RegFormat.R );
 			// Make everything =5 so output is predicable
 			String fmt="";
 			fmt+="-------- -------- -------- REGISTER-BANK -------- -------- -------- -------- \n";
@@ -100,10 +101,35 @@ class RegisterBankTest {
 			//TODO test alternative formats, Named/ Index
 		}
 		
+		@Test
+		@DisplayName ("Format Changes")
+		void formatChanges() {
+			withFormat( RegisterBank.RegFormat.R );
+			for ( int i=1; i<regs.length; i++ )
+				regs[ i ]=5;
+			String first=rb.formatChanges( );
+			assertEquals( rb.format( ), first );	// Table Until The First Frame
+			
+			final String CHANGES="-------- REGISTER-BANK CHANGES -------- |";
+			assertEquals( CHANGES + "No Changes|\n", rb.formatChanges( ) );
+			rb.write( 8, 12 );
+			regs[ 31 ]=-1;	// Written Directly, like the Compiled Tiers
+			assertEquals( CHANGES + "*R8: 12\tR31: -1|\n", rb.formatChanges( ) );
+			assertEquals( CHANGES + "No Changes|\n", rb.formatChanges( ) );
+			
+			regs[ 2 ]=7;
+			assertEquals( rb.format( ), rb.format( ) );	// Full Table On Demand Isn't A Frame
+			assertEquals( CHANGES + "R2: 7|\n", rb.formatChanges( ) );
+			
+			rb.resetFrame( );
+			assertEquals( rb.format( ), rb.formatChanges( ) );
+			assertEquals( CHANGES + "No Changes|\n", rb.formatChanges( ) );
+		}
+		
 		@Test
 		@DisplayName ("Format Index")
 		void formatIndex() {
-			RegisterBank.regFormat=RegisterBank.RegFormat.Index;
+			withFormat( RegisterBank.RegFormat.Index );
 			rb.read( 1 );
 			assertEquals( PREFIX + "Reading Value[" + regs[ 1 ] + "]\tFrom Register Index[$1]!\n",
 						  log.toString( ) );
@@ -113,7 +139,7 @@ class RegisterBankTest {
 		@Order (2)
 		@DisplayName ("Format $R")
 		void format$_R() {
-			RegisterBank.regFormat=RegisterBank.RegFormat.$R;
+			withFormat( RegisterBank.RegFormat.$R );
 			rb.read( 1 );
 			assertEquals( PREFIX + "Reading Value[" + regs[ 1 ] + "]\tFrom Register Index[$R1]!\n",
 						  log.toString( ) );
@@ -123,7 +149,7 @@ class RegisterBankTest {
 		@Order (3)
 		@DisplayName ("Format R")
 		void formatR() {
-			RegisterBank.regFormat=RegisterBank.RegFormat.R;
+			withFormat( RegisterBank.RegFormat.R );
 			rb.read( 1 );
 			assertEquals( PREFIX + "Reading Value[" + regs[ 1 ] + "]\tFrom Register Index[R1]!\n",
 						  log.toString( ) );
@@ -133,7 +159,7 @@ class RegisterBankTest {
 		@Order (4)
 		@DisplayName ("Format $Named")
 		void format$_Named() {
-			RegisterBank.regFormat=RegisterBank.RegFormat.$Named;
+			withFormat( RegisterBank.RegFormat.$Named );
 			rb.read( 1 );
 			assertEquals( PREFIX + "Reading Value[" + regs[ 1 ] + "]\tFrom Register Index[$AT]!\n",
 						  log.toString( ) );
@@ -143,7 +169,7 @@ class RegisterBankTest {
 		@Order (5)
 		@DisplayName ("Format Named")
 		void formatNamed() {
-			RegisterBank.regFormat=RegisterBank.RegFormat.Named;
+			withFormat( RegisterBank.RegFormat.Named );
 			rb.read( 1 );
 			assertEquals( PREFIX + "Reading Value[" + regs[ 1 ] + "]\tFrom Register Index[AT]!\n",
 						  log.toString( ) );
@@ -18,6 +18,7 @@ import util.Convert;
 import util.logs.ErrorLog;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
@@ -30,7 +31,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @DisplayName ( Tags.Pkg.MOD + " : " +Tags.INSTR + " : " + Tags.EX + " Test " )
 class InstructionTest {
 	private static final int base_PC=InstrMemory.BASE_INSTR_ADDRESS;
-	private static final HashMap<Integer, Double> data=new HashMap<>( );
+	private static final int[] data=new int[ DataMemory.MAX_DATA_ITEMS ];
 	private static final HashMap<String, Integer> labelMap=InstrProvider.labelsMap;
 	private static final int[] values=new int[ 32 ];
 	private static TestLogs testLogs;
@@ -40,7 +41,7 @@ class InstructionTest {
 	static void beforeAll ( ) {
 		testLogs=new TestLogs( );
 		testLogs_ex=new FMT_MSG._Execution(testLogs.expectedExecution);
-		data.clear( );
+		Arrays.fill( data, 0 );
 	}
 	@AfterEach
 	void tearDown ( ) {
@@ -137,7 +138,7 @@ class InstructionTest {
 			// Setup
 			int addr=labelMap.get( "data" );
 			values[ 1 ]=0;
-			data.put( Convert.dataAddr2Index( labelMap.get( "data" ) ), 20.0 );
+			data[ Convert.dataAddr2Index( labelMap.get( "data" ) ) ]=20;
 			// - Expect after load, Register #1 will have the value 20
 			// Build
 			Instruction ins=new MemAccess( "lw", 1, "data" );
@@ -157,7 +158,7 @@ class InstructionTest {
 			int addr=DataMemory.BASE_DATA_ADDRESS;
 			values[ 30 ]=(addr - imm);
 			values[ 1 ]=0;
-			data.put( 0, 200.0 );
+			data[ 0 ]=200;
 			// - Expect after load, Register #1 will have the value 200
 			// Build
 			Instruction ins=new MemAccess( "lw", 30, 1, imm );
@@ -177,7 +178,7 @@ class InstructionTest {
 			// Setup
 			int addr=labelMap.get( "data" );
 			values[ 30 ]=250;
-			data.put( 0, 20.0 );
+			data[ 0 ]=20;
 			// - Expect after store, Memory #0 will have the value 250
 			// Build
 			Instruction ins=new MemAccess( "sw", 30, "data" );
@@ -185,7 +186,7 @@ class InstructionTest {
 			// Execution
 			Instr.assembleAndExecute_incPC( ins );
 			// Results
-			assertEquals( 250, data.get( 0 ) ); // value at address has changed to expected value
+			assertEquals( 250, data[ 0 ] ); // value at address has changed to expected value
 			// Output
 			testLogs_ex.store_output( base_PC, 0, 0, addr, 30, 250);
 			
@@ -229,7 +230,7 @@ class InstructionTest {
 			int addr=DataMemory.BASE_DATA_ADDRESS-4;
 			values[ 30 ]=(addr - imm);
 			values[ 1 ]=0;
-			data.put( 0, 200.0 );
+			data[ 0 ]=200;
 			// - Expect after load, Register #1 will have the value 200
 			// Build
 			Instruction ins=new MemAccess( "lw",  30, 1, imm );
@@ -242,7 +243,7 @@ class InstructionTest {
 			// Output
 			testLogs_ex.load_output_before_exception( base_PC, 30, values[30], imm, addr );
 			// Output cut off by exception
-			testLogs.expectedErrors.appendEx( "Data Address [0x1000FFFC, 268500988] Must Be >=0x10010000 and <=0x100107F8" );
+			testLogs.expectedErrors.appendEx( "Data Address [0x1000FFFC, 268500988] Must Be >=0x10010000 and <=0x1FFFFFF8, Or >=0x70000000 and <=0x7FFFFFF8" );
 		}
 		@Test
 		void Invalid_MEM_Execution_BassOffset_NotAligned ( ) {
@@ -251,7 +252,7 @@ class InstructionTest {
 			int addr=DataMemory.BASE_DATA_ADDRESS+3;
 			values[ 30 ]=(addr - imm);
 			values[ 1 ]=0;
-			data.put( 0, 200.0 );
+			data[ 0 ]=200;
 			// - Expect after load, Register #1 will have the value 200
 			// Build
 			Instruction ins=new MemAccess( "lw", 30, 1, imm  );
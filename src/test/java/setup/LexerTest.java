@@ -0,0 +1,156 @@
+package setup;
+
+import _test.Tags;
+import _test.TestLogs;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import model.MemoryBuilder;
+import model.MemoryGeometry;
+import model.Program;
+import setup.Lexer.Kind;
+import setup.Lexer.Token;
+
+import util.SimulatorContext;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.STP )
+class LexerTest {
+	
+	private static List<Kind> kinds (Lexer.Line line) {
+		return line.getTokens( ).stream( ).map( Token::getKind ).collect( Collectors.toList( ) );
+	}
+	
+	@Test
+	void Tokens ( ) {
+		Lexer.Line line=Lexer.lex( "  Loop:\tLW  $t0, -8($SP) # Load It", 4 );
+		assertEquals( "loop", line.getLabel( ) );
+		assertEquals( "lw", line.getMnemonic( ) );
+		assertFalse( line.isDirective( ) );
+		assertEquals( "$t0, -8($sp)", line.getOperands( ) );
+		assertEquals( "# Load It", line.getComment( ) );
+		assertEquals( List.of( Kind.LABEL, Kind.OPCODE, Kind.REGISTER, Kind.COMMA, Kind.IMMEDIATE,
+							   Kind.OPEN, Kind.REGISTER, Kind.CLOSE, Kind.COMMENT ), kinds( line ) );
+		
+		Token lw=line.getTokens( ).get( 1 );
+		assertEquals( 4, lw.getLine( ) );
+		assertEquals( 9, lw.getColumn( ) );
+		assertEquals( 3, line.getTokens( ).get( 0 ).getColumn( ) );
+		assertEquals( 26, line.getTokens( ).get( 8 ).getColumn( ) );
+	}
+	
+	@Test
+	void Operand_Tokens ( ) {
+		Lexer.Line line=Lexer.lex( "  Loop:\tLW  $t0, -8($SP) # Load It", 4 );
+		assertEquals( "lw", line.getMnemonicToken( ).getText( ) );
+		assertEquals( List.of( Kind.REGISTER, Kind.COMMA, Kind.IMMEDIATE, Kind.OPEN, Kind.REGISTER, Kind.CLOSE ),
+					  line.getOperandTokens( ).stream( ).map( Token::getKind ).collect( Collectors.toList( ) ) );
+		assertTrue( Lexer.lex( "exit # Done", 1 ).getOperandTokens( ).isEmpty( ) );
+		assertNull( Lexer.lex( "# Only A Comment", 1 ).getMnemonicToken( ) );
+		
+		List<Token> tokens=Lexer.lexOperands( "\t$T0 ,  8 ( $t1)", 3 );
+		assertEquals( List.of( Kind.REGISTER, Kind.COMMA, Kind.IMMEDIATE, Kind.OPEN, Kind.REGISTER, Kind.CLOSE ),
+					  tokens.stream( ).map( Token::getKind ).collect( Collectors.toList( ) ) );
+		assertEquals( "$T0", tokens.get( 0 ).getText( ), "Case Is Kept" );
+		assertEquals( 2, tokens.get( 0 ).getColumn( ) );
+		assertEquals( 9, tokens.get( 2 ).getColumn( ) );
+		assertEquals( "8 ( $t1)", Lexer.text( tokens.subList( 2, tokens.size( ) ) ) );
+		assertEquals( "", Lexer.text( List.of( ) ) );
+	}
+	
+	@Test
+	void Directive_And_String ( ) {
+		Lexer.Line line=Lexer.lex( "arr: .incbin \"My File;1.bin\", 0x10, 8 ; Comment", 1 );
+		assertEquals( "arr", line.getLabel( ) );
+		assertTrue( line.isDirective( ) );
+		assertEquals( "\"My File;1.bin\", 0x10, 8", line.getOperands( ) );
+		assertEquals( "; Comment", line.getComment( ) );
+		assertEquals( List.of( Kind.LABEL, Kind.DIRECTIVE, Kind.STRING, Kind.COMMA, Kind.IMMEDIATE,
+							   Kind.COMMA, Kind.IMMEDIATE, Kind.COMMENT ), kinds( line ) );
+		
+		Lexer.Line data=Lexer.lex( ".word 5:10", 1 );    // No Label, Starts with '.'
+		assertNull( data.getLabel( ) );
+		assertEquals( ".word", data.getMnemonic( ) );
+		assertEquals( List.of( Kind.DIRECTIVE, Kind.OTHER ), kinds( data ) );
+		
+		assertEquals( List.of( Kind.OPCODE, Kind.IDENTIFIER ), kinds( Lexer.lex( "j main", 1 ) ) );
+	}
+	
+	@Test
+	void Lines ( ) {
+		Lexer lexer=new Lexer( CharBuffer.wrap( "add $1, $2, $3\r\n\nlabel:\rexit" ) );
+		List<Lexer.Line> lines=new ArrayList<>( );
+		while ( lexer.hasNext( ) )
+			lines.add( lexer.next( ) );
+		assertEquals( 4, lines.size( ) );
+		assertEquals( "add", lines.get( 0 ).getMnemonic( ) );
+		assertTrue( lines.get( 1 ).getTokens( ).isEmpty( ) );
+		assertEquals( "label", lines.get( 2 ).getLabel( ) );
+		assertEquals( "exit", lines.get( 3 ).getMnemonic( ) );
+		assertEquals( 4, lines.get( 3 ).getLineNo( ) );
+	}
+	
+	@ParameterizedTest
+	@ValueSource( strings={ "$1, $2, $3", "$1 , $2 ,$3", "a, ,b", "a,", ",", "", " , ", "a  ,  b", "8($1)", " ( $1 ) ", "5:7", "5 : 7" } )
+	void Split_Same_As_Regex (String s) {
+		for ( char delimiter : new char[]{ ',', '(', ')', ':' } ) {
+			String regex="\\s?" + ((delimiter==',' || delimiter==':') ? "" : "\\") + delimiter + "\\s?";
+			List<String> expected=new ArrayList<>( Arrays.asList( (s + "#").split( regex, -1 ) ) );
+			String last=expected.remove( expected.size( ) - 1 );
+			expected.add( last.substring( 0, last.length( ) - 1 ) );
+			assertEquals( expected, Arrays.asList( Lexer.split( s, delimiter, 0 ) ), s );
+			assertEquals( Arrays.asList( s.split( regex, 2 ) ), Arrays.asList( Lexer.split( s, delimiter, 2 ) ), s );
+		}
+	}
+	
+	@Test
+	void Classify ( ) {
+		for ( String dec : List.of( "0", "-5", "1.5", ".5", "5.", "-0.25" ) )
+			assertTrue( Lexer.isDecimal( dec ), dec );
+		for ( String no : List.of( "", "-", ".", "1.2.3", "5a", "--1", "0x5" ) )
+			assertFalse( Lexer.isDecimal( no ), no );
+		assertTrue( Lexer.isHex( "0xff" ) );
+		assertFalse( Lexer.isHex( "x0" ) );
+		assertTrue( Lexer.isSignedInt( "-" ) );    // Left to parseInt to reject
+		assertFalse( Lexer.isSignedInt( "1.0" ) );
+		for ( String label : List.of( "a", "_main", "loop.2", "l-1" ) )
+			assertTrue( Lexer.isLabel( label ), label );
+		for ( String no : List.of( "", "1a", ".a", "Main", "a b", "a$" ) )
+			assertFalse( Lexer.isLabel( no ), no );
+	}
+	
+	/** Generated 100k line program, parses in one pass without hitting any limits */
+	@Test
+	void Large_Generated_Program (@TempDir Path dir) throws IOException {
+		final int n=100_000;
+		final StringBuilder sb=new StringBuilder( ".text\n" );
+		for ( int i=0; i<n; i++ )
+			sb.append( "l" ).append( i ).append( ": addi $t0, $t0, 1 # Line " ).append( i ).append( '\n' );
+		sb.append( "exit\n" );
+		final Path file=dir.resolve( "large.s" );
+		Files.writeString( file, sb );
+		
+		final TestLogs testLogs=new TestLogs( );
+		final SimulatorContext context=SimulatorContext.headless( ).withGeometry( MemoryGeometry.of( n + 1, 1, n + 3 ) );
+		final MemoryBuilder mb=new MemoryBuilder( testLogs.actualErrors, testLogs.actualWarnings, context );
+		final Parser parser=new Parser( mb, testLogs.actualErrors, testLogs.actualWarnings );
+		assertTrue( parser.parseFile( file.toFile( ) ) );
+		final Program program=parser.build( );
+		assertNotNull( program );
+		assertEquals( n + 1, program.getInstructions( ).size( ) );
+		assertEquals( 0x00400000 + 4*(n - 1), program.getSymbols( ).get( "l" + (n - 1) ) );
+		testLogs.after( );
+	}
+}
@@ -5,23 +5,29 @@ import _test.TestLogs.FMT_MSG;
 
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import control.Execution;
 
 import model.instr.Instruction;
 import model.MemoryBuilder;
+import model.Program;
 import model.components.DataMemory;
 import model.components.InstrMemory;
 import model.components.RegisterBank;
 
 import util.Convert;
-import util.Util;
+import util.logs.Diagnostic;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -39,7 +45,6 @@ class ParserTest {
 	
 	@BeforeAll
 	static void beforeAll ( ) {
-		Util.wait=false;
 		testLogs=new TestLogs( );
 		expected=testLogs.expectedErrors;
 		
@@ -60,6 +65,21 @@ class ParserTest {
 		nullObjectErrors( parser.assemble( ), "No Instructions Found" );
 	}
 	
+	@Test
+	void Diagnostics_At_Token_Columns ( ) {
+		assertFalse( parser.parseLine( "  mul $1, $2, $3", 9 ) );
+		assertFalse( parser.parseLine( "\tadd $1, $2", 10 ) );
+		expected.appendEx( 9, FMT_MSG.Opcode_NotSupported( "mul" ) );
+		expected.append( 10, FMT_MSG._opsForOpcodeNotValid( "add", "$1, $2" ) );
+		
+		List<Diagnostic> diagnostics=testLogs.actualErrors.getDiagnostics( );
+		assertEquals( 2, diagnostics.size( ) );
+		assertEquals( "OPCODE", diagnostics.get( 0 ).getCode( ) );
+		assertEquals( 3, diagnostics.get( 0 ).getColumn( ) );
+		assertEquals( "OPERANDS", diagnostics.get( 1 ).getCode( ) );
+		assertEquals( 6, diagnostics.get( 1 ).getColumn( ), "First Operand" );
+	}
+	
 	@Test
 	void static_Vars_are_correct ( ) {
 		assertAll(    // Alt+F7 : Find Usages
@@ -322,6 +342,80 @@ class ParserTest {
 		
 	}
 	
+	@Nested
+	class Incbin_Tests {
+		@TempDir
+		Path dir;
+		
+		@BeforeEach
+		void setUp ( ) {
+			parser.clear( );
+		}
+		private Path words (String name, ByteOrder order, int n) throws IOException {
+			ByteBuffer bytes=ByteBuffer.allocate( n*Integer.BYTES ).order( order );
+			for ( int i=0; i<n; i++ )
+				bytes.putInt( i*10 );
+			return Files.write( dir.resolve( name ), bytes.array( ) );
+		}
+		
+		@Test
+		void Incbin_Relative_To_File ( ) throws IOException {
+			words( "Words.BIN", ByteOrder.BIG_ENDIAN, 4 );
+			words( "little.bin", ByteOrder.LITTLE_ENDIAN, 2 );
+			Path source=Files.writeString( dir.resolve( "incbin.s" ),
+										   ".data\nfirst: .word 5\nwords: .incbin \"Words.BIN\", 4, 8 # Case kept\n"
+										   + "all: .INCBIN \"Words.BIN\"\n.incbin \"little.bin\", 0, 8, little\n.text\nlw $1, words\n" );
+			
+			assertTrue( parser.loadParseFile( source.toString( ) ) );
+			int[] data=mb.retrieveData( );
+			assertEquals( 9, mb.dataCount( ) );
+			assertArrayEquals( new int[]{ 5, 10, 20, 0, 10, 20, 30, 0, 10 }, Arrays.copyOf( data, 9 ) );
+			
+			Program program=parser.build( );
+			assertNotNull( program );
+			assertEquals( 0x10010008, program.getSymbols( ).get( "words" ) );    // Labels point at the first word
+			assertEquals( 0x10010018, program.getSymbols( ).get( "all" ) );
+		}
+		
+		@Test
+		void Incbin_Invalid ( ) throws IOException {
+			words( "w.bin", ByteOrder.BIG_ENDIAN, 2 );
+			String path=dir.resolve( "w.bin" ).toString( );
+			
+			assertFalse( parser.parseLine( ".incbin", 1 ) );
+			expected.append( "No Data Given! For DataType: \".incbin\"!" );
+			assertFalse( parser.parseLine( ".incbin w.bin", 2 ) );
+			expected.append( "Data: [w.bin], Not Valid For DataType: \".incbin\"!" );
+			assertFalse( parser.parseLine( ".incbin \"" + path + "\", 2", 3 ) );
+			expected.append( "Binary File: \"w.bin\", Offset [2] And Length [6] Must Be Whole Words Within The File [8 Bytes]!" );
+			assertFalse( parser.parseLine( ".incbin \"" + path + "\", 4, 8", 4 ) );
+			expected.append( "Binary File: \"w.bin\", Offset [4] And Length [8] Must Be Whole Words Within The File [8 Bytes]!" );
+			assertFalse( parser.parseLine( ".incbin \"" + dir.resolve( "missing.bin" ) + "\"", 5 ) );
+			expected.append( "Binary File: \"missing.bin\", Can Not Be Read!" );
+			
+			String[] syntax={ "\"w.bin\", 0x4", "\"w.bin\", -4", "\"w.bin\", 0, 8, middle", "\"w.bin\" 0", "\"w.bin\", 0, 8, big, 1",
+							  "\"w.bin", "\"\"" };
+			for ( int i=0; i<syntax.length; i++ ) {
+				assertFalse( parser.parseLine( ".incbin " + syntax[ i ], 6 + i ) );
+				expected.append( "Data: [" + syntax[ i ] + "], Not Valid For DataType: \".incbin\"!" );
+			}
+			assertEquals( 0, mb.dataCount( ) );
+		}
+		
+		@Test
+		void Incbin_Over_Max_Data ( ) throws IOException {
+			String path=words( "big.bin", ByteOrder.BIG_ENDIAN, DataMemory.MAX_DATA_ITEMS + 10 ).toString( );
+			assertTrue( parser.parseLine( ".word 1", 1 ) );
+			assertFalse( parser.parseLine( ".incbin \"" + path + "\"", 2 ) );
+			assertEquals( DataMemory.MAX_DATA_ITEMS, mb.dataCount( ) );
+			assertEquals( (DataMemory.MAX_DATA_ITEMS - 2)*10, mb.retrieveData( )[ DataMemory.MAX_DATA_ITEMS - 1 ] );
+			
+			expected.appendEx( "Binary File: \"big.bin\" Too Large, stopped at 256th Segment" );
+			testLogs.expectedWarnings.appendEx( 2, "Reached MAX Data Size!, No More Data Will Be Parsed" );
+			testLogs.expectedWarnings.append( "\t\t\tData Limit == [256]" );
+		}
+	}
+	
 	@SuppressWarnings ( "SpellCheckingInspection" )
 	@Test
 	void ParseFile_With_Errors ( ) {
@@ -6,10 +6,12 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import _test.Tags;
 import _test.Tags.Pkg;
+import _test.TestLogs;
 
 import _test.providers.BlankProvider;
 
 import util.ansi_codes.Color;
+import util.logs.Diagnostic;
 import util.logs.ErrorLog;
 import util.logs.ExecutionLog;
 import util.logs.Logger;
@@ -126,6 +128,88 @@ class LoggerTest {
 		);
 	}
 	
+	@Test
+	@Tag(Tags.MUT)
+	void Diagnostics() {
+		ErrorLog errors=new ErrorLog( logs );
+		errors.append( 3, "Bad Label" );
+		errors.setPrefix( "Pre:" );
+		errors.appendEx( "Thing" );
+		errors.clearPrefix( );
+		errors.report( Diagnostic.of( Diagnostic.Severity.ERROR, 7, 4, "OPCODE", "Opcode: \"%s\" Not Supported!", "mul" ) );
+		assertTrue( logs.isEmpty( ), "Rendered When The Text Is Needed" );
+		assertEquals( 3, errors.count( ) );
+		assertEquals( "LineNo: 7\tOpcode: \"mul\" Not Supported!", errors.entries( ).get( 2 ) );
+		logs.add( "Not Structured" );
+		
+		assertEquals( 4, errors.count( ) );
+		assertEquals( 3, errors.count( Diagnostic.Severity.ERROR ) );
+		assertEquals( 0, errors.count( Diagnostic.Severity.WARNING ) );
+		assertEquals( "Errors:\n\tLineNo: 3\tBad Label\n\tPre:\tThing!\n"
+					  + "\tLineNo: 7\tOpcode: \"mul\" Not Supported!\n\tNot Structured\n", errors.toString( ) );
+		
+		Diagnostic label=errors.getDiagnostics( ).get( 0 );
+		assertEquals( 3, label.getLine( ) );
+		assertEquals( "Bad Label", label.getMessage( ) );
+		assertNull( label.getCode( ) );
+		assertFalse( errors.getDiagnostics( ).get( 1 ).hasLine( ) );
+		
+		Diagnostic opcode=errors.getDiagnostics( ).get( 2 );
+		assertEquals( "OPCODE", opcode.getCode( ) );
+		assertEquals( 4, opcode.getColumn( ) );
+		assertArrayEquals( new Object[]{ "mul" }, opcode.getArgs( ) );
+		
+		errors.clear( );
+		assertEquals( 0, errors.count( ) );
+		assertEquals( 0, errors.count( Diagnostic.Severity.ERROR ) );
+		assertTrue( errors.getDiagnostics( ).isEmpty( ) );
+		
+		logger.append( 1, "Plain" );	// Base Logger only keeps the text
+		assertEquals( 1, logger.count( ) );
+		assertTrue( logger.getDiagnostics( ).isEmpty( ) );
+	}
+	
+	@Test
+	@Tag(Tags.MUT)
+	void Execution_Events_Render_Lazily() {
+		ExecutionLog log=new ExecutionLog( logs );
+		int[] rendered={ 0 };
+		ExecutionLog.Renderer renderer=(kind, a, b, c, d, ref, out) -> {
+			rendered[ 0 ]++;
+			out.accept( kind + "[" + a + ", " + b + "] " + Color.fmt( Color.RED, "Red" ) );
+		};
+		try ( SimulatorContext.Scope ignored=SimulatorContext.headless( ).bind( ) ) {
+			log.event( ExecutionLog.Kind.MEM_READ, renderer, 8, 3 );
+			log.append( "Text" );
+		}
+		try ( SimulatorContext.Scope ignored=SimulatorContext.headless( ).withColorSupport( true ).bind( ) ) {
+			log.event( ExecutionLog.Kind.REG_WRITE, renderer, 2, 5 );
+		}
+		assertAll(
+				() -> assertTrue( log.hasEntries( ) ),
+				() -> assertEquals( 3, log.pending( ) ),
+				() -> assertEquals( ExecutionLog.Kind.REG_WRITE, log.kind( 2 ) ),
+				() -> assertEquals( 5, log.arg( 2, 1 ) ),
+				() -> assertTrue( logs.isEmpty( ) ),
+				() -> assertEquals( 0, rendered[ 0 ] )
+		);
+		log.setPrefix( "Pre:" );
+		log.append( "Prefixed" );	// Renders the events first, Without the prefix
+		log.clearPrefix( );
+		// Rendered in the Context bound when recorded
+		assertEquals( "Execution:\n\tMEM_READ[8, 3] Red\n\tText\n\tREG_WRITE[2, 5] \u001B[31mRed\u001B[0m\n\tPre:\tPrefixed\n",
+					  log.toString( ) );
+		assertEquals( 2, rendered[ 0 ] );
+		
+		log.event( ExecutionLog.Kind.FETCH, renderer, 0, 0 );
+		log.clear( );	// Never Rendered
+		assertAll(
+				() -> assertFalse( log.hasEntries( ) ),
+				() -> assertEquals( "", log.toString( ) ),
+				() -> assertEquals( 2, rendered[ 0 ] )
+		);
+	}
+	
 	@Test
 	@Tag (Tags.ACC)
 	void Get_Name() {
@@ -186,17 +270,16 @@ class LoggerTest {
 	@Nested
 	@Tag( "Color" )
 	class Color_Support {
-		boolean preset;
+		SimulatorContext.Scope colour;
 		
 		@BeforeEach
 		void setUp() {
-			preset=Color.colorSupport;
-			Color.colorSupport=true; // enable colour support
+			colour=TestLogs.PLAIN.withColorSupport( true ).bind( ); // enable colour support
 		}
 		
 		@AfterEach
 		void tearDown() {
-			Color.colorSupport=preset; // reset colour support
+			colour.close( ); // reset colour support
 		}
 		
 		@ParameterizedTest (name="Color[{index}] - Ansi: \"{arguments}\"")
@@ -210,7 +293,7 @@ class LoggerTest {
 				Color.CYAN,
 				Color.WHITE
 		})
-
+		
 		void Format_Colored(int color) {
 			System.out.println( Color.fmt( Color.csi(color), "<PANDA>" ) );
 			assertEquals( "\u001B["+color + "mPANDA\u001B[0m", Color.fmt( Color.csi(color), "PANDA" ) );
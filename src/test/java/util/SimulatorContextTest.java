@@ -0,0 +1,117 @@
+package util;
+
+import _test.Tags;
+import org.junit.jupiter.api.*;
+
+import control.Execution;
+import model.components.DataMemory;
+import model.components.RegisterBank;
+import model.components.RegisterBank.RegFormat;
+import model.instr.*;
+
+import util.ansi_codes.Color;
+import util.logs.ErrorLog;
+import util.logs.ExecutionLog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag( Tags.Pkg.UTIL )
+class SimulatorContextTest {
+	private static final SimulatorContext PLAIN=SimulatorContext.headless( );
+	private static final SimulatorContext COLOUR_NAMED=PLAIN.withColorSupport( true ).withRegFormat( RegFormat.$Named, false );
+	
+	@Test
+	void Global_Defaults ( ) {
+		assertTrue( SimulatorContext.GLOBAL.isColorSupport( ) );
+		assertEquals( RegFormat.R, SimulatorContext.GLOBAL.getRegFormat( ) );
+		assertTrue( SimulatorContext.GLOBAL.isFmtUpperCase( ) );
+		assertTrue( SimulatorContext.GLOBAL.isWait( ) );
+		assertFalse( SimulatorContext.headless( ).isColorSupport( ) );
+		assertFalse( SimulatorContext.headless( ).isWait( ) );
+	}
+	
+	@Test
+	void Bind_Nested_Restores ( ) {
+		final SimulatorContext outer=SimulatorContext.current( );
+		try ( SimulatorContext.Scope ignored=COLOUR_NAMED.bind( ) ) {
+			assertSame( COLOUR_NAMED, SimulatorContext.current( ) );
+			assertEquals( Color.csi( Color.RED ) + "A" + Color.RESET, Color.fmt( Color.RED, "A" ) );
+			try ( SimulatorContext.Scope ignored2=PLAIN.bind( ) ) {
+				assertEquals( "A", Color.fmt( Color.RED, "A" ) );
+			}
+			assertSame( COLOUR_NAMED, SimulatorContext.current( ) );
+		}
+		assertSame( outer, SimulatorContext.current( ) );
+	}
+	
+	@Test
+	void RegisterBank_Ignores_Bound_Context ( ) {
+		int[] regs=new int[ 32 ];
+		regs[ 31 ]=7;
+		RegisterBank rb=new RegisterBank( regs, new ExecutionLog( new ArrayList<>( ) ), PLAIN.withRegFormat( RegFormat.Named, false ) );
+		
+		String out;
+		try ( SimulatorContext.Scope ignored=COLOUR_NAMED.withRegFormat( RegFormat.Index, true ).bind( ) ) {
+			out=rb.format( );
+		}
+		assertTrue( out.contains( "ra: 7" ), out );
+		assertFalse( out.contains( "\033[" ) );
+		assertFalse( out.contains( "$31" ) );
+	}
+	
+	/** Each Execution keeps to its own context, whichever thread it is run on, and whatever other Executions are running */
+	@Test
+	void Concurrent_Executions_Do_Not_Interfere ( ) throws Exception {
+		final List<SimulatorContext> contexts=List.of( PLAIN, COLOUR_NAMED,
+				PLAIN.withRegFormat( RegFormat.Index, true ), COLOUR_NAMED.withRegFormat( RegFormat.R, false ) );
+		final List<String> expected=new ArrayList<>( );
+		for ( SimulatorContext ctx : contexts )
+			expected.add( simulate( ctx ) );
+		assertNotEquals( expected.get( 0 ), expected.get( 1 ) );
+		
+		ExecutorService pool=Executors.newFixedThreadPool( 8 );
+		try {
+			List<Future<String>> runs=new ArrayList<>( );
+			for ( int i=0; i<200; i++ ) {
+				final SimulatorContext ctx=contexts.get( i%contexts.size( ) );
+				runs.add( pool.submit( ( ) -> simulate( ctx ) ) );
+			}
+			for ( int i=0; i<runs.size( ); i++ )
+				assertEquals( expected.get( i%contexts.size( ) ), runs.get( i ).get( 30, TimeUnit.SECONDS ), "Simulation " + i );
+		} finally {
+			pool.shutdownNow( );
+		}
+	}
+	
+	/** Runs a short loop to the end, Returns all of the output, with the errors */
+	private static String simulate (SimulatorContext ctx) {
+		ArrayList<Instruction> instructions=new ArrayList<>( );
+		instructions.add( new I_Type( "addi", 0, 1, 3 ) );
+		instructions.add( new I_Type( "addi", 1, 1, -1 ) );//4 <-
+		instructions.add( new Branch( "bne", 1, 0, -2 ) );
+		instructions.add( new MemAccess( "sw", 0, 1, 0 ) );// * ERROR, Not a Data Address
+		ErrorLog errorLog=new ErrorLog( new ArrayList<>( ) );
+		int pc=0x00400000;
+		for ( Instruction ins : instructions ) {
+			assertTrue( ins.assemble( errorLog, new HashMap<>( ), pc ) );
+			pc+=4;
+		}
+		
+		ExecutionLog log=new ExecutionLog( new ArrayList<>( ) );
+		Execution execution=new Execution( log, errorLog, new DataMemory( new int[ ctx.getGeometry( ).getMaxDataWords( ) ], log, ctx ),
+										   new RegisterBank( new int[ 32 ], log, ctx ), instructions, ctx );
+		StringBuilder out=new StringBuilder( );
+		while ( execution.runSteps( out, 1 )!=null ) ;
+		try ( SimulatorContext.Scope ignored=ctx.bind( ) ) {    // Logs are formatted with the context bound when printed
+			return out.append( errorLog ).toString( );
+		}
+	}
+}
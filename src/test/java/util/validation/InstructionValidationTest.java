@@ -76,6 +76,22 @@ public class InstructionValidationTest {
 			expectedErrs.appendEx( 230, FMT_MSG.Opcode_NotSupported( opcode ) );
 		}
 		
+		@Test
+		void Lists_From_Spec ( ) {
+			for ( InstrSpec spec : InstructionValidation.SPEC ) {
+				String opcode=spec.getOPCODE( );
+				assertEquals( !InstructionValidation.INTERNAL_OPCODES.contains( opcode ),
+							  InstructionValidation.SUPPORTED_OPCODES.contains( opcode ), opcode );
+			}
+			assertEquals( InstructionValidation.SPEC.size( ) - 1, InstructionValidation.SUPPORTED_OPCODES.size( ) );
+			assertEquals( Arrays.asList( "exit", "halt" ), InstructionValidation.NO_OPERANDS_OPCODE );
+			assertEquals( Arrays.asList( "sw" ), InstructionValidation.I_MEM_READ );
+			assertEquals( Arrays.asList( "lw" ), InstructionValidation.I_MEM_WRITE );
+			assertEquals( Arrays.asList( "beq", "bne", "blt", "bge", "ble", "bgt" ), InstructionValidation.I_RS_RT_IMM );
+			assertFalse( ValidateInstr.isValidOpCode( 12, "nop" ) );
+			expectedErrs.appendEx( 12, FMT_MSG.Opcode_NotSupported( "nop" ) );
+		}
+		
 	}
 	
 	/**
@@ -321,16 +337,17 @@ public class InstructionValidationTest {
 			
 			@Nested
 			class Operand_Spacing {
-				// ANY Spacing At The Beginning/ End Of the Line
-				// Spacing of larger than 1  internally
-				
-				// In the Logger Output, Tabs and NewLn are removed ???
+				// Operands are lexed, So Spacing At The Beginning/ End, And between tokens is ignored
 				
 				@Test
-				void R_Type__Leading_Trailing_And_Internal_Spaces ( ) {
-					expect.notRecognised( 42, " r1", "  r2", "r3 " );
-					expect.invalidOperandsForOpcode( 42, "add", " r1,   r2 , r3 " );
-					
+				void R_Type__Leading_Trailing_And_Internal_Spaces_Valid ( ) {
+					Instruction ins=ValidateInstr.splitValidOperands( 42, "add", " r1,   r2 , r3 " );
+					expect.assertREGISTER_Equals_AndAssembles( ins, "add", 1, 2, 3 );
+				}
+				@Test
+				void Spaces_Within_An_Operand_Invalid ( ) {
+					expect.notRecognised( 42, "r 2" );
+					expect.invalidOperandsForOpcode( 42, "add", "r1, r 2, r3" );
 				}
 				
 				@Test
@@ -339,9 +356,9 @@ public class InstructionValidationTest {
 					expect.assertREGISTER_Equals_AndAssembles( ins,"sub",30, 3, 8 );
 				}
 				@Test
-				void DoubleTabs_OrLeading_Trailing_Tabs_Invalid ( ) {
-					expect.notRecognised( 12, "\t$24", "\t$16" );
-					expect.invalidOperandsForOpcode( 12, "sub", "\t$24,\tr20\t,\t\t$16" );
+				void DoubleTabs_OrLeading_Trailing_Tabs_Valid ( ) {
+					Instruction ins=ValidateInstr.splitValidOperands( 12, "sub", "\t$24,\tr20\t,\t\t$16" );
+					expect.assertREGISTER_Equals_AndAssembles( ins, "sub", 24, 20, 16 );
 				}
 				
 				@Test
@@ -0,0 +1,19 @@
+# Sums an array built from .word ranges and lists, With a pointer walking the array
+	.data
+ptr:	.word 268501000		# Address of arr (index 1)
+arr:	.word 7:40			# 40 x 7
+	.word 1, 2, 3, 4, 5, 6, 7, 8, 9, 10
+	.word -100:10
+sum:	.word 0
+
+	.text
+main:	lw $t0, ptr			# p = arr
+	addi $t1, $zero, 60	# n
+	addi $s0, $zero, 0	# sum
+loop:	lw $t2, 0($t0)
+	add $s0, $s0, $t2
+	addi $t0, $t0, 8	# next word
+	addi $t1, $t1, -1
+	bne $t1, $zero, loop
+	sw $s0, sum
+	exit
@@ -0,0 +1,45 @@
+# Binary Search of 16 keys in a sorted array of 63 words
+# Uniform search, Halving steps (in bytes) from a table. Results are the key's byte offset in arr, or -1
+	.data
+arr_p:	.word 268501064		# Address of arr - 8, Before the first word
+keys_p:	.word 268501576		# Address of keys
+res_p:	.word 268501704		# Address of results
+steps_p:	.word 268501024		# Address of steps
+steps:	.word 256, 128, 64, 32, 16, 8
+arr:	.word 1, 4, 7, 10, 13, 16, 19, 22, 25, 28, 31, 34, 37, 40, 43, 46, 49, 52, 55, 58, 61
+	.word 64, 67, 70, 73, 76, 79, 82, 85, 88, 91, 94, 97, 100, 103, 106, 109, 112, 115, 118, 121, 124
+	.word 127, 130, 133, 136, 139, 142, 145, 148, 151, 154, 157, 160, 163, 166, 169, 172, 175, 178, 181, 184, 187
+keys:	.word 1, 4, 2, 100, 190, 187, 0, 97, 58, 59, 130, 131, 64, 200, -5, 121
+results:	.word 0:16
+
+	.text
+main:	lw $s1, keys_p
+	lw $s2, res_p
+	addi $s3, $zero, 16	# keys left
+	addi $s0, $zero, 0	# found
+next:	lw $t9, 0($s1)		# key
+	lw $t0, arr_p		# p, Last word <= key
+	lw $t1, steps_p
+	addi $t2, $zero, 6	# steps left
+probe:	lw $t3, 0($t1)
+	add $t4, $t0, $t3	# p + step
+	lw $t5, 0($t4)
+	bgt $t5, $t9, keep	# too big
+	add $t0, $zero, $t4
+keep:	addi $t1, $t1, 8
+	addi $t2, $t2, -1
+	bne $t2, $zero, probe
+	lw $t6, arr_p
+	addi $t7, $zero, -1	# not found
+	beq $t0, $t6, store	# every word > key
+	lw $t5, 0($t0)
+	bne $t5, $t9, store
+	sub $t7, $t0, $t6
+	addi $t7, $t7, -8	# byte offset in arr
+	addi $s0, $s0, 1
+store:	sw $t7, 0($s2)
+	addi $s1, $s1, 8
+	addi $s2, $s2, 8
+	addi $s3, $s3, -1
+	bne $s3, $zero, next
+	exit
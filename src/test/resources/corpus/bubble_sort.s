@@ -0,0 +1,24 @@
+# Bubble Sort of 16 words in place, Stops early once a pass makes no swaps
+	.data
+ptr:	.word 268501000		# Address of arr (index 1)
+arr:	.word 34, -7, 12, 99, 0, 5, 5, -42, 18, 73, 1, 64, -3, 27, 8, 50
+
+	.text
+main:	addi $s0, $zero, 15	# passes left, n - 1
+outer:	lw $t0, ptr			# p = arr
+	add $t1, $zero, $s0		# comparisons this pass
+	addi $s2, $zero, 0		# swaps this pass
+inner:	lw $t2, 0($t0)
+	lw $t3, 8($t0)
+	ble $t2, $t3, ordered
+	sw $t3, 0($t0)			# swap
+	sw $t2, 8($t0)
+	addi $s2, $s2, 1
+	addi $s3, $s3, 1		# total swaps
+ordered:	addi $t0, $t0, 8
+	addi $t1, $t1, -1
+	bgt $t1, $zero, inner
+	beq $s2, $zero, done	# already sorted
+	addi $s0, $s0, -1
+	bgt $s0, $zero, outer
+done:	exit
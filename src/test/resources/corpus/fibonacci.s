@@ -0,0 +1,21 @@
+# First 40 Fibonacci numbers, Stored to fibs
+	.data
+ptr:	.word 268501000		# Address of fibs (index 1)
+fibs:	.word 0:40
+
+	.text
+main:	lw $t0, ptr
+	addi $s0, $zero, 0		# fib(i - 2)
+	addi $s1, $zero, 1		# fib(i - 1)
+	sw $s0, 0($t0)
+	sw $s1, 8($t0)
+	addi $t0, $t0, 16
+	addi $t1, $zero, 38		# left to do
+loop:	add $s2, $s0, $s1		# fib(i)
+	sw $s2, 0($t0)
+	add $s0, $zero, $s1
+	add $s1, $zero, $s2
+	addi $t0, $t0, 8
+	addi $t1, $t1, -1
+	bne $t1, $zero, loop
+	exit
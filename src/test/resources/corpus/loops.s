@@ -0,0 +1,19 @@
+# Counting loops: Sum of 1..1000 counting up, Then a count down of 500
+	.text
+main:	addi $s0, $zero, 0		# sum
+	addi $t0, $zero, 1		# i
+	addi $t1, $zero, 1000	# n
+up:		add $s0, $s0, $t0		# sum += i
+	addi $t0, $t0, 1
+	ble $t0, $t1, up		# while i <= n
+	addi $s1, $zero, 500	# count down
+down:	addi $s1, $s1, -1
+	addi $s2, $s2, 3		# += 3 each time round
+	bgt $s1, $zero, down
+	sw $s0, total
+	sw $s2, threes
+	exit
+
+	.data
+total:	.word 0
+threes:	.word 0
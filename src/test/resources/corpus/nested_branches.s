@@ -0,0 +1,38 @@
+# Nested loops over i, j in 0..19, Classifying i - j with a chain of branches
+	.data
+counts_p:	.word 268501000	# Address of counts (index 1)
+counts:	.word 0:6			# same, near above, far above, near below, far below, diagonal sum
+
+	.text
+main:	addi $s7, $zero, 20	# n
+	addi $t0, $zero, 0		# i
+outer:	addi $t1, $zero, 0	# j
+inner:	sub $t2, $t0, $t1	# d = i - j
+	beq $t2, $zero, same
+	blt $t2, $zero, below
+	addi $t3, $zero, 5
+	bge $t2, $t3, far_above
+	addi $s1, $s1, 1		# 0 < d < 5
+	j cont
+far_above:	addi $s2, $s2, 1
+	j cont
+below:	addi $t3, $zero, -5
+	ble $t2, $t3, far_below
+	addi $s3, $s3, 1		# -5 < d < 0
+	j cont
+far_below:	addi $s4, $s4, 1
+	j cont
+same:	addi $s0, $s0, 1
+	add $s5, $s5, $t0		# sum of the diagonal
+cont:	addi $t1, $t1, 1
+	blt $t1, $s7, inner
+	addi $t0, $t0, 1
+	blt $t0, $s7, outer
+	lw $t9, counts_p
+	sw $s0, 0($t9)
+	sw $s1, 8($t9)
+	sw $s2, 16($t9)
+	sw $s3, 24($t9)
+	sw $s4, 32($t9)
+	sw $s5, 40($t9)
+	exit